@@ -2,11 +2,25 @@ package sistema_agendamento;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import sistema_agendamento.config.ContatoRuntimeHints;
+import sistema_agendamento.reativo.SistemaAgendamentoReativoApplication;
 
-@SpringBootApplication
+// O R2DBC fica só na variante reativa; aqui o acesso a dados é JPA
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(ContatoRuntimeHints.class)
 public class SistemaAgendamentoApplication {
 
 	public static void main(String[] args) {
+		if (SistemaAgendamentoReativoApplication.perfilAtivo(args)) {
+			SistemaAgendamentoReativoApplication.main(args);
+			return;
+		}
 		SpringApplication.run(SistemaAgendamentoApplication.class, args);
 	}
 
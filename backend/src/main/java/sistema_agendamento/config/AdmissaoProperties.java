@@ -0,0 +1,40 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.admissao")
+public class AdmissaoProperties {
+
+    /**
+     * Desligada por padrão: a rolagem virtual da interface dispara muitas páginas seguidas, e
+     * vários usuários atrás do mesmo NAT dividem o balde do endereço remoto.
+     */
+    private boolean habilitada = false;
+
+    /** Cabeçalho que identifica o cliente; sem ele, o endereço remoto é usado. */
+    private String cabecalhoChave = "X-API-Key";
+
+    /**
+     * Chaves aceitas no cabeçalho. Uma chave fora da lista é ignorada e o cliente é identificado
+     * pelo endereço remoto; do contrário cada chave inventada ganharia um balde cheio.
+     */
+    private Set<String> chavesConhecidas = new HashSet<>();
+
+    /** Requisições por segundo permitidas a cada cliente, em regime. */
+    private double taxaPorSegundo = 200;
+
+    /** Quantas requisições um cliente ocioso pode disparar de uma vez. */
+    private int rajada = 500;
+
+    private int concorrenciaBusca = 8;
+    private int concorrenciaListagem = 16;
+    private int concorrenciaEscrita = 8;
+
+    /** Tempo máximo que uma requisição aguarda vaga no bulkhead antes de receber 503. */
+    private long esperaMaximaMs = 200;
+}
@@ -0,0 +1,17 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.arquivamento")
+public class ArquivamentoProperties {
+
+    private boolean habilitado = true;
+
+    /** Dias que um contato precisa estar inativo antes de ser arquivado. */
+    private int idadeMinimaDias = 90;
+
+    /** Quantos contatos são movidos por transação. */
+    private int tamanhoLote = 500;
+}
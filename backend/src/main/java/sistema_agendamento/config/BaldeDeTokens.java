@@ -0,0 +1,45 @@
+package sistema_agendamento.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem locks, implementado como GCRA: o estado é apenas o instante teórico de
+ * chegada (TAT) da próxima requisição, atualizado por CAS. Equivale a um balde com capacidade
+ * {@code rajada} reabastecido a {@code taxaPorSegundo}, sem alocar nada por requisição.
+ */
+class BaldeDeTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong instanteTeorico;
+
+    BaldeDeTokens(double taxaPorSegundo, int rajada, long agoraNanos) {
+        this.intervaloNanos = (long) (1_000_000_000L / taxaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * Math.max(rajada - 1, 0);
+        this.instanteTeorico = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @return 0 se a requisição foi admitida, ou quantos nanossegundos faltam para haver token
+     */
+    long tentarConsumir(long agoraNanos) {
+        while (true) {
+            long atual = instanteTeorico.get();
+            long base = Math.max(atual, agoraNanos);
+            long espera = base - agoraNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (instanteTeorico.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Um balde cheio não guarda estado útil e pode ser descartado. */
+    boolean cheio(long agoraNanos) {
+        return instanteTeorico.get() <= agoraNanos;
+    }
+}
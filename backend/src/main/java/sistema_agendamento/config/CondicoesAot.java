@@ -0,0 +1,93 @@
+package sistema_agendamento.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Com {@code -Dspring.aot.enabled=true} e na imagem nativa, os {@code @Profile} e
+ * {@code @ConditionalOnProperty} valem como foram avaliados pelo {@code processAot} no build:
+ * trocar o perfil ou essas propriedades na execução não liga nem desliga nenhum bean. O build
+ * grava os valores que usou em {@value #ARQUIVO}, e a aplicação não inicia com outros.
+ */
+@Component
+public class CondicoesAot implements EnvironmentAware, InitializingBean {
+
+    static final String ARQUIVO = "META-INF/agendamento/condicoes-aot.properties";
+    static final String PERFIS = "spring.profiles.active";
+    // Lidas por @ConditionalOnProperty nas classes da aplicação
+    static final List<String> PROPRIEDADES = List.of("agendamento.shard.habilitado", "agendamento.invalidacao.habilitada");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        ClassPathResource recurso = new ClassPathResource(ARQUIVO);
+        if (!AotDetector.useGeneratedArtifacts() || !recurso.exists()) {
+            return;
+        }
+        Properties congeladas = PropertiesLoaderUtils.loadProperties(recurso);
+        verificar(new TreeMap<>(congeladas.entrySet().stream()
+                .collect(Collectors.toMap(e -> (String) e.getKey(), e -> (String) e.getValue()))), environment);
+    }
+
+    static Map<String, String> condicoes(Environment environment) {
+        Map<String, String> condicoes = new TreeMap<>();
+        condicoes.put(PERFIS, Arrays.stream(environment.getActiveProfiles()).sorted().collect(Collectors.joining(",")));
+        for (String propriedade : PROPRIEDADES) {
+            condicoes.put(propriedade, String.valueOf(Boolean.parseBoolean(environment.getProperty(propriedade))));
+        }
+        return condicoes;
+    }
+
+    static void verificar(Map<String, String> congeladas, Environment environment) {
+        Map<String, String> atuais = condicoes(environment);
+        if (!atuais.equals(congeladas)) {
+            throw new IllegalStateException("As classes AOT foram geradas com " + congeladas + ", mas a aplicação iniciou com "
+                    + atuais + "; gere o build de novo com -PargumentosAot (veja o README) ou inicie sem -Dspring.aot.enabled=true");
+        }
+    }
+
+    /**
+     * Registrado em {@code META-INF/spring/aot.factories}: grava, junto das classes geradas, as
+     * condições com que o {@code processAot} avaliou o contexto. O AOT dos testes processa vários
+     * contextos no mesmo diretório, e cada um sobrescreve o arquivo do anterior.
+     */
+    static class Registro implements BeanFactoryInitializationAotProcessor {
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            String conteudo = condicoes(beanFactory.getBean(Environment.class)).entrySet().stream()
+                    .map(condicao -> condicao.getKey() + "=" + condicao.getValue() + "\n")
+                    .collect(Collectors.joining());
+            return (contexto, codigo) -> {
+                contexto.getGeneratedFiles().handleFile(GeneratedFiles.Kind.RESOURCE, ARQUIVO,
+                        arquivo -> arquivo.override(new ByteArrayResource(conteudo.getBytes(StandardCharsets.UTF_8))));
+                contexto.getRuntimeHints().resources().registerPattern(ARQUIVO);
+            };
+        }
+    }
+}
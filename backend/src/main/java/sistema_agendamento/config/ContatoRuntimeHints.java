@@ -0,0 +1,42 @@
+package sistema_agendamento.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.EtiquetaDTO;
+import sistema_agendamento.dto.EstatisticasContatoDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.ContatoArquivado;
+import sistema_agendamento.entity.EstatisticaContato;
+import sistema_agendamento.entity.Etiqueta;
+import sistema_agendamento.entity.conversor.CelularConverter;
+import sistema_agendamento.entity.conversor.TelefoneConverter;
+import sistema_agendamento.exception.GlobalExceptionHandler;
+
+/**
+ * Reflexão necessária na imagem nativa: o Hibernate acessa os campos das entidades e instancia
+ * os conversores de atributo, e o Jackson usa os getters/setters dos DTOs e das respostas de erro.
+ */
+public class ContatoRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entidade : new Class<?>[]{Contato.class, ContatoArquivado.class, EstatisticaContato.class, Etiqueta.class}) {
+            hints.reflection().registerType(entidade,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        for (Class<?> conversor : new Class<?>[]{CelularConverter.class, TelefoneConverter.class}) {
+            hints.reflection().registerType(conversor, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (Class<?> json : new Class<?>[]{ContatoDTO.class, EstatisticasContatoDTO.class, EtiquetaDTO.class, GlobalExceptionHandler.ErrorResponse.class,
+                GlobalExceptionHandler.ValidationErrorResponse.class}) {
+            hints.reflection().registerType(json,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
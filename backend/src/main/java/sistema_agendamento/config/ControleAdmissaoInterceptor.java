@@ -0,0 +1,134 @@
+package sistema_agendamento.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controle de admissão na frente do {@code ContatoController}: limite de taxa por cliente
+ * (balde de tokens) e um bulkhead de concorrência por classe de endpoint. O cliente é a chave de
+ * API, quando ela está entre as configuradas, ou o endereço remoto. Requisições acima do
+ * limite recebem 429 e as que não conseguem vaga dentro do orçamento de espera recebem 503,
+ * ambas com {@code Retry-After}.
+ */
+@Component
+@Slf4j
+public class ControleAdmissaoInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO_CLASSE = ControleAdmissaoInterceptor.class.getName() + ".classe";
+
+    enum ClasseEndpoint { BUSCA, LISTAGEM, ESCRITA }
+
+    private final AdmissaoProperties properties;
+    private final ConcurrentHashMap<String, BaldeDeTokens> baldes = new ConcurrentHashMap<>();
+    private final Map<ClasseEndpoint, Semaphore> bulkheads = new EnumMap<>(ClasseEndpoint.class);
+    private final Map<ClasseEndpoint, Counter> rejeitadasPorTaxa = new EnumMap<>(ClasseEndpoint.class);
+    private final Map<ClasseEndpoint, Counter> rejeitadasPorLotacao = new EnumMap<>(ClasseEndpoint.class);
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final Counter enfileiradas;
+
+    public ControleAdmissaoInterceptor(AdmissaoProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        bulkheads.put(ClasseEndpoint.BUSCA, new Semaphore(properties.getConcorrenciaBusca()));
+        bulkheads.put(ClasseEndpoint.LISTAGEM, new Semaphore(properties.getConcorrenciaListagem()));
+        bulkheads.put(ClasseEndpoint.ESCRITA, new Semaphore(properties.getConcorrenciaEscrita()));
+        for (ClasseEndpoint classe : ClasseEndpoint.values()) {
+            String tag = classe.name().toLowerCase();
+            rejeitadasPorTaxa.put(classe, Counter.builder("agendamento.admissao.rejeitadas")
+                    .tag("motivo", "taxa").tag("classe", tag).register(registry));
+            rejeitadasPorLotacao.put(classe, Counter.builder("agendamento.admissao.rejeitadas")
+                    .tag("motivo", "lotacao").tag("classe", tag).register(registry));
+        }
+        this.enfileiradas = Counter.builder("agendamento.admissao.enfileiradas")
+                .description("Requisições que precisaram aguardar vaga no bulkhead")
+                .register(registry);
+        Gauge.builder("agendamento.admissao.aguardando", aguardando, AtomicInteger::get)
+                .description("Requisições aguardando vaga no bulkhead neste instante")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!properties.isHabilitada()) {
+            return true;
+        }
+
+        ClasseEndpoint classe = classificar(request);
+        long agora = System.nanoTime();
+        BaldeDeTokens balde = baldes.computeIfAbsent(identificarCliente(request),
+                chave -> new BaldeDeTokens(properties.getTaxaPorSegundo(), properties.getRajada(), agora));
+        long esperaNanos = balde.tentarConsumir(agora);
+        if (esperaNanos > 0) {
+            rejeitadasPorTaxa.get(classe).increment();
+            throw new RequisicaoRejeitadaException(HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos) + 1),
+                    "Limite de requisições excedido. Tente novamente em instantes.");
+        }
+
+        Semaphore bulkhead = bulkheads.get(classe);
+        if (!bulkhead.tryAcquire() && !aguardarVaga(bulkhead)) {
+            rejeitadasPorLotacao.get(classe).increment();
+            throw new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Servidor sobrecarregado. Tente novamente em instantes.");
+        }
+        request.setAttribute(ATRIBUTO_CLASSE, classe);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ATRIBUTO_CLASSE) instanceof ClasseEndpoint classe) {
+            bulkheads.get(classe).release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.admissao.limpeza-ms:60000}")
+    public void descartarBaldesOciosos() {
+        long agora = System.nanoTime();
+        baldes.values().removeIf(balde -> balde.cheio(agora));
+    }
+
+    private boolean aguardarVaga(Semaphore bulkhead) throws InterruptedException {
+        enfileiradas.increment();
+        aguardando.incrementAndGet();
+        try {
+            return bulkhead.tryAcquire(properties.getEsperaMaximaMs(), TimeUnit.MILLISECONDS);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+    }
+
+    // Prefixos separam uma chave que por acaso seja igual a um endereço
+    private String identificarCliente(HttpServletRequest request) {
+        String chave = request.getHeader(properties.getCabecalhoChave());
+        return chave != null && properties.getChavesConhecidas().contains(chave)
+                ? "chave:" + chave
+                : "endereco:" + request.getRemoteAddr();
+    }
+
+    static ClasseEndpoint classificar(HttpServletRequest request) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            return ClasseEndpoint.ESCRITA;
+        }
+        String uri = request.getRequestURI();
+        // A página com termo é a busca da tela de contatos e tem o mesmo custo de /buscar
+        String termo = request.getParameter("termo");
+        boolean buscaPaginada = uri.endsWith("/contatos/pagina") && termo != null && !termo.isBlank();
+        return uri.endsWith("/buscar") || buscaPaginada ? ClasseEndpoint.BUSCA : ClasseEndpoint.LISTAGEM;
+    }
+}
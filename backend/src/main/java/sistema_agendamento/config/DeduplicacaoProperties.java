@@ -0,0 +1,21 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.deduplicacao")
+public class DeduplicacaoProperties {
+
+    /** Pontuação mínima (0 a 1) para um par ser sugerido como duplicata. */
+    private double limiarSimilaridade = 0.85;
+
+    /** Blocos com mais contatos que isso não são comparados par a par. */
+    private int tamanhoMaximoBloco = 500;
+
+    /** Contatos lidos por consulta durante a análise completa. */
+    private int tamanhoPaginaCarga = 10000;
+
+    /** Paralelismo do fork-join; 0 usa todos os processadores. */
+    private int paralelismo = 0;
+}
@@ -0,0 +1,24 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.escrita-lote")
+public class EscritaEmLoteProperties {
+
+    /** Envia criações e atualizações para o escritor em lote em vez de uma transação por requisição. */
+    private boolean habilitada = false;
+
+    /** Máximo de operações confirmadas em um mesmo commit. */
+    private int tamanhoMaximoLote = 100;
+
+    /** Quanto o escritor espera por mais operações depois da primeira de um lote. */
+    private long janelaMicros = 1000;
+
+    /** Operações aguardando o escritor; acima disso a requisição recebe 503. */
+    private int capacidadeFila = 10000;
+
+    /** Quanto a requisição espera a confirmação do escritor; depois disso recebe 503. */
+    private long tempoMaximoEsperaMs = 5000;
+}
@@ -0,0 +1,19 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.estatistica")
+public class EstatisticaProperties {
+
+    /** Intervalo entre gravações das diferenças acumuladas em memória no resumo persistido. */
+    private long intervaloPersistenciaMs = 5000;
+
+    /** Intervalo entre verificações do resumo contra as contagens reais das tabelas. */
+    private long intervaloVerificacaoMs = 3600000;
+
+    /** Limites dos parâmetros {@code dias} e {@code meses} do endpoint. */
+    private int diasMaximo = 366;
+    private int mesesMaximo = 60;
+}
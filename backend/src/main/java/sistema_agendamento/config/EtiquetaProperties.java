@@ -0,0 +1,15 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.etiqueta")
+public class EtiquetaProperties {
+
+    /** Contatos lidos por consulta na carga completa do índice. */
+    private int tamanhoPaginaCarga = 10000;
+
+    /** Intervalo entre as atualizações do índice com os contatos alterados desde a anterior. */
+    private long intervaloAtualizacaoMs = 1000;
+}
@@ -0,0 +1,15 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.fragmentos-json")
+public class FragmentosJsonProperties {
+
+    /** Desligado, cada contato é serializado pelo Jackson a cada resposta. */
+    private boolean habilitado = true;
+
+    /** Teto da soma dos fragmentos guardados; com o cache cheio, os novos são serializados sem guardar. */
+    private long tamanhoMaximoBytes = 64L * 1024 * 1024;
+}
@@ -0,0 +1,23 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.invalidacao")
+public class InvalidacaoProperties {
+
+    /** Liga o barramento de invalidação entre réplicas; exige PostgreSQL. */
+    private boolean habilitada = false;
+
+    private String canal = "contato_invalidacao";
+
+    /** Intervalo entre tentativas de reconexão do ouvinte. */
+    private long intervaloReconexaoMs = 5000;
+
+    /** Quantas alterações anteriores à última recebida são reaplicadas na reconexão. */
+    private int margemRecuperacao = 1000;
+
+    /** Por quanto tempo as alterações ficam em contato_alteracao para recuperação. */
+    private int retencaoHoras = 24;
+}
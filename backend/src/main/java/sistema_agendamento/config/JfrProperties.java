@@ -0,0 +1,21 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.jfr")
+public class JfrProperties {
+
+    /** Duração usada quando o pedido não informa {@code duracaoSegundos}. */
+    private int duracaoPadraoSegundos = 60;
+
+    /** Nenhuma gravação pode passar disto; ao fim da duração ela para sozinha. */
+    private int duracaoMaximaSegundos = 600;
+
+    /** Configuração do JDK usada por padrão: {@code default} (~1% de custo) ou {@code profile}. */
+    private String configuracaoPadrao = "profile";
+
+    /** Diretório dos arquivos .jfr; vazio usa o diretório temporário. */
+    private String diretorio = "";
+}
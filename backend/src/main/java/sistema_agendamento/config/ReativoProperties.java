@@ -0,0 +1,12 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.reativo")
+public class ReativoProperties {
+
+    /** Linhas pedidas ao banco por vez nas listagens; o próximo bloco só é lido quando o cliente consome o anterior. */
+    private int linhasPorBusca = 256;
+}
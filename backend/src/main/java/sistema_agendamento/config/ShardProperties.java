@@ -0,0 +1,37 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.shard")
+public class ShardProperties {
+
+    /** Distribui os contatos entre as instâncias de {@code shards} pelo hash do celular. */
+    private boolean habilitado = false;
+
+    /**
+     * Instâncias PostgreSQL, na ordem dos números de shard. A primeira é a principal: guarda a
+     * sequência global de ids, o mapa de fatias e as tabelas que não são de contatos.
+     */
+    private List<Instancia> instancias = new ArrayList<>();
+
+    /** Conexões no pool de cada instância. */
+    private int tamanhoPool = 10;
+
+    /** Ids reservados da sequência global por ida ao banco; precisa ser o INCREMENT BY da sequência. */
+    private int tamanhoBlocoIds = 100;
+
+    @Data
+    public static class Instancia {
+
+        private String url;
+
+        private String usuario;
+
+        private String senha;
+    }
+}
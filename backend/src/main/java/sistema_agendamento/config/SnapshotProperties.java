@@ -0,0 +1,25 @@
+package sistema_agendamento.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "agendamento.snapshot")
+public class SnapshotProperties {
+
+    /** Desabilitado, o arquivo não é lido nem gravado e as leituras dependem só do banco. */
+    private boolean habilitado = false;
+
+    /**
+     * Caminho absoluto do snapshot dos contatos ativos, obrigatório quando habilitado; a gravação
+     * usa um temporário ao lado dele. Um caminho relativo dependeria do diretório de onde a
+     * aplicação foi iniciada.
+     */
+    private String arquivo;
+
+    /** Intervalo entre as regravações do snapshot, feitas só quando houve escrita desde a anterior. */
+    private long intervaloGravacaoMs = 30000;
+
+    /** Depois de uma falha do banco, por quanto tempo as leituras vão direto ao snapshot. */
+    private long pausaAposFalhaMs = 5000;
+}
@@ -0,0 +1,35 @@
+package sistema_agendamento.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import sistema_agendamento.diagnostico.EventoJfrInterceptor;
+import sistema_agendamento.serializacao.CacheFragmentosJson;
+import sistema_agendamento.serializacao.ContatosJsonHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final EventoJfrInterceptor eventoJfrInterceptor;
+    private final ControleAdmissaoInterceptor controleAdmissaoInterceptor;
+    private final CacheFragmentosJson cacheFragmentosJson;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(eventoJfrInterceptor)
+                .addPathPatterns("/contatos", "/contatos/**");
+        registry.addInterceptor(controleAdmissaoInterceptor)
+                .addPathPatterns("/contatos", "/contatos/**");
+    }
+
+    // Antes do Jackson, para que as respostas de contatos usem os fragmentos já serializados
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ContatosJsonHttpMessageConverter(cacheFragmentosJson));
+    }
+}
@@ -0,0 +1,44 @@
+package sistema_agendamento.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.service.ContatoArquivoService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/contatos/arquivados")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Contatos arquivados", description = "API para consulta e restauração de contatos arquivados")
+@CrossOrigin(origins = "*")
+public class ContatoArquivoController {
+
+    private final ContatoArquivoService contatoArquivoService;
+
+    @GetMapping
+    @Operation(summary = "Listar contatos arquivados, opcionalmente filtrando por termo")
+    public ResponseEntity<List<ContatoDTO>> listar(@RequestParam(required = false) String termo) {
+        log.info("Recebida requisição para listar contatos arquivados");
+        return ResponseEntity.ok(contatoArquivoService.listar(termo));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar contato arquivado por ID")
+    public ResponseEntity<ContatoDTO> buscarPorId(@PathVariable Long id) {
+        log.info("Recebida requisição para buscar contato arquivado ID: {}", id);
+        return ResponseEntity.ok(contatoArquivoService.buscarPorId(id));
+    }
+
+    @PostMapping("/{id}/restaurar")
+    @Operation(summary = "Restaurar contato arquivado")
+    public ResponseEntity<ContatoDTO> restaurar(@PathVariable Long id) {
+        log.info("Recebida requisição para restaurar contato arquivado ID: {}", id);
+        return ResponseEntity.ok(contatoArquivoService.restaurar(id));
+    }
+}
@@ -9,19 +9,24 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
 import sistema_agendamento.service.ContatoService;
+import sistema_agendamento.service.EscritorContatosEmLote;
+import sistema_agendamento.snapshot.LeituraDegradada;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/contatos")
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Contatos", description = "API para gerenciamento de contatos")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = LeituraDegradada.CABECALHO_DESATUALIZADO)
 public class ContatoController {
 
     private final ContatoService contatoService;
+    private final EscritorContatosEmLote escritorEmLote;
 
     @GetMapping
     @Operation(summary = "Listar todos os contatos ativos")
@@ -39,6 +44,16 @@ public class ContatoController {
         return ResponseEntity.ok(favoritos);
     }
 
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar uma página de contatos ativos, opcionalmente filtrando por termo e favoritos")
+    public ResponseEntity<PaginaDTO<ContatoDTO>> listarPagina(@RequestParam(defaultValue = "0") int pagina,
+                                                              @RequestParam(defaultValue = "50") int tamanho,
+                                                              @RequestParam(required = false) String termo,
+                                                              @RequestParam(defaultValue = "false") boolean favoritos) {
+        log.info("Recebida requisição para listar a página {} de contatos", pagina);
+        return ResponseEntity.ok(contatoService.listarPagina(pagina, tamanho, termo, favoritos));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar contato por ID")
     public ResponseEntity<ContatoDTO> buscarPorId(@PathVariable Long id) {
@@ -55,11 +70,44 @@ public class ContatoController {
         return ResponseEntity.ok(contatos);
     }
 
+    // Com ?fields=id,nome,... a resposta traz só as propriedades pedidas e a consulta
+    // seleciona só as colunas correspondentes.
+    @GetMapping(params = "fields")
+    @Operation(summary = "Listar contatos ativos com apenas os campos informados")
+    public ResponseEntity<List<Map<String, Object>>> listarTodos(@RequestParam String fields) {
+        log.info("Recebida requisição para listar contatos com os campos: {}", fields);
+        return ResponseEntity.ok(contatoService.listarTodos(fields));
+    }
+
+    @GetMapping(value = "/favoritos", params = "fields")
+    @Operation(summary = "Listar contatos favoritos com apenas os campos informados")
+    public ResponseEntity<List<Map<String, Object>>> listarFavoritos(@RequestParam String fields) {
+        log.info("Recebida requisição para listar favoritos com os campos: {}", fields);
+        return ResponseEntity.ok(contatoService.listarFavoritos(fields));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Buscar contato por ID com apenas os campos informados")
+    public ResponseEntity<Map<String, Object>> buscarPorId(@PathVariable Long id, @RequestParam String fields) {
+        log.info("Recebida requisição para buscar contato ID: {} com os campos: {}", id, fields);
+        return ResponseEntity.ok(contatoService.buscarPorId(id, fields));
+    }
+
+    @GetMapping(value = "/buscar", params = "fields")
+    @Operation(summary = "Buscar contatos por termo com apenas os campos informados")
+    public ResponseEntity<List<Map<String, Object>>> buscarPorTermo(@RequestParam String termo, @RequestParam String fields) {
+        log.info("Recebida requisição para buscar contatos por termo: {} com os campos: {}", termo, fields);
+        return ResponseEntity.ok(contatoService.buscarPorTermo(termo, fields));
+    }
+
     @PostMapping
     @Operation(summary = "Criar novo contato")
     public ResponseEntity<ContatoDTO> criar(@Valid @RequestBody ContatoDTO contatoDTO) {
         log.info("Recebida requisição para criar contato: {}", contatoDTO.getNome());
-        ContatoDTO contatoCriado = contatoService.criar(contatoDTO);
+        // No modo em lote a thread da requisição só aguarda o commit do lote, sem abrir transação
+        ContatoDTO contatoCriado = escritorEmLote.isHabilitada()
+                ? escritorEmLote.criar(contatoDTO)
+                : contatoService.criar(contatoDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(contatoCriado);
     }
 
@@ -67,7 +115,9 @@ public class ContatoController {
     @Operation(summary = "Atualizar contato")
     public ResponseEntity<ContatoDTO> atualizar(@PathVariable Long id, @Valid @RequestBody ContatoDTO contatoDTO) {
         log.info("Recebida requisição para atualizar contato ID: {}", id);
-        ContatoDTO contatoAtualizado = contatoService.atualizar(id, contatoDTO);
+        ContatoDTO contatoAtualizado = escritorEmLote.isHabilitada()
+                ? escritorEmLote.atualizar(id, contatoDTO)
+                : contatoService.atualizar(id, contatoDTO);
         return ResponseEntity.ok(contatoAtualizado);
     }
 
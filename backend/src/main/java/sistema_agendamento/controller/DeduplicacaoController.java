@@ -0,0 +1,52 @@
+package sistema_agendamento.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sistema_agendamento.deduplicacao.DeduplicacaoService;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.MesclagemDTO;
+import sistema_agendamento.dto.SugestaoDuplicataDTO;
+import sistema_agendamento.service.ContatoService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/contatos/duplicados")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Duplicados", description = "API para detecção e mesclagem de contatos duplicados")
+@CrossOrigin(origins = "*")
+public class DeduplicacaoController {
+
+    private final DeduplicacaoService deduplicacaoService;
+    private final ContatoService contatoService;
+
+    @GetMapping
+    @Operation(summary = "Listar sugestões de contatos duplicados, da maior para a menor pontuação")
+    public ResponseEntity<List<SugestaoDuplicataDTO>> listarSugestoes(@RequestParam(defaultValue = "100") int limite) {
+        log.info("Recebida requisição para listar sugestões de duplicados");
+        return ResponseEntity.ok(deduplicacaoService.listarSugestoes(limite));
+    }
+
+    @PostMapping("/analise")
+    @Operation(summary = "Iniciar a análise completa de duplicados em segundo plano")
+    public ResponseEntity<Void> iniciarAnalise() {
+        log.info("Recebida requisição para analisar duplicados");
+        boolean iniciada = deduplicacaoService.iniciarAnalise();
+        return ResponseEntity.status(iniciada ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
+    @PostMapping("/mesclar")
+    @Operation(summary = "Mesclar um contato duplicado no contato principal")
+    public ResponseEntity<ContatoDTO> mesclar(@Valid @RequestBody MesclagemDTO mesclagemDTO) {
+        log.info("Recebida requisição para mesclar contato ID {} no contato ID {}",
+                mesclagemDTO.getDuplicadoId(), mesclagemDTO.getPrincipalId());
+        return ResponseEntity.ok(contatoService.mesclar(mesclagemDTO.getPrincipalId(), mesclagemDTO.getDuplicadoId()));
+    }
+}
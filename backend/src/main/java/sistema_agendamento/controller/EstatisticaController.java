@@ -0,0 +1,29 @@
+package sistema_agendamento.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sistema_agendamento.dto.EstatisticasContatoDTO;
+import sistema_agendamento.estatistica.EstatisticasContatoService;
+
+@RestController
+@RequestMapping("/contatos/estatisticas")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Estatísticas", description = "API de contagens de contatos para o painel")
+@CrossOrigin(origins = "*")
+public class EstatisticaController {
+
+    private final EstatisticasContatoService estatisticasService;
+
+    @GetMapping
+    @Operation(summary = "Contagens de ativos, favoritos e inativos e cadastros por dia e por mês")
+    public ResponseEntity<EstatisticasContatoDTO> consultar(@RequestParam(defaultValue = "30") int dias,
+                                                            @RequestParam(defaultValue = "12") int meses) {
+        log.info("Recebida requisição de estatísticas dos últimos {} dias e {} meses", dias, meses);
+        return ResponseEntity.ok(estatisticasService.consultar(dias, meses));
+    }
+}
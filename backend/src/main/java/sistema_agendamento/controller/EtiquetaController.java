@@ -0,0 +1,85 @@
+package sistema_agendamento.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.EtiquetaDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.etiqueta.EtiquetaService;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "agendamento.shard", name = "habilitado", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Etiquetas", description = "API para agrupar contatos por etiquetas e filtrar por elas")
+@CrossOrigin(origins = "*")
+public class EtiquetaController {
+
+    private final EtiquetaService etiquetaService;
+
+    @GetMapping("/etiquetas")
+    @Operation(summary = "Listar etiquetas com a quantidade de contatos ativos de cada uma")
+    public ResponseEntity<List<EtiquetaDTO>> listarEtiquetas() {
+        log.info("Recebida requisição para listar etiquetas");
+        return ResponseEntity.ok(etiquetaService.listarEtiquetas());
+    }
+
+    @PostMapping("/etiquetas")
+    @Operation(summary = "Criar etiqueta")
+    public ResponseEntity<EtiquetaDTO> criarEtiqueta(@Valid @RequestBody EtiquetaDTO etiquetaDTO) {
+        log.info("Recebida requisição para criar etiqueta: {}", etiquetaDTO.getNome());
+        return ResponseEntity.status(HttpStatus.CREATED).body(etiquetaService.criarEtiqueta(etiquetaDTO));
+    }
+
+    @DeleteMapping("/etiquetas/{id}")
+    @Operation(summary = "Excluir etiqueta, retirando-a de todos os contatos")
+    public ResponseEntity<Void> excluirEtiqueta(@PathVariable Long id) {
+        log.info("Recebida requisição para excluir etiqueta ID: {}", id);
+        etiquetaService.excluirEtiqueta(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/contatos/{id}/etiquetas")
+    @Operation(summary = "Listar etiquetas do contato")
+    public ResponseEntity<List<EtiquetaDTO>> listarEtiquetasDoContato(@PathVariable Long id) {
+        log.info("Recebida requisição para listar etiquetas do contato ID: {}", id);
+        return ResponseEntity.ok(etiquetaService.listarEtiquetasDoContato(id));
+    }
+
+    @PutMapping("/contatos/{id}/etiquetas/{etiquetaId}")
+    @Operation(summary = "Adicionar etiqueta ao contato")
+    public ResponseEntity<List<EtiquetaDTO>> adicionarEtiqueta(@PathVariable Long id, @PathVariable Long etiquetaId) {
+        log.info("Recebida requisição para adicionar etiqueta ID {} ao contato ID {}", etiquetaId, id);
+        return ResponseEntity.ok(etiquetaService.adicionarEtiqueta(id, etiquetaId));
+    }
+
+    @DeleteMapping("/contatos/{id}/etiquetas/{etiquetaId}")
+    @Operation(summary = "Remover etiqueta do contato")
+    public ResponseEntity<Void> removerEtiqueta(@PathVariable Long id, @PathVariable Long etiquetaId) {
+        log.info("Recebida requisição para remover etiqueta ID {} do contato ID {}", etiquetaId, id);
+        etiquetaService.removerEtiqueta(id, etiquetaId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/contatos/filtro")
+    @Operation(summary = "Listar contatos por combinação de etiquetas (todas, qualquer, exceto), situação e favorito, em ordem de ID")
+    public ResponseEntity<PaginaDTO<ContatoDTO>> filtrar(@RequestParam(defaultValue = "") List<String> etiquetas,
+                                                         @RequestParam(defaultValue = "") List<String> qualquer,
+                                                         @RequestParam(defaultValue = "") List<String> exceto,
+                                                         @RequestParam(defaultValue = "true") boolean ativo,
+                                                         @RequestParam(required = false) Boolean favorito,
+                                                         @RequestParam(defaultValue = "0") int pagina,
+                                                         @RequestParam(defaultValue = "50") int tamanho) {
+        log.info("Recebida requisição para filtrar contatos por etiquetas");
+        return ResponseEntity.ok(etiquetaService.filtrar(etiquetas, qualquer, exceto, ativo, favorito, pagina, tamanho));
+    }
+}
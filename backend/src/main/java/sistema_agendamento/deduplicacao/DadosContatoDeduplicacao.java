@@ -0,0 +1,7 @@
+package sistema_agendamento.deduplicacao;
+
+/**
+ * Colunas de um contato ativo que a deduplicação precisa, lidas sem carregar a entidade.
+ */
+public record DadosContatoDeduplicacao(Long id, String nome, String celular, String telefone, String email) {
+}
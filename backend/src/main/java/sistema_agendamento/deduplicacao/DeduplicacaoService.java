@@ -0,0 +1,142 @@
+package sistema_agendamento.deduplicacao;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.config.DeduplicacaoProperties;
+import sistema_agendamento.dto.SugestaoDuplicataDTO;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Detecção de contatos duplicados. A análise completa é disparada sob demanda e roda em segundo
+ * plano; depois dela, os contatos alterados são reavaliados periodicamente de forma incremental.
+ */
+@Service
+@Slf4j
+public class DeduplicacaoService {
+
+    private final ContatoRepository contatoRepository;
+    private final DeduplicacaoProperties properties;
+    private final ForkJoinPool pool;
+    private final MotorDeduplicacao motor;
+    private final ExecutorService executorAnalise = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("deduplicacao").factory());
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean analiseEmAndamento = new AtomicBoolean();
+    private volatile boolean analisado;
+
+    public DeduplicacaoService(ContatoRepository contatoRepository, DeduplicacaoProperties properties) {
+        this.contatoRepository = contatoRepository;
+        this.properties = properties;
+        this.pool = properties.getParalelismo() > 0
+                ? new ForkJoinPool(properties.getParalelismo())
+                : new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        this.motor = new MotorDeduplicacao(properties.getLimiarSimilaridade(), properties.getTamanhoMaximoBloco(), pool);
+    }
+
+    /**
+     * Agenda a análise completa.
+     *
+     * @return {@code false} se já havia uma análise em andamento
+     */
+    public boolean iniciarAnalise() {
+        if (!analiseEmAndamento.compareAndSet(false, true)) {
+            return false;
+        }
+        executorAnalise.execute(() -> {
+            try {
+                analisarTudo();
+            } catch (RuntimeException e) {
+                log.error("Falha na análise de duplicatas: {}", e.getMessage(), e);
+            } finally {
+                analiseEmAndamento.set(false);
+            }
+        });
+        return true;
+    }
+
+    public List<SugestaoDuplicataDTO> listarSugestoes(int limite) {
+        return motor.listarSugestoes(limite).stream()
+                .map(sugestao -> new SugestaoDuplicataDTO(
+                        sugestao.contatoId(), motor.nomeDe(sugestao.contatoId()),
+                        sugestao.outroContatoId(), motor.nomeDe(sugestao.outroContatoId()),
+                        sugestao.pontuacao(), sugestao.motivos()))
+                .collect(Collectors.toList());
+    }
+
+    public boolean isAnalisado() {
+        return analisado;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        if (analisado) {
+            pendentes.add(evento.contatoId());
+        }
+    }
+
+    @EventListener
+    public void aoInvalidarContatos(ContatosInvalidadosEvent evento) {
+        if (analisado) {
+            iniciarAnalise();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.deduplicacao.intervalo-incremental-ms:30000}")
+    public void processarPendentes() {
+        if (!analisado || analiseEmAndamento.get() || pendentes.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = new HashSet<>(pendentes);
+        pendentes.removeAll(ids);
+        List<DadosContatoDeduplicacao> alterados = contatoRepository.findDadosDeduplicacaoPorIds(ids);
+        Set<Long> removidos = new HashSet<>(ids);
+        alterados.forEach(dados -> removidos.remove(dados.id()));
+        motor.atualizar(alterados, removidos);
+        log.info("Deduplicação incremental: {} contatos reavaliados", ids.size());
+    }
+
+    void analisarTudo() {
+        long inicio = System.currentTimeMillis();
+        pendentes.clear();
+
+        List<DadosContatoDeduplicacao> contatos = new ArrayList<>();
+        long ultimoId = 0;
+        List<DadosContatoDeduplicacao> pagina;
+        do {
+            pagina = contatoRepository.findDadosDeduplicacaoAposId(ultimoId, PageRequest.of(0, properties.getTamanhoPaginaCarga()));
+            contatos.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                ultimoId = pagina.get(pagina.size() - 1).id();
+            }
+        } while (pagina.size() == properties.getTamanhoPaginaCarga());
+
+        motor.carregar(contatos);
+        analisado = true;
+        log.info("Análise de duplicatas concluída em {} ms", System.currentTimeMillis() - inicio);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executorAnalise.shutdownNow();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,208 @@
+package sistema_agendamento.deduplicacao;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Índice em memória dos contatos ativos por chave de bloco e das sugestões de duplicata.
+ *
+ * <p>A análise completa pontua, em paralelo no {@link ForkJoinPool}, todos os pares de cada bloco.
+ * Depois disso, {@link #atualizar} recompara apenas os contatos alterados com os membros dos seus
+ * blocos. Blocos maiores que {@code tamanhoMaximoBloco} (nomes muito comuns) são ignorados para
+ * não degenerar em comparações quadráticas.</p>
+ */
+@Slf4j
+public class MotorDeduplicacao {
+
+    private static final int BLOCOS_POR_TAREFA = 256;
+
+    private final double limiar;
+    private final int tamanhoMaximoBloco;
+    private final ForkJoinPool pool;
+
+    private final Map<Long, PerfilContato> perfis = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> blocos = new ConcurrentHashMap<>();
+    private final Map<ParContatos, SugestaoDuplicata> sugestoes = new ConcurrentHashMap<>();
+
+    public MotorDeduplicacao(double limiar, int tamanhoMaximoBloco, ForkJoinPool pool) {
+        this.limiar = limiar;
+        this.tamanhoMaximoBloco = tamanhoMaximoBloco;
+        this.pool = pool;
+    }
+
+    /**
+     * Descarta o estado atual e analisa todos os contatos informados.
+     */
+    public synchronized void carregar(Collection<DadosContatoDeduplicacao> contatos) {
+        perfis.clear();
+        blocos.clear();
+        sugestoes.clear();
+        pool.submit(() -> contatos.parallelStream().map(PerfilContato::de).forEach(this::indexar)).join();
+
+        List<Map.Entry<String, Set<Long>>> comparaveis = blocos.entrySet().stream()
+                .filter(bloco -> bloco.getValue().size() > 1 && bloco.getValue().size() <= tamanhoMaximoBloco)
+                .toList();
+        pool.invoke(new CompararBlocos(comparaveis, 0, comparaveis.size()));
+        log.info("Deduplicação: {} contatos, {} blocos comparados, {} sugestões",
+                perfis.size(), comparaveis.size(), sugestoes.size());
+    }
+
+    /**
+     * Reindexa os contatos alterados, retira os removidos e recompara só o que foi afetado.
+     */
+    public synchronized void atualizar(Collection<DadosContatoDeduplicacao> alterados, Collection<Long> removidos) {
+        Set<Long> afetados = new HashSet<>(removidos);
+        alterados.forEach(dados -> afetados.add(dados.id()));
+        afetados.forEach(this::desindexar);
+        sugestoes.keySet().removeIf(par -> afetados.contains(par.menor()) || afetados.contains(par.maior()));
+
+        List<PerfilContato> novos = alterados.stream().map(PerfilContato::de).toList();
+        novos.forEach(this::indexar);
+        pool.submit(() -> novos.parallelStream().forEach(this::compararComBlocos)).join();
+    }
+
+    public List<SugestaoDuplicata> listarSugestoes(int limite) {
+        return sugestoes.values().stream()
+                .sorted(Comparator.comparingDouble(SugestaoDuplicata::pontuacao).reversed()
+                        .thenComparingLong(SugestaoDuplicata::contatoId))
+                .limit(limite)
+                .toList();
+    }
+
+    public String nomeDe(long contatoId) {
+        PerfilContato perfil = perfis.get(contatoId);
+        return perfil == null ? null : perfil.nome();
+    }
+
+    public int totalContatos() {
+        return perfis.size();
+    }
+
+    private void indexar(PerfilContato perfil) {
+        perfis.put(perfil.id(), perfil);
+        for (String chave : perfil.chaves()) {
+            blocos.computeIfAbsent(chave, k -> ConcurrentHashMap.newKeySet()).add(perfil.id());
+        }
+    }
+
+    private void desindexar(Long id) {
+        PerfilContato anterior = perfis.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String chave : anterior.chaves()) {
+            blocos.computeIfPresent(chave, (k, membros) -> {
+                membros.remove(id);
+                return membros.isEmpty() ? null : membros;
+            });
+        }
+    }
+
+    private void compararComBlocos(PerfilContato perfil) {
+        for (String chave : perfil.chaves()) {
+            Set<Long> membros = blocos.getOrDefault(chave, Set.of());
+            if (membros.size() > tamanhoMaximoBloco) {
+                continue;
+            }
+            for (Long outroId : membros) {
+                PerfilContato outro = perfis.get(outroId);
+                if (outro != null && outro.id() != perfil.id() && chave.equals(chaveResponsavel(perfil, outro))) {
+                    pontuar(perfil, outro);
+                }
+            }
+        }
+    }
+
+    /**
+     * Menor chave comparável compartilhada pelos dois perfis; garante que cada par seja pontuado
+     * em um único bloco, mesmo que os dois dividam vários.
+     */
+    private String chaveResponsavel(PerfilContato a, PerfilContato b) {
+        for (String chave : a.chaves()) {
+            if (b.chaves().contains(chave) && blocos.getOrDefault(chave, Set.of()).size() <= tamanhoMaximoBloco) {
+                return chave;
+            }
+        }
+        return null;
+    }
+
+    private void pontuar(PerfilContato a, PerfilContato b) {
+        List<String> motivos = new ArrayList<>(3);
+        double similaridadeNome = NormalizadorContato.jaroWinkler(a.nomeNormalizado(), b.nomeNormalizado());
+        boolean mesmoTelefone = a.telefones().stream().anyMatch(b.telefones()::contains);
+        boolean mesmoEmail = a.email() != null && a.email().equals(b.email());
+
+        double pontuacao;
+        if (mesmoTelefone) {
+            motivos.add("telefone");
+            pontuacao = 0.5 + 0.5 * similaridadeNome;
+        } else if (mesmoEmail) {
+            pontuacao = 0.45 + 0.5 * similaridadeNome;
+        } else {
+            pontuacao = 0.9 * similaridadeNome;
+        }
+        if (mesmoEmail) {
+            motivos.add("email");
+        }
+        if (similaridadeNome >= 0.9) {
+            motivos.add("nome");
+        }
+
+        if (pontuacao >= limiar) {
+            long menor = Math.min(a.id(), b.id());
+            long maior = Math.max(a.id(), b.id());
+            sugestoes.put(new ParContatos(menor, maior),
+                    new SugestaoDuplicata(menor, maior, Math.round(pontuacao * 1000) / 1000.0, List.copyOf(motivos)));
+        }
+    }
+
+    private record ParContatos(long menor, long maior) {
+    }
+
+    private class CompararBlocos extends RecursiveAction {
+
+        private final List<Map.Entry<String, Set<Long>>> blocosParaComparar;
+        private final int inicio;
+        private final int fim;
+
+        CompararBlocos(List<Map.Entry<String, Set<Long>>> blocosParaComparar, int inicio, int fim) {
+            this.blocosParaComparar = blocosParaComparar;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > BLOCOS_POR_TAREFA) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new CompararBlocos(blocosParaComparar, inicio, meio),
+                        new CompararBlocos(blocosParaComparar, meio, fim));
+                return;
+            }
+            for (int i = inicio; i < fim; i++) {
+                compararBloco(blocosParaComparar.get(i).getKey(), blocosParaComparar.get(i).getValue());
+            }
+        }
+
+        private void compararBloco(String chave, Set<Long> membros) {
+            PerfilContato[] perfisDoBloco = membros.stream().map(perfis::get).toArray(PerfilContato[]::new);
+            for (int i = 0; i < perfisDoBloco.length; i++) {
+                for (int j = i + 1; j < perfisDoBloco.length; j++) {
+                    if (chave.equals(chaveResponsavel(perfisDoBloco[i], perfisDoBloco[j]))) {
+                        pontuar(perfisDoBloco[i], perfisDoBloco[j]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package sistema_agendamento.deduplicacao;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalizações usadas para comparar contatos escritos de formas diferentes.
+ */
+public final class NormalizadorContato {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_LETRAS = Pattern.compile("[^a-z]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+    private static final Set<String> PARTICULAS = Set.of("de", "da", "do", "das", "dos", "e");
+
+    private NormalizadorContato() {
+    }
+
+    /**
+     * Remove acentos, caixa, pontuação e partículas: "José da Silva-Júnior" vira "jose silva junior".
+     */
+    public static String normalizarNome(String nome) {
+        if (nome == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(NAO_LETRAS.split(semAcentos.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty() && !PARTICULAS.contains(token))
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Reduz um número a DDD + últimos 8 dígitos, o que iguala o celular "11 9 8888 7777" ao mesmo
+     * número gravado como fixo "11 8888 7777". Devolve {@code null} se não houver DDD.
+     */
+    public static String normalizarTelefone(String telefone) {
+        if (telefone == null) {
+            return null;
+        }
+        String digitos = NAO_DIGITOS.matcher(telefone).replaceAll("");
+        if ((digitos.length() == 12 || digitos.length() == 13) && digitos.startsWith("55")) {
+            digitos = digitos.substring(2);
+        }
+        if (digitos.length() < 10) {
+            return null;
+        }
+        return digitos.substring(0, 2) + digitos.substring(digitos.length() - 8);
+    }
+
+    public static String normalizarEmail(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Similaridade de Jaro-Winkler entre 0 (nada em comum) e 1 (iguais).
+     */
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+
+        int janela = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] casadosA = new boolean[a.length()];
+        boolean[] casadosB = new boolean[b.length()];
+        int coincidencias = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int inicio = Math.max(0, i - janela);
+            int fim = Math.min(b.length(), i + janela + 1);
+            for (int j = inicio; j < fim; j++) {
+                if (!casadosB[j] && a.charAt(i) == b.charAt(j)) {
+                    casadosA[i] = true;
+                    casadosB[j] = true;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0.0;
+        }
+
+        int transposicoes = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (casadosA[i]) {
+                while (!casadosB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transposicoes++;
+                }
+                j++;
+            }
+        }
+
+        double m = coincidencias;
+        double jaro = (m / a.length() + m / b.length() + (m - transposicoes / 2.0) / m) / 3.0;
+        int prefixo = 0;
+        while (prefixo < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefixo) == b.charAt(prefixo)) {
+            prefixo++;
+        }
+        return jaro + prefixo * 0.1 * (1.0 - jaro);
+    }
+}
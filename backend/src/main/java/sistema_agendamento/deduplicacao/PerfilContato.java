@@ -0,0 +1,50 @@
+package sistema_agendamento.deduplicacao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Contato já normalizado, com as chaves de bloco sob as quais ele é indexado. Dois contatos só
+ * são comparados se tiverem ao menos uma chave em comum.
+ */
+record PerfilContato(long id, String nome, String nomeNormalizado, Set<String> telefones, String email, List<String> chaves) {
+
+    static PerfilContato de(DadosContatoDeduplicacao dados) {
+        String nomeNormalizado = NormalizadorContato.normalizarNome(dados.nome());
+        Set<String> telefones = new LinkedHashSet<>();
+        adicionarSeValido(telefones, NormalizadorContato.normalizarTelefone(dados.celular()));
+        adicionarSeValido(telefones, NormalizadorContato.normalizarTelefone(dados.telefone()));
+        String email = NormalizadorContato.normalizarEmail(dados.email());
+
+        List<String> chaves = new ArrayList<>();
+        telefones.forEach(telefone -> chaves.add("T" + telefone));
+        if (email != null) {
+            chaves.add("E" + email);
+        }
+        String[] tokens = nomeNormalizado.isEmpty() ? new String[0] : nomeNormalizado.split(" ");
+        if (tokens.length == 1) {
+            chaves.add("N" + prefixo(tokens[0], 5));
+        } else if (tokens.length > 1) {
+            String primeiro = tokens[0];
+            String ultimo = tokens[tokens.length - 1];
+            // Tolera erro de grafia no sobrenome e, pela segunda chave, no prenome
+            chaves.add("N" + prefixo(primeiro, 4) + "|" + prefixo(ultimo, 2));
+            chaves.add("S" + ultimo + "|" + primeiro.charAt(0));
+        }
+        chaves.sort(null);
+
+        return new PerfilContato(dados.id(), dados.nome(), nomeNormalizado, Set.copyOf(telefones), email, List.copyOf(chaves));
+    }
+
+    private static void adicionarSeValido(Set<String> telefones, String telefone) {
+        if (telefone != null) {
+            telefones.add(telefone);
+        }
+    }
+
+    private static String prefixo(String valor, int tamanho) {
+        return valor.length() <= tamanho ? valor : valor.substring(0, tamanho);
+    }
+}
@@ -0,0 +1,9 @@
+package sistema_agendamento.deduplicacao;
+
+import java.util.List;
+
+/**
+ * Par de contatos possivelmente duplicados, com {@code contatoId < outroContatoId}.
+ */
+public record SugestaoDuplicata(long contatoId, long outroContatoId, double pontuacao, List<String> motivos) {
+}
@@ -0,0 +1,30 @@
+package sistema_agendamento.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Uma requisição atendida por um controller. Registra a rota mapeada, não a URI, para que
+ * termos de busca e IDs não vão para a gravação.
+ */
+@Name("sistema_agendamento.ChamadaController")
+@Label("Chamada de controller")
+@Category({"Sistema Agendamento", "HTTP"})
+class ChamadaControllerEvent extends Event {
+
+    @Label("Método HTTP")
+    String metodo;
+
+    @Label("Rota")
+    String rota;
+
+    @Label("Handler")
+    @Description("Classe e método do controller")
+    String handler;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,27 @@
+package sistema_agendamento.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Uma chamada a um repositório Spring Data. Os parâmetros não são registrados.
+ */
+@Name("sistema_agendamento.ConsultaRepositorio")
+@Label("Consulta de repositório")
+@Category({"Sistema Agendamento", "Banco de dados"})
+class ConsultaRepositorioEvent extends Event {
+
+    @Label("Repositório")
+    String repositorio;
+
+    @Label("Consulta")
+    @Description("Nome do método do repositório")
+    String consulta;
+
+    @Label("Linhas")
+    @Description("Linhas devolvidas ou afetadas; -1 quando a consulta falhou")
+    long linhas;
+}
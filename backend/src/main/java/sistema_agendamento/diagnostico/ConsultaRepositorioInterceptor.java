@@ -0,0 +1,73 @@
+package sistema_agendamento.diagnostico;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Envolve os métodos de um repositório emitindo um {@link ConsultaRepositorioEvent} com o nome
+ * do método e a quantidade de linhas do resultado.
+ */
+class ConsultaRepositorioInterceptor implements MethodInterceptor {
+
+    private final String repositorio;
+
+    ConsultaRepositorioInterceptor(String repositorio) {
+        this.repositorio = repositorio;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ConsultaRepositorioEvent evento = new ConsultaRepositorioEvent();
+        if (!evento.isEnabled() || invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        evento.begin();
+        long linhas = -1;
+        try {
+            Object resultado = invocation.proceed();
+            linhas = contarLinhas(resultado);
+            return resultado;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.repositorio = repositorio;
+                evento.consulta = invocation.getMethod().getName();
+                evento.linhas = linhas;
+                evento.commit();
+            }
+        }
+    }
+
+    static long contarLinhas(Object resultado) {
+        if (resultado == null) {
+            return 0;
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Slice<?> pagina) {
+            return pagina.getNumberOfElements();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        // Consultas @Modifying devolvem as linhas afetadas
+        if (resultado instanceof Integer || resultado instanceof Long) {
+            return ((Number) resultado).longValue();
+        }
+        if (resultado instanceof Map<?, ?> || !(resultado instanceof Iterable<?> iteravel)) {
+            return 1;
+        }
+        long total = 0;
+        for (Object ignorado : iteravel) {
+            total++;
+        }
+        return total;
+    }
+}
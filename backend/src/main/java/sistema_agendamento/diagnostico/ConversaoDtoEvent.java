@@ -0,0 +1,45 @@
+package sistema_agendamento.diagnostico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conversão de um lote de entidades em DTOs.
+ */
+@Name("sistema_agendamento.ConversaoDto")
+@Label("Conversão para DTO")
+@Category({"Sistema Agendamento", "Serviço"})
+public class ConversaoDtoEvent extends Event {
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("Quantidade")
+    int quantidade;
+
+    /**
+     * Converte a lista emitindo o evento. Com a gravação desligada o custo é só o de
+     * {@link #isEnabled()}.
+     */
+    public static <E, D> List<D> converter(String operacao, List<E> entidades, Function<E, D> conversor) {
+        ConversaoDtoEvent evento = new ConversaoDtoEvent();
+        if (!evento.isEnabled()) {
+            return entidades.stream().map(conversor).collect(Collectors.toList());
+        }
+        evento.begin();
+        List<D> dtos = entidades.stream().map(conversor).collect(Collectors.toList());
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacao = operacao;
+            evento.quantidade = dtos.size();
+            evento.commit();
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,29 @@
+package sistema_agendamento.diagnostico;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class DiagnosticoConfig {
+
+    /**
+     * Acrescenta o {@link ConsultaRepositorioInterceptor} ao proxy de cada repositório Spring Data
+     * antes de ele ser criado.
+     */
+    @Bean
+    static BeanPostProcessor eventosJfrRepositorios() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+                    fabrica.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, informacoes) -> proxyFactory.addAdvice(
+                                    new ConsultaRepositorioInterceptor(informacoes.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package sistema_agendamento.diagnostico;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emite um {@link ChamadaControllerEvent} por requisição. Fica antes do controle de admissão,
+ * para que as requisições rejeitadas também apareçam na gravação.
+ */
+@Component
+public class EventoJfrInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO_EVENTO = EventoJfrInterceptor.class.getName() + ".evento";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ChamadaControllerEvent evento = new ChamadaControllerEvent();
+        if (evento.isEnabled()) {
+            evento.begin();
+            request.setAttribute(ATRIBUTO_EVENTO, evento);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ATRIBUTO_EVENTO) instanceof ChamadaControllerEvent evento)) {
+            return;
+        }
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.metodo = request.getMethod();
+            evento.rota = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+            evento.handler = handler instanceof HandlerMethod metodo
+                    ? metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName()
+                    : handler.getClass().getSimpleName();
+            evento.status = response.getStatus();
+            evento.commit();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package sistema_agendamento.diagnostico;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import sistema_agendamento.config.JfrProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação do Java Flight Recorder sob demanda pelo actuator, sempre com duração limitada:
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} inicia ({@code duracaoSegundos} e {@code configuracao} opcionais);</li>
+ *     <li>{@code GET /actuator/jfr} mostra a situação;</li>
+ *     <li>{@code DELETE /actuator/jfr} para antes do fim da duração;</li>
+ *     <li>{@code GET /actuator/jfr/arquivo} baixa o .jfr (durante a gravação, um retrato até o momento).</li>
+ * </ul>
+ * Há no máximo uma gravação por vez; iniciar outra descarta o arquivo da anterior.
+ *
+ * <p>Desligado por padrão: o perfil {@code diagnostico} libera o endpoint e leva o actuator para
+ * uma porta de gerência só local. Quem baixa o arquivo vê o que a aplicação fez, por isso o
+ * endpoint nunca deve ficar na porta pública sem autenticação. As variáveis de ambiente, as
+ * propriedades do sistema e a linha de comando da JVM, onde costumam estar senhas, não são
+ * gravadas.</p>
+ */
+@Component
+@Endpoint(id = "jfr", defaultAccess = Access.NONE)
+@Slf4j
+public class GravacaoJfrEndpoint {
+
+    static final List<String> EVENTOS_SENSIVEIS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final JfrProperties properties;
+    private Recording gravacao;
+    private Path arquivo;
+
+    public GravacaoJfrEndpoint(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> situacao() {
+        Map<String, Object> situacao = new LinkedHashMap<>();
+        if (gravacao == null) {
+            situacao.put("estado", "NENHUMA");
+            return situacao;
+        }
+        situacao.put("estado", gravacao.getState().name());
+        situacao.put("inicio", gravacao.getStartTime());
+        situacao.put("duracaoSegundos", gravacao.getDuration().toSeconds());
+        situacao.put("fim", gravacao.getStopTime());
+        situacao.put("arquivo", arquivo.getFileName().toString());
+        return situacao;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> iniciar(@Nullable Integer duracaoSegundos,
+                                                                         @Nullable String configuracao) {
+        int duracao = duracaoSegundos != null ? duracaoSegundos : properties.getDuracaoPadraoSegundos();
+        if (duracao < 1 || duracao > properties.getDuracaoMaximaSegundos()) {
+            return erro(WebEndpointResponse.STATUS_BAD_REQUEST,
+                    "Duração deve estar entre 1 e " + properties.getDuracaoMaximaSegundos() + " segundos");
+        }
+        if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            return erro(409, "Já existe uma gravação em andamento");
+        }
+
+        String nomeConfiguracao = configuracao != null ? configuracao : properties.getConfiguracaoPadrao();
+        Configuration configuracaoJdk;
+        try {
+            configuracaoJdk = Configuration.getConfiguration(nomeConfiguracao);
+        } catch (IOException | ParseException e) {
+            return erro(WebEndpointResponse.STATUS_BAD_REQUEST, "Configuração do JFR desconhecida: " + nomeConfiguracao);
+        }
+
+        descartarAnterior();
+        try {
+            Path diretorio = properties.getDiretorio().isBlank()
+                    ? Path.of(System.getProperty("java.io.tmpdir"))
+                    : Files.createDirectories(Path.of(properties.getDiretorio()));
+            arquivo = Files.createTempFile(diretorio, "agendamento-", ".jfr");
+            gravacao = new Recording(configuracaoJdk);
+            gravacao.setName("agendamento");
+            EVENTOS_SENSIVEIS.forEach(gravacao::disable);
+            gravacao.setToDisk(true);
+            gravacao.setDuration(Duration.ofSeconds(duracao));
+            gravacao.setDestination(arquivo);
+            gravacao.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Gravação JFR iniciada por {} s com a configuração {} em {}", duracao, nomeConfiguracao, arquivo);
+        return new WebEndpointResponse<>(situacao(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> parar() {
+        if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            gravacao.stop();
+            log.info("Gravação JFR parada; arquivo em {}", arquivo);
+        }
+        return situacao();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> arquivo(@Selector String recurso) {
+        if (!"arquivo".equals(recurso) || gravacao == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            if (gravacao.getState() == RecordingState.RUNNING) {
+                // Retrato do que já foi gravado; a gravação continua
+                Path retrato = arquivo.resolveSibling(arquivo.getFileName() + ".parcial");
+                gravacao.dump(retrato);
+                return new WebEndpointResponse<>(new FileSystemResource(retrato), WebEndpointResponse.STATUS_OK);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Files.exists(arquivo)
+                ? new WebEndpointResponse<>(new FileSystemResource(arquivo), WebEndpointResponse.STATUS_OK)
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private void descartarAnterior() {
+        if (gravacao == null) {
+            return;
+        }
+        gravacao.close();
+        try {
+            Files.deleteIfExists(arquivo);
+            Files.deleteIfExists(arquivo.resolveSibling(arquivo.getFileName() + ".parcial"));
+        } catch (IOException e) {
+            log.warn("Não foi possível remover a gravação anterior {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private static WebEndpointResponse<Map<String, Object>> erro(int status, String mensagem) {
+        return new WebEndpointResponse<>(Map.of("message", mensagem), status);
+    }
+}
@@ -1,5 +1,6 @@
 package sistema_agendamento.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -35,4 +36,8 @@ public class ContatoDTO {
     private Boolean favorito = false;
     private Boolean ativo = true;
     private LocalDateTime dataCadastro;
+
+    // Fica fora do JSON; junto com o id identifica o fragmento já serializado deste contato
+    @JsonIgnore
+    private Long versao;
 } 
\ No newline at end of file
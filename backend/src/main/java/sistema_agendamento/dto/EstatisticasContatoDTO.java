@@ -0,0 +1,21 @@
+package sistema_agendamento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasContatoDTO {
+
+    private Long ativos;
+    private Long favoritos;
+    private Long inativos;
+    private Map<LocalDate, Long> cadastrosPorDia;
+    private Map<YearMonth, Long> cadastrosPorMes;
+}
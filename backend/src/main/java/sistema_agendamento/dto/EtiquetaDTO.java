@@ -0,0 +1,22 @@
+package sistema_agendamento.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EtiquetaDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 50, message = "Nome deve ter no máximo 50 caracteres")
+    private String nome;
+
+    /** Contatos ativos com a etiqueta; nulo enquanto o índice não foi carregado. */
+    private Integer contatos;
+}
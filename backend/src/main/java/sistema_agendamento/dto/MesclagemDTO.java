@@ -0,0 +1,18 @@
+package sistema_agendamento.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MesclagemDTO {
+
+    @NotNull(message = "Contato principal é obrigatório")
+    private Long principalId;
+
+    @NotNull(message = "Contato duplicado é obrigatório")
+    private Long duplicadoId;
+}
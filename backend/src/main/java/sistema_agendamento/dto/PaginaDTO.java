@@ -0,0 +1,18 @@
+package sistema_agendamento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> conteudo;
+    private Integer pagina;
+    private Integer tamanho;
+    private Long total;
+}
@@ -0,0 +1,20 @@
+package sistema_agendamento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoDuplicataDTO {
+
+    private Long contatoId;
+    private String nome;
+    private Long outroContatoId;
+    private String outroNome;
+    private Double pontuacao;
+    private List<String> motivos;
+}
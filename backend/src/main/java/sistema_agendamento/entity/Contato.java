@@ -7,20 +7,36 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OptimisticLock;
+import sistema_agendamento.entity.conversor.CelularConverter;
+import sistema_agendamento.entity.conversor.TelefoneConverter;
+import sistema_agendamento.entity.gerador.IdentidadeOuAtribuido;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "contato")
+// Os mesmos índices do schema.sql, para que o banco gerado nos testes tenha os mesmos caminhos
+// de acesso (no PostgreSQL idx_contato_inativacao é parcial, só dos inativos)
+@Table(name = "contato", indexes = {
+        @Index(name = "idx_contato_ativo", columnList = "contato_sn_ativo"),
+        @Index(name = "idx_contato_favorito", columnList = "contato_sn_favorito"),
+        @Index(name = "idx_contato_nome", columnList = "contato_nome"),
+        @Index(name = "idx_contato_inativacao", columnList = "contato_dh_inativacao")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Contato {
 
+    // Com contatos em shards o id vem da sequência global (ver sistema_agendamento.shard)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdentidadeOuAtribuido
     @Column(name = "contato_id")
     private Long id;
 
@@ -36,33 +52,68 @@ public class Contato {
 
     @NotBlank(message = "Celular é obrigatório")
     @Pattern(regexp = "^[0-9]{11}$", message = "Celular deve ter 11 dígitos")
-    @Column(name = "contato_celular", nullable = false, length = 11, unique = true)
+    @Convert(converter = CelularConverter.class)
+    @Column(name = "contato_celular", nullable = false, unique = true)
     private String celular;
 
     @Pattern(regexp = "^[0-9]{10}$", message = "Telefone deve ter 10 dígitos")
-    @Column(name = "contato_telefone", length = 10)
+    @Convert(converter = TelefoneConverter.class)
+    @Column(name = "contato_telefone")
     private String telefone;
 
-    @Column(name = "contato_sn_favorito", length = 1)
-    private Character favorito = 'N';
+    @Column(name = "contato_sn_favorito")
+    private Boolean favorito = false;
 
-    @Column(name = "contato_sn_ativo", length = 1)
-    private Character ativo = 'S';
+    @Column(name = "contato_sn_ativo")
+    private Boolean ativo = true;
 
     @CreationTimestamp
     @Column(name = "contato_dh_cad", nullable = false)
     private LocalDateTime dataCadastro;
 
+    @Column(name = "contato_dh_inativacao")
+    private LocalDateTime dataInativacao;
+
+    @Version
+    @Column(name = "contato_nr_versao", nullable = false)
+    private Long versao;
+
+    // Carregadas só por quem mexe nas etiquetas; os filtros usam o índice em memória.
+    // Etiquetar não conflita com a edição dos dados, por isso não incrementa a versão.
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "contato_etiqueta",
+            joinColumns = @JoinColumn(name = "contato_id"),
+            inverseJoinColumns = @JoinColumn(name = "etiqueta_id"),
+            indexes = @Index(name = "idx_contato_etiqueta_etiqueta", columnList = "etiqueta_id"))
+    @OptimisticLock(excluded = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<Etiqueta> etiquetas = new HashSet<>();
+
     @PrePersist
     protected void onCreate() {
         if (dataCadastro == null) {
             dataCadastro = LocalDateTime.now();
         }
         if (favorito == null) {
-            favorito = 'N';
+            favorito = false;
         }
         if (ativo == null) {
-            ativo = 'S';
+            ativo = true;
+        }
+        registrarInativacao();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        registrarInativacao();
+    }
+
+    private void registrarInativacao() {
+        if (!ativo && dataInativacao == null) {
+            dataInativacao = LocalDateTime.now();
+        } else if (ativo) {
+            dataInativacao = null;
         }
     }
 } 
\ No newline at end of file
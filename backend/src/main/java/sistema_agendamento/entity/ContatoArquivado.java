@@ -0,0 +1,60 @@
+package sistema_agendamento.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sistema_agendamento.entity.conversor.CelularConverter;
+import sistema_agendamento.entity.conversor.TelefoneConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contato inativo movido para fora da tabela principal pelo arquivamento.
+ * Mantém o mesmo ID que tinha em {@code contato}, para que possa ser restaurado.
+ */
+@Entity
+@Table(name = "contato_arquivo", indexes = @Index(name = "idx_contato_arquivo_nome", columnList = "contato_nome"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContatoArquivado {
+
+    @Id
+    @Column(name = "contato_id")
+    private Long id;
+
+    @Column(name = "contato_nome", nullable = false, length = 100)
+    private String nome;
+
+    @Column(name = "contato_email", length = 255)
+    private String email;
+
+    @Convert(converter = CelularConverter.class)
+    @Column(name = "contato_celular", nullable = false, unique = true)
+    private String celular;
+
+    @Convert(converter = TelefoneConverter.class)
+    @Column(name = "contato_telefone")
+    private String telefone;
+
+    @Column(name = "contato_sn_favorito")
+    private Boolean favorito;
+
+    @Column(name = "contato_dh_cad", nullable = false)
+    private LocalDateTime dataCadastro;
+
+    @Column(name = "contato_dh_inativacao")
+    private LocalDateTime dataInativacao;
+
+    @Column(name = "contato_nr_versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "contato_dh_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
@@ -0,0 +1,28 @@
+package sistema_agendamento.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Um contador do resumo de estatísticas: {@code ativos}, {@code favoritos}, {@code inativos}
+ * ou {@code cadastros:AAAA-MM-DD}.
+ */
+@Entity
+@Table(name = "contato_estatistica")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaContato {
+
+    @Id
+    @Column(name = "estatistica_chave", length = 32)
+    private String chave;
+
+    @Column(name = "estatistica_valor", nullable = false)
+    private Long valor;
+}
@@ -0,0 +1,29 @@
+package sistema_agendamento.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grupo em que os contatos podem ser organizados (família, clientes, fornecedores...).
+ */
+@Entity
+@Table(name = "etiqueta")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Etiqueta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "etiqueta_id")
+    private Long id;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 50, message = "Nome deve ter no máximo 50 caracteres")
+    @Column(name = "etiqueta_nome", nullable = false, length = 50, unique = true)
+    private String nome;
+}
@@ -0,0 +1,11 @@
+package sistema_agendamento.entity.conversor;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class CelularConverter extends NumeroTelefoneConverter {
+
+    public CelularConverter() {
+        super(11);
+    }
+}
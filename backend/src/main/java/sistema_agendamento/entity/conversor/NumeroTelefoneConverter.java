@@ -0,0 +1,34 @@
+package sistema_agendamento.entity.conversor;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Grava números de telefone, que a API trata como texto só de dígitos, em colunas {@code BIGINT}.
+ * Na leitura o número volta com zeros à esquerda até a quantidade fixa de dígitos do tipo,
+ * de modo que o valor exposto no {@code ContatoDTO} é exatamente o que foi gravado.
+ */
+public abstract class NumeroTelefoneConverter implements AttributeConverter<String, Long> {
+
+    private final int digitos;
+
+    protected NumeroTelefoneConverter(int digitos) {
+        this.digitos = digitos;
+    }
+
+    @Override
+    public Long convertToDatabaseColumn(String numero) {
+        if (numero == null || numero.isBlank()) {
+            return null;
+        }
+        return Long.parseLong(numero);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long numero) {
+        if (numero == null) {
+            return null;
+        }
+        String texto = Long.toString(numero);
+        return texto.length() >= digitos ? texto : "0".repeat(digitos - texto.length()) + texto;
+    }
+}
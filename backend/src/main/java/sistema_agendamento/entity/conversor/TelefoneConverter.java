@@ -0,0 +1,11 @@
+package sistema_agendamento.entity.conversor;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class TelefoneConverter extends NumeroTelefoneConverter {
+
+    public TelefoneConverter() {
+        super(10);
+    }
+}
@@ -0,0 +1,47 @@
+package sistema_agendamento.entity.gerador;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * {@link IdentityGenerator} que aceita ids atribuídos: o Hibernate consulta
+ * {@link #generatedOnExecution(Object, SharedSessionContractImplementor)} a cada inserção e só
+ * deixa o banco gerar o id quando a entidade não tem um. A coluna continua de identidade.
+ */
+public class GeradorIdentidadeOuAtribuido extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    public GeradorIdentidadeOuAtribuido(IdentidadeOuAtribuido configuracao, Member membro, CustomIdGeneratorCreationContext contexto) {
+        // O Hibernate só marca a coluna como identidade para o IdentityGenerator que ele mesmo cria;
+        // sem isso o esquema gerado (ddl-auto dos testes) teria um id sem valor padrão
+        contexto.getRootClass().getIdentifier().getColumns().forEach(coluna -> coluna.setIdentity(true));
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return true;
+    }
+
+    @Override
+    public boolean generatedOnExecution(Object entidade, SharedSessionContractImplementor session) {
+        return idAtual(entidade, session) == null;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entidade, Object valorAtual, EventType eventType) {
+        return idAtual(entidade, session);
+    }
+
+    private static Object idAtual(Object entidade, SharedSessionContractImplementor session) {
+        return session.getEntityPersister(null, entidade).getIdentifier(entidade, session);
+    }
+}
@@ -0,0 +1,18 @@
+package sistema_agendamento.entity.gerador;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id gerado pela coluna de identidade do banco quando a entidade chega sem id, ou o id já
+ * atribuído pela aplicação (contatos em shards recebem ids da sequência global antes de gravar).
+ */
+@IdGeneratorType(GeradorIdentidadeOuAtribuido.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdentidadeOuAtribuido {
+}
@@ -0,0 +1,296 @@
+package sistema_agendamento.estatistica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import sistema_agendamento.config.EstatisticaProperties;
+import sistema_agendamento.dto.EstatisticasContatoDTO;
+import sistema_agendamento.entity.EstatisticaContato;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+import sistema_agendamento.repository.EstatisticaContatoRepository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Estatísticas dos contatos mantidas de forma incremental, sem {@code COUNT(*)} por consulta.
+ *
+ * <p>Cada escrita confirmada soma sua diferença em {@link LongAdder}s em memória; de tempos em
+ * tempos as diferenças são somadas ao resumo em {@code contato_estatistica} e o resumo é relido,
+ * trazendo também o que as outras réplicas gravaram. A leitura é a base relida mais as diferenças
+ * locais ainda não gravadas. Favoritos contam apenas contatos ativos, e os arquivados continuam
+ * contando como inativos e como cadastros do dia.</p>
+ *
+ * <p>A verificação periódica compara o resumo com as contagens reais. Como escritas em andamento
+ * podem causar diferenças passageiras, um contador só é corrigido quando a mesma diferença aparece
+ * em duas verificações seguidas. Todas as réplicas verificam; a correção grava a contagem real
+ * apenas se o contador ainda tiver o valor comparado, então só a primeira réplica a aplica.</p>
+ */
+@Service
+@Slf4j
+public class EstatisticasContatoService {
+
+    static final String ATIVOS = "ativos";
+    static final String FAVORITOS = "favoritos";
+    static final String INATIVOS = "inativos";
+    static final String PREFIXO_CADASTROS = "cadastros:";
+
+    private final EstatisticaContatoRepository repository;
+    private final EstatisticaProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter correcoes;
+    private final ConcurrentHashMap<String, LongAdder> pendentes = new ConcurrentHashMap<>();
+    private Map<String, Long> divergenciasAnteriores = Map.of();
+    // A leitura soma base e pendentes; a troca de um pelo outro acontece sob a trava de escrita
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private volatile Map<String, Long> base = Map.of();
+    private volatile boolean carregado;
+
+    public EstatisticasContatoService(EstatisticaContatoRepository repository,
+                                      EstatisticaProperties properties,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry registry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.correcoes = Counter.builder("agendamento.estatistica.correcoes")
+                .description("Contadores do resumo corrigidos pela verificação contra as tabelas")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoTransicionarContato(ContatoTransicaoEvent evento) {
+        ContatoTransicaoEvent.Estado antes = evento.antes();
+        ContatoTransicaoEvent.Estado depois = evento.depois();
+        if (antes == null && depois != null) {
+            LocalDate dia = depois.diaCadastro() != null ? depois.diaCadastro() : LocalDate.now();
+            somar(chaveCadastros(dia), 1);
+        }
+        somar(ATIVOS, ativo(depois) - ativo(antes));
+        somar(FAVORITOS, favorito(depois) - favorito(antes));
+        somar(INATIVOS, inativo(depois) - inativo(antes));
+    }
+
+    public EstatisticasContatoDTO consultar(int dias, int meses) {
+        if (dias < 1 || dias > properties.getDiasMaximo() || meses < 1 || meses > properties.getMesesMaximo()) {
+            throw new RuntimeException("Dias deve estar entre 1 e " + properties.getDiasMaximo()
+                    + " e meses entre 1 e " + properties.getMesesMaximo());
+        }
+        if (!carregado) {
+            throw new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 5,
+                    "Estatísticas ainda não carregadas. Tente novamente em instantes.");
+        }
+
+        LocalDate hoje = LocalDate.now();
+        Map<LocalDate, Long> porDia = new LinkedHashMap<>();
+        for (LocalDate dia = hoje.minusDays(dias - 1L); !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            porDia.put(dia, valor(chaveCadastros(dia)));
+        }
+
+        YearMonth mesAtual = YearMonth.from(hoje);
+        Map<YearMonth, Long> porMes = new LinkedHashMap<>();
+        for (YearMonth mes = mesAtual.minusMonths(meses - 1L); !mes.isAfter(mesAtual); mes = mes.plusMonths(1)) {
+            long total = 0;
+            for (LocalDate dia = mes.atDay(1); !dia.isAfter(mes.atEndOfMonth()); dia = dia.plusDays(1)) {
+                total += valor(chaveCadastros(dia));
+            }
+            porMes.put(mes, total);
+        }
+
+        return new EstatisticasContatoDTO(valor(ATIVOS), valor(FAVORITOS), valor(INATIVOS), porDia, porMes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        persistir();
+    }
+
+    /**
+     * Grava as diferenças pendentes no resumo e relê a base. Na primeira execução, monta o resumo
+     * a partir das tabelas se ele ainda não existir.
+     */
+    @Scheduled(fixedDelayString = "${agendamento.estatistica.intervalo-persistencia-ms:5000}")
+    public synchronized void persistir() {
+        try {
+            if (!carregado) {
+                carregar();
+                return;
+            }
+
+            Map<String, Long> diferencas = new HashMap<>();
+            pendentes.forEach((chave, contador) -> {
+                long valor = contador.sum();
+                if (valor != 0) {
+                    diferencas.put(chave, valor);
+                }
+            });
+            if (!diferencas.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> diferencas.forEach((chave, delta) -> {
+                    if (repository.somar(chave, delta) == 0) {
+                        repository.save(new EstatisticaContato(chave, delta));
+                    }
+                }));
+            }
+
+            Map<String, Long> novaBase;
+            try {
+                novaBase = lerResumo();
+            } catch (DataAccessException e) {
+                // As diferenças já foram confirmadas; sem a releitura elas passam para a base local
+                Map<String, Long> local = new HashMap<>(base);
+                diferencas.forEach((chave, delta) -> local.merge(chave, delta, Long::sum));
+                novaBase = local;
+                log.warn("Falha ao reler o resumo de estatísticas, tentando de novo no próximo ciclo: {}", e.getMessage());
+            }
+            // As diferenças gravadas passam a fazer parte da base; o que chegou depois continua pendente
+            trava.writeLock().lock();
+            try {
+                base = novaBase;
+                diferencas.forEach((chave, delta) -> pendentes.get(chave).add(-delta));
+            } finally {
+                trava.writeLock().unlock();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar o resumo de estatísticas, tentando de novo no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.estatistica.intervalo-verificacao-ms:3600000}",
+            initialDelayString = "${agendamento.estatistica.intervalo-verificacao-ms:3600000}")
+    public synchronized void verificar() {
+        if (!carregado) {
+            return;
+        }
+        persistir();
+
+        Map<String, Long> reais = contarReais();
+        Map<String, Long> resumo = base;
+        Set<String> chaves = new HashSet<>(reais.keySet());
+        chaves.addAll(resumo.keySet());
+
+        Map<String, Long> divergencias = new HashMap<>();
+        for (String chave : chaves) {
+            long diferenca = reais.getOrDefault(chave, 0L) - resumo.getOrDefault(chave, 0L);
+            if (diferenca != 0) {
+                divergencias.put(chave, diferenca);
+            }
+        }
+
+        Map<String, Long> confirmadas = divergencias.entrySet().stream()
+                .filter(e -> e.getValue().equals(divergenciasAnteriores.get(e.getKey())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (!confirmadas.isEmpty()) {
+            log.warn("Corrigindo {} contadores de estatísticas divergentes das tabelas: {}", confirmadas.size(), confirmadas);
+            int corrigidos = transactionTemplate.execute(status -> confirmadas.keySet().stream()
+                    .mapToInt(chave -> corrigir(chave, resumo.get(chave), reais.getOrDefault(chave, 0L)))
+                    .sum());
+            correcoes.increment(corrigidos);
+            persistir();
+            divergencias.keySet().removeAll(confirmadas.keySet());
+        }
+        if (!divergencias.isEmpty()) {
+            log.info("Estatísticas com {} diferenças em relação às tabelas, a confirmar na próxima verificação", divergencias.size());
+        }
+        divergenciasAnteriores = divergencias;
+    }
+
+    long valor(String chave) {
+        trava.readLock().lock();
+        try {
+            LongAdder pendente = pendentes.get(chave);
+            return base.getOrDefault(chave, 0L) + (pendente == null ? 0 : pendente.sum());
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private int corrigir(String chave, Long esperado, long real) {
+        if (esperado != null) {
+            return repository.corrigir(chave, esperado, real);
+        }
+        // Contador ausente do resumo: a contagem real é a mesma para qualquer réplica que o crie
+        repository.save(new EstatisticaContato(chave, real));
+        return 1;
+    }
+
+    private void carregar() {
+        Map<String, Long> resumo = lerResumo();
+        if (resumo.isEmpty()) {
+            log.info("Resumo de estatísticas vazio, montando a partir das tabelas");
+            // As escritas já confirmadas entram na contagem; descarta as diferenças delas
+            pendentes.forEach((chave, contador) -> contador.add(-contador.sum()));
+            Map<String, Long> reais = contarReais();
+            transactionTemplate.executeWithoutResult(status -> reais.forEach((chave, valor) ->
+                    repository.save(new EstatisticaContato(chave, valor))));
+            resumo = reais;
+        }
+        base = resumo;
+        carregado = true;
+        log.info("Estatísticas carregadas: {} ativos, {} favoritos, {} inativos",
+                valor(ATIVOS), valor(FAVORITOS), valor(INATIVOS));
+    }
+
+    private Map<String, Long> lerResumo() {
+        return repository.findAll().stream()
+                .collect(Collectors.toMap(EstatisticaContato::getChave, EstatisticaContato::getValor));
+    }
+
+    private Map<String, Long> contarReais() {
+        Map<String, Long> reais = new HashMap<>();
+        reais.put(ATIVOS, repository.contarAtivos());
+        reais.put(FAVORITOS, repository.contarFavoritos());
+        reais.put(INATIVOS, repository.contarInativos());
+        somarPorDia(reais, repository.contarCadastrosPorDia());
+        somarPorDia(reais, repository.contarCadastrosArquivadosPorDia());
+        return reais;
+    }
+
+    private void somarPorDia(Map<String, Long> destino, List<Object[]> linhas) {
+        for (Object[] linha : linhas) {
+            destino.merge(chaveCadastros((LocalDate) linha[0]), ((Number) linha[1]).longValue(), Long::sum);
+        }
+    }
+
+    private void somar(String chave, long delta) {
+        if (delta != 0) {
+            pendentes.computeIfAbsent(chave, c -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static String chaveCadastros(LocalDate dia) {
+        return PREFIXO_CADASTROS + dia;
+    }
+
+    private static int ativo(ContatoTransicaoEvent.Estado estado) {
+        return estado != null && estado.ativo() ? 1 : 0;
+    }
+
+    private static int favorito(ContatoTransicaoEvent.Estado estado) {
+        return estado != null && estado.ativo() && estado.favorito() ? 1 : 0;
+    }
+
+    private static int inativo(ContatoTransicaoEvent.Estado estado) {
+        return estado != null && !estado.ativo() ? 1 : 0;
+    }
+}
@@ -0,0 +1,7 @@
+package sistema_agendamento.etiqueta;
+
+/**
+ * Uma linha de {@code contato_etiqueta}.
+ */
+public record AssociacaoEtiqueta(Long contatoId, Long etiquetaId) {
+}
@@ -0,0 +1,304 @@
+package sistema_agendamento.etiqueta;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.config.EtiquetaProperties;
+import sistema_agendamento.diagnostico.ConversaoDtoEvent;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.EtiquetaDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.Etiqueta;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EtiquetaRepository;
+import sistema_agendamento.service.ContatoService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Etiquetas dos contatos e a listagem filtrada por elas.
+ *
+ * <p>O filtro não consulta o banco: é calculado no {@link IndiceEtiquetas} e só os ids da página
+ * pedida são carregados. O índice é montado na inicialização e, depois disso, os contatos alterados
+ * (por esta ou por outra réplica) são reindexados em segundo plano a cada
+ * {@code agendamento.etiqueta.intervalo-atualizacao-ms}; até lá a listagem pode não refletir a
+ * última escrita.</p>
+ *
+ * <p>Não existe com contatos em shards: as associações ficam em uma instância e os contatos em
+ * outras, e o índice usa o id como posição em um único bitmap.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "agendamento.shard", name = "habilitado", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class EtiquetaService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 200;
+
+    private final EtiquetaRepository etiquetaRepository;
+    private final ContatoRepository contatoRepository;
+    private final EtiquetaProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndiceEtiquetas indice = new IndiceEtiquetas();
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private volatile boolean carregado;
+    private volatile boolean recarregar;
+
+    public EtiquetaService(EtiquetaRepository etiquetaRepository, ContatoRepository contatoRepository,
+                           EtiquetaProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.etiquetaRepository = etiquetaRepository;
+        this.contatoRepository = contatoRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EtiquetaDTO> listarEtiquetas() {
+        log.info("Listando etiquetas");
+        return etiquetaRepository.findAll(Sort.by("nome")).stream()
+                .map(this::converterParaDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public EtiquetaDTO criarEtiqueta(EtiquetaDTO etiquetaDTO) {
+        String nome = etiquetaDTO.getNome().trim();
+        log.info("Criando etiqueta: {}", nome);
+        if (etiquetaRepository.existsByNome(nome)) {
+            throw new RuntimeException("Já existe uma etiqueta com este nome");
+        }
+        return converterParaDTO(etiquetaRepository.save(new Etiqueta(null, nome)));
+    }
+
+    /**
+     * Exclui a etiqueta e a retira de todos os contatos. O bitmap dela fica no índice até a próxima
+     * carga completa, mas deixa de ser alcançável porque os filtros resolvem os nomes no banco.
+     */
+    @Transactional
+    public void excluirEtiqueta(Long id) {
+        log.info("Excluindo etiqueta ID: {}", id);
+        Etiqueta etiqueta = etiquetaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Etiqueta não encontrada"));
+        int associacoes = etiquetaRepository.removerAssociacoes(id);
+        etiquetaRepository.delete(etiqueta);
+        log.info("Etiqueta '{}' excluída de {} contatos", etiqueta.getNome(), associacoes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EtiquetaDTO> listarEtiquetasDoContato(Long contatoId) {
+        log.info("Listando etiquetas do contato ID: {}", contatoId);
+        List<Etiqueta> etiquetas = etiquetaRepository.findByContatoId(contatoId);
+        if (etiquetas.isEmpty() && !contatoRepository.existsById(contatoId)) {
+            throw new RuntimeException("Contato não encontrado");
+        }
+        return etiquetas.stream().map(this::converterParaDTO).collect(Collectors.toList());
+    }
+
+    @Transactional
+    public List<EtiquetaDTO> adicionarEtiqueta(Long contatoId, Long etiquetaId) {
+        log.info("Adicionando etiqueta ID {} ao contato ID {}", etiquetaId, contatoId);
+        Contato contato = carregarContato(contatoId);
+        Etiqueta etiqueta = etiquetaRepository.findById(etiquetaId)
+                .orElseThrow(() -> new RuntimeException("Etiqueta não encontrada"));
+        if (contato.getEtiquetas().add(etiqueta)) {
+            eventPublisher.publishEvent(new ContatoAlteradoEvent(contatoId));
+        }
+        return ordenar(contato.getEtiquetas());
+    }
+
+    @Transactional
+    public void removerEtiqueta(Long contatoId, Long etiquetaId) {
+        log.info("Removendo etiqueta ID {} do contato ID {}", etiquetaId, contatoId);
+        Contato contato = carregarContato(contatoId);
+        if (contato.getEtiquetas().removeIf(etiqueta -> etiqueta.getId().equals(etiquetaId))) {
+            eventPublisher.publishEvent(new ContatoAlteradoEvent(contatoId));
+        }
+    }
+
+    /**
+     * Uma página, em ordem de id, dos contatos que têm todas as etiquetas de {@code todas}, ao menos
+     * uma de {@code qualquer} e nenhuma de {@code exceto}, com a situação e o favorito pedidos.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PaginaDTO<ContatoDTO> filtrar(Collection<String> todas, Collection<String> qualquer, Collection<String> exceto,
+                                         boolean ativo, Boolean favorito, int pagina, int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new RuntimeException("Página deve ser >= 0 e tamanho entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        if (!carregado) {
+            throw new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 5,
+                    "Índice de etiquetas ainda não carregado. Tente novamente em instantes.");
+        }
+        log.info("Filtrando contatos: todas {}, qualquer {}, exceto {}, ativo {}, favorito {}", todas, qualquer, exceto, ativo, favorito);
+
+        List<String> nomesTodas = normalizar(todas);
+        List<String> nomesQualquer = normalizar(qualquer);
+        List<String> nomesExceto = normalizar(exceto);
+        Map<String, Long> ids = resolverNomes(nomesTodas, nomesQualquer, nomesExceto);
+        RoaringBitmap resultado = indice.filtrar(new FiltroEtiquetas(
+                idsDe(nomesTodas, ids), idsDe(nomesQualquer, ids), idsDe(nomesExceto, ids), ativo, favorito));
+        List<Contato> ordenados = carregarPagina(resultado, (long) pagina * tamanho, tamanho);
+        return new PaginaDTO<>(ConversaoDtoEvent.converter("filtrarPorEtiquetas", ordenados, ContatoService::converterParaDTO),
+                pagina, tamanho, resultado.getLongCardinality());
+    }
+
+    /**
+     * Os contatos da fatia do {@code resultado} que começa em {@code inicio}. O índice pode ainda ter
+     * contatos já removidos do banco (arquivados desde a última atualização); eles saem do
+     * {@code resultado} e a fatia é lida de novo, para a página vir completa e o total não contá-los.
+     */
+    private List<Contato> carregarPagina(RoaringBitmap resultado, long inicio, int tamanho) {
+        while (true) {
+            List<Long> idsPagina = IndiceEtiquetas.fatia(resultado, inicio, tamanho);
+            // O índice vem em ordem de id; findAllById não garante ordem
+            Map<Long, Contato> contatos = contatoRepository.findAllById(idsPagina).stream()
+                    .collect(Collectors.toMap(Contato::getId, Function.identity()));
+            if (contatos.size() == idsPagina.size()) {
+                return idsPagina.stream().map(contatos::get).toList();
+            }
+            idsPagina.stream().filter(id -> !contatos.containsKey(id)).forEach(id -> resultado.remove(id.intValue()));
+        }
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        pendentes.add(evento.contatoId());
+    }
+
+    @EventListener
+    public void aoInvalidarContatos(ContatosInvalidadosEvent evento) {
+        // O índice atual continua atendendo até a nova carga terminar
+        recarregar = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        atualizarIndice();
+    }
+
+    /**
+     * Reindexa os contatos alterados desde a última execução; antes da primeira carga, ou depois de
+     * uma invalidação geral, monta o índice inteiro.
+     */
+    @Scheduled(fixedDelayString = "${agendamento.etiqueta.intervalo-atualizacao-ms:1000}")
+    public synchronized void atualizarIndice() {
+        try {
+            if (!carregado || recarregar) {
+                recarregar = false;
+                carregarTudo();
+                return;
+            }
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            Set<Long> ids = new HashSet<>(pendentes);
+            pendentes.removeAll(ids);
+            try {
+                indice.atualizar(ids, contatoRepository.findSituacaoPorIds(ids), etiquetaRepository.findAssociacoesPorContatos(ids));
+            } catch (DataAccessException e) {
+                pendentes.addAll(ids);
+                throw e;
+            }
+            log.debug("Índice de etiquetas: {} contatos reindexados", ids.size());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao atualizar o índice de etiquetas, tentando de novo no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    private void carregarTudo() {
+        long inicio = System.currentTimeMillis();
+        // O que mudar durante a carga volta a ser reindexado na próxima execução
+        pendentes.clear();
+
+        List<SituacaoContato> situacoes = new ArrayList<>();
+        List<AssociacaoEtiqueta> associacoes = new ArrayList<>();
+        long ultimoId = 0;
+        List<SituacaoContato> pagina;
+        do {
+            pagina = contatoRepository.findSituacaoAposId(ultimoId, PageRequest.of(0, properties.getTamanhoPaginaCarga()));
+            if (!pagina.isEmpty()) {
+                long ateId = pagina.get(pagina.size() - 1).id();
+                situacoes.addAll(pagina);
+                associacoes.addAll(etiquetaRepository.findAssociacoesEntreIds(ultimoId, ateId));
+                ultimoId = ateId;
+            }
+        } while (pagina.size() == properties.getTamanhoPaginaCarga());
+
+        indice.carregar(situacoes, associacoes);
+        carregado = true;
+        log.info("Índice de etiquetas carregado em {} ms: {} contatos, {} associações",
+                System.currentTimeMillis() - inicio, situacoes.size(), associacoes.size());
+    }
+
+    private Map<String, Long> resolverNomes(List<String> todas, List<String> qualquer, List<String> exceto) {
+        Set<String> nomes = new LinkedHashSet<>();
+        nomes.addAll(todas);
+        nomes.addAll(qualquer);
+        nomes.addAll(exceto);
+        if (nomes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> ids = etiquetaRepository.findByNomeIn(nomes).stream()
+                .collect(Collectors.toMap(Etiqueta::getNome, Etiqueta::getId));
+        for (String nome : nomes) {
+            if (!ids.containsKey(nome)) {
+                throw new RuntimeException("Etiqueta não encontrada: " + nome);
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> idsDe(List<String> nomes, Map<String, Long> ids) {
+        return nomes.stream().map(ids::get).toList();
+    }
+
+    private static List<String> normalizar(Collection<String> nomes) {
+        return nomes == null ? List.of() : nomes.stream().map(String::trim).filter(nome -> !nome.isEmpty()).toList();
+    }
+
+    private Contato carregarContato(Long contatoId) {
+        return contatoRepository.findById(contatoId)
+                .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
+    }
+
+    private List<EtiquetaDTO> ordenar(Collection<Etiqueta> etiquetas) {
+        return etiquetas.stream()
+                .sorted(Comparator.comparing(Etiqueta::getNome))
+                .map(this::converterParaDTO)
+                .collect(Collectors.toList());
+    }
+
+    private EtiquetaDTO converterParaDTO(Etiqueta etiqueta) {
+        return new EtiquetaDTO(etiqueta.getId(), etiqueta.getNome(), carregado ? indice.contarAtivos(etiqueta.getId()) : null);
+    }
+}
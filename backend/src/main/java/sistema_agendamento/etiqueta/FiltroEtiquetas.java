@@ -0,0 +1,19 @@
+package sistema_agendamento.etiqueta;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Combinação pedida na listagem filtrada, já com as etiquetas resolvidas para ids: todas de
+ * {@code todas}, ao menos uma de {@code qualquer} (se não vazia) e nenhuma de {@code exceto}.
+ * {@code favorito} nulo não restringe.
+ */
+public record FiltroEtiquetas(Collection<Long> todas, Collection<Long> qualquer, Collection<Long> exceto,
+                              boolean ativo, Boolean favorito) {
+
+    public FiltroEtiquetas {
+        todas = todas == null ? List.of() : todas;
+        qualquer = qualquer == null ? List.of() : qualquer;
+        exceto = exceto == null ? List.of() : exceto;
+    }
+}
@@ -0,0 +1,164 @@
+package sistema_agendamento.etiqueta;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de bitmaps comprimidos ({@link RoaringBitmap}) dos contatos: um com todos os contatos
+ * da tabela principal, um com os ativos, um com os favoritos e um por etiqueta, todos sobre o id.
+ *
+ * <p>Um filtro vira operações AND, OR e AND NOT entre bitmaps, que trabalham em blocos de 65536
+ * ids de cada vez; o custo depende do tamanho dos bitmaps, não da quantidade de predicados nem de
+ * acessos ao banco. O resultado sai em ordem de id, o que permite paginar por posição.</p>
+ */
+public class IndiceEtiquetas {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RoaringBitmap todos = new RoaringBitmap();
+    private RoaringBitmap ativos = new RoaringBitmap();
+    private RoaringBitmap favoritos = new RoaringBitmap();
+    private Map<Long, RoaringBitmap> porEtiqueta = new HashMap<>();
+
+    /**
+     * Descarta o estado atual e indexa os contatos e associações informados.
+     */
+    public void carregar(Collection<SituacaoContato> situacoes, Collection<AssociacaoEtiqueta> associacoes) {
+        RoaringBitmap novosTodos = new RoaringBitmap();
+        RoaringBitmap novosAtivos = new RoaringBitmap();
+        RoaringBitmap novosFavoritos = new RoaringBitmap();
+        Map<Long, RoaringBitmap> novosPorEtiqueta = new HashMap<>();
+        situacoes.forEach(situacao -> indexar(situacao, novosTodos, novosAtivos, novosFavoritos));
+        associacoes.forEach(associacao -> novosPorEtiqueta
+                .computeIfAbsent(associacao.etiquetaId(), id -> new RoaringBitmap())
+                .add(posicao(associacao.contatoId())));
+
+        // Sequências contíguas de ids viram intervalos, que ocupam bem menos
+        novosTodos.runOptimize();
+        novosAtivos.runOptimize();
+        novosFavoritos.runOptimize();
+        novosPorEtiqueta.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            todos = novosTodos;
+            ativos = novosAtivos;
+            favoritos = novosFavoritos;
+            porEtiqueta = novosPorEtiqueta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexa os contatos de {@code ids}: os que estão em {@code situacoes} recebem os novos
+     * indicadores e as etiquetas de {@code associacoes}; os demais saíram da tabela e são retirados.
+     */
+    public void atualizar(Collection<Long> ids, Collection<SituacaoContato> situacoes, Collection<AssociacaoEtiqueta> associacoes) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                int posicao = posicao(id);
+                todos.remove(posicao);
+                ativos.remove(posicao);
+                favoritos.remove(posicao);
+                porEtiqueta.values().forEach(bitmap -> bitmap.remove(posicao));
+            }
+            situacoes.forEach(situacao -> indexar(situacao, todos, ativos, favoritos));
+            associacoes.forEach(associacao -> porEtiqueta
+                    .computeIfAbsent(associacao.etiquetaId(), id -> new RoaringBitmap())
+                    .add(posicao(associacao.contatoId())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids dos contatos que atendem ao filtro, em ordem crescente. O bitmap devolvido é uma cópia.
+     */
+    public RoaringBitmap filtrar(FiltroEtiquetas filtro) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap resultado = filtro.ativo() ? ativos.clone() : RoaringBitmap.andNot(todos, ativos);
+
+            if (filtro.favorito() != null) {
+                if (filtro.favorito()) {
+                    resultado.and(favoritos);
+                } else {
+                    resultado.andNot(favoritos);
+                }
+            }
+            for (Long etiquetaId : filtro.todas()) {
+                resultado.and(bitmapDe(etiquetaId));
+            }
+            if (!filtro.qualquer().isEmpty()) {
+                Iterator<RoaringBitmap> alternativas = filtro.qualquer().stream().map(this::bitmapDe).iterator();
+                resultado.and(FastAggregation.or(alternativas));
+            }
+            for (Long etiquetaId : filtro.exceto()) {
+                resultado.andNot(bitmapDe(etiquetaId));
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantos contatos ativos têm a etiqueta.
+     */
+    public int contarAtivos(Long etiquetaId) {
+        lock.readLock().lock();
+        try {
+            return RoaringBitmap.andCardinality(bitmapDe(etiquetaId), ativos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os ids do resultado a partir da posição {@code inicio}, no máximo {@code quantidade}.
+     */
+    public static List<Long> fatia(RoaringBitmap resultado, long inicio, int quantidade) {
+        if (inicio >= resultado.getLongCardinality()) {
+            return List.of();
+        }
+        // select acha o id na posição pedida sem percorrer os anteriores
+        PeekableIntIterator iterador = resultado.getIntIterator();
+        iterador.advanceIfNeeded(resultado.select((int) inicio));
+        List<Long> ids = new ArrayList<>(quantidade);
+        while (iterador.hasNext() && ids.size() < quantidade) {
+            ids.add(Integer.toUnsignedLong(iterador.next()));
+        }
+        return ids;
+    }
+
+    private RoaringBitmap bitmapDe(Long etiquetaId) {
+        RoaringBitmap bitmap = porEtiqueta.get(etiquetaId);
+        return bitmap != null ? bitmap : new RoaringBitmap();
+    }
+
+    private static void indexar(SituacaoContato situacao, RoaringBitmap todos, RoaringBitmap ativos, RoaringBitmap favoritos) {
+        int posicao = posicao(situacao.id());
+        todos.add(posicao);
+        if (Boolean.TRUE.equals(situacao.ativo())) {
+            ativos.add(posicao);
+        }
+        if (Boolean.TRUE.equals(situacao.favorito())) {
+            favoritos.add(posicao);
+        }
+    }
+
+    // contato_id é SERIAL, sempre cabe em um int
+    private static int posicao(Long id) {
+        return Math.toIntExact(id);
+    }
+}
@@ -0,0 +1,7 @@
+package sistema_agendamento.etiqueta;
+
+/**
+ * Indicadores de um contato que o índice de etiquetas precisa, lidos sem carregar a entidade.
+ */
+public record SituacaoContato(Long id, Boolean ativo, Boolean favorito) {
+}
@@ -0,0 +1,9 @@
+package sistema_agendamento.event;
+
+/**
+ * Publicado pelo {@code ContatoService} a cada escrita em um contato, e republicado localmente
+ * quando outra réplica anuncia uma escrita. Os caches locais escutam este evento após o commit
+ * para se invalidarem.
+ */
+public record ContatoAlteradoEvent(Long contatoId) {
+}
@@ -0,0 +1,25 @@
+package sistema_agendamento.event;
+
+import sistema_agendamento.entity.Contato;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado junto com o {@link ContatoAlteradoEvent} quando uma escrita local muda o estado
+ * contabilizado de um contato. {@code antes} é nulo quando o contato acaba de ser cadastrado.
+ * As estatísticas aplicam a diferença entre os dois estados após o commit.
+ */
+public record ContatoTransicaoEvent(Estado antes, Estado depois) {
+
+    public static ContatoTransicaoEvent cadastro(Contato contato) {
+        return new ContatoTransicaoEvent(null, Estado.de(contato));
+    }
+
+    public record Estado(boolean ativo, boolean favorito, LocalDate diaCadastro) {
+
+        public static Estado de(Contato contato) {
+            return new Estado(Boolean.TRUE.equals(contato.getAtivo()), Boolean.TRUE.equals(contato.getFavorito()),
+                    contato.getDataCadastro() == null ? null : contato.getDataCadastro().toLocalDate());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package sistema_agendamento.event;
+
+/**
+ * Pede que todos os caches locais de contatos sejam descartados, quando não é possível saber
+ * quais contatos mudaram (por exemplo, após perder notificações de outros nós).
+ */
+public record ContatosInvalidadosEvent(String motivo) {
+}
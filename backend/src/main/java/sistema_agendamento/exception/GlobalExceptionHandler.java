@@ -1,12 +1,15 @@
 package sistema_agendamento.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -34,14 +37,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(RequisicaoRejeitadaException.class)
+    public ResponseEntity<ErrorResponse> handleRequisicaoRejeitada(RequisicaoRejeitadaException ex) {
+        log.warn("Requisição rejeitada pelo controle de admissão: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                ex.getStatus().value(),
+                ex.getStatus().getReasonPhrase(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         log.error("Erro de validação: {}", ex.getMessage());
-        
+        return respostaValidacao(ex.getBindingResult());
+    }
+
+    // Na variante reativa o WebFlux lança WebExchangeBindException para o mesmo @Valid
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ValidationErrorResponse> handleValidationException(WebExchangeBindException ex) {
+        log.error("Erro de validação: {}", ex.getMessage());
+        return respostaValidacao(ex.getBindingResult());
+    }
+
+    private ResponseEntity<ValidationErrorResponse> respostaValidacao(BindingResult bindingResult) {
         Map<String, String> errors = new HashMap<>();
         StringBuilder mensagemGeral = new StringBuilder();
-        
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
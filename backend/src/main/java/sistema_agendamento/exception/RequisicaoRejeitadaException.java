@@ -0,0 +1,26 @@
+package sistema_agendamento.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Lançada pelo controle de admissão quando uma requisição é recusada antes de chegar ao controller.
+ */
+public class RequisicaoRejeitadaException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final long retryAfterSegundos;
+
+    public RequisicaoRejeitadaException(HttpStatus status, long retryAfterSegundos, String mensagem) {
+        super(mensagem);
+        this.status = status;
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,18 @@
+package sistema_agendamento.invalidacao;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identifica esta réplica nas notificações, para que ela ignore as que ela própria publicou.
+ */
+@Component
+class NoLocal {
+
+    private final String id = UUID.randomUUID().toString().substring(0, 8);
+
+    String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,24 @@
+package sistema_agendamento.invalidacao;
+
+/**
+ * Conteúdo de uma notificação do canal de invalidação, no formato compacto
+ * {@code alteracao:no:contato:versao}. A versão é vazia quando o contato deixou a tabela principal.
+ */
+record NotificacaoInvalidacao(long alteracaoId, String noOrigem, long contatoId, Long versao) {
+
+    String paraPayload() {
+        return alteracaoId + ":" + noOrigem + ":" + contatoId + ":" + (versao == null ? "" : versao);
+    }
+
+    static NotificacaoInvalidacao dePayload(String payload) {
+        String[] partes = payload.split(":", -1);
+        if (partes.length != 4) {
+            throw new IllegalArgumentException("Notificação de invalidação inválida: " + payload);
+        }
+        return new NotificacaoInvalidacao(
+                Long.parseLong(partes[0]),
+                partes[1],
+                Long.parseLong(partes[2]),
+                partes[3].isEmpty() ? null : Long.parseLong(partes[3]));
+    }
+}
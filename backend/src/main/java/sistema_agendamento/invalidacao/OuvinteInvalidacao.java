@@ -0,0 +1,158 @@
+package sistema_agendamento.invalidacao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import sistema_agendamento.config.InvalidacaoProperties;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mantém uma conexão dedicada (fora do pool) em {@code LISTEN} no canal de invalidação e
+ * republica localmente, como {@link ContatoAlteradoEvent}, as alterações feitas por outras réplicas.
+ *
+ * <p>Ao reconectar, relê {@code contato_alteracao} a partir da última alteração recebida, menos
+ * uma margem para cobrir transações que confirmaram fora de ordem. Se as alterações necessárias
+ * já tiverem sido removidas pela retenção, descarta todos os caches locais. Reaplicar uma alteração
+ * já vista só descarta de novo a mesma entrada. A versão do contato segue na notificação, mas não
+ * ordena as alterações: ela não muda quando só as etiquetas mudam.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "agendamento.invalidacao", name = "habilitada", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OuvinteInvalidacao implements SmartLifecycle {
+
+    private static final int ESPERA_NOTIFICACAO_MS = 500;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidacaoProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NoLocal noLocal;
+
+    private volatile boolean executando;
+    private Thread thread;
+
+    // Acessado apenas pela thread do ouvinte
+    private long ultimaAlteracao = -1;
+
+    @Override
+    public void start() {
+        if (!properties.getCanal().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Canal de invalidação inválido: " + properties.getCanal());
+        }
+        executando = true;
+        thread = Thread.ofPlatform().daemon().name("ouvinte-invalidacao").start(this::executar);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    private void executar() {
+        while (executando) {
+            try (Connection conexao = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                escutar(conexao);
+            } catch (SQLException | RuntimeException e) {
+                if (!executando) {
+                    return;
+                }
+                log.warn("Conexão de invalidação perdida, reconectando em {} ms: {}",
+                        properties.getIntervaloReconexaoMs(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getIntervaloReconexaoMs());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void escutar(Connection conexao) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("LISTEN " + properties.getCanal());
+        }
+        recuperar(conexao);
+        log.info("Ouvindo invalidações no canal {} (nó {})", properties.getCanal(), noLocal.getId());
+
+        PGConnection pgConnection = conexao.unwrap(PGConnection.class);
+        while (executando) {
+            PGNotification[] notificacoes = pgConnection.getNotifications(ESPERA_NOTIFICACAO_MS);
+            if (notificacoes == null) {
+                continue;
+            }
+            for (PGNotification notificacao : notificacoes) {
+                aplicar(NotificacaoInvalidacao.dePayload(notificacao.getParameter()));
+            }
+        }
+    }
+
+    void recuperar(Connection conexao) throws SQLException {
+        if (ultimaAlteracao < 0) {
+            // Primeira conexão: algo pode ter sido cacheado antes do LISTEN
+            ultimaAlteracao = consultarLong(conexao, "SELECT COALESCE(MAX(alteracao_id), 0) FROM contato_alteracao");
+            eventPublisher.publishEvent(new ContatosInvalidadosEvent("ouvinte de invalidação conectado"));
+            return;
+        }
+
+        long inicio = Math.max(0, ultimaAlteracao - properties.getMargemRecuperacao());
+        long maisAntiga = consultarLong(conexao, "SELECT COALESCE(MIN(alteracao_id), 0) FROM contato_alteracao");
+        if (maisAntiga > inicio + 1) {
+            ultimaAlteracao = consultarLong(conexao, "SELECT COALESCE(MAX(alteracao_id), 0) FROM contato_alteracao");
+            eventPublisher.publishEvent(new ContatosInvalidadosEvent("alterações perdidas durante a desconexão"));
+            return;
+        }
+
+        int recuperadas = 0;
+        try (PreparedStatement statement = conexao.prepareStatement(
+                "SELECT alteracao_id, alteracao_no_origem, contato_id, contato_nr_versao FROM contato_alteracao " +
+                        "WHERE alteracao_id > ? ORDER BY alteracao_id")) {
+            statement.setLong(1, inicio);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    aplicar(new NotificacaoInvalidacao(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getObject(4, Long.class)));
+                    recuperadas++;
+                }
+            }
+        }
+        log.info("Recuperadas {} alterações após reconexão", recuperadas);
+    }
+
+    void aplicar(NotificacaoInvalidacao notificacao) {
+        ultimaAlteracao = Math.max(ultimaAlteracao, notificacao.alteracaoId());
+        if (noLocal.getId().equals(notificacao.noOrigem())) {
+            return;
+        }
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(notificacao.contatoId()));
+    }
+
+    private long consultarLong(Connection conexao, String sql) throws SQLException {
+        try (Statement statement = conexao.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package sistema_agendamento.invalidacao;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.config.InvalidacaoProperties;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+/**
+ * Registra cada escrita em {@code contato_alteracao} e a anuncia com {@code NOTIFY} dentro da
+ * própria transação. O PostgreSQL só entrega a notificação após o commit, e a descarta se houver
+ * rollback, então as outras réplicas nunca invalidam por uma escrita que não aconteceu.
+ */
+@Component
+@ConditionalOnProperty(prefix = "agendamento.invalidacao", name = "habilitada", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PublicadorInvalidacao {
+
+    private static final String SQL_VERSAO = "SELECT contato_nr_versao FROM contato WHERE contato_id = ?";
+    private static final String SQL_REGISTRAR = "INSERT INTO contato_alteracao (contato_id, contato_nr_versao, alteracao_no_origem) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final InvalidacaoProperties properties;
+    private final NoLocal noLocal;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        // A versão só é incrementada no flush; sem ele a notificação levaria a versão antiga
+        entityManager.flush();
+        // Vazia quando o contato foi arquivado nesta transação
+        Long versao = jdbcTemplate.queryForList(SQL_VERSAO, Long.class, evento.contatoId()).stream().findFirst().orElse(null);
+
+        KeyHolder chave = new GeneratedKeyHolder();
+        jdbcTemplate.update(conexao -> {
+            PreparedStatement statement = conexao.prepareStatement(SQL_REGISTRAR, new String[]{"alteracao_id"});
+            statement.setLong(1, evento.contatoId());
+            if (versao == null) {
+                statement.setNull(2, Types.BIGINT);
+            } else {
+                statement.setLong(2, versao);
+            }
+            statement.setString(3, noLocal.getId());
+            return statement;
+        }, chave);
+
+        NotificacaoInvalidacao notificacao = new NotificacaoInvalidacao(chave.getKey().longValue(), noLocal.getId(),
+                evento.contatoId(), versao);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", properties.getCanal(), notificacao.paraPayload());
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.invalidacao.limpeza-ms:3600000}")
+    public void removerAlteracoesAntigas() {
+        int removidas = jdbcTemplate.update(
+                "DELETE FROM contato_alteracao WHERE alteracao_dh < CURRENT_TIMESTAMP - make_interval(hours => ?)",
+                properties.getRetencaoHoras());
+        if (removidas > 0) {
+            log.info("Removidas {} alterações antigas de contato_alteracao", removidas);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package sistema_agendamento.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sistema_agendamento.config.ArquivamentoProperties;
+import sistema_agendamento.service.ContatoArquivoService;
+import sistema_agendamento.shard.RoteadorShards;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Move periodicamente os contatos inativos antigos para {@code contato_arquivo}, em lotes,
+ * para que não pesem nos índices e varreduras da tabela principal. Com contatos em shards, cada
+ * shard é arquivado em seus próprios lotes, e cada lote é uma transação no shard.
+ *
+ * <p>Um lote que falha é desfeito e pulado: os seguintes continuam depois do último id dele, e os
+ * contatos pulados voltam na próxima execução. Um shard que não responde não impede os demais.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArquivamentoContatoJob {
+
+    private final ContatoArquivoService contatoArquivoService;
+    private final ArquivamentoProperties properties;
+    private final ObjectProvider<RoteadorShards> roteadorShards;
+
+    @Scheduled(cron = "${agendamento.arquivamento.cron:0 0 3 * * *}")
+    public void executar() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+
+        LocalDateTime limite = LocalDateTime.now().minusDays(properties.getIdadeMinimaDias());
+        log.info("Iniciando arquivamento de contatos inativos desde antes de {}", limite);
+
+        Resultado resultado = new Resultado();
+        RoteadorShards shards = roteadorShards.getIfAvailable();
+        if (shards == null) {
+            arquivar(limite, null, null, resultado);
+        } else {
+            for (int shard = 0; shard < shards.getQuantidade(); shard++) {
+                arquivar(limite, shards, shard, resultado);
+            }
+        }
+
+        if (resultado.falhas == 0) {
+            log.info("Arquivamento concluído: {} contatos arquivados", resultado.arquivados);
+        } else {
+            log.warn("Arquivamento concluído com {} falhas: {} contatos arquivados", resultado.falhas, resultado.arquivados);
+        }
+    }
+
+    private void arquivar(LocalDateTime limite, RoteadorShards shards, Integer shard, Resultado resultado) {
+        String origem = shard == null ? "banco" : "shard " + shard;
+        long aposId = 0;
+        List<Long> ids;
+        do {
+            long inicio = aposId;
+            try {
+                ids = noShard(shards, shard, () -> contatoArquivoService.buscarIdsParaArquivar(limite, inicio, properties.getTamanhoLote()));
+            } catch (RuntimeException e) {
+                resultado.falhas++;
+                log.error("Arquivamento do {} interrompido após o id {}: {}", origem, aposId, e.getMessage(), e);
+                return;
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            List<Long> lote = ids;
+            try {
+                resultado.arquivados += noShard(shards, shard, () -> contatoArquivoService.arquivar(lote));
+            } catch (RuntimeException e) {
+                resultado.falhas++;
+                log.error("Lote de arquivamento do {} com os ids {} a {} pulado: {}",
+                        origem, lote.get(0), lote.get(lote.size() - 1), e.getMessage(), e);
+            }
+            aposId = ids.get(ids.size() - 1);
+        } while (ids.size() == properties.getTamanhoLote());
+    }
+
+    // Sem shards a operação roda direto; com shards, na transação do shard
+    private static <T> T noShard(RoteadorShards shards, Integer shard, Supplier<T> operacao) {
+        return shard == null ? operacao.get() : shards.executar(shard, operacao);
+    }
+
+    private static final class Resultado {
+        private int arquivados;
+        private int falhas;
+    }
+}
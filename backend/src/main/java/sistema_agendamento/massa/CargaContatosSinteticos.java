@@ -0,0 +1,244 @@
+package sistema_agendamento.massa;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ferramenta de linha de comando que enche a tabela {@code contato} com os contatos do
+ * {@link GeradorContatosSinteticos}, para medir a aplicação com volumes de produção. Os contatos
+ * são divididos em blocos; cada thread gera um bloco e o grava pela sua própria conexão, em uma
+ * transação por bloco: no PostgreSQL com {@code COPY}, no H2 com inserções em lote.
+ *
+ * <p>A tabela precisa estar vazia (ou ser esvaziada com {@code --substituir}), assim os ids vão
+ * de 1 à quantidade e a mesma semente produz o mesmo banco. No fim a sequência do id é ajustada e
+ * o resumo de estatísticas é apagado, para ser remontado na próxima inicialização.</p>
+ *
+ * <pre>
+ * ./gradlew gerarContatos --args="--url jdbc:postgresql://localhost:5432/postgres?currentSchema=desafio --usuario postgres --senha 3311 --quantidade 5000000 [--semente 42] [--substituir]"
+ * </pre>
+ */
+public final class CargaContatosSinteticos {
+
+    private static final String COLUNAS = "contato_id, contato_nome, contato_email, contato_celular, contato_telefone, "
+            + "contato_sn_favorito, contato_sn_ativo, contato_dh_cad, contato_dh_inativacao, contato_nr_versao";
+
+    private static final LocalDateTime REFERENCIA_PADRAO = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int TAMANHO_LOTE_H2 = 1_000;
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private enum Banco { POSTGRESQL, H2 }
+
+    private final DataSource dataSource;
+    private final GeradorContatosSinteticos gerador;
+    private final int threads;
+    private final int tamanhoBloco;
+    private final PrintStream saida;
+
+    CargaContatosSinteticos(DataSource dataSource, GeradorContatosSinteticos gerador, int threads, int tamanhoBloco, PrintStream saida) {
+        this.dataSource = dataSource;
+        this.gerador = gerador;
+        this.threads = threads;
+        this.tamanhoBloco = tamanhoBloco;
+        this.saida = saida;
+    }
+
+    public static void main(String[] args) throws SQLException, InterruptedException {
+        String url = null;
+        String usuario = null;
+        String senha = null;
+        long quantidade = 1_000_000;
+        long semente = 42;
+        LocalDateTime referencia = REFERENCIA_PADRAO;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int tamanhoBloco = 50_000;
+        boolean substituir = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--usuario" -> usuario = args[++i];
+                case "--senha" -> senha = args[++i];
+                case "--quantidade" -> quantidade = Long.parseLong(args[++i]);
+                case "--semente" -> semente = Long.parseLong(args[++i]);
+                case "--referencia" -> referencia = LocalDateTime.parse(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--bloco" -> tamanhoBloco = Integer.parseInt(args[++i]);
+                case "--substituir" -> substituir = true;
+                default -> throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+        if (url == null) {
+            throw new IllegalArgumentException("Informe o banco com --url URL_JDBC");
+        }
+
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(semente, referencia);
+        new CargaContatosSinteticos(new DriverManagerDataSource(url, usuario, senha), gerador, threads, tamanhoBloco, System.out)
+                .carregar(quantidade, substituir);
+    }
+
+    /**
+     * Grava os contatos de índice 0 a {@code quantidade - 1}.
+     *
+     * @param substituir apaga os contatos existentes (também os arquivados e as etiquetas deles)
+     */
+    void carregar(long quantidade, boolean substituir) throws SQLException, InterruptedException {
+        if (quantidade < 0 || quantidade > GeradorContatosSinteticos.MAXIMO) {
+            throw new IllegalArgumentException("A quantidade deve ficar entre 0 e " + GeradorContatosSinteticos.MAXIMO);
+        }
+        Banco banco = prepararTabela(substituir);
+        long inicio = System.nanoTime();
+
+        AtomicLong proximoBloco = new AtomicLong();
+        long blocos = (quantidade + tamanhoBloco - 1) / tamanhoBloco;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tarefas.add(executor.submit(() -> {
+                    try (Connection conexao = dataSource.getConnection()) {
+                        conexao.setAutoCommit(false);
+                        for (long bloco = proximoBloco.getAndIncrement(); bloco < blocos; bloco = proximoBloco.getAndIncrement()) {
+                            long primeiro = bloco * tamanhoBloco;
+                            gravarBloco(banco, conexao, primeiro, Math.min(quantidade, primeiro + tamanhoBloco));
+                            conexao.commit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                aguardar(tarefa);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        finalizar(banco, quantidade);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        saida.printf("%d contatos gravados em %.1f s (%.0f contatos/s)%n", quantidade, segundos, quantidade / Math.max(segundos, 1e-9));
+    }
+
+    private Banco prepararTabela(boolean substituir) throws SQLException {
+        try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+            Banco banco = switch (conexao.getMetaData().getDatabaseProductName()) {
+                case "PostgreSQL" -> Banco.POSTGRESQL;
+                case "H2" -> Banco.H2;
+                default -> throw new IllegalArgumentException("Banco não suportado: " + conexao.getMetaData().getDatabaseProductName());
+            };
+            if (substituir) {
+                if (banco == Banco.POSTGRESQL) {
+                    comando.executeUpdate("TRUNCATE contato_etiqueta, contato_arquivo, contato");
+                } else {
+                    comando.executeUpdate("DELETE FROM contato_etiqueta");
+                    comando.executeUpdate("DELETE FROM contato_arquivo");
+                    comando.executeUpdate("DELETE FROM contato");
+                }
+                saida.println("Contatos existentes apagados");
+            } else {
+                try (ResultSet linhas = comando.executeQuery(
+                        "SELECT (SELECT COUNT(*) FROM contato) + (SELECT COUNT(*) FROM contato_arquivo)")) {
+                    linhas.next();
+                    if (linhas.getLong(1) > 0) {
+                        throw new IllegalStateException("Já existem " + linhas.getLong(1)
+                                + " contatos (ativos, inativos ou arquivados); use --substituir para apagá-los antes da carga");
+                    }
+                }
+            }
+            return banco;
+        }
+    }
+
+    private void gravarBloco(Banco banco, Connection conexao, long primeiro, long fim) throws Exception {
+        if (banco == Banco.POSTGRESQL) {
+            copiar(conexao, primeiro, fim);
+        } else {
+            inserir(conexao, primeiro, fim);
+        }
+    }
+
+    // COPY em CSV: campo vazio sem aspas é NULL
+    private void copiar(Connection conexao, long primeiro, long fim) throws Exception {
+        StringBuilder csv = new StringBuilder((int) (fim - primeiro) * 128);
+        for (long indice = primeiro; indice < fim; indice++) {
+            ContatoSintetico contato = gerador.gerar(indice);
+            csv.append(contato.id()).append(',')
+                    .append('"').append(contato.nome().replace("\"", "\"\"")).append('"').append(',')
+                    .append(contato.email() == null ? "" : contato.email()).append(',')
+                    .append(contato.celular()).append(',')
+                    .append(contato.telefone() == null ? "" : contato.telefone()).append(',')
+                    .append(contato.favorito()).append(',')
+                    .append(contato.ativo()).append(',')
+                    .append(FORMATO_DATA.format(contato.dataCadastro())).append(',')
+                    .append(contato.dataInativacao() == null ? "" : FORMATO_DATA.format(contato.dataInativacao())).append(',')
+                    .append('0').append('\n');
+        }
+        conexao.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY contato (" + COLUNAS + ") FROM STDIN WITH (FORMAT csv)", new StringReader(csv.toString()));
+    }
+
+    private void inserir(Connection conexao, long primeiro, long fim) throws SQLException {
+        try (PreparedStatement insercao = conexao.prepareStatement(
+                "INSERT INTO contato (" + COLUNAS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+            for (long indice = primeiro; indice < fim; indice++) {
+                ContatoSintetico contato = gerador.gerar(indice);
+                insercao.setLong(1, contato.id());
+                insercao.setString(2, contato.nome());
+                insercao.setString(3, contato.email());
+                insercao.setLong(4, contato.celular());
+                insercao.setObject(5, contato.telefone());
+                insercao.setBoolean(6, contato.favorito());
+                insercao.setBoolean(7, contato.ativo());
+                insercao.setObject(8, contato.dataCadastro());
+                insercao.setObject(9, contato.dataInativacao());
+                insercao.addBatch();
+                if ((indice - primeiro + 1) % TAMANHO_LOTE_H2 == 0) {
+                    insercao.executeBatch();
+                }
+            }
+            insercao.executeBatch();
+        }
+    }
+
+    // Os ids foram informados, então a sequência da coluna não andou
+    private void finalizar(Banco banco, long quantidade) throws SQLException {
+        try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+            if (banco == Banco.POSTGRESQL) {
+                if (quantidade > 0) {
+                    comando.execute("SELECT setval(pg_get_serial_sequence('contato', 'contato_id'), " + quantidade + ")");
+                }
+                comando.execute("ANALYZE contato");
+            } else {
+                comando.execute("ALTER TABLE contato ALTER COLUMN contato_id RESTART WITH " + (quantidade + 1));
+            }
+            comando.executeUpdate("DELETE FROM contato_estatistica");
+        }
+    }
+
+    private static void aguardar(Future<?> tarefa) throws SQLException, InterruptedException {
+        try {
+            tarefa.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException falha) {
+                throw falha;
+            }
+            throw new IllegalStateException("Falha ao gravar contatos sintéticos", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package sistema_agendamento.massa;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma linha de {@code contato} gerada pelo {@link GeradorContatosSinteticos}, já nos tipos das
+ * colunas (celular e telefone como números).
+ */
+public record ContatoSintetico(
+        long id,
+        String nome,
+        String email,
+        long celular,
+        Long telefone,
+        boolean favorito,
+        boolean ativo,
+        LocalDateTime dataCadastro,
+        LocalDateTime dataInativacao) {
+}
@@ -0,0 +1,172 @@
+package sistema_agendamento.massa;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Gera contatos brasileiros plausíveis para medir a aplicação com volumes de produção: nomes com
+ * acento, celulares de 11 dígitos com DDDs reais na proporção aproximada da população, telefone e
+ * e-mail opcionais, poucos favoritos e poucos inativos, cadastros espalhados pelos últimos anos
+ * com mais peso nos recentes.
+ *
+ * <p>O contato de índice {@code i} depende só da semente e de {@code i} (cada índice tem o seu
+ * {@link SplittableRandom}), então o mesmo conjunto sai igual com qualquer quantidade de threads
+ * ou divisão em blocos. O id é {@code i + 1} e os celulares não se repetem até {@link #MAXIMO}.</p>
+ */
+public final class GeradorContatosSinteticos {
+
+    /**
+     * Quantos contatos cabem antes de os celulares se repetirem: um por número de assinante.
+     */
+    public static final long MAXIMO = 100_000_000L;
+
+    // Ímpar e não múltiplo de 5, então i -> (i * M + D) mod 10^8 é uma permutação dos assinantes
+    private static final long MULTIPLICADOR_ASSINANTE = 48_271_937L;
+    private static final long DESLOCAMENTO_ASSINANTE = 31_415_926L;
+
+    private static final int ANOS_DE_CADASTRO = 6;
+    private static final double CHANCE_ATIVO = 0.90;
+    private static final double CHANCE_FAVORITO_ATIVO = 0.15;
+    private static final double CHANCE_FAVORITO_INATIVO = 0.04;
+    private static final double CHANCE_EMAIL = 0.70;
+    private static final double CHANCE_TELEFONE = 0.35;
+
+    // DDD e peso aproximado pela população atendida (centenas de milhares de habitantes)
+    private static final int[][] DDDS = {
+            {11, 210}, {12, 25}, {13, 18}, {14, 17}, {15, 20}, {16, 17}, {17, 15}, {18, 9}, {19, 40},
+            {21, 120}, {22, 10}, {24, 12}, {27, 25}, {28, 6},
+            {31, 60}, {32, 15}, {33, 7}, {34, 15}, {35, 15}, {37, 8}, {38, 10},
+            {41, 35}, {42, 10}, {43, 18}, {44, 10}, {45, 12}, {46, 6}, {47, 20}, {48, 15}, {49, 10},
+            {51, 45}, {53, 8}, {54, 12}, {55, 10},
+            {61, 30}, {62, 45}, {63, 15}, {64, 15}, {65, 20}, {66, 15}, {67, 28}, {68, 9}, {69, 18},
+            {71, 40}, {73, 15}, {74, 10}, {75, 25}, {77, 12}, {79, 23},
+            {81, 40}, {82, 33}, {83, 40}, {84, 33}, {85, 45}, {86, 25}, {87, 15}, {88, 45}, {89, 8},
+            {91, 45}, {92, 35}, {93, 12}, {94, 25}, {95, 6}, {96, 8}, {97, 7}, {98, 40}, {99, 30}
+    };
+
+    private static final String[] PRENOMES = {
+            "João", "José", "Antônio", "Francisco", "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos",
+            "Luís", "Gabriel", "Rafael", "Daniel", "Marcelo", "Bruno", "Eduardo", "Felipe", "Raimundo", "Rodrigo",
+            "Sebastião", "Vinícius", "Caio", "Otávio", "Cauã", "Enzo", "Heitor", "Davi", "Thiago", "Fábio",
+            "Maria", "Ana", "Francisca", "Antônia", "Adriana", "Juliana", "Márcia", "Fernanda", "Patrícia", "Aline",
+            "Sandra", "Camila", "Amanda", "Bruna", "Jéssica", "Letícia", "Júlia", "Luciana", "Vanessa", "Mariana",
+            "Cecília", "Vitória", "Beatriz", "Lívia", "Helena", "Valéria", "Cláudia", "Mônica", "Débora", "Lúcia"
+    };
+
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+            "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas",
+            "Araújo", "Conceição", "Gonçalves", "Magalhães", "Assunção", "Simões", "Falcão", "Brandão", "Guimarães", "Romão",
+            "Belém", "Patrício", "Estêvão", "Sampaio", "Cardoso", "Teixeira", "Correia", "Azevedo", "Cavalcanti", "Monteiro"
+    };
+
+    private static final String[] PARTICULAS = {"da", "de", "dos", "das"};
+
+    private static final String[] DOMINIOS = {
+            "gmail.com", "hotmail.com", "outlook.com", "yahoo.com.br", "uol.com.br", "bol.com.br", "terra.com.br", "icloud.com"
+    };
+    private static final int[] PESOS_DOMINIOS = {50, 18, 10, 8, 5, 4, 3, 2};
+
+    private static final int[] ACUMULADO_DDDS = acumular(Arrays.stream(DDDS).mapToInt(ddd -> ddd[1]).toArray());
+    private static final int[] ACUMULADO_DOMINIOS = acumular(PESOS_DOMINIOS);
+
+    private final long semente;
+    private final LocalDateTime referencia;
+    private final long segundosDeCadastro;
+
+    /**
+     * @param referencia instante da carga: os cadastros e inativações ficam antes dele
+     */
+    public GeradorContatosSinteticos(long semente, LocalDateTime referencia) {
+        this.semente = semente;
+        this.referencia = referencia.truncatedTo(ChronoUnit.SECONDS);
+        this.segundosDeCadastro = ChronoUnit.SECONDS.between(this.referencia.minusYears(ANOS_DE_CADASTRO), this.referencia);
+    }
+
+    /**
+     * O contato de índice {@code indice}, entre 0 e {@link #MAXIMO} (exclusive).
+     */
+    public ContatoSintetico gerar(long indice) {
+        if (indice < 0 || indice >= MAXIMO) {
+            throw new IllegalArgumentException("Índice fora da faixa de contatos sintéticos: " + indice);
+        }
+        SplittableRandom random = new SplittableRandom(semear(semente, indice));
+
+        String prenome = sortear(PRENOMES, random);
+        String sobrenome = sortear(SOBRENOMES, random);
+        StringBuilder nome = new StringBuilder(prenome);
+        if (random.nextDouble() < 0.15) {
+            nome.append(' ').append(sortear(PARTICULAS, random));
+        }
+        if (random.nextDouble() < 0.60) {
+            nome.append(' ').append(sortear(SOBRENOMES, random));
+        }
+        nome.append(' ').append(sobrenome);
+
+        int ddd = DDDS[sortear(ACUMULADO_DDDS, random)][0];
+        long assinante = (indice * MULTIPLICADOR_ASSINANTE + DESLOCAMENTO_ASSINANTE) % 100_000_000L;
+        long celular = ddd * 1_000_000_000L + 900_000_000L + assinante;
+        // Fixo começa com 2 a 5 depois do DDD
+        Long telefone = random.nextDouble() < CHANCE_TELEFONE
+                ? ddd * 100_000_000L + random.nextLong(20_000_000L, 60_000_000L)
+                : null;
+        String email = random.nextDouble() < CHANCE_EMAIL ? email(prenome, sobrenome, random) : null;
+
+        boolean ativo = random.nextDouble() < CHANCE_ATIVO;
+        boolean favorito = random.nextDouble() < (ativo ? CHANCE_FAVORITO_ATIVO : CHANCE_FAVORITO_INATIVO);
+        // Idade com densidade decrescente: a base cresce, então há mais cadastros recentes
+        long idade = (long) (segundosDeCadastro * (1 - Math.sqrt(random.nextDouble())));
+        LocalDateTime dataCadastro = referencia.minusSeconds(idade);
+        LocalDateTime dataInativacao = ativo ? null : dataCadastro.plusSeconds(random.nextLong(idade + 1));
+
+        return new ContatoSintetico(indice + 1, nome.toString(), email, celular, telefone,
+                favorito, ativo, dataCadastro, dataInativacao);
+    }
+
+    private static String email(String prenome, String sobrenome, SplittableRandom random) {
+        StringBuilder local = new StringBuilder(semAcentos(prenome)).append('.').append(semAcentos(sobrenome));
+        if (random.nextBoolean()) {
+            local.append(random.nextInt(1, 1000));
+        }
+        return local.append('@').append(DOMINIOS[sortear(ACUMULADO_DOMINIOS, random)]).toString();
+    }
+
+    private static String semAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> T sortear(T[] opcoes, SplittableRandom random) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    private static int sortear(int[] acumulado, SplittableRandom random) {
+        int posicao = Arrays.binarySearch(acumulado, random.nextInt(acumulado[acumulado.length - 1]) + 1);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    private static int[] acumular(int[] pesos) {
+        int[] acumulado = new int[pesos.length];
+        int soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulado[i] = soma;
+        }
+        return acumulado;
+    }
+
+    // Sementes vizinhas dariam sequências deslocadas uma da outra no SplittableRandom; o
+    // embaralhamento (finalizador do SplitMix64) deixa a de cada índice independente
+    private static long semear(long semente, long indice) {
+        long z = semente + indice * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,100 @@
+package sistema_agendamento.reativo;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+
+/**
+ * Os endpoints de {@code /contatos} da variante reativa. As listagens saem como {@link Flux}: em
+ * {@code application/json} como um array escrito aos poucos e em {@code application/x-ndjson} um
+ * contato por linha, sempre no ritmo em que o cliente consome.
+ */
+@RestController
+@RequestMapping("/contatos")
+@Profile(SistemaAgendamentoReativoApplication.PERFIL)
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Contatos (reativo)", description = "API para gerenciamento de contatos sobre WebFlux e R2DBC")
+@CrossOrigin(origins = "*")
+public class ContatoReativoController {
+
+    private final ContatoReativoService contatoService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Listar todos os contatos ativos")
+    public Flux<ContatoDTO> listarTodos() {
+        log.info("Recebida requisição para listar todos os contatos");
+        return contatoService.listarTodos();
+    }
+
+    @GetMapping(value = "/favoritos", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Listar contatos favoritos")
+    public Flux<ContatoDTO> listarFavoritos() {
+        log.info("Recebida requisição para listar contatos favoritos");
+        return contatoService.listarFavoritos();
+    }
+
+    @GetMapping("/pagina")
+    @Operation(summary = "Listar uma página de contatos ativos, opcionalmente filtrando por termo e favoritos")
+    public Mono<PaginaDTO<ContatoDTO>> listarPagina(@RequestParam(defaultValue = "0") int pagina,
+                                                    @RequestParam(defaultValue = "50") int tamanho,
+                                                    @RequestParam(required = false) String termo,
+                                                    @RequestParam(defaultValue = "false") boolean favoritos) {
+        log.info("Recebida requisição para listar a página {} de contatos", pagina);
+        return contatoService.listarPagina(pagina, tamanho, termo, favoritos);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar contato por ID")
+    public Mono<ContatoDTO> buscarPorId(@PathVariable Long id) {
+        log.info("Recebida requisição para buscar contato ID: {}", id);
+        return contatoService.buscarPorId(id);
+    }
+
+    @GetMapping(value = "/buscar", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Buscar contatos por termo")
+    public Flux<ContatoDTO> buscarPorTermo(@RequestParam String termo) {
+        log.info("Recebida requisição para buscar contatos por termo: {}", termo);
+        return contatoService.buscarPorTermo(termo);
+    }
+
+    @PostMapping
+    @Operation(summary = "Criar novo contato")
+    public Mono<ResponseEntity<ContatoDTO>> criar(@Valid @RequestBody ContatoDTO contatoDTO) {
+        log.info("Recebida requisição para criar contato: {}", contatoDTO.getNome());
+        return contatoService.criar(contatoDTO)
+                .map(contatoCriado -> ResponseEntity.status(HttpStatus.CREATED).body(contatoCriado));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Atualizar contato")
+    public Mono<ContatoDTO> atualizar(@PathVariable Long id, @Valid @RequestBody ContatoDTO contatoDTO) {
+        log.info("Recebida requisição para atualizar contato ID: {}", id);
+        return contatoService.atualizar(id, contatoDTO);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Inativar contato")
+    public Mono<ResponseEntity<Void>> inativar(@PathVariable Long id) {
+        log.info("Recebida requisição para inativar contato ID: {}", id);
+        return contatoService.inativar(id).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @PatchMapping("/{id}/favorito")
+    @Operation(summary = "Alternar status de favorito")
+    public Mono<ContatoDTO> alternarFavorito(@PathVariable Long id) {
+        log.info("Recebida requisição para alternar favorito do contato ID: {}", id);
+        return contatoService.alternarFavorito(id);
+    }
+}
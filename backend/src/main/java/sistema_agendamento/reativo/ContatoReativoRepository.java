@@ -0,0 +1,202 @@
+package sistema_agendamento.reativo;
+
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sistema_agendamento.config.ReativoProperties;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.conversor.CelularConverter;
+import sistema_agendamento.entity.conversor.TelefoneConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Acesso à tabela {@code contato} pelo R2DBC, com as mesmas consultas do {@code ContatoRepository}
+ * escritas em SQL. O {@link Contato} serve só de estrutura para as linhas; celular e telefone
+ * passam pelos mesmos conversores da entidade JPA.
+ *
+ * <p>As listagens pedem {@link ReativoProperties#getLinhasPorBusca()} linhas por vez ao banco, de
+ * modo que um cliente lento segura a leitura em vez de a lista inteira ficar em memória.</p>
+ */
+@Repository
+@Profile(SistemaAgendamentoReativoApplication.PERFIL)
+@RequiredArgsConstructor
+public class ContatoReativoRepository {
+
+    private static final String SELECT = "SELECT contato_id, contato_nome, contato_email, contato_celular, contato_telefone, " +
+            "contato_sn_favorito, contato_sn_ativo, contato_dh_cad, contato_dh_inativacao, contato_nr_versao FROM contato ";
+    private static final String FILTRO_PAGINA = "WHERE contato_sn_ativo = TRUE AND (:favoritos = FALSE OR contato_sn_favorito = TRUE) " +
+            "AND (:termo = '' OR LOWER(contato_nome) LIKE :termoMinusculo OR CAST(contato_celular AS VARCHAR) LIKE :termoLike " +
+            "OR CAST(contato_telefone AS VARCHAR) LIKE :termoLike OR LOWER(contato_email) LIKE :termoMinusculo) ";
+
+    private static final CelularConverter CELULAR = new CelularConverter();
+    private static final TelefoneConverter TELEFONE = new TelefoneConverter();
+
+    private final DatabaseClient databaseClient;
+    private final ReativoProperties properties;
+
+    public Flux<Contato> listarAtivos() {
+        return listar(databaseClient.sql(SELECT + "WHERE contato_sn_ativo = TRUE ORDER BY contato_nome"));
+    }
+
+    public Flux<Contato> listarFavoritos() {
+        return listar(databaseClient.sql(SELECT + "WHERE contato_sn_favorito = TRUE AND contato_sn_ativo = TRUE ORDER BY contato_nome"));
+    }
+
+    public Flux<Contato> buscarPorTermo(String termo) {
+        return listar(databaseClient.sql(SELECT + "WHERE contato_sn_ativo = TRUE AND (LOWER(contato_nome) LIKE :termoMinusculo " +
+                        "OR CAST(contato_celular AS VARCHAR) LIKE :termoLike) ORDER BY contato_nome")
+                .bind("termoMinusculo", like(termo.toLowerCase()))
+                .bind("termoLike", like(termo)));
+    }
+
+    public Mono<Contato> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT + "WHERE contato_id = :id")
+                .bind("id", id)
+                .map(ContatoReativoRepository::converter)
+                .one();
+    }
+
+    // O id desempata nomes iguais para que nenhum contato se repita ou suma entre páginas
+    public Flux<Contato> buscarPagina(String termo, boolean favoritos, int pagina, int tamanho) {
+        return filtrarPagina(databaseClient.sql(SELECT + FILTRO_PAGINA + "ORDER BY contato_nome, contato_id LIMIT :limite OFFSET :deslocamento"),
+                termo, favoritos)
+                .bind("limite", tamanho)
+                .bind("deslocamento", (long) pagina * tamanho)
+                .map(ContatoReativoRepository::converter)
+                .all();
+    }
+
+    public Mono<Long> contarPagina(String termo, boolean favoritos) {
+        return filtrarPagina(databaseClient.sql("SELECT COUNT(*) AS total FROM contato " + FILTRO_PAGINA), termo, favoritos)
+                .map(linha -> linha.get("total", Long.class))
+                .one();
+    }
+
+    /** Se o celular já pertence a outro contato; {@code idIgnorado} pode ser nulo. */
+    public Mono<Boolean> existeCelular(String celular, Long idIgnorado) {
+        return databaseClient.sql("SELECT 1 FROM contato WHERE contato_celular = :celular AND contato_id <> :id")
+                .bind("celular", CELULAR.convertToDatabaseColumn(celular))
+                .bind("id", idIgnorado == null ? -1L : idIgnorado)
+                .map(linha -> true)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Boolean> existeCelularArquivado(String celular) {
+        return databaseClient.sql("SELECT 1 FROM contato_arquivo WHERE contato_celular = :celular")
+                .bind("celular", CELULAR.convertToDatabaseColumn(celular))
+                .map(linha -> true)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Contato> inserir(Contato contato) {
+        contato.setDataCadastro(LocalDateTime.now());
+        contato.setVersao(0L);
+        registrarInativacao(contato);
+        return vincular(databaseClient.sql("INSERT INTO contato (contato_nome, contato_email, contato_celular, contato_telefone, " +
+                        "contato_sn_favorito, contato_sn_ativo, contato_dh_cad, contato_dh_inativacao, contato_nr_versao) " +
+                        "VALUES (:nome, :email, :celular, :telefone, :favorito, :ativo, :dataCadastro, :dataInativacao, :versao)"), contato)
+                .bind("dataCadastro", contato.getDataCadastro())
+                .filter(statement -> statement.returnGeneratedValues("contato_id"))
+                .map(linha -> linha.get("contato_id", Long.class))
+                .one()
+                .map(id -> {
+                    contato.setId(id);
+                    return contato;
+                });
+    }
+
+    /**
+     * Grava o contato se a versão no banco ainda for a que foi lida, como o {@code @Version} do JPA;
+     * caso contrário lança {@link OptimisticLockingFailureException}.
+     */
+    public Mono<Contato> atualizar(Contato contato) {
+        long versaoLida = contato.getVersao();
+        registrarInativacao(contato);
+        return vincular(databaseClient.sql("UPDATE contato SET contato_nome = :nome, contato_email = :email, contato_celular = :celular, " +
+                        "contato_telefone = :telefone, contato_sn_favorito = :favorito, contato_sn_ativo = :ativo, " +
+                        "contato_dh_inativacao = :dataInativacao, contato_nr_versao = :versao " +
+                        "WHERE contato_id = :id AND contato_nr_versao = :versaoLida"), contato)
+                .bind("versao", versaoLida + 1)
+                .bind("id", contato.getId())
+                .bind("versaoLida", versaoLida)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(linhas -> {
+                    if (linhas == 0) {
+                        return Mono.error(new OptimisticLockingFailureException("Contato alterado por outra requisição. Tente novamente."));
+                    }
+                    contato.setVersao(versaoLida + 1);
+                    return Mono.just(contato);
+                });
+    }
+
+    private Flux<Contato> listar(DatabaseClient.GenericExecuteSpec consulta) {
+        return consulta
+                .filter(statement -> statement.fetchSize(properties.getLinhasPorBusca()))
+                .map(ContatoReativoRepository::converter)
+                .all()
+                .limitRate(properties.getLinhasPorBusca());
+    }
+
+    private DatabaseClient.GenericExecuteSpec filtrarPagina(DatabaseClient.GenericExecuteSpec consulta, String termo, boolean favoritos) {
+        return consulta
+                .bind("favoritos", favoritos)
+                .bind("termo", termo)
+                .bind("termoMinusculo", like(termo.toLowerCase()))
+                .bind("termoLike", like(termo));
+    }
+
+    private DatabaseClient.GenericExecuteSpec vincular(DatabaseClient.GenericExecuteSpec comando, Contato contato) {
+        return comando
+                .bind("nome", contato.getNome())
+                .bind("email", valorOuNulo(contato.getEmail(), String.class))
+                .bind("celular", CELULAR.convertToDatabaseColumn(contato.getCelular()))
+                .bind("telefone", valorOuNulo(TELEFONE.convertToDatabaseColumn(contato.getTelefone()), Long.class))
+                .bind("favorito", contato.getFavorito())
+                .bind("ativo", contato.getAtivo())
+                .bind("dataInativacao", valorOuNulo(contato.getDataInativacao(), LocalDateTime.class))
+                .bind("versao", contato.getVersao());
+    }
+
+    // Mesma regra do @PrePersist/@PreUpdate da entidade
+    private static void registrarInativacao(Contato contato) {
+        if (!contato.getAtivo() && contato.getDataInativacao() == null) {
+            contato.setDataInativacao(LocalDateTime.now());
+        } else if (contato.getAtivo()) {
+            contato.setDataInativacao(null);
+        }
+    }
+
+    // Nulo precisa do tipo para o driver declarar o parâmetro
+    private static Object valorOuNulo(Object valor, Class<?> tipo) {
+        return valor != null ? valor : Parameters.in(tipo);
+    }
+
+    private static String like(String termo) {
+        return "%" + termo + "%";
+    }
+
+    private static Contato converter(Readable linha) {
+        Contato contato = new Contato();
+        contato.setId(linha.get("contato_id", Long.class));
+        contato.setNome(linha.get("contato_nome", String.class));
+        contato.setEmail(linha.get("contato_email", String.class));
+        contato.setCelular(CELULAR.convertToEntityAttribute(linha.get("contato_celular", Long.class)));
+        contato.setTelefone(TELEFONE.convertToEntityAttribute(linha.get("contato_telefone", Long.class)));
+        contato.setFavorito(Boolean.TRUE.equals(linha.get("contato_sn_favorito", Boolean.class)));
+        contato.setAtivo(Boolean.TRUE.equals(linha.get("contato_sn_ativo", Boolean.class)));
+        contato.setDataCadastro(linha.get("contato_dh_cad", LocalDateTime.class));
+        contato.setDataInativacao(linha.get("contato_dh_inativacao", LocalDateTime.class));
+        contato.setVersao(linha.get("contato_nr_versao", Long.class));
+        return contato;
+    }
+}
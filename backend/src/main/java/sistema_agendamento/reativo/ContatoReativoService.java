@@ -0,0 +1,118 @@
+package sistema_agendamento.reativo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.service.ContatoService;
+
+/**
+ * Regras do {@link ContatoService} sobre o {@link ContatoReativoRepository}: mesmas mensagens,
+ * mesma reserva de celular pelos arquivados e a mesma conversão para {@link ContatoDTO}.
+ * Os eventos de alteração não são publicados, pois seus ouvintes só existem na variante MVC.
+ */
+@Service
+@Profile(SistemaAgendamentoReativoApplication.PERFIL)
+@RequiredArgsConstructor
+@Slf4j
+public class ContatoReativoService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 200;
+
+    private final ContatoReativoRepository contatoRepository;
+
+    public Flux<ContatoDTO> listarTodos() {
+        log.info("Listando todos os contatos ativos");
+        return contatoRepository.listarAtivos().map(ContatoService::converterParaDTO);
+    }
+
+    public Flux<ContatoDTO> listarFavoritos() {
+        log.info("Listando contatos favoritos");
+        return contatoRepository.listarFavoritos().map(ContatoService::converterParaDTO);
+    }
+
+    public Mono<ContatoDTO> buscarPorId(Long id) {
+        log.info("Buscando contato por ID: {}", id);
+        return carregar(id).map(ContatoService::converterParaDTO);
+    }
+
+    public Flux<ContatoDTO> buscarPorTermo(String termo) {
+        log.info("Buscando contatos por termo: {}", termo);
+        return contatoRepository.buscarPorTermo(termo).map(ContatoService::converterParaDTO);
+    }
+
+    public Mono<PaginaDTO<ContatoDTO>> listarPagina(int pagina, int tamanho, String termo, boolean favoritos) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            return Mono.error(new RuntimeException("Página deve ser >= 0 e tamanho entre 1 e " + TAMANHO_MAXIMO_PAGINA));
+        }
+        String termoBusca = termo == null ? "" : termo.trim();
+        log.info("Listando página {} ({} por página) de contatos, termo: '{}', favoritos: {}", pagina, tamanho, termoBusca, favoritos);
+        return Mono.zip(
+                contatoRepository.buscarPagina(termoBusca, favoritos, pagina, tamanho).map(ContatoService::converterParaDTO).collectList(),
+                contatoRepository.contarPagina(termoBusca, favoritos)
+        ).map(resultado -> new PaginaDTO<>(resultado.getT1(), pagina, tamanho, resultado.getT2()));
+    }
+
+    @Transactional
+    public Mono<ContatoDTO> criar(ContatoDTO contatoDTO) {
+        log.info("Criando novo contato: {}", contatoDTO.getNome());
+        return verificarCelular(contatoDTO.getCelular(), null, "Já existe um contato cadastrado com este celular")
+                .then(Mono.defer(() -> contatoRepository.inserir(ContatoService.converterParaEntidade(contatoDTO))))
+                .map(ContatoService::converterParaDTO);
+    }
+
+    @Transactional
+    public Mono<ContatoDTO> atualizar(Long id, ContatoDTO contatoDTO) {
+        log.info("Atualizando contato ID: {}", id);
+        return carregar(id).flatMap(contatoExistente -> {
+            // Verificar se o celular já existe em outro contato
+            Mono<Void> verificacao = contatoExistente.getCelular().equals(contatoDTO.getCelular())
+                    ? Mono.empty()
+                    : verificarCelular(contatoDTO.getCelular(), id, "Já existe outro contato cadastrado com este celular");
+            return verificacao.then(Mono.defer(() -> {
+                ContatoService.atualizarDadosContato(contatoExistente, contatoDTO);
+                return contatoRepository.atualizar(contatoExistente);
+            }));
+        }).map(ContatoService::converterParaDTO);
+    }
+
+    @Transactional
+    public Mono<Void> inativar(Long id) {
+        log.info("Inativando contato ID: {}", id);
+        return carregar(id).flatMap(contato -> {
+            contato.setAtivo(false);
+            return contatoRepository.atualizar(contato);
+        }).then();
+    }
+
+    @Transactional
+    public Mono<ContatoDTO> alternarFavorito(Long id) {
+        log.info("Alternando favorito do contato ID: {}", id);
+        return carregar(id).flatMap(contato -> {
+            contato.setFavorito(!contato.getFavorito());
+            return contatoRepository.atualizar(contato);
+        }).map(ContatoService::converterParaDTO);
+    }
+
+    private Mono<Contato> carregar(Long id) {
+        return contatoRepository.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Contato não encontrado")));
+    }
+
+    // Contatos arquivados continuam reservando o celular, como faziam enquanto inativos
+    private Mono<Void> verificarCelular(String celular, Long idIgnorado, String mensagem) {
+        return contatoRepository.existeCelular(celular, idIgnorado)
+                .flatMap(existe -> existe
+                        ? Mono.<Boolean>error(new RuntimeException(mensagem))
+                        : contatoRepository.existeCelularArquivado(celular))
+                .flatMap(arquivado -> arquivado
+                        ? Mono.<Void>error(new RuntimeException("Já existe um contato arquivado com este celular"))
+                        : Mono.<Void>empty());
+    }
+}
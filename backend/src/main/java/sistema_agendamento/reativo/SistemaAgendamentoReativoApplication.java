@@ -0,0 +1,50 @@
+package sistema_agendamento.reativo;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import sistema_agendamento.config.ReativoProperties;
+import sistema_agendamento.exception.GlobalExceptionHandler;
+
+/**
+ * Variante reativa da API de contatos: os mesmos endpoints de {@code /contatos} sobre WebFlux e
+ * R2DBC, sem JPA nem pool JDBC. Sobe com o perfil {@value #PERFIL}
+ * ({@code --spring.profiles.active=reativo}), que o {@code SistemaAgendamentoApplication} desvia
+ * para cá.
+ *
+ * <p>O contexto só enxerga este pacote; os demais recursos (estatísticas, arquivamento,
+ * deduplicação, invalidação, JFR) continuam apenas na variante MVC. Todas as classes daqui levam
+ * {@code @Profile} para que a varredura da aplicação MVC as ignore.</p>
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@Profile(SistemaAgendamentoReativoApplication.PERFIL)
+@EnableConfigurationProperties(ReativoProperties.class)
+@Import(GlobalExceptionHandler.class)
+public class SistemaAgendamentoReativoApplication {
+
+    public static final String PERFIL = "reativo";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(SistemaAgendamentoReativoApplication.class)
+                .profiles(PERFIL)
+                .run(args);
+    }
+
+    /** Se o perfil reativo foi pedido na linha de comando, em propriedade de sistema ou variável de ambiente. */
+    public static boolean perfilAtivo(String[] args) {
+        StandardEnvironment ambiente = new StandardEnvironment();
+        ambiente.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return ambiente.matchesProfiles(PERFIL);
+    }
+}
@@ -0,0 +1,38 @@
+package sistema_agendamento.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sistema_agendamento.entity.ContatoArquivado;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContatoArquivadoRepository extends JpaRepository<ContatoArquivado, Long> {
+
+    boolean existsByCelular(String celular);
+
+    @Query("SELECT c.celular FROM ContatoArquivado c WHERE c.celular IN :celulares")
+    List<String> findCelularesIn(@Param("celulares") Collection<String> celulares);
+
+    @Query("SELECT c FROM ContatoArquivado c ORDER BY c.nome, c.id")
+    List<ContatoArquivado> findAllOrdenados();
+
+    @Query("SELECT c FROM ContatoArquivado c WHERE LOWER(c.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR CAST(c.celular AS String) LIKE CONCAT('%', :termo, '%') ORDER BY c.nome, c.id")
+    List<ContatoArquivado> buscarPorTermo(@Param("termo") String termo);
+
+    /**
+     * Devolve o contato arquivado à tabela principal, ativo e com o mesmo ID. A versão avança
+     * para que nenhum cache guarde a representação anterior ao arquivamento.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO contato (contato_id, contato_nome, contato_email, contato_celular, contato_telefone, " +
+            "contato_sn_favorito, contato_sn_ativo, contato_dh_cad, contato_dh_inativacao, contato_nr_versao) " +
+            "SELECT contato_id, contato_nome, contato_email, contato_celular, contato_telefone, " +
+            "contato_sn_favorito, TRUE, contato_dh_cad, NULL, contato_nr_versao + 1 FROM contato_arquivo WHERE contato_id = :id",
+            nativeQuery = true)
+    int restaurarParaTabelaPrincipal(@Param("id") Long id);
+}
@@ -0,0 +1,20 @@
+package sistema_agendamento.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consultas que selecionam só os atributos de {@code Contato} pedidos pelo cliente
+ * ({@code ?fields=}). Cada linha volta como um mapa atributo → valor, na ordem pedida.
+ */
+public interface ContatoProjecaoRepository {
+
+    List<Map<String, Object>> findAllAtivos(List<String> campos);
+
+    List<Map<String, Object>> findAllFavoritos(List<String> campos);
+
+    List<Map<String, Object>> buscarPorTermo(String termo, List<String> campos);
+
+    Optional<Map<String, Object>> findCamposById(Long id, List<String> campos);
+}
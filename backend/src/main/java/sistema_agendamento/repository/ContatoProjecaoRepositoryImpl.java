@@ -0,0 +1,73 @@
+package sistema_agendamento.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import sistema_agendamento.entity.Contato;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Implementação com consultas de tupla da Criteria API: o {@code SELECT} gerado contém apenas
+ * as colunas dos campos pedidos, com os mesmos filtros e ordenação das consultas de
+ * {@link ContatoRepository}. Os conversores de atributo continuam valendo, então celular e
+ * telefone voltam como texto.
+ */
+class ContatoProjecaoRepositoryImpl implements ContatoProjecaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllAtivos(List<String> campos) {
+        return consultar(campos, (cb, c) -> cb.isTrue(c.get("ativo")), true);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFavoritos(List<String> campos) {
+        return consultar(campos, (cb, c) -> cb.and(cb.isTrue(c.get("favorito")), cb.isTrue(c.get("ativo"))), true);
+    }
+
+    @Override
+    public List<Map<String, Object>> buscarPorTermo(String termo, List<String> campos) {
+        return consultar(campos, (cb, c) -> cb.and(cb.isTrue(c.get("ativo")), cb.or(
+                cb.like(cb.lower(c.get("nome")), "%" + termo.toLowerCase() + "%"),
+                cb.like(c.get("celular").as(String.class), "%" + termo + "%"))), true);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findCamposById(Long id, List<String> campos) {
+        return consultar(campos, (cb, c) -> cb.equal(c.get("id"), id), false).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> consultar(List<String> campos,
+                                                BiFunction<CriteriaBuilder, Root<Contato>, Predicate> filtro,
+                                                boolean ordenarPorNome) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Contato> contato = consulta.from(Contato.class);
+        List<Selection<?>> colunas = campos.stream().<Selection<?>>map(campo -> contato.get(campo).alias(campo)).toList();
+        consulta.multiselect(colunas)
+                .where(filtro.apply(cb, contato));
+        if (ordenarPorNome) {
+            consulta.orderBy(cb.asc(contato.get("nome")));
+        }
+
+        return entityManager.createQuery(consulta).getResultStream()
+                .map(tupla -> {
+                    Map<String, Object> linha = new LinkedHashMap<>();
+                    campos.forEach(campo -> linha.put(campo, tupla.get(campo)));
+                    return linha;
+                })
+                .toList();
+    }
+}
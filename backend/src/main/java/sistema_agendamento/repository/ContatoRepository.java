@@ -1,29 +1,99 @@
 package sistema_agendamento.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import sistema_agendamento.deduplicacao.DadosContatoDeduplicacao;
 import sistema_agendamento.entity.Contato;
+import sistema_agendamento.etiqueta.SituacaoContato;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ContatoRepository extends JpaRepository<Contato, Long> {
+public interface ContatoRepository extends JpaRepository<Contato, Long>, ContatoProjecaoRepository {
 
+    // As buscas por celular travam a linha encontrada: se ela estiver sendo arquivada, quem vai
+    // gravar o celular espera o arquivamento terminar e só então consulta contato_arquivo
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Contato c WHERE c.celular = :celular AND c.id != :id")
     Optional<Contato> findByCelularExcludingId(@Param("celular") String celular, @Param("id") Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Contato c WHERE c.celular = :celular")
     Optional<Contato> findByCelular(@Param("celular") String celular);
 
-    @Query("SELECT c FROM Contato c WHERE c.ativo = 'S' ORDER BY c.nome")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Contato c WHERE c.celular IN :celulares")
+    List<Contato> findByCelularIn(@Param("celulares") Collection<String> celulares);
+
+    @Query("SELECT c FROM Contato c WHERE c.ativo = true ORDER BY c.nome, c.id")
     List<Contato> findAllAtivos();
 
-    @Query("SELECT c FROM Contato c WHERE c.favorito = 'S' AND c.ativo = 'S' ORDER BY c.nome")
+    @Query("SELECT c FROM Contato c WHERE c.favorito = true AND c.ativo = true ORDER BY c.nome, c.id")
     List<Contato> findAllFavoritos();
 
-    @Query("SELECT c FROM Contato c WHERE c.ativo = 'S' AND (LOWER(c.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR c.celular LIKE CONCAT('%', :termo, '%')) ORDER BY c.nome")
+    @Query("SELECT c FROM Contato c WHERE c.ativo = true AND (LOWER(c.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR CAST(c.celular AS String) LIKE CONCAT('%', :termo, '%')) ORDER BY c.nome, c.id")
     List<Contato> buscarPorTermo(@Param("termo") String termo);
-} 
\ No newline at end of file
+
+    @Query("SELECT c FROM Contato c WHERE c.ativo = true AND (:favoritos = false OR c.favorito = true)")
+    Page<Contato> findPaginaAtivos(@Param("favoritos") boolean favoritos, Pageable pageable);
+
+    // Mesmos campos que a busca da tela de contatos: nome, celular, telefone e email
+    @Query("SELECT c FROM Contato c WHERE c.ativo = true AND (:favoritos = false OR c.favorito = true) AND (" +
+            "LOWER(c.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR CAST(c.celular AS String) LIKE CONCAT('%', :termo, '%') OR " +
+            "CAST(c.telefone AS String) LIKE CONCAT('%', :termo, '%') OR LOWER(c.email) LIKE LOWER(CONCAT('%', :termo, '%')))")
+    Page<Contato> buscarPagina(@Param("termo") String termo, @Param("favoritos") boolean favoritos, Pageable pageable);
+
+    @Query("SELECT c.id FROM Contato c WHERE c.ativo = false AND COALESCE(c.dataInativacao, c.dataCadastro) < :limite " +
+            "AND c.id > :aposId ORDER BY c.id")
+    List<Long> findIdsInativosAntesDe(@Param("limite") LocalDateTime limite, @Param("aposId") long aposId, Pageable pageable);
+
+    /**
+     * Trava, entre os contatos informados, os que continuam inativos. Até o fim da transação eles
+     * não podem ser reativados nem ter o celular consultado por {@link #findByCelular(String)}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Contato c WHERE c.id IN :ids AND c.ativo = false")
+    List<Contato> travarInativos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Copia os contatos informados para {@code contato_arquivo} em um único comando.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO contato_arquivo (contato_id, contato_nome, contato_email, contato_celular, contato_telefone, " +
+            "contato_sn_favorito, contato_dh_cad, contato_dh_inativacao, contato_nr_versao, contato_dh_arquivamento) " +
+            "SELECT contato_id, contato_nome, contato_email, contato_celular, contato_telefone, " +
+            "contato_sn_favorito, contato_dh_cad, contato_dh_inativacao, contato_nr_versao, :agora FROM contato " +
+            "WHERE contato_id IN (:ids) AND NOT contato_sn_ativo",
+            nativeQuery = true)
+    int copiarParaArquivo(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM Contato c WHERE c.id IN :ids AND c.ativo = false")
+    int deleteInativosByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new sistema_agendamento.deduplicacao.DadosContatoDeduplicacao(c.id, c.nome, c.celular, c.telefone, c.email) " +
+            "FROM Contato c WHERE c.ativo = true AND c.id > :ultimoId ORDER BY c.id")
+    List<DadosContatoDeduplicacao> findDadosDeduplicacaoAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new sistema_agendamento.deduplicacao.DadosContatoDeduplicacao(c.id, c.nome, c.celular, c.telefone, c.email) " +
+            "FROM Contato c WHERE c.ativo = true AND c.id IN :ids")
+    List<DadosContatoDeduplicacao> findDadosDeduplicacaoPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new sistema_agendamento.etiqueta.SituacaoContato(c.id, c.ativo, c.favorito) " +
+            "FROM Contato c WHERE c.id > :ultimoId ORDER BY c.id")
+    List<SituacaoContato> findSituacaoAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new sistema_agendamento.etiqueta.SituacaoContato(c.id, c.ativo, c.favorito) FROM Contato c WHERE c.id IN :ids")
+    List<SituacaoContato> findSituacaoPorIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,53 @@
+package sistema_agendamento.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sistema_agendamento.entity.EstatisticaContato;
+
+import java.util.List;
+
+@Repository
+public interface EstatisticaContatoRepository extends JpaRepository<EstatisticaContato, String> {
+
+    /**
+     * Soma {@code delta} ao contador sem ler antes, para que réplicas diferentes possam
+     * gravar suas diferenças ao mesmo tempo.
+     *
+     * @return 0 se o contador ainda não existe
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaContato e SET e.valor = e.valor + :delta WHERE e.chave = :chave")
+    int somar(@Param("chave") String chave, @Param("delta") long delta);
+
+    /**
+     * Troca o contador pela contagem real, desde que ele ainda tenha o valor lido na verificação.
+     * Réplicas que confirmam a mesma divergência não corrigem duas vezes, e uma diferença somada
+     * por outra réplica nesse meio tempo não é sobrescrita.
+     *
+     * @return 0 se o contador mudou (ou não existe)
+     */
+    @Modifying
+    @Query("UPDATE EstatisticaContato e SET e.valor = :valor WHERE e.chave = :chave AND e.valor = :esperado")
+    int corrigir(@Param("chave") String chave, @Param("esperado") long esperado, @Param("valor") long valor);
+
+    // Contagens reais usadas na verificação periódica. Os arquivados continuam contando como
+    // inativos e como cadastros do dia, para que o arquivamento não altere o resumo.
+
+    @Query("SELECT COUNT(c) FROM Contato c WHERE c.ativo = true")
+    long contarAtivos();
+
+    @Query("SELECT COUNT(c) FROM Contato c WHERE c.ativo = true AND c.favorito = true")
+    long contarFavoritos();
+
+    @Query("SELECT (SELECT COUNT(c) FROM Contato c WHERE c.ativo = false) + (SELECT COUNT(a) FROM ContatoArquivado a)")
+    long contarInativos();
+
+    @Query("SELECT CAST(c.dataCadastro AS LocalDate), COUNT(c) FROM Contato c GROUP BY CAST(c.dataCadastro AS LocalDate)")
+    List<Object[]> contarCadastrosPorDia();
+
+    @Query("SELECT CAST(a.dataCadastro AS LocalDate), COUNT(a) FROM ContatoArquivado a GROUP BY CAST(a.dataCadastro AS LocalDate)")
+    List<Object[]> contarCadastrosArquivadosPorDia();
+}
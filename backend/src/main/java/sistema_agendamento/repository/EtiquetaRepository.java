@@ -0,0 +1,35 @@
+package sistema_agendamento.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sistema_agendamento.entity.Etiqueta;
+import sistema_agendamento.etiqueta.AssociacaoEtiqueta;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EtiquetaRepository extends JpaRepository<Etiqueta, Long> {
+
+    boolean existsByNome(String nome);
+
+    List<Etiqueta> findByNomeIn(Collection<String> nomes);
+
+    @Query("SELECT e FROM Contato c JOIN c.etiquetas e WHERE c.id = :contatoId ORDER BY e.nome")
+    List<Etiqueta> findByContatoId(@Param("contatoId") Long contatoId);
+
+    // Associações dos contatos de uma página da carga completa, que é feita por faixas de id
+    @Query("SELECT new sistema_agendamento.etiqueta.AssociacaoEtiqueta(c.id, e.id) FROM Contato c JOIN c.etiquetas e " +
+            "WHERE c.id > :aposId AND c.id <= :ateId")
+    List<AssociacaoEtiqueta> findAssociacoesEntreIds(@Param("aposId") Long aposId, @Param("ateId") Long ateId);
+
+    @Query("SELECT new sistema_agendamento.etiqueta.AssociacaoEtiqueta(c.id, e.id) FROM Contato c JOIN c.etiquetas e WHERE c.id IN :ids")
+    List<AssociacaoEtiqueta> findAssociacoesPorContatos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM contato_etiqueta WHERE etiqueta_id = :etiquetaId", nativeQuery = true)
+    int removerAssociacoes(@Param("etiquetaId") Long etiquetaId);
+}
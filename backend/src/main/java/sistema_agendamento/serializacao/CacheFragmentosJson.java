@@ -0,0 +1,125 @@
+package sistema_agendamento.serializacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.config.FragmentosJsonProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * O JSON de cada contato já codificado em bytes, pela mesma {@link ObjectMapper} das respostas,
+ * identificado por id e versão. Isso vale enquanto cada {@link ContatoDTO} trouxer a versão dos
+ * dados que carrega: o {@code @Version} só é incrementado no flush, por isso as escritas fazem o
+ * flush antes de converter a resposta (do contrário ela sairia com os dados novos e a versão
+ * antiga, e poderia receber o fragmento guardado por uma leitura anterior). As escritas
+ * confirmadas (locais ou anunciadas por outras réplicas) ainda descartam o fragmento para liberar
+ * o espaço logo.
+ *
+ * <p>Os fragmentos são arrays imutáveis no heap: o {@code ServletOutputStream} só escreve arrays,
+ * e um buffer fora do heap precisaria ser copiado para um array a cada resposta.</p>
+ */
+@Component
+public class CacheFragmentosJson implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final FragmentosJsonProperties properties;
+    private final ConcurrentHashMap<Long, Fragmento> fragmentos = new ConcurrentHashMap<>();
+    private final AtomicLong bytesGuardados = new AtomicLong();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder serializacoes = new LongAdder();
+
+    public CacheFragmentosJson(ObjectMapper objectMapper, FragmentosJsonProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * O JSON do contato; o array devolvido é compartilhado e não pode ser alterado.
+     */
+    public byte[] fragmento(ContatoDTO contato) throws JsonProcessingException {
+        if (!properties.isHabilitado() || contato.getId() == null || contato.getVersao() == null) {
+            serializacoes.increment();
+            return objectMapper.writeValueAsBytes(contato);
+        }
+
+        Fragmento atual = fragmentos.get(contato.getId());
+        if (atual != null && atual.versao() == contato.getVersao()) {
+            acertos.increment();
+            return atual.json();
+        }
+        serializacoes.increment();
+        byte[] json = objectMapper.writeValueAsBytes(contato);
+        guardar(contato.getId(), new Fragmento(contato.getVersao(), json));
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        descartar(evento.contatoId());
+    }
+
+    @EventListener
+    public void aoInvalidarContatos(ContatosInvalidadosEvent evento) {
+        fragmentos.keySet().forEach(this::descartar);
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getSerializacoes() {
+        return serializacoes.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("agendamento.fragmentos-json.acertos", acertos, LongAdder::sum)
+                .description("Contatos escritos a partir do JSON já serializado")
+                .register(registry);
+        FunctionCounter.builder("agendamento.fragmentos-json.serializacoes", serializacoes, LongAdder::sum)
+                .description("Contatos serializados pelo Jackson por falta de fragmento válido")
+                .register(registry);
+        Gauge.builder("agendamento.fragmentos-json.bytes", bytesGuardados, AtomicLong::get)
+                .description("Soma dos fragmentos guardados")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void guardar(Long id, Fragmento novo) {
+        fragmentos.compute(id, (chave, atual) -> {
+            // Uma leitura antiga que termina depois de uma mais nova não a substitui
+            if (atual != null && atual.versao() > novo.versao()) {
+                return atual;
+            }
+            long liberados = atual == null ? 0 : atual.json().length;
+            if (bytesGuardados.get() - liberados + novo.json().length > properties.getTamanhoMaximoBytes()) {
+                bytesGuardados.addAndGet(-liberados);
+                return null;
+            }
+            bytesGuardados.addAndGet(novo.json().length - liberados);
+            return novo;
+        });
+    }
+
+    private void descartar(Long id) {
+        fragmentos.computeIfPresent(id, (chave, fragmento) -> {
+            bytesGuardados.addAndGet(-fragmento.json().length);
+            return null;
+        });
+    }
+
+    private record Fragmento(long versao, byte[] json) {
+    }
+}
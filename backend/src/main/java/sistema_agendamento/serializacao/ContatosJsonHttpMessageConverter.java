@@ -0,0 +1,114 @@
+package sistema_agendamento.serializacao;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Escreve {@link ContatoDTO}, listas de {@link ContatoDTO} e {@link PaginaDTO} de contatos juntando
+ * os fragmentos do {@link CacheFragmentosJson} direto no corpo da resposta, sem passar os contatos
+ * pelo Jackson de novo. A saída é a mesma do conversor Jackson, byte a byte. Só escreve; a leitura
+ * dos corpos de requisição continua com o Jackson.
+ */
+public class ContatosJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final CacheFragmentosJson cache;
+
+    public ContatosJsonHttpMessageConverter(CacheFragmentosJson cache) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ContatoDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType tipo = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> classe = tipo.resolve(clazz);
+        if (classe == ContatoDTO.class) {
+            return true;
+        }
+        // Coleções e páginas só quando o tipo declarado garante que os elementos são contatos
+        return classe != null && (Collection.class.isAssignableFrom(classe) || classe == PaginaDTO.class)
+                && tipo.getGeneric(0).resolve() == ContatoDTO.class;
+    }
+
+    @Override
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream corpo = outputMessage.getBody();
+        if (valor instanceof ContatoDTO contato) {
+            corpo.write(cache.fragmento(contato));
+        } else if (valor instanceof PaginaDTO<?> pagina) {
+            escreverPagina(pagina, corpo);
+        } else {
+            escreverLista((Collection<?>) valor, corpo);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor apenas de escrita", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor apenas de escrita", inputMessage);
+    }
+
+    private void escreverLista(Collection<?> contatos, OutputStream corpo) throws IOException {
+        corpo.write('[');
+        boolean primeiro = true;
+        for (Object contato : contatos) {
+            if (!primeiro) {
+                corpo.write(',');
+            }
+            corpo.write(cache.fragmento((ContatoDTO) contato));
+            primeiro = false;
+        }
+        corpo.write(']');
+    }
+
+    // Mesma ordem de propriedades que o Jackson usa para o PaginaDTO
+    private void escreverPagina(PaginaDTO<?> pagina, OutputStream corpo) throws IOException {
+        corpo.write(ascii("{\"conteudo\":"));
+        if (pagina.getConteudo() == null) {
+            corpo.write(ascii("null"));
+        } else {
+            escreverLista(pagina.getConteudo(), corpo);
+        }
+        corpo.write(ascii(",\"pagina\":" + pagina.getPagina()
+                + ",\"tamanho\":" + pagina.getTamanho()
+                + ",\"total\":" + pagina.getTotal() + "}"));
+    }
+
+    private static byte[] ascii(String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,37 @@
+package sistema_agendamento.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interpreta o parâmetro {@code fields} das consultas de contatos. Só aceita propriedades do
+ * {@code ContatoDTO}, que têm o mesmo nome dos atributos da entidade.
+ */
+public final class CamposContato {
+
+    public static final Set<String> PERMITIDOS = Set.of(
+            "id", "nome", "email", "celular", "telefone", "favorito", "ativo", "dataCadastro");
+
+    private CamposContato() {
+    }
+
+    public static List<String> interpretar(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!PERMITIDOS.contains(nome)) {
+                throw new RuntimeException("Campo desconhecido: " + nome);
+            }
+            campos.add(nome);
+        }
+        if (campos.isEmpty()) {
+            throw new RuntimeException("Informe ao menos um campo em fields");
+        }
+        return new ArrayList<>(campos);
+    }
+}
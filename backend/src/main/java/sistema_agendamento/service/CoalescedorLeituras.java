@@ -0,0 +1,124 @@
+package sistema_agendamento.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas de leitura idênticas e concorrentes (mesma operação e mesmos argumentos)
+ * em uma única consulta ao banco. A primeira chamada executa a consulta e as demais aguardam
+ * o resultado por no máximo {@code agendamento.coalescencia.espera-maxima-ms}; se o tempo
+ * estourar, a chamada executa a própria consulta.
+ *
+ * <p>Cada escrita incrementa a geração antes e depois do commit, de modo que chamadas que chegam
+ * depois do commit nunca recebem o resultado de uma consulta iniciada antes dele: o incremento
+ * anterior separa as consultas que ainda não viam a escrita, e o posterior as iniciadas enquanto
+ * o commit acontecia.</p>
+ */
+@Component
+@Slf4j
+public class CoalescedorLeituras implements MeterBinder {
+
+    private final ConcurrentHashMap<Chave, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+    private final LongAdder consultasExecutadas = new LongAdder();
+    private final LongAdder chamadasCompartilhadas = new LongAdder();
+    private final long esperaMaximaMs;
+
+    public CoalescedorLeituras(@Value("${agendamento.coalescencia.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String operacao, Supplier<T> consulta, Object... argumentos) {
+        Chave chave = new Chave(operacao, Arrays.asList(argumentos), geracao.get());
+        CompletableFuture<Object> novo = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chave, novo);
+
+        if (existente == null) {
+            consultasExecutadas.increment();
+            try {
+                T resultado = consulta.get();
+                novo.complete(resultado);
+                return resultado;
+            } catch (Throwable e) {
+                novo.completeExceptionally(e);
+                throw e;
+            } finally {
+                emAndamento.remove(chave, novo);
+            }
+        }
+
+        chamadasCompartilhadas.increment();
+        try {
+            return (T) existente.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Tempo de espera esgotado aguardando leitura compartilhada: {}", operacao);
+            consultasExecutadas.increment();
+            return consulta.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Leitura interrompida", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void antesDeConfirmarAlteracao(ContatoAlteradoEvent evento) {
+        geracao.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        geracao.incrementAndGet();
+    }
+
+    @EventListener
+    public void aoInvalidarContatos(ContatosInvalidadosEvent evento) {
+        geracao.incrementAndGet();
+    }
+
+    public long getConsultasExecutadas() {
+        return consultasExecutadas.sum();
+    }
+
+    public long getChamadasCompartilhadas() {
+        return chamadasCompartilhadas.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("agendamento.coalescencia.consultas", consultasExecutadas, LongAdder::sum)
+                .description("Consultas de leitura efetivamente executadas")
+                .register(registry);
+        FunctionCounter.builder("agendamento.coalescencia.compartilhadas", chamadasCompartilhadas, LongAdder::sum)
+                .description("Chamadas de leitura atendidas por uma consulta já em andamento")
+                .register(registry);
+    }
+
+    private record Chave(String operacao, List<Object> argumentos, long geracao) {
+    }
+}
@@ -0,0 +1,123 @@
+package sistema_agendamento.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.ContatoArquivado;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ContatoArquivoService {
+
+    private final ContatoRepository contatoRepository;
+    private final ContatoArquivadoRepository contatoArquivadoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Os próximos {@code tamanhoLote} contatos inativos desde antes de {@code limite}, em ordem de
+     * id a partir de {@code aposId}; o lote seguinte começa depois do último, mesmo se este falhar.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> buscarIdsParaArquivar(LocalDateTime limite, long aposId, int tamanhoLote) {
+        return contatoRepository.findIdsInativosAntesDe(limite, aposId, PageRequest.of(0, tamanhoLote));
+    }
+
+    /**
+     * Move para o arquivo os contatos informados, em uma transação. As linhas são travadas antes da
+     * cópia, e quem busca o mesmo celular em {@code contato} espera o lote terminar para então
+     * encontrá-lo em {@code contato_arquivo}; os que já não estão inativos ficam de fora.
+     *
+     * @return quantos contatos foram arquivados
+     */
+    public int arquivar(List<Long> candidatos) {
+        List<Long> ids = candidatos.isEmpty() ? List.of()
+                : contatoRepository.travarInativos(candidatos).stream().map(Contato::getId).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int copiados = contatoRepository.copiarParaArquivo(ids, LocalDateTime.now());
+        int removidos = contatoRepository.deleteInativosByIds(ids);
+        if (copiados != removidos) {
+            // Algum contato foi reativado no meio do lote; desfaz e tenta de novo na próxima execução
+            throw new IllegalStateException("Lote de arquivamento inconsistente: " + copiados + " copiados, " + removidos + " removidos");
+        }
+
+        log.info("Arquivados {} contatos inativos", removidos);
+        ids.forEach(id -> eventPublisher.publishEvent(new ContatoAlteradoEvent(id)));
+        return removidos;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ContatoDTO> listar(String termo) {
+        log.info("Listando contatos arquivados, termo: {}", termo);
+        List<ContatoArquivado> arquivados = termo == null || termo.isBlank()
+                ? contatoArquivadoRepository.findAllOrdenados()
+                : contatoArquivadoRepository.buscarPorTermo(termo);
+        return arquivados.stream()
+                .map(this::converterParaDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ContatoDTO buscarPorId(Long id) {
+        log.info("Buscando contato arquivado ID: {}", id);
+        return converterParaDTO(buscarArquivado(id));
+    }
+
+    public ContatoDTO restaurar(Long id) {
+        log.info("Restaurando contato arquivado ID: {}", id);
+        ContatoArquivado arquivado = buscarArquivado(id);
+
+        if (contatoRepository.findByCelular(arquivado.getCelular()).isPresent()) {
+            throw new RuntimeException("Já existe um contato cadastrado com este celular");
+        }
+
+        contatoArquivadoRepository.restaurarParaTabelaPrincipal(id);
+        contatoArquivadoRepository.delete(arquivado);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(id));
+        // Para as estatísticas o arquivado continua inativo; restaurar é uma reativação, não um cadastro
+        boolean favorito = Boolean.TRUE.equals(arquivado.getFavorito());
+        LocalDate diaCadastro = arquivado.getDataCadastro().toLocalDate();
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(new ContatoTransicaoEvent.Estado(false, favorito, diaCadastro),
+                new ContatoTransicaoEvent.Estado(true, favorito, diaCadastro)));
+
+        ContatoDTO dto = converterParaDTO(arquivado);
+        dto.setAtivo(true);
+        return dto;
+    }
+
+    private ContatoArquivado buscarArquivado(Long id) {
+        return contatoArquivadoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Contato arquivado não encontrado"));
+    }
+
+    private ContatoDTO converterParaDTO(ContatoArquivado contato) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setId(contato.getId());
+        dto.setNome(contato.getNome());
+        dto.setEmail(contato.getEmail());
+        dto.setCelular(contato.getCelular());
+        dto.setTelefone(contato.getTelefone());
+        dto.setFavorito(Boolean.TRUE.equals(contato.getFavorito()));
+        dto.setAtivo(false);
+        dto.setDataCadastro(contato.getDataCadastro());
+        return dto;
+    }
+}
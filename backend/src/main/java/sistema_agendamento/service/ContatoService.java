@@ -2,14 +2,27 @@ package sistema_agendamento.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.collection.spi.AbstractPersistentCollection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import sistema_agendamento.diagnostico.ConversaoDtoEvent;
 import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
 import sistema_agendamento.entity.Contato;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
 import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.snapshot.LeituraDegradada;
+import sistema_agendamento.snapshot.SnapshotContatos;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -17,37 +30,99 @@ import java.util.stream.Collectors;
 @Transactional
 public class ContatoService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 200;
+
     private final ContatoRepository contatoRepository;
+    private final ContatoArquivadoRepository contatoArquivadoRepository;
+    private final CoalescedorLeituras coalescedorLeituras;
+    private final LeituraDegradada leituraDegradada;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // As leituras não abrem transação própria: quem aguarda uma consulta compartilhada
+    // não deve segurar uma conexão do pool enquanto espera. Listagem, busca por id e busca
+    // por termo saem do snapshot em disco enquanto a instância aquece ou o banco está fora.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ContatoDTO> listarTodos() {
         log.info("Listando todos os contatos ativos");
-        return contatoRepository.findAllAtivos()
-                .stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return leituraDegradada.ler(() -> coalescedorLeituras.executar("listarTodos", () ->
+                        ConversaoDtoEvent.converter("listarTodos", contatoRepository.findAllAtivos(), ContatoService::converterParaDTO)),
+                SnapshotContatos::listarTodos);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ContatoDTO> listarFavoritos() {
         log.info("Listando contatos favoritos");
-        return contatoRepository.findAllFavoritos()
-                .stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return coalescedorLeituras.executar("listarFavoritos", () ->
+                ConversaoDtoEvent.converter("listarFavoritos", contatoRepository.findAllFavoritos(), ContatoService::converterParaDTO));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ContatoDTO buscarPorId(Long id) {
         log.info("Buscando contato por ID: {}", id);
-        Contato contato = contatoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
-        return converterParaDTO(contato);
+        return leituraDegradada.ler(() -> coalescedorLeituras.executar("buscarPorId", () -> {
+            Contato contato = contatoRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
+            return converterParaDTO(contato);
+        }, id), snapshot -> snapshot.buscarPorId(id)
+                // O snapshot só tem os ativos
+                .orElseThrow(() -> new RuntimeException("Contato não encontrado")));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ContatoDTO> buscarPorTermo(String termo) {
         log.info("Buscando contatos por termo: {}", termo);
-        return contatoRepository.buscarPorTermo(termo)
-                .stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return leituraDegradada.ler(() -> coalescedorLeituras.executar("buscarPorTermo", () ->
+                        ConversaoDtoEvent.converter("buscarPorTermo", contatoRepository.buscarPorTermo(termo), ContatoService::converterParaDTO), termo),
+                snapshot -> snapshot.buscarPorTermo(termo));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PaginaDTO<ContatoDTO> listarPagina(int pagina, int tamanho, String termo, boolean favoritos) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new RuntimeException("Página deve ser >= 0 e tamanho entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        String termoBusca = termo == null ? "" : termo.trim();
+        log.info("Listando página {} ({} por página) de contatos, termo: '{}', favoritos: {}", pagina, tamanho, termoBusca, favoritos);
+        return coalescedorLeituras.executar("listarPagina", () -> {
+            // O id desempata nomes iguais para que nenhum contato se repita ou suma entre páginas
+            PageRequest pedido = PageRequest.of(pagina, tamanho, Sort.by("nome", "id"));
+            Page<Contato> resultado = termoBusca.isEmpty()
+                    ? contatoRepository.findPaginaAtivos(favoritos, pedido)
+                    : contatoRepository.buscarPagina(termoBusca, favoritos, pedido);
+            return new PaginaDTO<>(ConversaoDtoEvent.converter("listarPagina", resultado.getContent(), ContatoService::converterParaDTO),
+                    pagina, tamanho, resultado.getTotalElements());
+        }, pagina, tamanho, termoBusca, favoritos);
+    }
+
+    // Variantes com ?fields=: a consulta seleciona só as colunas pedidas e cada contato
+    // volta como um mapa com essas propriedades.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> listarTodos(String fields) {
+        List<String> campos = CamposContato.interpretar(fields);
+        log.info("Listando contatos ativos com os campos: {}", campos);
+        return coalescedorLeituras.executar("listarTodosCampos", () -> contatoRepository.findAllAtivos(campos), campos);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> listarFavoritos(String fields) {
+        List<String> campos = CamposContato.interpretar(fields);
+        log.info("Listando contatos favoritos com os campos: {}", campos);
+        return coalescedorLeituras.executar("listarFavoritosCampos", () -> contatoRepository.findAllFavoritos(campos), campos);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> buscarPorId(Long id, String fields) {
+        List<String> campos = CamposContato.interpretar(fields);
+        log.info("Buscando contato por ID: {} com os campos: {}", id, campos);
+        return coalescedorLeituras.executar("buscarPorIdCampos", () -> contatoRepository.findCamposById(id, campos)
+                .orElseThrow(() -> new RuntimeException("Contato não encontrado")), id, campos);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Map<String, Object>> buscarPorTermo(String termo, String fields) {
+        List<String> campos = CamposContato.interpretar(fields);
+        log.info("Buscando contatos por termo: {} com os campos: {}", termo, campos);
+        return coalescedorLeituras.executar("buscarPorTermoCampos", () -> contatoRepository.buscarPorTermo(termo, campos), termo, campos);
     }
 
     public ContatoDTO criar(ContatoDTO contatoDTO) {
@@ -57,9 +132,12 @@ public class ContatoService {
         if (contatoRepository.findByCelular(contatoDTO.getCelular()).isPresent()) {
             throw new RuntimeException("Já existe um contato cadastrado com este celular");
         }
+        verificarCelularArquivado(contatoDTO.getCelular());
 
         Contato contato = converterParaEntidade(contatoDTO);
         contato = contatoRepository.save(contato);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(contato.getId()));
+        eventPublisher.publishEvent(ContatoTransicaoEvent.cadastro(contato));
         return converterParaDTO(contato);
     }
 
@@ -74,10 +152,14 @@ public class ContatoService {
             if (contatoRepository.findByCelularExcludingId(contatoDTO.getCelular(), id).isPresent()) {
                 throw new RuntimeException("Já existe outro contato cadastrado com este celular");
             }
+            verificarCelularArquivado(contatoDTO.getCelular());
         }
 
+        ContatoTransicaoEvent.Estado antes = ContatoTransicaoEvent.Estado.de(contatoExistente);
         atualizarDadosContato(contatoExistente, contatoDTO);
-        contatoExistente = contatoRepository.save(contatoExistente);
+        contatoExistente = salvarComVersao(contatoExistente);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(id));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(antes, ContatoTransicaoEvent.Estado.de(contatoExistente)));
         return converterParaDTO(contatoExistente);
     }
 
@@ -85,8 +167,11 @@ public class ContatoService {
         log.info("Inativando contato ID: {}", id);
         Contato contato = contatoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
-        contato.setAtivo('N');
+        ContatoTransicaoEvent.Estado antes = ContatoTransicaoEvent.Estado.de(contato);
+        contato.setAtivo(false);
         contatoRepository.save(contato);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(id));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(antes, ContatoTransicaoEvent.Estado.de(contato)));
     }
 
     public ContatoDTO alternarFavorito(Long id) {
@@ -94,45 +179,114 @@ public class ContatoService {
         Contato contato = contatoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
         
-        contato.setFavorito(contato.getFavorito() == 'S' ? 'N' : 'S');
-        contato = contatoRepository.save(contato);
+        ContatoTransicaoEvent.Estado antes = ContatoTransicaoEvent.Estado.de(contato);
+        contato.setFavorito(!contato.getFavorito());
+        contato = salvarComVersao(contato);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(id));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(antes, ContatoTransicaoEvent.Estado.de(contato)));
         return converterParaDTO(contato);
     }
 
-    private Contato converterParaEntidade(ContatoDTO dto) {
+    public ContatoDTO mesclar(Long principalId, Long duplicadoId) {
+        log.info("Mesclando contato ID {} no contato ID {}", duplicadoId, principalId);
+        if (principalId.equals(duplicadoId)) {
+            throw new RuntimeException("Não é possível mesclar um contato com ele mesmo");
+        }
+
+        Contato principal = contatoRepository.findById(principalId)
+                .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
+        Contato duplicado = contatoRepository.findById(duplicadoId)
+                .orElseThrow(() -> new RuntimeException("Contato não encontrado"));
+        if (!principal.getAtivo() || !duplicado.getAtivo()) {
+            throw new RuntimeException("Apenas contatos ativos podem ser mesclados");
+        }
+
+        ContatoTransicaoEvent.Estado principalAntes = ContatoTransicaoEvent.Estado.de(principal);
+        ContatoTransicaoEvent.Estado duplicadoAntes = ContatoTransicaoEvent.Estado.de(duplicado);
+
+        // O principal mantém seus dados e só herda o que não tem
+        if (principal.getEmail() == null || principal.getEmail().isBlank()) {
+            principal.setEmail(duplicado.getEmail());
+        }
+        if (principal.getTelefone() == null || principal.getTelefone().isBlank()) {
+            principal.setTelefone(duplicado.getTelefone());
+        }
+        if (duplicado.getFavorito()) {
+            principal.setFavorito(true);
+        }
+        if (etiquetasDisponiveis(principal) && etiquetasDisponiveis(duplicado)) {
+            principal.getEtiquetas().addAll(duplicado.getEtiquetas());
+        }
+        duplicado.setAtivo(false);
+
+        contatoRepository.save(duplicado);
+        principal = salvarComVersao(principal);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(duplicadoId));
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(principalId));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(duplicadoAntes, ContatoTransicaoEvent.Estado.de(duplicado)));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(principalAntes, ContatoTransicaoEvent.Estado.de(principal)));
+        return converterParaDTO(principal);
+    }
+
+    // O @Version só é incrementado no flush; sem ele a resposta de uma escrita levaria os dados
+    // novos com a versão antiga, e o cache de fragmentos JSON confundiria as duas
+    private Contato salvarComVersao(Contato contato) {
+        Contato salvo = contatoRepository.save(contato);
+        contatoRepository.flush();
+        return salvo;
+    }
+
+    // Com contatos em shards cada leitura tem transação própria e as etiquetas (que não existem
+    // nesse modo) chegam sem sessão para carregá-las
+    private static boolean etiquetasDisponiveis(Contato contato) {
+        return !(contato.getEtiquetas() instanceof AbstractPersistentCollection<?> etiquetas)
+                || etiquetas.wasInitialized() || etiquetas.getSession() != null;
+    }
+
+    // Contatos arquivados continuam reservando o celular, como faziam enquanto inativos. Só é
+    // seguro depois da busca em contato, que trava a linha do celular: um arquivamento em
+    // andamento termina antes, e esta consulta já encontra o contato no arquivo
+    private void verificarCelularArquivado(String celular) {
+        if (contatoArquivadoRepository.existsByCelular(celular)) {
+            throw new RuntimeException("Já existe um contato arquivado com este celular");
+        }
+    }
+
+    public static Contato converterParaEntidade(ContatoDTO dto) {
         Contato contato = new Contato();
         contato.setNome(dto.getNome());
         contato.setEmail(dto.getEmail());
         contato.setCelular(dto.getCelular());
         contato.setTelefone(dto.getTelefone());
-        contato.setFavorito(dto.getFavorito() != null && dto.getFavorito() ? 'S' : 'N');
-        contato.setAtivo(dto.getAtivo() != null && dto.getAtivo() ? 'S' : 'N');
+        contato.setFavorito(Boolean.TRUE.equals(dto.getFavorito()));
+        contato.setAtivo(Boolean.TRUE.equals(dto.getAtivo()));
         return contato;
     }
 
-    private ContatoDTO converterParaDTO(Contato contato) {
+    public static ContatoDTO converterParaDTO(Contato contato) {
         ContatoDTO dto = new ContatoDTO();
         dto.setId(contato.getId());
         dto.setNome(contato.getNome());
         dto.setEmail(contato.getEmail());
         dto.setCelular(contato.getCelular());
         dto.setTelefone(contato.getTelefone());
-        dto.setFavorito(contato.getFavorito() == 'S');
-        dto.setAtivo(contato.getAtivo() == 'S');
+        dto.setFavorito(contato.getFavorito());
+        dto.setAtivo(contato.getAtivo());
         dto.setDataCadastro(contato.getDataCadastro());
+        dto.setVersao(contato.getVersao());
         return dto;
     }
 
-    private void atualizarDadosContato(Contato contato, ContatoDTO dto) {
+    public static void atualizarDadosContato(Contato contato, ContatoDTO dto) {
         contato.setNome(dto.getNome());
         contato.setEmail(dto.getEmail());
         contato.setCelular(dto.getCelular());
         contato.setTelefone(dto.getTelefone());
         if (dto.getFavorito() != null) {
-            contato.setFavorito(dto.getFavorito() ? 'S' : 'N');
+            contato.setFavorito(dto.getFavorito());
         }
         if (dto.getAtivo() != null) {
-            contato.setAtivo(dto.getAtivo() ? 'S' : 'N');
+            contato.setAtivo(dto.getAtivo());
         }
     }
 } 
\ No newline at end of file
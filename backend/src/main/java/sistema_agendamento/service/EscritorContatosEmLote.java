@@ -0,0 +1,342 @@
+package sistema_agendamento.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sistema_agendamento.config.EscritaEmLoteProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Modo opcional de escrita com commit em grupo: criações e atualizações entram em uma fila sem
+ * bloqueio e uma única thread as grava em lotes, cada lote em uma transação (um commit, um fsync
+ * no PostgreSQL). O lote fecha ao atingir {@code tamanho-maximo-lote} ou quando a fila fica vazia
+ * por {@code janela-micros}.
+ *
+ * <p>As regras de {@link ContatoService#criar} e {@link ContatoService#atualizar} são verificadas
+ * para o lote inteiro com uma consulta por tipo de dado, levando em conta as operações anteriores
+ * do mesmo lote. Uma operação inválida recebe o próprio erro sem afetar as demais. Se o commit do
+ * lote falhar (por exemplo, uma escrita concorrente de outra réplica), cada operação é repetida em
+ * transação própria.</p>
+ *
+ * <p>A requisição espera a confirmação por no máximo {@code tempo-maximo-espera-ms} e recebe 503
+ * depois disso. Um erro grave (um {@link Error}) ao gravar falha só o lote em que aconteceu; se a
+ * thread do escritor terminar mesmo assim, ou a aplicação parar antes de esvaziar a fila, as
+ * operações pendentes também recebem 503.</p>
+ */
+@Component
+@Slf4j
+public class EscritorContatosEmLote implements SmartLifecycle {
+
+    private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final EscritaEmLoteProperties properties;
+    private final ContatoRepository contatoRepository;
+    private final ContatoArquivadoRepository contatoArquivadoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final FilaLimitada<Operacao> fila;
+    private final DistributionSummary tamanhoLote;
+    private final Counter lotesRepetidos;
+
+    private volatile boolean executando;
+    private volatile Thread thread;
+
+    public EscritorContatosEmLote(EscritaEmLoteProperties properties,
+                                  ContatoRepository contatoRepository,
+                                  ContatoArquivadoRepository contatoArquivadoRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registry) {
+        this.properties = properties;
+        this.contatoRepository = contatoRepository;
+        this.contatoArquivadoRepository = contatoArquivadoRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fila = new FilaLimitada<>(properties.getCapacidadeFila());
+        this.tamanhoLote = DistributionSummary.builder("agendamento.escrita.lote")
+                .description("Operações confirmadas por commit no escritor em lote")
+                .register(registry);
+        this.lotesRepetidos = Counter.builder("agendamento.escrita.lote.repetidos")
+                .description("Lotes cujo commit falhou e foram repetidos operação a operação")
+                .register(registry);
+        Gauge.builder("agendamento.escrita.fila", fila, FilaLimitada::tamanho)
+                .description("Operações aguardando o escritor em lote")
+                .register(registry);
+    }
+
+    public boolean isHabilitada() {
+        return properties.isHabilitada();
+    }
+
+    public ContatoDTO criar(ContatoDTO contatoDTO) {
+        log.info("Enfileirando criação de contato: {}", contatoDTO.getNome());
+        return aguardar(enfileirar(new Operacao(null, contatoDTO)));
+    }
+
+    public ContatoDTO atualizar(Long id, ContatoDTO contatoDTO) {
+        log.info("Enfileirando atualização do contato ID: {}", id);
+        return aguardar(enfileirar(new Operacao(id, contatoDTO)));
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isHabilitada()) {
+            return;
+        }
+        executando = true;
+        thread = Thread.ofPlatform().daemon().name("escritor-contatos").start(this::executar);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        Thread escritor = thread;
+        if (escritor != null) {
+            LockSupport.unpark(escritor);
+            try {
+                escritor.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // O que o escritor não gravou a tempo não fica esperando para sempre
+        falharPendentes();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    private CompletableFuture<ContatoDTO> enfileirar(Operacao operacao) {
+        if (!executando || !fila.oferecer(operacao)) {
+            throw new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Fila de gravação cheia. Tente novamente em instantes.");
+        }
+        LockSupport.unpark(thread);
+        return operacao.futuro;
+    }
+
+    private ContatoDTO aguardar(CompletableFuture<ContatoDTO> futuro) {
+        try {
+            return futuro.get(properties.getTempoMaximoEsperaMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // A operação continua na fila e ainda pode ser gravada
+            throw new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Gravação não confirmada a tempo. Confira o contato antes de tentar novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o escritor de contatos", e);
+        }
+    }
+
+    private void executar() {
+        try {
+            drenar();
+        } finally {
+            executando = false;
+            falharPendentes();
+        }
+    }
+
+    private void drenar() {
+        List<Operacao> lote = new ArrayList<>(properties.getTamanhoMaximoLote());
+        // Ao parar, ainda grava o que já foi aceito na fila
+        while (executando || fila.tamanho() > 0) {
+            Operacao primeira = fila.retirar();
+            if (primeira == null) {
+                LockSupport.parkNanos(ESPERA_OCIOSA_NANOS);
+                continue;
+            }
+            lote.add(primeira);
+            long limite = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(properties.getJanelaMicros());
+            while (lote.size() < properties.getTamanhoMaximoLote()) {
+                Operacao proxima = fila.retirar();
+                if (proxima != null) {
+                    lote.add(proxima);
+                    continue;
+                }
+                long restante = limite - System.nanoTime();
+                if (restante <= 0 || !executando) {
+                    break;
+                }
+                LockSupport.parkNanos(restante);
+            }
+            processar(lote);
+            lote.clear();
+        }
+    }
+
+    private void processar(List<Operacao> lote) {
+        tamanhoLote.record(lote.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> aplicar(lote));
+            lote.forEach(Operacao::concluir);
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).futuro.completeExceptionally(e);
+                return;
+            }
+            log.warn("Commit do lote de {} operações falhou, repetindo uma a uma: {}", lote.size(), e.getMessage());
+            lotesRepetidos.increment();
+            for (Operacao operacao : lote) {
+                operacao.limpar();
+                processar(List.of(operacao));
+            }
+        } catch (Error e) {
+            // Relançar mataria a thread e deixaria as próximas operações sem resposta
+            log.error("Erro grave gravando lote de {} operações", lote.size(), e);
+            lote.forEach(operacao -> operacao.futuro.completeExceptionally(e));
+        }
+    }
+
+    private void falharPendentes() {
+        for (Operacao operacao = fila.retirar(); operacao != null; operacao = fila.retirar()) {
+            operacao.futuro.completeExceptionally(new RequisicaoRejeitadaException(HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Escritor de contatos parado. Tente novamente em instantes."));
+        }
+    }
+
+    private void aplicar(List<Operacao> lote) {
+        Set<Long> ids = lote.stream().map(Operacao::id).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> celulares = lote.stream().map(operacao -> operacao.dto().getCelular())
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Contato> existentes = ids.isEmpty() ? Map.of() : contatoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Contato::getId, Function.identity()));
+        Map<String, Long> donosCelular = new HashMap<>();
+        Set<String> celularesArquivados = new HashSet<>();
+        if (!celulares.isEmpty()) {
+            contatoRepository.findByCelularIn(celulares).forEach(c -> donosCelular.put(c.getCelular(), c.getId()));
+            celularesArquivados.addAll(contatoArquivadoRepository.findCelularesIn(celulares));
+        }
+
+        for (Operacao operacao : lote) {
+            try {
+                operacao.contato = operacao.id() == null
+                        ? criar(operacao.dto(), donosCelular, celularesArquivados)
+                        : atualizar(operacao.id(), operacao.dto(), existentes, donosCelular, celularesArquivados);
+            } catch (RuntimeException e) {
+                operacao.erro = e;
+            }
+        }
+        contatoRepository.flush();
+        // Só depois do flush as atualizações têm a versão incrementada
+        for (Operacao operacao : lote) {
+            if (operacao.contato != null) {
+                operacao.resultado = ContatoService.converterParaDTO(operacao.contato);
+            }
+        }
+    }
+
+    private Contato criar(ContatoDTO dto, Map<String, Long> donosCelular, Set<String> celularesArquivados) {
+        if (donosCelular.containsKey(dto.getCelular())) {
+            throw new RuntimeException("Já existe um contato cadastrado com este celular");
+        }
+        if (celularesArquivados.contains(dto.getCelular())) {
+            throw new RuntimeException("Já existe um contato arquivado com este celular");
+        }
+        Contato contato = contatoRepository.save(ContatoService.converterParaEntidade(dto));
+        donosCelular.put(contato.getCelular(), contato.getId());
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(contato.getId()));
+        eventPublisher.publishEvent(ContatoTransicaoEvent.cadastro(contato));
+        return contato;
+    }
+
+    private Contato atualizar(Long id, ContatoDTO dto, Map<Long, Contato> existentes,
+                                 Map<String, Long> donosCelular, Set<String> celularesArquivados) {
+        Contato contato = existentes.get(id);
+        if (contato == null) {
+            throw new RuntimeException("Contato não encontrado");
+        }
+        if (!contato.getCelular().equals(dto.getCelular())) {
+            Long dono = donosCelular.get(dto.getCelular());
+            if (dono != null && !dono.equals(id)) {
+                throw new RuntimeException("Já existe outro contato cadastrado com este celular");
+            }
+            if (celularesArquivados.contains(dto.getCelular())) {
+                throw new RuntimeException("Já existe um contato arquivado com este celular");
+            }
+            donosCelular.remove(contato.getCelular(), id);
+            donosCelular.put(dto.getCelular(), id);
+        }
+        ContatoTransicaoEvent.Estado antes = ContatoTransicaoEvent.Estado.de(contato);
+        ContatoService.atualizarDadosContato(contato, dto);
+        eventPublisher.publishEvent(new ContatoAlteradoEvent(id));
+        eventPublisher.publishEvent(new ContatoTransicaoEvent(antes, ContatoTransicaoEvent.Estado.de(contato)));
+        return contato;
+    }
+
+    private static final class Operacao {
+
+        private final Long id;
+        private final ContatoDTO dto;
+        private final CompletableFuture<ContatoDTO> futuro = new CompletableFuture<>();
+
+        // Preenchidos pela thread do escritor durante a transação do lote
+        private Contato contato;
+        private ContatoDTO resultado;
+        private RuntimeException erro;
+
+        private Operacao(Long id, ContatoDTO dto) {
+            this.id = id;
+            this.dto = dto;
+        }
+
+        private Long id() {
+            return id;
+        }
+
+        private ContatoDTO dto() {
+            return dto;
+        }
+
+        private void concluir() {
+            if (erro != null) {
+                futuro.completeExceptionally(erro);
+            } else {
+                futuro.complete(resultado);
+            }
+        }
+
+        private void limpar() {
+            contato = null;
+            resultado = null;
+            erro = null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package sistema_agendamento.service;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila sem bloqueio com capacidade máxima: {@link ConcurrentLinkedQueue} mais um contador
+ * atômico que reserva a vaga antes da inserção.
+ */
+class FilaLimitada<E> {
+
+    private final ConcurrentLinkedQueue<E> itens = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final int capacidade;
+
+    FilaLimitada(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    boolean oferecer(E item) {
+        if (tamanho.incrementAndGet() > capacidade) {
+            tamanho.decrementAndGet();
+            return false;
+        }
+        itens.offer(item);
+        return true;
+    }
+
+    E retirar() {
+        E item = itens.poll();
+        if (item != null) {
+            tamanho.decrementAndGet();
+        }
+        return item;
+    }
+
+    int tamanho() {
+        return tamanho.get();
+    }
+}
@@ -0,0 +1,46 @@
+package sistema_agendamento.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Ids de contato únicos entre todos os shards, tirados da sequência {@code contato_id_global} da
+ * instância principal. Cada {@code nextval} reserva um bloco de {@code tamanhoBloco} ids (o
+ * INCREMENT BY da sequência), então só uma criação em cada bloco vai à instância principal.
+ * Ids de um bloco não usado até o fim se perdem, como em qualquer sequência com cache.
+ */
+public class GeradorIdsContato {
+
+    static final String SEQUENCIA = "contato_id_global";
+
+    private final JdbcTemplate principal;
+    private final int tamanhoBloco;
+    private long proximo;
+    private long limite;
+
+    GeradorIdsContato(JdbcTemplate principal, int tamanhoBloco) {
+        this.principal = principal;
+        this.tamanhoBloco = tamanhoBloco;
+        verificarIncremento();
+    }
+
+    public synchronized long proximo() {
+        if (proximo == limite) {
+            Long inicio = principal.queryForObject("SELECT nextval('" + SEQUENCIA + "')", Long.class);
+            proximo = inicio;
+            limite = inicio + tamanhoBloco;
+        }
+        return proximo++;
+    }
+
+    // Com um incremento menor que o bloco, duas réplicas receberiam ids sobrepostos
+    private void verificarIncremento() {
+        String incremento = principal.queryForObject(
+                "SELECT increment FROM information_schema.sequences "
+                        + "WHERE sequence_schema = CURRENT_SCHEMA AND UPPER(sequence_name) = UPPER(?)",
+                String.class, SEQUENCIA);
+        if (incremento == null || Long.parseLong(incremento) != tamanhoBloco) {
+            throw new IllegalStateException("A sequência " + SEQUENCIA + " precisa de INCREMENT BY " + tamanhoBloco
+                    + " (agendamento.shard.tamanho-bloco-ids), mas tem " + incremento);
+        }
+    }
+}
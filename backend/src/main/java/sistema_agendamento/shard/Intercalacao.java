@@ -0,0 +1,123 @@
+package sistema_agendamento.shard;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Junta em uma só lista ordenada os resultados já ordenados de cada shard (intercalação de k
+ * vias): um heap guarda a próxima linha de cada shard, então juntar n linhas de k shards custa
+ * O(n log k) comparações e nenhum shard precisa ser reordenado.
+ */
+final class Intercalacao {
+
+    private Intercalacao() {
+    }
+
+    /**
+     * As primeiras {@code limite} linhas das listas intercaladas segundo {@code ordem}, que deve
+     * ser a mesma ordem em que cada lista já está. Em empates vale a ordem dos shards.
+     */
+    static <T> List<T> intercalar(List<? extends List<? extends T>> listas, Comparator<? super T> ordem, long limite) {
+        PriorityQueue<Cursor<T>> proximos = new PriorityQueue<>(Math.max(1, listas.size()),
+                Comparator.<Cursor<T>, T>comparing(Cursor::atual, ordem).thenComparingInt(Cursor::shard));
+        int total = 0;
+        for (int shard = 0; shard < listas.size(); shard++) {
+            List<? extends T> lista = listas.get(shard);
+            total += lista.size();
+            if (!lista.isEmpty()) {
+                proximos.add(new Cursor<>(lista, shard));
+            }
+        }
+
+        List<T> resultado = new ArrayList<>((int) Math.min(total, limite));
+        while (!proximos.isEmpty() && resultado.size() < limite) {
+            Cursor<T> cursor = proximos.poll();
+            resultado.add(cursor.atual());
+            if (cursor.avancar()) {
+                proximos.add(cursor);
+            }
+        }
+        return resultado;
+    }
+
+    static <T> List<T> intercalar(List<? extends List<? extends T>> listas, Comparator<? super T> ordem) {
+        return intercalar(listas, ordem, Long.MAX_VALUE);
+    }
+
+    /**
+     * Nomes por code point, a ordem da collation {@code "C"} que {@code contato_nome} usa em todos
+     * os shards (ver {@code shards-ordenacao.sql}). Qualquer outra collation do banco ordenaria cada
+     * shard de um jeito que a intercalação não reproduz, e as páginas pulariam ou repetiriam contatos.
+     */
+    static Comparator<String> porNome() {
+        return Intercalacao::compararCodePoints;
+    }
+
+    private static int compararCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            if (codePointA != codePointB) {
+                return Integer.compare(codePointA, codePointB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * A ordem de {@code sort} sobre as propriedades da entidade, com nulos por último como no
+     * PostgreSQL e textos comparados por {@link #porNome()}.
+     */
+    static <T> Comparator<T> porSort(Sort sort) {
+        Comparator<String> nomes = porNome();
+        Comparator<T> ordem = (a, b) -> 0;
+        for (Sort.Order criterio : sort) {
+            Comparator<Object> valores = Comparator.nullsLast((x, y) -> compararValores(x, y, nomes));
+            Comparator<T> porPropriedade = Comparator.comparing(
+                    entidade -> new BeanWrapperImpl(entidade).getPropertyValue(criterio.getProperty()), valores);
+            ordem = ordem.thenComparing(criterio.isAscending() ? porPropriedade : porPropriedade.reversed());
+        }
+        return ordem;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compararValores(Object a, Object b, Comparator<String> nomes) {
+        if (a instanceof String textoA && b instanceof String textoB) {
+            return nomes.compare(textoA, textoB);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<? extends T> lista;
+        private final int shard;
+        private int posicao;
+
+        Cursor(List<? extends T> lista, int shard) {
+            this.lista = lista;
+            this.shard = shard;
+        }
+
+        T atual() {
+            return lista.get(posicao);
+        }
+
+        int shard() {
+            return shard;
+        }
+
+        boolean avancar() {
+            return ++posicao < lista.size();
+        }
+    }
+}
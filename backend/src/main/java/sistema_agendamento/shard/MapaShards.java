@@ -0,0 +1,112 @@
+package sistema_agendamento.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Em que shard fica cada contato. O celular cai em uma de {@link #FATIAS} fatias por hash, e a
+ * tabela {@code shard_fatia} da instância principal diz o shard de cada fatia. O número de fatias
+ * nunca muda: acrescentar um shard é mover fatias inteiras (ver {@link RebalanceadorShards}), sem
+ * recalcular o destino de todos os contatos.
+ */
+@Slf4j
+public final class MapaShards {
+
+    public static final int FATIAS = 1024;
+
+    static final String SQL_CARREGAR = "SELECT fatia_nr, shard_nr FROM shard_fatia";
+    static final String SQL_INSERIR = "INSERT INTO shard_fatia (fatia_nr, shard_nr) VALUES (?, ?)";
+
+    private final int[] shardDaFatia;
+
+    MapaShards(int[] shardDaFatia) {
+        this.shardDaFatia = shardDaFatia.clone();
+    }
+
+    /**
+     * A fatia do celular. O hash do texto passa pela mistura final do MurmurHash3 para que celulares
+     * quase iguais (mesmo DDD e prefixo) se espalhem por todas as fatias.
+     */
+    public static int fatia(String celular) {
+        int h = celular.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, FATIAS);
+    }
+
+    public int shardDe(String celular) {
+        return shardDaFatia[fatia(celular)];
+    }
+
+    int[] shardDasFatias() {
+        return shardDaFatia.clone();
+    }
+
+    /**
+     * Fatias distribuídas em rodízio entre {@code quantidadeShards}; é o mapa de um banco novo.
+     */
+    static int[] distribuicaoInicial(int quantidadeShards) {
+        int[] shards = new int[FATIAS];
+        for (int fatia = 0; fatia < FATIAS; fatia++) {
+            shards[fatia] = fatia % quantidadeShards;
+        }
+        return shards;
+    }
+
+    /**
+     * Lê o mapa da instância principal, criando a distribuição inicial se a tabela estiver vazia.
+     *
+     * @throws IllegalStateException se o mapa estiver incompleto ou apontar para um shard que não
+     *                               está configurado
+     */
+    static MapaShards carregar(JdbcTemplate principal, int quantidadeShards) {
+        int[] shards = ler(principal);
+        if (shards == null) {
+            log.info("Mapa de fatias vazio; distribuindo as {} fatias entre {} shards", FATIAS, quantidadeShards);
+            try {
+                gravar(principal, distribuicaoInicial(quantidadeShards));
+            } catch (DuplicateKeyException e) {
+                // Outra réplica criou o mapa ao mesmo tempo; vale o dela
+                log.info("Mapa de fatias criado por outra instância");
+            }
+            shards = ler(principal);
+        }
+        if (shards == null || Arrays.stream(shards).anyMatch(shard -> shard < 0)) {
+            throw new IllegalStateException("Mapa de fatias incompleto em shard_fatia; rode o rebalanceamento");
+        }
+        for (int shard : shards) {
+            if (shard >= quantidadeShards) {
+                throw new IllegalStateException("shard_fatia aponta para o shard " + shard + ", mas só há "
+                        + quantidadeShards + " instâncias configuradas");
+            }
+        }
+        return new MapaShards(shards);
+    }
+
+    private static int[] ler(JdbcTemplate principal) {
+        int[] shards = new int[FATIAS];
+        Arrays.fill(shards, -1);
+        List<int[]> linhas = principal.query(SQL_CARREGAR, (rs, linha) -> new int[]{rs.getInt(1), rs.getInt(2)});
+        if (linhas.isEmpty()) {
+            return null;
+        }
+        linhas.forEach(linha -> shards[linha[0]] = linha[1]);
+        return shards;
+    }
+
+    private static void gravar(JdbcTemplate principal, int[] shards) {
+        List<Object[]> linhas = new ArrayList<>(FATIAS);
+        for (int fatia = 0; fatia < FATIAS; fatia++) {
+            linhas.add(new Object[]{fatia, shards[fatia]});
+        }
+        principal.batchUpdate(SQL_INSERIR, linhas);
+    }
+}
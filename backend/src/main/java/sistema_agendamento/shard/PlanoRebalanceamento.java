@@ -0,0 +1,88 @@
+package sistema_agendamento.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Novo mapa de fatias para uma quantidade de shards, movendo o mínimo de fatias: cada shard fica
+ * com {@code FATIAS / quantidade} fatias (alguns com uma a mais), e um shard só perde fatias se
+ * tiver mais do que a sua cota ou se deixar de existir.
+ */
+public final class PlanoRebalanceamento {
+
+    private final int[] novo;
+    private final List<Movimento> movimentos;
+
+    private PlanoRebalanceamento(int[] novo, List<Movimento> movimentos) {
+        this.novo = novo;
+        this.movimentos = movimentos;
+    }
+
+    public static PlanoRebalanceamento calcular(int[] atual, int quantidadeShards) {
+        if (atual.length != MapaShards.FATIAS || quantidadeShards < 1) {
+            throw new IllegalArgumentException("Mapa com " + atual.length + " fatias para " + quantidadeShards + " shards");
+        }
+
+        int[] cota = cotas(atual, quantidadeShards);
+        int[] mantidas = new int[quantidadeShards];
+        int[] novo = new int[MapaShards.FATIAS];
+        List<Integer> semShard = new ArrayList<>();
+        for (int fatia = 0; fatia < MapaShards.FATIAS; fatia++) {
+            int shard = atual[fatia];
+            if (shard >= 0 && shard < quantidadeShards && mantidas[shard] < cota[shard]) {
+                novo[fatia] = shard;
+                mantidas[shard]++;
+            } else {
+                semShard.add(fatia);
+            }
+        }
+
+        List<Movimento> movimentos = new ArrayList<>(semShard.size());
+        int destino = 0;
+        for (int fatia : semShard) {
+            while (mantidas[destino] == cota[destino]) {
+                destino++;
+            }
+            novo[fatia] = destino;
+            mantidas[destino]++;
+            movimentos.add(new Movimento(fatia, atual[fatia], destino));
+        }
+        return new PlanoRebalanceamento(novo, List.copyOf(movimentos));
+    }
+
+    public int[] getNovo() {
+        return novo.clone();
+    }
+
+    public List<Movimento> getMovimentos() {
+        return movimentos;
+    }
+
+    // As fatias que sobram da divisão vão para os shards que já têm mais, para mover menos
+    private static int[] cotas(int[] atual, int quantidadeShards) {
+        int[] ocupacao = new int[quantidadeShards];
+        for (int shard : atual) {
+            if (shard >= 0 && shard < quantidadeShards) {
+                ocupacao[shard]++;
+            }
+        }
+        int[] cota = new int[quantidadeShards];
+        int base = MapaShards.FATIAS / quantidadeShards;
+        int sobra = MapaShards.FATIAS % quantidadeShards;
+        List<Integer> maisOcupados = IntStream.range(0, quantidadeShards).boxed()
+                .sorted(Comparator.comparingInt((Integer shard) -> -ocupacao[shard]).thenComparing(shard -> shard))
+                .toList();
+        for (int i = 0; i < quantidadeShards; i++) {
+            cota[maisOcupados.get(i)] = base + (i < sobra ? 1 : 0);
+        }
+        return cota;
+    }
+
+    /**
+     * A fatia sai de {@code origem} e vai para {@code destino}.
+     */
+    public record Movimento(int fatia, int origem, int destino) {
+    }
+}
@@ -0,0 +1,218 @@
+package sistema_agendamento.shard;
+
+import sistema_agendamento.entity.conversor.CelularConverter;
+
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ferramenta de linha de comando que redistribui as fatias entre os shards informados, com a
+ * aplicação parada. Calcula o {@link PlanoRebalanceamento}, leva cada contato (da tabela principal
+ * e do arquivo) para o shard da sua fatia no novo mapa e só então grava o mapa na instância
+ * principal. Sem {@code --aplicar} apenas mostra o plano.
+ *
+ * <p>Contatos que já estavam fora do lugar, como os de um banco único sendo dividido (mapa vazio,
+ * tudo no shard 0) ou os de uma execução interrompida, também são levados ao shard certo; por isso
+ * repetir a ferramenta depois de uma falha termina o trabalho.</p>
+ *
+ * <pre>
+ * ./gradlew rebalancearShards --args="--shard URL0 --shard URL1 --shard URL2 --usuario postgres --senha 3311 [--aplicar]"
+ * </pre>
+ */
+public final class RebalanceadorShards {
+
+    private static final List<String> TABELAS = List.of("contato", "contato_arquivo");
+    private static final int TAMANHO_LOTE = 500;
+
+    private final List<Connection> shards;
+    private final PrintStream saida;
+    private final CelularConverter celularConverter = new CelularConverter();
+
+    RebalanceadorShards(List<Connection> shards, PrintStream saida) {
+        this.shards = shards;
+        this.saida = saida;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        List<String> urls = new ArrayList<>();
+        String usuario = null;
+        String senha = null;
+        boolean aplicar = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--shard" -> urls.add(args[++i]);
+                case "--usuario" -> usuario = args[++i];
+                case "--senha" -> senha = args[++i];
+                case "--aplicar" -> aplicar = true;
+                default -> throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Informe as instâncias com --shard URL, na ordem dos números de shard");
+        }
+
+        List<Connection> conexoes = new ArrayList<>();
+        try {
+            for (String url : urls) {
+                Connection conexao = DriverManager.getConnection(url, usuario, senha);
+                conexao.setAutoCommit(false);
+                conexoes.add(conexao);
+            }
+            new RebalanceadorShards(conexoes, System.out).executar(aplicar);
+        } finally {
+            for (Connection conexao : conexoes) {
+                conexao.close();
+            }
+        }
+    }
+
+    /**
+     * @return quantos contatos mudaram de shard
+     */
+    int executar(boolean aplicar) throws SQLException {
+        int[] atual = lerMapa();
+        PlanoRebalanceamento plano = PlanoRebalanceamento.calcular(atual, shards.size());
+        Map<String, Long> porRota = plano.getMovimentos().stream()
+                .collect(Collectors.groupingBy(movimento -> movimento.origem() + " -> " + movimento.destino(), TreeMap::new, Collectors.counting()));
+        saida.printf("%d de %d fatias mudam de shard%n", plano.getMovimentos().size(), MapaShards.FATIAS);
+        porRota.forEach((rota, fatias) -> saida.printf("  shard %s: %d fatias%n", rota, fatias));
+        if (!aplicar) {
+            saida.println("Simulação: nada foi alterado. Use --aplicar com a aplicação parada.");
+            return 0;
+        }
+
+        int[] novo = plano.getNovo();
+        int movidos = 0;
+        for (String tabela : TABELAS) {
+            for (int origem = 0; origem < shards.size(); origem++) {
+                movidos += moverForaDoLugar(tabela, origem, novo);
+            }
+        }
+        gravarMapa(novo);
+        saida.printf("%d contatos mudaram de shard; mapa de fatias atualizado%n", movidos);
+        return movidos;
+    }
+
+    // Sem mapa, a instância principal é o banco único de antes dos shards
+    private int[] lerMapa() throws SQLException {
+        int[] mapa = new int[MapaShards.FATIAS];
+        boolean vazio = true;
+        try (Statement consulta = shards.get(0).createStatement();
+             ResultSet linhas = consulta.executeQuery(MapaShards.SQL_CARREGAR)) {
+            Arrays.fill(mapa, -1);
+            while (linhas.next()) {
+                mapa[linhas.getInt(1)] = linhas.getInt(2);
+                vazio = false;
+            }
+        }
+        shards.get(0).commit();
+        if (vazio) {
+            Arrays.fill(mapa, 0);
+        }
+        return mapa;
+    }
+
+    private int moverForaDoLugar(String tabela, int origem, int[] mapa) throws SQLException {
+        Connection conexao = shards.get(origem);
+        Map<Integer, List<Long>> porDestino = new TreeMap<>();
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT contato_id, contato_celular FROM " + tabela)) {
+            consulta.setFetchSize(10_000);
+            try (ResultSet linhas = consulta.executeQuery()) {
+                while (linhas.next()) {
+                    String celular = celularConverter.convertToEntityAttribute(linhas.getLong(2));
+                    int destino = mapa[MapaShards.fatia(celular)];
+                    if (destino != origem) {
+                        porDestino.computeIfAbsent(destino, shard -> new ArrayList<>()).add(linhas.getLong(1));
+                    }
+                }
+            }
+        }
+        conexao.commit();
+
+        int movidos = 0;
+        for (Map.Entry<Integer, List<Long>> destino : porDestino.entrySet()) {
+            List<Long> ids = destino.getValue();
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+                List<Long> lote = ids.subList(inicio, Math.min(ids.size(), inicio + TAMANHO_LOTE));
+                copiar(tabela, conexao, shards.get(destino.getKey()), lote);
+                remover(tabela, conexao, lote);
+                movidos += lote.size();
+            }
+            saida.printf("  %s: %d linhas do shard %d para o shard %d%n", tabela, ids.size(), origem, destino.getKey());
+        }
+        return movidos;
+    }
+
+    // A linha que já estiver no destino (execução anterior interrompida entre a cópia e a remoção) fica
+    private static void copiar(String tabela, Connection origem, Connection destino, List<Long> ids) throws SQLException {
+        try (PreparedStatement consulta = origem.prepareStatement("SELECT * FROM " + tabela + " WHERE contato_id IN (" + marcadores(ids.size()) + ")")) {
+            definirIds(consulta, ids);
+            try (ResultSet linhas = consulta.executeQuery()) {
+                ResultSetMetaData colunas = linhas.getMetaData();
+                List<String> nomes = new ArrayList<>();
+                for (int coluna = 1; coluna <= colunas.getColumnCount(); coluna++) {
+                    nomes.add(colunas.getColumnName(coluna));
+                }
+                String insercao = "INSERT INTO " + tabela + " (" + String.join(", ", nomes) + ") VALUES ("
+                        + marcadores(nomes.size()) + ") ON CONFLICT DO NOTHING";
+                try (PreparedStatement inserir = destino.prepareStatement(insercao)) {
+                    while (linhas.next()) {
+                        for (int coluna = 1; coluna <= nomes.size(); coluna++) {
+                            inserir.setObject(coluna, linhas.getObject(coluna));
+                        }
+                        inserir.addBatch();
+                    }
+                    inserir.executeBatch();
+                }
+            }
+        }
+        origem.commit();
+        destino.commit();
+    }
+
+    private static void remover(String tabela, Connection origem, List<Long> ids) throws SQLException {
+        try (PreparedStatement remocao = origem.prepareStatement("DELETE FROM " + tabela + " WHERE contato_id IN (" + marcadores(ids.size()) + ")")) {
+            definirIds(remocao, ids);
+            remocao.executeUpdate();
+        }
+        origem.commit();
+    }
+
+    private void gravarMapa(int[] mapa) throws SQLException {
+        Connection principal = shards.get(0);
+        try (Statement limpeza = principal.createStatement();
+             PreparedStatement insercao = principal.prepareStatement(MapaShards.SQL_INSERIR)) {
+            limpeza.executeUpdate("DELETE FROM shard_fatia");
+            for (int fatia = 0; fatia < MapaShards.FATIAS; fatia++) {
+                insercao.setInt(1, fatia);
+                insercao.setInt(2, mapa[fatia]);
+                insercao.addBatch();
+            }
+            insercao.executeBatch();
+        }
+        principal.commit();
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
+    private static void definirIds(PreparedStatement comando, List<Long> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            comando.setLong(i + 1, ids.get(i));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package sistema_agendamento.shard;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Executa operações nos shards, cada uma em transação própria na instância do shard.
+ *
+ * <p>As chamadas aos repositórios de contatos fora de {@link #executar(int, Supplier)} são
+ * roteadas uma a uma: vão para o shard do celular, ou para todos em paralelo, em threads virtuais
+ * que não herdam a transação nem o {@code EntityManager} de quem chamou. Dentro de
+ * {@link #executar(int, Supplier)} elas vão direto para o shard informado, na mesma transação,
+ * para operações que precisam ser atômicas em um shard (como um lote de arquivamento).</p>
+ */
+public class RoteadorShards implements DisposableBean {
+
+    private final int quantidade;
+    private final MapaShards mapa;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate escrita;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    RoteadorShards(int quantidade, MapaShards mapa, PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+        this.quantidade = quantidade;
+        this.mapa = mapa;
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.escrita.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leitura.setReadOnly(true);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public int shardDe(String celular) {
+        return mapa.shardDe(celular);
+    }
+
+    /**
+     * Executa {@code operacao} em uma transação no shard, na thread atual. Se a thread já está
+     * nesse shard, participa da transação em andamento.
+     */
+    public <T> T executar(int shard, Supplier<T> operacao) {
+        return executar(shard, false, operacao);
+    }
+
+    <T> T executar(int shard, boolean somenteLeitura, Supplier<T> operacao) {
+        Integer anterior = ShardAtual.get();
+        if (Objects.equals(anterior, shard)) {
+            return operacao.get();
+        }
+        ShardAtual.set(shard);
+        try {
+            return (somenteLeitura ? leitura : escrita).execute(status -> operacao.get());
+        } finally {
+            ShardAtual.set(anterior);
+        }
+    }
+
+    /**
+     * Executa {@code operacao} em um shard, em uma thread virtual, e espera o resultado.
+     */
+    <T> T emUm(int shard, boolean somenteLeitura, Supplier<T> operacao) {
+        return emVarios(List.of(shard), somenteLeitura, s -> operacao.get()).get(0);
+    }
+
+    /**
+     * Executa {@code operacao} em todos os shards ao mesmo tempo; o resultado de cada shard fica
+     * na posição do seu número.
+     */
+    <T> List<T> emTodos(boolean somenteLeitura, IntFunction<T> operacao) {
+        return emVarios(IntStream.range(0, quantidade).boxed().toList(), somenteLeitura, operacao);
+    }
+
+    /**
+     * Executa {@code operacao} nos shards informados ao mesmo tempo, na ordem da lista. A primeira
+     * falha é relançada depois que todos terminam.
+     */
+    <T> List<T> emVarios(List<Integer> shards, boolean somenteLeitura, IntFunction<T> operacao) {
+        List<Future<T>> pendentes = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            pendentes.add(executor.submit(() -> executar(shard, somenteLeitura, () -> operacao.apply(shard))));
+        }
+
+        List<T> resultados = new ArrayList<>(shards.size());
+        RuntimeException falha = null;
+        for (Future<T> pendente : pendentes) {
+            try {
+                resultados.add(pendente.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error erro) {
+                    throw erro;
+                }
+                if (falha == null) {
+                    falha = e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendentes.forEach(futuro -> futuro.cancel(true));
+                throw new IllegalStateException("Interrompido aguardando os shards", e);
+            }
+        }
+        if (falha != null) {
+            throw falha;
+        }
+        return resultados;
+    }
+
+    /**
+     * JDBC sobre o DataSource roteado: dentro de uma operação usa a conexão da transação do shard.
+     */
+    JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
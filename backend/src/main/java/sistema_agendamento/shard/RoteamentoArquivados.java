@@ -0,0 +1,34 @@
+package sistema_agendamento.shard;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import sistema_agendamento.entity.ContatoArquivado;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+
+import java.util.Comparator;
+
+/**
+ * Roteamento do {@link ContatoArquivadoRepository}. O contato é arquivado no próprio shard, então
+ * o arquivo segue a mesma distribuição por celular da tabela principal.
+ */
+class RoteamentoArquivados extends RoteamentoRepositorio {
+
+    RoteamentoArquivados(ObjectProvider<RoteadorShards> roteadorShards) {
+        super("ContatoArquivadoRepository", roteadorShards);
+    }
+
+    @Override
+    protected Object rotear(String metodo, MethodInvocation invocacao) {
+        Object[] argumentos = invocacao.getArguments();
+        return switch (metodo) {
+            case "existsByCelular" -> noShard(roteador().shardDe((String) argumentos[0]), true, invocacao);
+            case "findCelularesIn" -> porCelulares(invocacao, 0, true);
+            case "findAllOrdenados", "buscarPorTermo" -> this.<ContatoArquivado>intercalados(invocacao,
+                    Comparator.comparing(ContatoArquivado::getNome, Intercalacao.porNome()).thenComparing(ContatoArquivado::getId));
+            // Só o shard que tem a linha no arquivo insere alguma coisa
+            case "restaurarParaTabelaPrincipal" -> somar(invocacao);
+            case "save", "saveAndFlush" -> noShard(roteador().shardDe(((ContatoArquivado) argumentos[0]).getCelular()), false, invocacao);
+            default -> rotearCrud(metodo, invocacao);
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package sistema_agendamento.shard;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import sistema_agendamento.deduplicacao.DadosContatoDeduplicacao;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.conversor.CelularConverter;
+import sistema_agendamento.entity.conversor.TelefoneConverter;
+import sistema_agendamento.etiqueta.SituacaoContato;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Roteamento do {@link ContatoRepository}: o que é procurado pelo celular vai só ao shard do
+ * celular (e por isso a unicidade do celular continua sendo verificada pelo índice único de um
+ * único banco); listagens e buscas vão a todos os shards em paralelo e são intercaladas por nome;
+ * o que é procurado pelo id vai a todos, pois o id não diz o shard.
+ */
+class RoteamentoContatos extends RoteamentoRepositorio {
+
+    private static final String SQL_INSERIR = "INSERT INTO contato (contato_id, contato_nome, contato_email, contato_celular, "
+            + "contato_telefone, contato_sn_favorito, contato_sn_ativo, contato_dh_cad, contato_dh_inativacao, contato_nr_versao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<Long> POR_ID = Comparator.naturalOrder();
+
+    private final ContatoRepository alvo;
+    private final ObjectProvider<GeradorIdsContato> geradorIds;
+    private final CelularConverter celularConverter = new CelularConverter();
+    private final TelefoneConverter telefoneConverter = new TelefoneConverter();
+
+    RoteamentoContatos(ContatoRepository alvo, ObjectProvider<RoteadorShards> roteadorShards, ObjectProvider<GeradorIdsContato> geradorIds) {
+        super("ContatoRepository", roteadorShards);
+        this.alvo = alvo;
+        this.geradorIds = geradorIds;
+    }
+
+    @Override
+    protected Object rotear(String metodo, MethodInvocation invocacao) {
+        Object[] argumentos = invocacao.getArguments();
+        boolean comCampos = invocacao.getMethod().getParameterCount() > 0
+                && invocacao.getMethod().getParameterTypes()[argumentos.length - 1] == List.class;
+        return switch (metodo) {
+            // Travam a linha (FOR UPDATE), o que uma transação somente leitura não permite
+            case "findByCelular", "findByCelularExcludingId" -> noShard(roteador().shardDe((String) argumentos[0]), false, invocacao);
+            case "findByCelularIn" -> porCelulares(invocacao, 0, false);
+            case "findAllAtivos", "findAllFavoritos", "buscarPorTermo" -> comCampos
+                    ? this.<Map<String, Object>>intercalados(invocacao, mapasPorNome((List<?>) argumentos[argumentos.length - 1]))
+                    : this.<Contato>intercalados(invocacao, Comparator.comparing(Contato::getNome, Intercalacao.porNome()).thenComparing(Contato::getId));
+            case "findCamposById" -> primeiroPresente(emTodos(true, invocacao));
+            case "findPaginaAtivos", "buscarPagina" -> paginar(invocacao);
+            case "findIdsInativosAntesDe" -> paginarLista(invocacao, POR_ID);
+            case "findDadosDeduplicacaoAposId" -> paginarLista(invocacao, Comparator.comparing(DadosContatoDeduplicacao::id));
+            case "findSituacaoAposId" -> paginarLista(invocacao, Comparator.comparing(SituacaoContato::id));
+            case "findDadosDeduplicacaoPorIds", "findSituacaoPorIds" -> concatenar(emTodos(true, invocacao));
+            case "copiarParaArquivo", "deleteInativosByIds" -> somar(invocacao);
+            case "save", "saveAndFlush" -> salvar((Contato) argumentos[0]);
+            case "saveAll" -> salvarTodos((Iterable<?>) argumentos[0]);
+            default -> rotearCrud(metodo, invocacao);
+        };
+    }
+
+    private List<Contato> salvarTodos(Iterable<?> contatos) {
+        List<Contato> salvos = new ArrayList<>();
+        contatos.forEach(contato -> salvos.add(salvar((Contato) contato)));
+        return salvos;
+    }
+
+    /**
+     * Contatos novos recebem um id da sequência global e vão para o shard do celular. Um contato
+     * existente cujo celular mudou para outra fatia muda de shard.
+     */
+    private Contato salvar(Contato contato) {
+        RoteadorShards roteador = roteador();
+        int destino = roteador.shardDe(contato.getCelular());
+        if (contato.getId() == null) {
+            contato.setId(geradorIds.getObject().proximo());
+            return roteador.emUm(destino, false, () -> alvo.save(contato));
+        }
+
+        Long id = contato.getId();
+        List<Boolean> presente = roteador.emTodos(true, shard -> alvo.existsById(id));
+        if (presente.get(destino) || !presente.contains(Boolean.TRUE)) {
+            return roteador.emUm(destino, false, () -> alvo.save(contato));
+        }
+        return mover(contato, presente.indexOf(Boolean.TRUE), destino);
+    }
+
+    // A cópia entra no destino antes de a linha sair da origem: o índice único do destino recusa
+    // um celular repetido sem que nada tenha mudado, e se a versão na origem não confere mais
+    // (outra escrita chegou antes), a cópia é desfeita e o conflito vai para quem chamou.
+    private Contato mover(Contato contato, int origem, int destino) {
+        RoteadorShards roteador = roteador();
+        Long id = contato.getId();
+        roteador.emUm(destino, false, () -> roteador.getJdbcTemplate().update(SQL_INSERIR, valoresAtualizados(contato)));
+        try {
+            roteador.emUm(origem, false, () -> {
+                Contato atual = alvo.findById(id)
+                        .filter(encontrado -> Objects.equals(encontrado.getVersao(), contato.getVersao()))
+                        .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Contato.class, id));
+                alvo.delete(atual);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            roteador.emUm(destino, false, () -> roteador.getJdbcTemplate().update("DELETE FROM contato WHERE contato_id = ?", id));
+            throw e;
+        }
+        return roteador.emUm(destino, true, () -> alvo.findById(id)).orElseThrow();
+    }
+
+    // Os mesmos valores que o UPDATE gravaria, com a versão incrementada e a data de inativação
+    // de Contato.onUpdate
+    private Object[] valoresAtualizados(Contato contato) {
+        boolean ativo = !Boolean.FALSE.equals(contato.getAtivo());
+        LocalDateTime inativacao = ativo ? null
+                : contato.getDataInativacao() != null ? contato.getDataInativacao() : LocalDateTime.now();
+        return new Object[]{contato.getId(), contato.getNome(), contato.getEmail(),
+                celularConverter.convertToDatabaseColumn(contato.getCelular()),
+                telefoneConverter.convertToDatabaseColumn(contato.getTelefone()),
+                Boolean.TRUE.equals(contato.getFavorito()), ativo, contato.getDataCadastro(), inativacao,
+                contato.getVersao() + 1};
+    }
+
+    // As projeções só vêm ordenadas por nome; sem o nome entre os campos não há como intercalar
+    private static Comparator<Map<String, Object>> mapasPorNome(List<?> campos) {
+        if (!campos.contains("nome")) {
+            return (a, b) -> 0;
+        }
+        return Comparator.comparing(mapa -> (String) mapa.get("nome"), Comparator.nullsLast(Intercalacao.porNome()));
+    }
+}
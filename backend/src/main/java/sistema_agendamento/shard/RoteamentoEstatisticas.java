@@ -0,0 +1,27 @@
+package sistema_agendamento.shard;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import sistema_agendamento.repository.EstatisticaContatoRepository;
+
+/**
+ * Roteamento do {@link EstatisticaContatoRepository}: os contadores persistidos ficam na instância
+ * principal, e só as contagens reais dos contatos são somadas entre os shards.
+ */
+class RoteamentoEstatisticas extends RoteamentoRepositorio {
+
+    RoteamentoEstatisticas(ObjectProvider<RoteadorShards> roteadorShards) {
+        super("EstatisticaContatoRepository", roteadorShards);
+    }
+
+    @Override
+    protected Object rotear(String metodo, MethodInvocation invocacao) {
+        return switch (metodo) {
+            case "contarAtivos", "contarFavoritos", "contarInativos" ->
+                    this.<Long>emTodos(true, invocacao).stream().mapToLong(Long::longValue).sum();
+            // Quem soma por dia já acumula linhas repetidas do mesmo dia
+            case "contarCadastrosPorDia", "contarCadastrosArquivadosPorDia" -> concatenar(emTodos(true, invocacao));
+            default -> chamar(invocacao, invocacao.getArguments());
+        };
+    }
+}
@@ -0,0 +1,197 @@
+package sistema_agendamento.shard;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Base dos interceptadores que distribuem as chamadas de um repositório Spring Data entre os
+ * shards. Cada método do repositório precisa ser classificado pela subclasse; um método novo sem
+ * classificação falha com {@link UnsupportedOperationException} em vez de consultar só a
+ * instância principal e devolver um resultado parcial.
+ */
+abstract class RoteamentoRepositorio implements MethodInterceptor {
+
+    private final String repositorio;
+    private final ObjectProvider<RoteadorShards> roteadorShards;
+
+    RoteamentoRepositorio(String repositorio, ObjectProvider<RoteadorShards> roteadorShards) {
+        this.repositorio = repositorio;
+        this.roteadorShards = roteadorShards;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+        // Dentro de RoteadorShards.executar a conexão já é a do shard escolhido
+        if (ShardAtual.get() != null || invocacao.getMethod().getDeclaringClass() == Object.class) {
+            return invocacao.proceed();
+        }
+        return rotear(invocacao.getMethod().getName(), invocacao);
+    }
+
+    protected abstract Object rotear(String metodo, MethodInvocation invocacao);
+
+    /**
+     * Métodos herdados do {@code JpaRepository}, comuns aos repositórios em shards.
+     */
+    protected Object rotearCrud(String metodo, MethodInvocation invocacao) {
+        int parametros = invocacao.getArguments().length;
+        return switch (metodo) {
+            // Um id só existe em um shard; o que não tem a linha devolve vazio
+            case "findById" -> primeiroPresente(emTodos(true, invocacao));
+            case "existsById" -> emTodos(true, invocacao).contains(Boolean.TRUE);
+            case "count" -> this.<Long>emTodos(true, invocacao).stream().mapToLong(Long::longValue).sum();
+            case "findAllById" -> concatenar(emTodos(true, invocacao));
+            case "findAll" -> parametros == 0 ? concatenar(emTodos(true, invocacao)) : naoSuportado(metodo);
+            // Remover o que não existe é ignorado pelo Spring Data, então basta pedir a todos
+            case "delete", "deleteById", "deleteAllById", "deleteAllByIdInBatch", "deleteAllInBatch" -> {
+                emTodos(false, invocacao);
+                yield null;
+            }
+            case "deleteAll" -> {
+                if (parametros == 0) {
+                    emTodos(false, invocacao);
+                    yield null;
+                }
+                yield naoSuportado(metodo);
+            }
+            // Cada chamada roteada já confirma a própria transação
+            case "flush" -> null;
+            default -> naoSuportado(metodo);
+        };
+    }
+
+    protected RoteadorShards roteador() {
+        return roteadorShards.getObject();
+    }
+
+    protected Object naoSuportado(String metodo) {
+        throw new UnsupportedOperationException(repositorio + "." + metodo + " não é suportado com contatos em shards");
+    }
+
+    protected Object noShard(int shard, boolean somenteLeitura, MethodInvocation invocacao) {
+        return roteador().emUm(shard, somenteLeitura, () -> chamar(invocacao, invocacao.getArguments()));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> emTodos(boolean somenteLeitura, MethodInvocation invocacao) {
+        return roteador().emTodos(somenteLeitura, shard -> (T) chamar(invocacao, invocacao.getArguments()));
+    }
+
+    protected int somar(MethodInvocation invocacao) {
+        return this.<Integer>emTodos(false, invocacao).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Consulta por uma coleção de celulares (no argumento {@code indice}): cada shard recebe só os
+     * seus celulares, e só os shards com algum celular são consultados.
+     */
+    protected List<?> porCelulares(MethodInvocation invocacao, int indice, boolean somenteLeitura) {
+        Map<Integer, List<String>> porShard = new LinkedHashMap<>();
+        for (Object celular : (Collection<?>) invocacao.getArguments()[indice]) {
+            porShard.computeIfAbsent(roteador().shardDe((String) celular), shard -> new ArrayList<>()).add((String) celular);
+        }
+        List<List<?>> resultados = roteador().emVarios(new ArrayList<>(porShard.keySet()), somenteLeitura, shard -> {
+            Object[] argumentos = invocacao.getArguments().clone();
+            argumentos[indice] = porShard.get(shard);
+            return (List<?>) chamar(invocacao, argumentos);
+        });
+        return concatenar(resultados);
+    }
+
+    /**
+     * Consulta ordenada em todos os shards, com o resultado intercalado pela mesma ordem.
+     */
+    protected <T> List<T> intercalados(MethodInvocation invocacao, Comparator<? super T> ordem) {
+        return Intercalacao.intercalar(this.<List<T>>emTodos(true, invocacao), ordem);
+    }
+
+    /**
+     * Página de uma consulta ordenada. A página n do conjunto está entre as n + 1 primeiras
+     * páginas de cada shard, então cada shard devolve o início do seu resultado até o fim da
+     * página pedida; o total é a soma dos totais. O custo cresce com o número da página. A
+     * intercalação segue a ordenação do {@link Pageable}, que precisa ser total (terminar no id).
+     */
+    protected <T> Page<T> paginar(MethodInvocation invocacao) {
+        Pageable pedido = pedido(invocacao);
+        Comparator<T> ordem = Intercalacao.porSort(pedido.getSort());
+        List<Page<T>> paginas = noInicio(invocacao, pedido);
+        long total = paginas.stream().mapToLong(Page::getTotalElements).sum();
+        List<T> conteudo = Intercalacao.intercalar(paginas.stream().map(Page::getContent).toList(), ordem,
+                pedido.getOffset() + pedido.getPageSize());
+        return new PageImpl<>(recortar(conteudo, pedido), pedido, total);
+    }
+
+    /**
+     * Como {@link #paginar}, para consultas que devolvem só a lista (varreduras por cursor de id).
+     */
+    protected <T> List<T> paginarLista(MethodInvocation invocacao, Comparator<? super T> ordem) {
+        Pageable pedido = pedido(invocacao);
+        List<List<T>> listas = noInicio(invocacao, pedido);
+        return recortar(Intercalacao.intercalar(listas, ordem, pedido.getOffset() + pedido.getPageSize()), pedido);
+    }
+
+    protected static <T> List<T> concatenar(List<? extends Collection<? extends T>> resultados) {
+        List<T> todos = new ArrayList<>();
+        resultados.forEach(todos::addAll);
+        return todos;
+    }
+
+    protected static Optional<?> primeiroPresente(List<Optional<?>> resultados) {
+        return resultados.stream().filter(Optional::isPresent).findFirst().orElse(Optional.empty());
+    }
+
+    private <R> List<R> noInicio(MethodInvocation invocacao, Pageable pedido) {
+        int indice = Arrays.asList(invocacao.getMethod().getParameterTypes()).indexOf(Pageable.class);
+        Pageable doInicio = PageRequest.of(0, Math.toIntExact(pedido.getOffset() + pedido.getPageSize()), pedido.getSort());
+        return roteador().emTodos(true, shard -> {
+            Object[] argumentos = invocacao.getArguments().clone();
+            argumentos[indice] = doInicio;
+            @SuppressWarnings("unchecked")
+            R resultado = (R) chamar(invocacao, argumentos);
+            return resultado;
+        });
+    }
+
+    private static Pageable pedido(MethodInvocation invocacao) {
+        return Arrays.stream(invocacao.getArguments())
+                .filter(Pageable.class::isInstance)
+                .map(Pageable.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static <T> List<T> recortar(List<T> intercalados, Pageable pedido) {
+        int inicio = (int) Math.min(pedido.getOffset(), intercalados.size());
+        return new ArrayList<>(intercalados.subList(inicio, Math.min(intercalados.size(), inicio + pedido.getPageSize())));
+    }
+
+    /**
+     * Executa o método interceptado no repositório original, podendo ser chamado várias vezes e
+     * de outras threads; as exceções do repositório passam sem embrulho.
+     */
+    protected static Object chamar(MethodInvocation invocacao, Object[] argumentos) {
+        try {
+            return ((ProxyMethodInvocation) invocacao).invocableClone(argumentos).proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
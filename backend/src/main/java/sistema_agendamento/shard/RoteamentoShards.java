@@ -0,0 +1,27 @@
+package sistema_agendamento.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Entrega conexões da instância do {@link ShardAtual}, ou da principal quando a thread não está
+ * trabalhando em um shard.
+ */
+class RoteamentoShards extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardAtual.get();
+    }
+
+    DataSource principal() {
+        return getResolvedDefaultDataSource();
+    }
+
+    @Override
+    public void close() {
+        getResolvedDataSources().values().forEach(pool -> ((HikariDataSource) pool).close());
+    }
+}
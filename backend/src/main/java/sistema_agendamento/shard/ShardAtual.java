@@ -0,0 +1,25 @@
+package sistema_agendamento.shard;
+
+/**
+ * O shard a que pertencem as conexões abertas pela thread atual. Sem shard definido as conexões
+ * vão para a instância principal.
+ */
+final class ShardAtual {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ShardAtual() {
+    }
+
+    static Integer get() {
+        return ATUAL.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(shard);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package sistema_agendamento.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import sistema_agendamento.config.EscritaEmLoteProperties;
+import sistema_agendamento.config.ShardProperties;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EstatisticaContatoRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contatos distribuídos entre várias instâncias PostgreSQL ({@code agendamento.shard.habilitado}).
+ *
+ * <p>O DataSource da aplicação passa a ser um roteador entre as instâncias; sem shard definido na
+ * thread ele usa a principal, e por isso tudo que não é contato (estatísticas, alterações para
+ * invalidação, etiquetas) continua nela. Os repositórios de contatos recebem um interceptador que
+ * distribui cada chamada entre os shards.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "agendamento.shard", name = "habilitado", havingValue = "true")
+public class ShardConfig {
+
+    static final String SQL_COLLATIONS_NOME = "SELECT table_name, collation_name FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name IN ('contato', 'contato_arquivo') AND column_name = 'contato_nome'";
+
+    @Bean
+    RoteamentoShards roteamentoShards(ShardProperties properties, EscritaEmLoteProperties escritaEmLote) {
+        // O escritor em lote grava vários contatos em uma transação, que aqui ficaria em um só shard
+        if (escritaEmLote.isHabilitada()) {
+            throw new IllegalStateException("agendamento.escrita-lote não é suportada com agendamento.shard.habilitado");
+        }
+        List<ShardProperties.Instancia> instancias = properties.getInstancias();
+        if (instancias.isEmpty()) {
+            throw new IllegalStateException("agendamento.shard.instancias precisa de ao menos uma instância");
+        }
+
+        Map<Object, Object> pools = new HashMap<>();
+        for (int shard = 0; shard < instancias.size(); shard++) {
+            ShardProperties.Instancia instancia = instancias.get(shard);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard);
+            pool.setJdbcUrl(instancia.getUrl());
+            pool.setUsername(instancia.getUsuario());
+            pool.setPassword(instancia.getSenha());
+            pool.setMaximumPoolSize(properties.getTamanhoPool());
+            pools.put(shard, pool);
+        }
+        RoteamentoShards roteamento = new RoteamentoShards();
+        roteamento.setTargetDataSources(pools);
+        roteamento.setDefaultTargetDataSource(pools.get(0));
+        roteamento.afterPropertiesSet();
+        return roteamento;
+    }
+
+    /**
+     * A conexão real só é obtida no primeiro comando, quando o shard da thread já está definido;
+     * abrir a transação não escolhe instância.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(RoteamentoShards roteamentoShards) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteamentoShards);
+        // Os valores padrão das conexões são informados para que a inicialização não abra uma
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    RoteadorShards roteadorShards(ShardProperties properties, RoteamentoShards roteamentoShards,
+                                  DataSource dataSource, PlatformTransactionManager transactionManager) {
+        int quantidade = properties.getInstancias().size();
+        for (int shard = 0; shard < quantidade; shard++) {
+            verificarOrdenacao(shard, new JdbcTemplate(roteamentoShards.getResolvedDataSources().get(shard)));
+        }
+        MapaShards mapa = MapaShards.carregar(new JdbcTemplate(roteamentoShards.principal()), quantidade);
+        return new RoteadorShards(quantidade, mapa, transactionManager, new JdbcTemplate(dataSource));
+    }
+
+    @Bean
+    GeradorIdsContato geradorIdsContato(ShardProperties properties, RoteamentoShards roteamentoShards) {
+        return new GeradorIdsContato(new JdbcTemplate(roteamentoShards.principal()), properties.getTamanhoBlocoIds());
+    }
+
+    /**
+     * Envolve os repositórios de contatos com os interceptadores de roteamento. O roteador é
+     * obtido só na primeira chamada, quando o contexto já terminou de criar o EntityManager.
+     */
+    @Bean
+    static BeanPostProcessor repositoriosEmShards(ObjectProvider<RoteadorShards> roteadorShards,
+                                                  ObjectProvider<GeradorIdsContato> geradorIds) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ContatoRepository repositorio) {
+                    return envolver(repositorio, ContatoRepository.class, new RoteamentoContatos(repositorio, roteadorShards, geradorIds));
+                }
+                if (bean instanceof ContatoArquivadoRepository repositorio) {
+                    return envolver(repositorio, ContatoArquivadoRepository.class, new RoteamentoArquivados(roteadorShards));
+                }
+                if (bean instanceof EstatisticaContatoRepository repositorio) {
+                    return envolver(repositorio, EstatisticaContatoRepository.class, new RoteamentoEstatisticas(roteadorShards));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * As listagens intercalam por code point ({@link Intercalacao#porNome()}); um shard que ordene
+     * {@code contato_nome} por outra collation faria as páginas pularem ou repetirem contatos, então
+     * a aplicação nem inicia. O H2 dos testes já compara os textos por code point.
+     */
+    static void verificarOrdenacao(int shard, JdbcTemplate jdbcTemplate) {
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(banco)) {
+            return;
+        }
+        List<String> colunas = jdbcTemplate.query(SQL_COLLATIONS_NOME, (rs, linha) -> rs.getString(1) + ":" + rs.getString(2));
+        if (!Set.copyOf(colunas).equals(Set.of("contato:C", "contato_arquivo:C"))) {
+            throw new IllegalStateException("contato_nome do shard " + shard + " precisa da collation \"C\" " +
+                    "(encontrado " + colunas + "); rode shards-ordenacao.sql em todas as instâncias");
+        }
+    }
+
+    private static Object envolver(Object repositorio, Class<?> interfaceRepositorio, RoteamentoRepositorio roteamento) {
+        ProxyFactory proxy = new ProxyFactory();
+        proxy.setTarget(repositorio);
+        proxy.addInterface(interfaceRepositorio);
+        proxy.addAdvice(roteamento);
+        return proxy.getProxy(interfaceRepositorio.getClassLoader());
+    }
+}
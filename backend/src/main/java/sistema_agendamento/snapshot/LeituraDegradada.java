@@ -0,0 +1,96 @@
+package sistema_agendamento.snapshot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import sistema_agendamento.config.SnapshotProperties;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decide se uma leitura de contatos vai ao banco ou ao {@link SnapshotContatos} em disco.
+ *
+ * <p>Enquanto a instância aquece (até a primeira leitura completa do banco depois da partida) e
+ * por {@code agendamento.snapshot.pausa-apos-falha-ms} depois de uma falha de acesso ao banco, as
+ * leituras saem direto do snapshot, sem esperar pelo timeout de conexão. Respostas servidas do
+ * snapshot levam o cabeçalho {@value #CABECALHO_DESATUALIZADO} com o instante em que ele foi
+ * gerado. Sem snapshot, toda leitura vai ao banco e as falhas chegam a quem chamou.</p>
+ */
+@Component
+@Slf4j
+public class LeituraDegradada implements MeterBinder {
+
+    public static final String CABECALHO_DESATUALIZADO = "X-Dados-Desatualizados";
+
+    private final SnapshotProperties properties;
+    private final LongAdder leiturasDoSnapshot = new LongAdder();
+    private volatile SnapshotContatos snapshot;
+    private volatile boolean aquecida;
+    private volatile long bancoIndisponivelAte;
+
+    public LeituraDegradada(SnapshotProperties properties) {
+        this.properties = properties;
+    }
+
+    public <T> T ler(Supplier<T> doBanco, Function<SnapshotContatos, T> doSnapshot) {
+        SnapshotContatos atual = snapshot;
+        if (atual == null) {
+            return doBanco.get();
+        }
+        if (!aquecida || System.currentTimeMillis() < bancoIndisponivelAte) {
+            return servir(atual, doSnapshot);
+        }
+        try {
+            return doBanco.get();
+        } catch (DataAccessException | CannotCreateTransactionException e) {
+            bancoIndisponivelAte = System.currentTimeMillis() + properties.getPausaAposFalhaMs();
+            log.warn("Banco indisponível, servindo contatos do snapshot gerado em {} pelos próximos {} ms: {}",
+                    atual.getGeradoEm(), properties.getPausaAposFalhaMs(), e.getMessage());
+            return servir(atual, doSnapshot);
+        }
+    }
+
+    /**
+     * Passa a servir as leituras degradadas a partir de {@code novo}.
+     */
+    public void publicar(SnapshotContatos novo) {
+        snapshot = novo;
+    }
+
+    /**
+     * O banco respondeu a uma leitura completa: fim do aquecimento e de qualquer pausa pendente.
+     */
+    public void bancoRespondeu() {
+        aquecida = true;
+        bancoIndisponivelAte = 0;
+    }
+
+    public long getLeiturasDoSnapshot() {
+        return leiturasDoSnapshot.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("agendamento.snapshot.leituras", leiturasDoSnapshot, LongAdder::sum)
+                .description("Leituras de contatos servidas do snapshot em disco em vez do banco")
+                .register(registry);
+    }
+
+    private <T> T servir(SnapshotContatos atual, Function<SnapshotContatos, T> doSnapshot) {
+        leiturasDoSnapshot.increment();
+        T resultado = doSnapshot.apply(atual);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos
+                && atributos.getResponse() != null) {
+            atributos.getResponse().setHeader(CABECALHO_DESATUALIZADO, atual.getGeradoEm().toString());
+        }
+        return resultado;
+    }
+}
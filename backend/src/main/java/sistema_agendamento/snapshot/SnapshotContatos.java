@@ -0,0 +1,263 @@
+package sistema_agendamento.snapshot;
+
+import sistema_agendamento.dto.ContatoDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Snapshot dos contatos ativos em um arquivo binário de layout fixo, lido por mapeamento em
+ * memória: abrir não copia nada para o heap e cada leitura decodifica só os registros que visita.
+ *
+ * <pre>
+ * cabeçalho  32 bytes    marca, formato, gerado em (epoch ms), quantidade, tamanho do arquivo
+ * registros  64 bytes    em ordem de id: id, versão, cadastro (segundos e nanos), indicadores e
+ *                        deslocamento/tamanho de nome, email, celular e telefone na área de textos
+ * ordem       4 bytes    índice de cada registro na ordem da listagem (por nome)
+ * textos                 UTF-8
+ * </pre>
+ *
+ * Instâncias são imutáveis e podem ser lidas por várias threads ao mesmo tempo.
+ */
+public final class SnapshotContatos {
+
+    private static final int MARCA = 0x41475343;
+    private static final int FORMATO = 1;
+    private static final int TAMANHO_CABECALHO = 32;
+    private static final int TAMANHO_REGISTRO = 64;
+    private static final long SEM_VERSAO = -1;
+    private static final byte FAVORITO = 1;
+    private static final byte ATIVO = 2;
+    private static final byte COM_CADASTRO = 4;
+    private static final int NOME = 32;
+    private static final int EMAIL = 40;
+    private static final int CELULAR = 48;
+    private static final int TELEFONE = 56;
+
+    private final ByteBuffer dados;
+    private final int quantidade;
+    private final int inicioOrdem;
+    private final int inicioTextos;
+    private final Instant geradoEm;
+
+    private SnapshotContatos(ByteBuffer dados, int quantidade, Instant geradoEm) {
+        this.dados = dados;
+        this.quantidade = quantidade;
+        this.inicioOrdem = TAMANHO_CABECALHO + quantidade * TAMANHO_REGISTRO;
+        this.inicioTextos = inicioOrdem + quantidade * Integer.BYTES;
+        this.geradoEm = geradoEm;
+    }
+
+    /**
+     * Grava os contatos em {@code arquivo}, que é sobrescrito. A listagem do snapshot segue a
+     * ordem de {@code contatos}.
+     */
+    public static void gravar(Path arquivo, List<ContatoDTO> contatos, Instant geradoEm) throws IOException {
+        int quantidade = contatos.size();
+        int[] porId = IntStream.range(0, quantidade).boxed()
+                .sorted(Comparator.comparing(i -> contatos.get(i).getId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] registroDe = new int[quantidade];
+        byte[][] textos = new byte[quantidade * 4][];
+        long tamanhoTextos = 0;
+        for (int registro = 0; registro < quantidade; registro++) {
+            ContatoDTO contato = contatos.get(porId[registro]);
+            registroDe[porId[registro]] = registro;
+            textos[registro * 4] = utf8(contato.getNome());
+            textos[registro * 4 + 1] = utf8(contato.getEmail());
+            textos[registro * 4 + 2] = utf8(contato.getCelular());
+            textos[registro * 4 + 3] = utf8(contato.getTelefone());
+            for (int campo = 0; campo < 4; campo++) {
+                tamanhoTextos += textos[registro * 4 + campo] == null ? 0 : textos[registro * 4 + campo].length;
+            }
+        }
+
+        long tamanho = TAMANHO_CABECALHO + (long) quantidade * (TAMANHO_REGISTRO + Integer.BYTES) + tamanhoTextos;
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot de " + tamanho + " bytes excede o limite de um mapeamento");
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer saida = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            saida.putInt(MARCA).putInt(FORMATO).putLong(geradoEm.toEpochMilli()).putInt(quantidade).putInt(0).putLong(tamanho);
+
+            int deslocamento = 0;
+            for (int registro = 0; registro < quantidade; registro++) {
+                ContatoDTO contato = contatos.get(porId[registro]);
+                // Só codifica a data e hora local, sem conversão de fuso
+                LocalDateTime cadastro = contato.getDataCadastro();
+                saida.putLong(contato.getId())
+                        .putLong(contato.getVersao() == null ? SEM_VERSAO : contato.getVersao())
+                        .putLong(cadastro == null ? 0 : cadastro.toEpochSecond(ZoneOffset.UTC))
+                        .putInt(cadastro == null ? 0 : cadastro.getNano())
+                        .put(indicadores(contato))
+                        .put(new byte[3]);
+                for (int campo = 0; campo < 4; campo++) {
+                    byte[] texto = textos[registro * 4 + campo];
+                    saida.putInt(deslocamento).putInt(texto == null ? -1 : texto.length);
+                    deslocamento += texto == null ? 0 : texto.length;
+                }
+            }
+            for (int indice = 0; indice < quantidade; indice++) {
+                saida.putInt(registroDe[indice]);
+            }
+            for (byte[] texto : textos) {
+                if (texto != null) {
+                    saida.put(texto);
+                }
+            }
+            saida.force();
+        }
+    }
+
+    /**
+     * Mapeia um snapshot gravado por {@link #gravar}. Arquivos de outro formato ou incompletos
+     * são recusados com {@link IOException}.
+     */
+    public static SnapshotContatos abrir(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot com tamanho inválido: " + tamanho + " bytes");
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (dados.getInt(0) != MARCA || dados.getInt(4) != FORMATO) {
+                throw new IOException("Arquivo não é um snapshot de contatos no formato " + FORMATO);
+            }
+            int quantidade = dados.getInt(16);
+            if (dados.getLong(24) != tamanho || quantidade < 0
+                    || TAMANHO_CABECALHO + (long) quantidade * (TAMANHO_REGISTRO + Integer.BYTES) > tamanho) {
+                throw new IOException("Snapshot incompleto ou corrompido");
+            }
+            return new SnapshotContatos(dados, quantidade, Instant.ofEpochMilli(dados.getLong(8)));
+        }
+    }
+
+    public Instant getGeradoEm() {
+        return geradoEm;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Todos os contatos, na ordem em que foram gravados.
+     */
+    public List<ContatoDTO> listarTodos() {
+        List<ContatoDTO> contatos = new ArrayList<>(quantidade);
+        for (int indice = 0; indice < quantidade; indice++) {
+            contatos.add(converter(registroNaPosicao(indice)));
+        }
+        return contatos;
+    }
+
+    public Optional<ContatoDTO> buscarPorId(long id) {
+        // Registros em ordem de id: busca binária direto no arquivo
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            long atual = dados.getLong(TAMANHO_CABECALHO + meio * TAMANHO_REGISTRO);
+            if (atual < id) {
+                inicio = meio + 1;
+            } else if (atual > id) {
+                fim = meio - 1;
+            } else {
+                return Optional.of(converter(meio));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Mesmo critério de {@code ContatoRepository.buscarPorTermo}: nome sem diferenciar maiúsculas
+     * ou celular contendo o termo, na ordem da listagem.
+     */
+    public List<ContatoDTO> buscarPorTermo(String termo) {
+        if (termo == null) {
+            return List.of();
+        }
+        String termoMinusculo = termo.toLowerCase(Locale.ROOT);
+        List<ContatoDTO> contatos = new ArrayList<>();
+        for (int indice = 0; indice < quantidade; indice++) {
+            int registro = registroNaPosicao(indice);
+            String nome = texto(registro, NOME);
+            String celular = texto(registro, CELULAR);
+            if ((nome != null && nome.toLowerCase(Locale.ROOT).contains(termoMinusculo))
+                    || (celular != null && celular.contains(termo))) {
+                contatos.add(converter(registro));
+            }
+        }
+        return contatos;
+    }
+
+    private int registroNaPosicao(int indice) {
+        return dados.getInt(inicioOrdem + indice * Integer.BYTES);
+    }
+
+    private ContatoDTO converter(int registro) {
+        int base = TAMANHO_CABECALHO + registro * TAMANHO_REGISTRO;
+        byte indicadores = dados.get(base + 28);
+        ContatoDTO dto = new ContatoDTO();
+        dto.setId(dados.getLong(base));
+        dto.setNome(texto(registro, NOME));
+        dto.setEmail(texto(registro, EMAIL));
+        dto.setCelular(texto(registro, CELULAR));
+        dto.setTelefone(texto(registro, TELEFONE));
+        dto.setFavorito((indicadores & FAVORITO) != 0);
+        dto.setAtivo((indicadores & ATIVO) != 0);
+        if ((indicadores & COM_CADASTRO) != 0) {
+            dto.setDataCadastro(LocalDateTime.ofEpochSecond(dados.getLong(base + 16), dados.getInt(base + 24), ZoneOffset.UTC));
+        }
+        long versao = dados.getLong(base + 8);
+        dto.setVersao(versao == SEM_VERSAO ? null : versao);
+        return dto;
+    }
+
+    private String texto(int registro, int campo) {
+        int posicao = TAMANHO_CABECALHO + registro * TAMANHO_REGISTRO + campo;
+        int tamanho = dados.getInt(posicao + 4);
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] texto = new byte[tamanho];
+        dados.get(inicioTextos + dados.getInt(posicao), texto);
+        return new String(texto, StandardCharsets.UTF_8);
+    }
+
+    private static byte indicadores(ContatoDTO contato) {
+        int indicadores = 0;
+        if (Boolean.TRUE.equals(contato.getFavorito())) {
+            indicadores |= FAVORITO;
+        }
+        if (Boolean.TRUE.equals(contato.getAtivo())) {
+            indicadores |= ATIVO;
+        }
+        if (contato.getDataCadastro() != null) {
+            indicadores |= COM_CADASTRO;
+        }
+        return (byte) indicadores;
+    }
+
+    private static byte[] utf8(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
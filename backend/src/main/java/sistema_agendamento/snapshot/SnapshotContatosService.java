@@ -0,0 +1,122 @@
+package sistema_agendamento.snapshot;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sistema_agendamento.config.SnapshotProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.service.ContatoService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mantém o snapshot em disco dos contatos ativos usado pela {@link LeituraDegradada}.
+ *
+ * <p>Na criação do bean o snapshot deixado pela execução anterior é mapeado, para que a instância
+ * já responda leituras antes de falar com o banco. Depois, a cada
+ * {@code agendamento.snapshot.intervalo-gravacao-ms}, se houve escrita confirmada (local ou de
+ * outra réplica) desde a gravação anterior, os contatos ativos são relidos e gravados em um
+ * arquivo temporário que substitui o anterior de uma vez; leituras em andamento continuam no
+ * mapeamento antigo.</p>
+ *
+ * <p>O Java não desfaz um mapeamento explicitamente: o arquivo anterior só deixa de estar mapeado
+ * quando o {@code MappedByteBuffer} é coletado. No Windows um arquivo mapeado não pode ser
+ * substituído, então a troca falha (e é registrada em log) até lá, e o snapshot fica desatualizado.
+ * Por isso ele é opcional ({@code agendamento.snapshot.habilitado}, desligado por padrão).</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotContatosService {
+
+    private final ContatoRepository contatoRepository;
+    private final LeituraDegradada leituraDegradada;
+    private final SnapshotProperties properties;
+    // Começa pendente: a primeira gravação também encerra o aquecimento
+    private final AtomicBoolean alterado = new AtomicBoolean(true);
+
+    @PostConstruct
+    public void abrir() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        if (properties.getArquivo() == null || !Path.of(properties.getArquivo()).isAbsolute()) {
+            throw new IllegalStateException("agendamento.snapshot.arquivo precisa de um caminho absoluto com agendamento.snapshot.habilitado"
+                    + " (encontrado " + properties.getArquivo() + ")");
+        }
+        Path arquivo = Path.of(properties.getArquivo());
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        try {
+            SnapshotContatos snapshot = SnapshotContatos.abrir(arquivo);
+            leituraDegradada.publicar(snapshot);
+            log.info("Snapshot com {} contatos ativos, gerado em {}, disponível para leituras", snapshot.getQuantidade(), snapshot.getGeradoEm());
+        } catch (IOException e) {
+            log.warn("Snapshot {} ignorado: {}", arquivo, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarContato(ContatoAlteradoEvent evento) {
+        alterado.set(true);
+    }
+
+    @EventListener
+    public void aoInvalidarContatos(ContatosInvalidadosEvent evento) {
+        alterado.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        gravar();
+    }
+
+    @Scheduled(fixedDelayString = "${agendamento.snapshot.intervalo-gravacao-ms:30000}")
+    public synchronized void gravar() {
+        // Limpa antes de ler: uma escrita durante a leitura deixa a próxima gravação pendente
+        if (!properties.isHabilitado() || !alterado.getAndSet(false)) {
+            return;
+        }
+
+        List<ContatoDTO> contatos;
+        Instant geradoEm = Instant.now();
+        try {
+            contatos = contatoRepository.findAllAtivos().stream().map(ContatoService::converterParaDTO).toList();
+        } catch (DataAccessException | CannotCreateTransactionException e) {
+            alterado.set(true);
+            log.warn("Banco indisponível, snapshot de contatos não atualizado: {}", e.getMessage());
+            return;
+        }
+        leituraDegradada.bancoRespondeu();
+
+        Path arquivo = Path.of(properties.getArquivo());
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(arquivo.getParent());
+            SnapshotContatos.gravar(temporario, contatos, geradoEm);
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            leituraDegradada.publicar(SnapshotContatos.abrir(arquivo));
+            log.debug("Snapshot com {} contatos ativos gravado em {}", contatos.size(), arquivo);
+        } catch (IOException e) {
+            alterado.set(true);
+            log.warn("Falha ao gravar o snapshot de contatos em {}: {}", arquivo, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Tamanho em disco de contato e contato_arquivo (heap, TOAST e índices) e largura média das linhas.
+-- Rode antes e depois de migracao-armazenamento-compacto.sql para comparar.
+
+SELECT c.relname                                        AS tabela,
+       c.reltuples::BIGINT                              AS linhas_estimadas,
+       pg_size_pretty(pg_relation_size(c.oid))          AS dados,
+       pg_size_pretty(pg_indexes_size(c.oid))           AS indices,
+       pg_size_pretty(pg_total_relation_size(c.oid))    AS total,
+       pg_total_relation_size(c.oid)                    AS total_bytes
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'desafio' AND c.relname IN ('contato', 'contato_arquivo')
+ORDER BY c.relname;
+
+SELECT i.indexrelid::REGCLASS                           AS indice,
+       pg_size_pretty(pg_relation_size(i.indexrelid))   AS tamanho,
+       pg_relation_size(i.indexrelid)                   AS tamanho_bytes
+FROM pg_index i
+WHERE i.indrelid IN ('desafio.contato'::REGCLASS, 'desafio.contato_arquivo'::REGCLASS)
+ORDER BY pg_relation_size(i.indexrelid) DESC;
+
+-- Largura média da tupla e das colunas afetadas pela migração (sem o cabeçalho de 23 bytes da tupla)
+SELECT ROUND(AVG(pg_column_size(c.*)), 1)                AS linha,
+       ROUND(AVG(pg_column_size(c.contato_celular)), 1)  AS celular,
+       ROUND(AVG(pg_column_size(c.contato_telefone)), 1) AS telefone,
+       ROUND(AVG(pg_column_size(c.contato_sn_favorito)
+               + pg_column_size(c.contato_sn_ativo)), 1) AS indicadores
+FROM desafio.contato c;
@@ -0,0 +1,40 @@
+-- Migra bancos existentes para o armazenamento compacto:
+--   contato_celular / contato_telefone  VARCHAR(11) / VARCHAR(10) -> BIGINT
+--   contato_sn_favorito / contato_sn_ativo  CHARACTER(1) 'S'/'N'  -> BOOLEAN
+--
+-- A aplicação continua expondo os telefones como texto de dígitos (CelularConverter e
+-- TelefoneConverter recompõem os zeros à esquerda), então a API não muda.
+--
+-- O ALTER ... TYPE reescreve as tabelas e seus índices sob ACCESS EXCLUSIVE: rode em janela
+-- de manutenção, com a aplicação parada, e compare o antes e o depois com medicao-armazenamento.sql.
+--
+--   psql -d contato -f medicao-armazenamento.sql
+--   psql -d contato -1 -f migracao-armazenamento-compacto.sql
+--   psql -d contato -f medicao-armazenamento.sql
+
+-- Redundante com o índice da restrição UNIQUE de contato_celular
+DROP INDEX IF EXISTS desafio.idx_contato_celular;
+-- O predicado compara com 'N' e precisa ser recriado depois da conversão
+DROP INDEX IF EXISTS desafio.idx_contato_inativacao;
+
+ALTER TABLE desafio.contato ALTER COLUMN contato_sn_favorito DROP DEFAULT;
+ALTER TABLE desafio.contato ALTER COLUMN contato_sn_ativo DROP DEFAULT;
+ALTER TABLE desafio.contato
+    ALTER COLUMN contato_celular TYPE BIGINT USING contato_celular::BIGINT,
+    ALTER COLUMN contato_telefone TYPE BIGINT USING NULLIF(TRIM(contato_telefone), '')::BIGINT,
+    ALTER COLUMN contato_sn_favorito TYPE BOOLEAN USING contato_sn_favorito = 'S',
+    ALTER COLUMN contato_sn_ativo TYPE BOOLEAN USING COALESCE(contato_sn_ativo, 'S') = 'S';
+ALTER TABLE desafio.contato ALTER COLUMN contato_sn_favorito SET DEFAULT FALSE;
+ALTER TABLE desafio.contato ALTER COLUMN contato_sn_ativo SET DEFAULT TRUE;
+
+ALTER TABLE desafio.contato_arquivo ALTER COLUMN contato_sn_favorito DROP DEFAULT;
+ALTER TABLE desafio.contato_arquivo
+    ALTER COLUMN contato_celular TYPE BIGINT USING contato_celular::BIGINT,
+    ALTER COLUMN contato_telefone TYPE BIGINT USING NULLIF(TRIM(contato_telefone), '')::BIGINT,
+    ALTER COLUMN contato_sn_favorito TYPE BOOLEAN USING contato_sn_favorito = 'S';
+ALTER TABLE desafio.contato_arquivo ALTER COLUMN contato_sn_favorito SET DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_contato_inativacao ON desafio.contato(contato_dh_inativacao) WHERE NOT contato_sn_ativo;
+
+ANALYZE desafio.contato;
+ANALYZE desafio.contato_arquivo;
@@ -9,24 +9,81 @@ CREATE TABLE IF NOT EXISTS desafio.contato (
     contato_id SERIAL PRIMARY KEY,
     contato_nome VARCHAR(100) NOT NULL,
     contato_email VARCHAR(255),
-    contato_celular VARCHAR(11) NOT NULL UNIQUE,
-    contato_telefone VARCHAR(10),
-    contato_sn_favorito CHARACTER(1) DEFAULT 'N',
-    contato_sn_ativo CHARACTER(1) DEFAULT 'S',
-    contato_dh_cad TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_sn_ativo BOOLEAN DEFAULT TRUE,
+    contato_dh_cad TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    contato_dh_inativacao TIMESTAMP WITHOUT TIME ZONE,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0
+);
+
+-- Bancos criados antes do arquivamento e do controle de versão
+-- (telefones em VARCHAR e indicadores em CHARACTER(1): rodar antes migracao-armazenamento-compacto.sql)
+ALTER TABLE desafio.contato ADD COLUMN IF NOT EXISTS contato_dh_inativacao TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE desafio.contato ADD COLUMN IF NOT EXISTS contato_nr_versao BIGINT NOT NULL DEFAULT 0;
+
+-- Contatos inativos movidos para fora da tabela principal pelo arquivamento
+CREATE TABLE IF NOT EXISTS desafio.contato_arquivo (
+    contato_id INTEGER PRIMARY KEY,
+    contato_nome VARCHAR(100) NOT NULL,
+    contato_email VARCHAR(255),
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_dh_cad TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    contato_dh_inativacao TIMESTAMP WITHOUT TIME ZONE,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0,
+    contato_dh_arquivamento TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE desafio.contato_arquivo ADD COLUMN IF NOT EXISTS contato_nr_versao BIGINT NOT NULL DEFAULT 0;
+
+-- Registro das escritas anunciadas às outras réplicas, usado na recuperação após reconexão
+CREATE TABLE IF NOT EXISTS desafio.contato_alteracao (
+    alteracao_id BIGSERIAL PRIMARY KEY,
+    contato_id INTEGER NOT NULL,
+    contato_nr_versao BIGINT,
+    alteracao_no_origem VARCHAR(16) NOT NULL,
+    alteracao_dh TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE desafio.contato_alteracao ADD COLUMN IF NOT EXISTS contato_nr_versao BIGINT;
+
+-- Resumo das estatísticas do painel, mantido incrementalmente pela aplicação
+-- (chaves ativos, favoritos, inativos e cadastros:AAAA-MM-DD; é montado na primeira inicialização)
+CREATE TABLE IF NOT EXISTS desafio.contato_estatistica (
+    estatistica_chave VARCHAR(32) PRIMARY KEY,
+    estatistica_valor BIGINT NOT NULL
+);
+
+-- Etiquetas (grupos) dos contatos; as associações somem com o contato quando ele é arquivado
+CREATE TABLE IF NOT EXISTS desafio.etiqueta (
+    etiqueta_id SERIAL PRIMARY KEY,
+    etiqueta_nome VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS desafio.contato_etiqueta (
+    contato_id INTEGER NOT NULL REFERENCES desafio.contato(contato_id) ON DELETE CASCADE,
+    etiqueta_id INTEGER NOT NULL REFERENCES desafio.etiqueta(etiqueta_id) ON DELETE CASCADE,
+    PRIMARY KEY (contato_id, etiqueta_id)
 );
 
 -- Criar índices para melhor performance
-CREATE INDEX IF NOT EXISTS idx_contato_celular ON desafio.contato(contato_celular);
+-- (contato_celular já é indexado pela restrição UNIQUE)
 CREATE INDEX IF NOT EXISTS idx_contato_ativo ON desafio.contato(contato_sn_ativo);
 CREATE INDEX IF NOT EXISTS idx_contato_favorito ON desafio.contato(contato_sn_favorito);
 CREATE INDEX IF NOT EXISTS idx_contato_nome ON desafio.contato(contato_nome);
+CREATE INDEX IF NOT EXISTS idx_contato_inativacao ON desafio.contato(contato_dh_inativacao) WHERE NOT contato_sn_ativo;
+CREATE INDEX IF NOT EXISTS idx_contato_arquivo_nome ON desafio.contato_arquivo(contato_nome);
+CREATE INDEX IF NOT EXISTS idx_contato_alteracao_dh ON desafio.contato_alteracao(alteracao_dh);
+CREATE INDEX IF NOT EXISTS idx_contato_etiqueta_etiqueta ON desafio.contato_etiqueta(etiqueta_id);
 
 -- Inserir alguns dados de exemplo
 INSERT INTO desafio.contato (contato_nome, contato_email, contato_celular, contato_telefone, contato_sn_favorito, contato_sn_ativo)
 VALUES 
-    ('João Silva', 'joao.silva@email.com', '11999999999', '1133333333', 'S', 'S'),
-    ('Maria Santos', 'maria.santos@email.com', '11888888888', '1144444444', 'N', 'S'),
-    ('Pedro Oliveira', 'pedro.oliveira@email.com', '11777777777', '1155555555', 'S', 'S'),
-    ('Ana Costa', 'ana.costa@email.com', '11666666666', '1166666666', 'N', 'S')
+    ('João Silva', 'joao.silva@email.com', 11999999999, 1133333333, TRUE, TRUE),
+    ('Maria Santos', 'maria.santos@email.com', 11888888888, 1144444444, FALSE, TRUE),
+    ('Pedro Oliveira', 'pedro.oliveira@email.com', 11777777777, 1155555555, TRUE, TRUE),
+    ('Ana Costa', 'ana.costa@email.com', 11666666666, 1166666666, FALSE, TRUE)
 ON CONFLICT (contato_celular) DO NOTHING; 
\ No newline at end of file
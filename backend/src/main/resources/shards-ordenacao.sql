@@ -0,0 +1,6 @@
+-- Ordem dos nomes nos contatos em shards (agendamento.shard.habilitado=true)
+-- Execute em todas as instâncias, depois do schema.sql. Cada shard ordena por contato_nome e a
+-- aplicação intercala os resultados comparando por code point; os dois lados só concordam com a
+-- collation "C". A aplicação não inicia se alguma instância usar outra.
+ALTER TABLE desafio.contato ALTER COLUMN contato_nome TYPE VARCHAR(100) COLLATE "C";
+ALTER TABLE desafio.contato_arquivo ALTER COLUMN contato_nome TYPE VARCHAR(100) COLLATE "C";
@@ -0,0 +1,21 @@
+-- Objetos dos contatos em shards (agendamento.shard.habilitado=true)
+-- Execute na instância principal (a primeira de agendamento.shard.instancias), depois do schema.sql;
+-- as demais instâncias só precisam do schema.sql. Todas precisam também do shards-ordenacao.sql
+
+-- Ids de contato únicos entre todos os shards; o INCREMENT BY é o tamanho do bloco que cada
+-- réplica reserva por vez e precisa ser igual a agendamento.shard.tamanho-bloco-ids
+CREATE SEQUENCE IF NOT EXISTS desafio.contato_id_global INCREMENT BY 100;
+
+-- Continua depois dos ids já gerados pelo SERIAL, para dividir um banco que já tem contatos.
+-- O nextval garante que rodar o script de novo nunca faz a sequência voltar
+SELECT setval('desafio.contato_id_global', GREATEST(
+    nextval('desafio.contato_id_global'),
+    (SELECT COALESCE(MAX(contato_id), 0) + 1 FROM desafio.contato),
+    (SELECT COALESCE(MAX(contato_id), 0) + 1 FROM desafio.contato_arquivo)), false);
+
+-- Shard de cada uma das 1024 fatias de celulares; criado pela aplicação na primeira inicialização
+-- e alterado só pelo rebalanceamento (./gradlew rebalancearShards)
+CREATE TABLE IF NOT EXISTS desafio.shard_fatia (
+    fatia_nr SMALLINT PRIMARY KEY,
+    shard_nr SMALLINT NOT NULL
+);
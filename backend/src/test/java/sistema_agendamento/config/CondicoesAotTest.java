@@ -0,0 +1,41 @@
+package sistema_agendamento.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondicoesAotTest {
+
+    @Test
+    void condicoes_DeveNormalizarPerfisEPropriedadesCondicionais() {
+        // Given
+        MockEnvironment environment = new MockEnvironment().withProperty("agendamento.shard.habilitado", "TRUE");
+        environment.setActiveProfiles("shards", "diagnostico");
+
+        // When
+        Map<String, String> condicoes = CondicoesAot.condicoes(environment);
+
+        // Then
+        assertEquals(Map.of(
+                "spring.profiles.active", "diagnostico,shards",
+                "agendamento.shard.habilitado", "true",
+                "agendamento.invalidacao.habilitada", "false"), condicoes);
+    }
+
+    @Test
+    void verificar_QuandoExecucaoMudaUmaCondicaoDoBuild_DeveImpedirAInicializacao() {
+        // Given
+        Map<String, String> congeladas = CondicoesAot.condicoes(new MockEnvironment());
+        MockEnvironment execucao = new MockEnvironment().withProperty("agendamento.shard.habilitado", "true");
+
+        // When
+        IllegalStateException erro = assertThrows(IllegalStateException.class, () -> CondicoesAot.verificar(congeladas, execucao));
+
+        // Then
+        assertTrue(erro.getMessage().contains("agendamento.shard.habilitado=true"));
+        assertDoesNotThrow(() -> CondicoesAot.verificar(congeladas, new MockEnvironment()));
+    }
+}
@@ -0,0 +1,27 @@
+package sistema_agendamento.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.entity.Contato;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContatoRuntimeHintsTest {
+
+    @Test
+    void registerHints_DeveRegistrarReflexaoDaEntidadeEDoDTO() throws Exception {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new ContatoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Contato.class.getDeclaredField("celular")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(Contato.class.getDeclaredConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ContatoDTO.class, "getNome").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ContatoDTO.class, "setCelular").test(hints));
+    }
+}
@@ -0,0 +1,141 @@
+package sistema_agendamento.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControleAdmissaoInterceptorTest {
+
+    private AdmissaoProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissaoProperties();
+        properties.setHabilitada(true);
+        properties.setTaxaPorSegundo(1);
+        properties.setRajada(3);
+        properties.setConcorrenciaBusca(1);
+        properties.setEsperaMaximaMs(10);
+        properties.setChavesConhecidas(Set.of("cliente-a", "cliente-b", "cliente-c", "cliente-d"));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void preHandle_QuandoClienteExcedeRajada_DeveRejeitarCom429() throws Exception {
+        // Given
+        ControleAdmissaoInterceptor interceptor = new ControleAdmissaoInterceptor(properties, registry);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = requisicao("GET", "/api/contatos", "cliente-a");
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+            interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        }
+
+        // Then
+        RequisicaoRejeitadaException ex = assertThrows(RequisicaoRejeitadaException.class,
+                () -> interceptor.preHandle(requisicao("GET", "/api/contatos", "cliente-a"), new MockHttpServletResponse(), null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertTrue(ex.getRetryAfterSegundos() >= 1);
+        assertEquals(1.0, registry.get("agendamento.admissao.rejeitadas")
+                .tag("motivo", "taxa").tag("classe", "listagem").counter().count());
+    }
+
+    @Test
+    void preHandle_ClientesDiferentes_DevemTerLimitesIndependentes() throws Exception {
+        // Given
+        ControleAdmissaoInterceptor interceptor = new ControleAdmissaoInterceptor(properties, registry);
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = requisicao("GET", "/api/contatos", "cliente-a");
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+            interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        }
+
+        // When & Then
+        assertTrue(interceptor.preHandle(requisicao("GET", "/api/contatos", "cliente-b"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_ComChavesDesconhecidas_DeveLimitarPeloEndereco() throws Exception {
+        // Given
+        ControleAdmissaoInterceptor interceptor = new ControleAdmissaoInterceptor(properties, registry);
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = requisicao("GET", "/api/contatos", UUID.randomUUID().toString());
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+            interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        }
+
+        // When & Then
+        RequisicaoRejeitadaException ex = assertThrows(RequisicaoRejeitadaException.class,
+                () -> interceptor.preHandle(requisicao("GET", "/api/contatos", UUID.randomUUID().toString()), new MockHttpServletResponse(), null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+
+        // Uma chave configurada, do mesmo endereço, tem o próprio balde
+        assertTrue(interceptor.preHandle(requisicao("GET", "/api/contatos", "cliente-a"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_QuandoBulkheadLotado_DeveRejeitarCom503() throws Exception {
+        // Given
+        ControleAdmissaoInterceptor interceptor = new ControleAdmissaoInterceptor(properties, registry);
+        MockHttpServletRequest ocupando = requisicao("GET", "/api/contatos/buscar", "cliente-a");
+        assertTrue(interceptor.preHandle(ocupando, new MockHttpServletResponse(), null));
+
+        // When
+        RequisicaoRejeitadaException ex = assertThrows(RequisicaoRejeitadaException.class,
+                () -> interceptor.preHandle(requisicao("GET", "/api/contatos/buscar", "cliente-b"), new MockHttpServletResponse(), null));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(1.0, registry.get("agendamento.admissao.enfileiradas").counter().count());
+
+        // Listagens usam outro bulkhead e continuam sendo atendidas
+        assertTrue(interceptor.preHandle(requisicao("GET", "/api/contatos", "cliente-c"), new MockHttpServletResponse(), null));
+
+        interceptor.afterCompletion(ocupando, new MockHttpServletResponse(), null, null);
+        assertTrue(interceptor.preHandle(requisicao("GET", "/api/contatos/buscar", "cliente-d"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void classificar_DeveSepararBuscaListagemEEscrita() {
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.BUSCA,
+                ControleAdmissaoInterceptor.classificar(requisicao("GET", "/api/contatos/buscar", null)));
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.LISTAGEM,
+                ControleAdmissaoInterceptor.classificar(requisicao("GET", "/api/contatos/favoritos", null)));
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.ESCRITA,
+                ControleAdmissaoInterceptor.classificar(requisicao("PATCH", "/api/contatos/1/favorito", null)));
+    }
+
+    @Test
+    void classificar_PaginaComTermo_DeveSerBusca() {
+        // Given
+        MockHttpServletRequest comTermo = requisicao("GET", "/api/contatos/pagina", null);
+        comTermo.addParameter("termo", "silva");
+        MockHttpServletRequest termoEmBranco = requisicao("GET", "/api/contatos/pagina", null);
+        termoEmBranco.addParameter("termo", " ");
+
+        // When & Then
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.BUSCA, ControleAdmissaoInterceptor.classificar(comTermo));
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.LISTAGEM, ControleAdmissaoInterceptor.classificar(termoEmBranco));
+        assertEquals(ControleAdmissaoInterceptor.ClasseEndpoint.LISTAGEM,
+                ControleAdmissaoInterceptor.classificar(requisicao("GET", "/api/contatos/pagina", null)));
+    }
+
+    private MockHttpServletRequest requisicao(String metodo, String uri, String chave) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+        if (chave != null) {
+            request.addHeader("X-API-Key", chave);
+        }
+        return request;
+    }
+}
@@ -11,12 +11,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
 import sistema_agendamento.service.ContatoService;
+import sistema_agendamento.service.EscritorContatosEmLote;
 import sistema_agendamento.exception.GlobalExceptionHandler;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -31,6 +34,9 @@ class ContatoControllerTest {
     @Mock
     private ContatoService contatoService;
 
+    @Mock
+    private EscritorContatosEmLote escritorEmLote;
+
     @InjectMocks
     private ContatoController contatoController;
 
@@ -75,6 +81,49 @@ class ContatoControllerTest {
         verify(contatoService).listarTodos();
     }
 
+    @Test
+    void listarTodos_ComFields_DeveRetornarApenasCamposPedidos() throws Exception {
+        // Given
+        when(contatoService.listarTodos("id,nome")).thenReturn(List.of(Map.of("id", 1L, "nome", "João Silva")));
+
+        // When & Then
+        mockMvc.perform(get("/contatos").param("fields", "id,nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$[0].celular").doesNotExist());
+
+        verify(contatoService).listarTodos("id,nome");
+        verify(contatoService, never()).listarTodos();
+    }
+
+    @Test
+    void buscarPorTermo_ComFieldsDesconhecido_DeveRetornarErro() throws Exception {
+        // Given
+        when(contatoService.buscarPorTermo("João", "senha"))
+                .thenThrow(new RuntimeException("Campo desconhecido: senha"));
+
+        // When & Then
+        mockMvc.perform(get("/contatos/buscar").param("termo", "João").param("fields", "senha"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Campo desconhecido: senha"));
+    }
+
+    @Test
+    void listarPagina_DeveRetornarPaginaComTotal() throws Exception {
+        // Given
+        when(contatoService.listarPagina(1, 30, "joão", true)).thenReturn(new PaginaDTO<>(contatos, 1, 30, 31L));
+
+        // When & Then
+        mockMvc.perform(get("/contatos/pagina")
+                        .param("pagina", "1").param("tamanho", "30")
+                        .param("termo", "joão").param("favoritos", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.total").value(31));
+
+        verify(contatoService).listarPagina(1, 30, "joão", true);
+    }
+
     @Test
     void listarFavoritos_DeveRetornarListaDeContatosFavoritos() throws Exception {
         // Given
@@ -135,6 +184,27 @@ class ContatoControllerTest {
         verify(contatoService).criar(any(ContatoDTO.class));
     }
 
+    @Test
+    void criar_QuandoEscritaEmLoteHabilitada_DeveUsarEscritorEmLote() throws Exception {
+        // Given
+        ContatoDTO novoContato = new ContatoDTO();
+        novoContato.setNome("Maria Santos");
+        novoContato.setCelular("11888888888");
+
+        when(escritorEmLote.isHabilitada()).thenReturn(true);
+        when(escritorEmLote.criar(any(ContatoDTO.class))).thenReturn(contatoDTO);
+
+        // When & Then
+        mockMvc.perform(post("/contatos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoContato)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+
+        verify(escritorEmLote).criar(any(ContatoDTO.class));
+        verify(contatoService, never()).criar(any(ContatoDTO.class));
+    }
+
     @Test
     void criar_QuandoDadosInvalidos_DeveRetornar400() throws Exception {
         // Given
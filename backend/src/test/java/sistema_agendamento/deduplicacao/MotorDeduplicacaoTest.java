@@ -0,0 +1,106 @@
+package sistema_agendamento.deduplicacao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorDeduplicacaoTest {
+
+    private ForkJoinPool pool;
+    private MotorDeduplicacao motor;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        motor = new MotorDeduplicacao(0.85, 100, pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void normalizarNome_DeveRemoverAcentosCaixaEParticulas() {
+        assertEquals("jose silva junior", NormalizadorContato.normalizarNome("José da Silva-Júnior"));
+        assertEquals("", NormalizadorContato.normalizarNome(null));
+    }
+
+    @Test
+    void normalizarTelefone_DeveIgualarCelularEFixoDoMesmoNumero() {
+        assertEquals("1188887777", NormalizadorContato.normalizarTelefone("11988887777"));
+        assertEquals("1188887777", NormalizadorContato.normalizarTelefone("1188887777"));
+        assertEquals("1188887777", NormalizadorContato.normalizarTelefone("+55 (11) 98888-7777"));
+        assertNull(NormalizadorContato.normalizarTelefone("88887777"));
+    }
+
+    @Test
+    void carregar_DeveSugerirGrafiasDiferentesDoMesmoContato() {
+        // When
+        motor.carregar(List.of(
+                new DadosContatoDeduplicacao(1L, "João da Silva", "11999999999", null, null),
+                new DadosContatoDeduplicacao(2L, "JOAO SILVA", "11888888888", null, null),
+                new DadosContatoDeduplicacao(3L, "Maria Santos", "11777777777", null, null)));
+
+        // Then
+        List<SugestaoDuplicata> sugestoes = motor.listarSugestoes(10);
+        assertEquals(1, sugestoes.size());
+        assertEquals(1L, sugestoes.get(0).contatoId());
+        assertEquals(2L, sugestoes.get(0).outroContatoId());
+        assertTrue(sugestoes.get(0).motivos().contains("nome"));
+    }
+
+    @Test
+    void carregar_DeveSugerirCelularGravadoComoTelefoneEmOutroContato() {
+        // When
+        motor.carregar(List.of(
+                new DadosContatoDeduplicacao(1L, "Pedro Oliveira", "11988887777", null, null),
+                new DadosContatoDeduplicacao(2L, "Pedro H. Oliveira", "21977776666", "1188887777", null)));
+
+        // Then
+        List<SugestaoDuplicata> sugestoes = motor.listarSugestoes(10);
+        assertEquals(1, sugestoes.size());
+        assertTrue(sugestoes.get(0).motivos().contains("telefone"));
+    }
+
+    @Test
+    void atualizar_DeveReavaliarApenasContatosAlterados() {
+        // Given
+        motor.carregar(List.of(
+                new DadosContatoDeduplicacao(1L, "Ana Costa", "11666666666", null, null),
+                new DadosContatoDeduplicacao(2L, "Bruno Lima", "11555555555", null, null)));
+        assertTrue(motor.listarSugestoes(10).isEmpty());
+
+        // When
+        motor.atualizar(List.of(new DadosContatoDeduplicacao(2L, "Ana Costa", "11555555555", null, null)), List.of());
+
+        // Then
+        assertEquals(1, motor.listarSugestoes(10).size());
+
+        // When
+        motor.atualizar(List.of(), List.of(2L));
+
+        // Then
+        assertTrue(motor.listarSugestoes(10).isEmpty());
+        assertEquals(1, motor.totalContatos());
+    }
+
+    @Test
+    void carregar_BlocoMaiorQueOLimite_NaoDeveSerComparado() {
+        // Given
+        MotorDeduplicacao motorPequeno = new MotorDeduplicacao(0.85, 1, pool);
+
+        // When
+        motorPequeno.carregar(List.of(
+                new DadosContatoDeduplicacao(1L, "Ana Costa", "11666666666", null, null),
+                new DadosContatoDeduplicacao(2L, "Ana Costa", "11555555555", null, null)));
+
+        // Then
+        assertTrue(motorPequeno.listarSugestoes(10).isEmpty());
+    }
+}
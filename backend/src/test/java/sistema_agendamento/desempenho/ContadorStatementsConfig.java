@@ -0,0 +1,26 @@
+package sistema_agendamento.desempenho;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Importar nos testes que usam o {@link RegistroStatements}.
+ */
+@TestConfiguration
+public class ContadorStatementsConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceContador() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof DataSourceContador)
+                        ? new DataSourceContador(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
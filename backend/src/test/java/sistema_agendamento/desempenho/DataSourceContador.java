@@ -0,0 +1,76 @@
+package sistema_agendamento.desempenho;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Envolve as conexões do pool para que cada ida ao banco ({@code execute*}) seja anotada no
+ * {@link RegistroStatements}. Um {@code executeBatch} conta como uma ida só.
+ */
+public class DataSourceContador extends DelegatingDataSource {
+
+    public DataSourceContador(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolverConexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolverConexao(super.getConnection(username, password));
+    }
+
+    private static Connection envolverConexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(DataSourceContador.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, args) -> {
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (resultado instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return envolverStatement(statement, sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Statement envolverStatement(Statement statement, String sqlPreparado) {
+        Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        Map<Integer, Object> parametros = new TreeMap<>();
+        return (Statement) Proxy.newProxyInstance(DataSourceContador.class.getClassLoader(),
+                new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer posicao) {
+                        parametros.put(posicao, nome.equals("setNull") ? null : args[1]);
+                    } else if (nome.startsWith("execute") && RegistroStatements.ativo()) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : sqlPreparado;
+                        RegistroStatements.registrar(sql, new TreeMap<>(parametros));
+                    } else if (nome.equals("clearParameters")) {
+                        parametros.clear();
+                    }
+                    return invocar(statement, metodo, args);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package sistema_agendamento.desempenho;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.Etiqueta;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EtiquetaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Limite de comandos SQL por requisição em cada endpoint de contatos. Um N+1 ou uma leitura a
+ * mais introduzida numa mudança estoura o orçamento e o teste mostra os comandos executados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ContadorStatementsConfig.class)
+class OrcamentoStatementsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Autowired
+    private EtiquetaRepository etiquetaRepository;
+
+    private Contato joao;
+
+    @BeforeEach
+    void setUp() {
+        contatoRepository.deleteAll();
+        contatoArquivadoRepository.deleteAll();
+        for (int i = 0; i < 50; i++) {
+            contatoRepository.save(criarContato("Contato " + i, String.format("119%08d", i), i % 5 == 0));
+        }
+        joao = contatoRepository.save(criarContato("João Silva", "11999999999", true));
+    }
+
+    @Test
+    void leituras_DevemExecutarUmaConsultaPorRequisicao() throws Exception {
+        // When & Then
+        assertOrcamento(1, get("/contatos"));
+        assertOrcamento(1, get("/contatos/favoritos"));
+        assertOrcamento(1, get("/contatos/{id}", joao.getId()));
+        assertOrcamento(1, get("/contatos/buscar").param("termo", "contato"));
+        assertOrcamento(1, get("/contatos").param("fields", "id,nome"));
+        assertOrcamento(1, get("/contatos/favoritos").param("fields", "id,nome"));
+        assertOrcamento(1, get("/contatos/{id}", joao.getId()).param("fields", "id,nome"));
+        assertOrcamento(1, get("/contatos/buscar").param("termo", "contato").param("fields", "id,nome"));
+    }
+
+    @Test
+    void listarPagina_DeveExecutarConsultaDaPaginaEContagem() throws Exception {
+        // When & Then
+        assertOrcamento(2, get("/contatos/pagina").param("pagina", "1").param("tamanho", "10"));
+        assertOrcamento(2, get("/contatos/pagina").param("termo", "contato").param("tamanho", "10"));
+    }
+
+    @Test
+    void filtrar_DeveConsultarSoAsEtiquetasEOsContatosDaPagina() throws Exception {
+        // Given
+        if (!etiquetaRepository.existsByNome("Clientes")) {
+            etiquetaRepository.save(new Etiqueta(null, "Clientes"));
+        }
+
+        // When & Then
+        // A combinação é calculada no índice em memória; só a página é carregada
+        assertOrcamento(1, get("/contatos/filtro").param("favorito", "true").param("tamanho", "10"));
+        assertOrcamento(2, get("/contatos/filtro").param("etiquetas", "Clientes").param("exceto", "Clientes"));
+    }
+
+    @Test
+    void escritas_DevemRespeitarOOrcamentoDeComandos() throws Exception {
+        // When & Then
+        // Celular em contato e no arquivo + insert
+        assertOrcamento(3, post("/contatos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json("Maria Santos", "11888888888")));
+        // Carga + update; o celular igual dispensa a verificação de duplicidade
+        assertOrcamento(2, put("/contatos/{id}", joao.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json("João Silva Junior", "11999999999")));
+        // Carga + celular novo em contato e no arquivo + update
+        assertOrcamento(4, put("/contatos/{id}", joao.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json("João Silva Junior", "11777777777")));
+        // Carga + update
+        assertOrcamento(2, patch("/contatos/{id}/favorito", joao.getId()));
+        assertOrcamento(2, delete("/contatos/{id}", joao.getId()));
+    }
+
+    private void assertOrcamento(int maximo, RequestBuilder requisicao) throws Exception {
+        RegistroStatements.iniciar();
+        MvcResult resultado;
+        List<RegistroStatements.StatementExecutado> registrados;
+        try {
+            resultado = mockMvc.perform(requisicao).andExpect(status().is2xxSuccessful()).andReturn();
+        } finally {
+            registrados = RegistroStatements.parar();
+        }
+        List<RegistroStatements.StatementExecutado> executados = registrados;
+        String descricao = resultado.getRequest().getMethod() + " " + resultado.getRequest().getRequestURI();
+        assertTrue(executados.size() <= maximo, () -> descricao + " executou " + executados.size()
+                + " comandos, orçamento de " + maximo + ":\n" + executados.stream()
+                .map(RegistroStatements.StatementExecutado::sql)
+                .collect(Collectors.joining("\n")));
+    }
+
+    private String json(String nome, String celular) {
+        return "{\"nome\":\"" + nome + "\",\"celular\":\"" + celular + "\",\"ativo\":true}";
+    }
+
+    private Contato criarContato(String nome, String celular, boolean favorito) {
+        Contato contato = new Contato();
+        contato.setNome(nome);
+        contato.setCelular(celular);
+        contato.setFavorito(favorito);
+        contato.setDataCadastro(LocalDateTime.now());
+        return contato;
+    }
+}
@@ -0,0 +1,193 @@
+package sistema_agendamento.desempenho;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.Etiqueta;
+import sistema_agendamento.repository.ContatoProjecaoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EtiquetaRepository;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa cada consulta do {@link ContatoRepository} e do {@link EtiquetaRepository} sobre uma base semeada, captura o
+ * {@code EXPLAIN} de cada comando gerado e falha quando algum deles varre a tabela inteira sem
+ * estar na lista de exceções, ou quando um método novo do repositório não foi coberto aqui.
+ * Os planos ficam em {@code build/planos-consultas.txt}.
+ *
+ * <p>Os planos são do H2, não do PostgreSQL: o teste pega consultas sem nenhum predicado
+ * indexável, não escolhas de custo que dependem do volume de produção.</p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ContadorStatementsConfig.class)
+class PlanoConsultasRepositoryTest {
+
+    private static final List<String> CAMPOS = List.of("id", "nome", "celular");
+
+    // Consultas que varrem a tabela por natureza, com o motivo
+    private static final Map<String, String> VARREDURA_PERMITIDA = Map.of();
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private EtiquetaRepository etiquetaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Map<String, List<String>> planos = new TreeMap<>();
+    private final List<Etiqueta> etiquetas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            etiquetas.add(entityManager.persist(new Etiqueta(null, "Etiqueta " + i)));
+        }
+        for (int i = 0; i < 300; i++) {
+            Contato contato = new Contato();
+            contato.setNome(String.format("Contato %03d", i));
+            contato.setEmail("contato" + i + "@email.com");
+            contato.setCelular(String.format("119%08d", i));
+            contato.setTelefone(String.format("11%08d", i));
+            contato.setFavorito(i % 10 == 0);
+            contato.setAtivo(i % 7 != 0);
+            contato.setDataCadastro(agora.minusDays(i));
+            contato.getEtiquetas().add(etiquetas.get(i % etiquetas.size()));
+            contato.getEtiquetas().add(etiquetas.get(i * 7 % etiquetas.size()));
+            entityManager.persist(contato);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void consultas_DevemTerPlanoComIndiceEEstarCobertas() throws IOException {
+        // Given
+        PageRequest pagina = PageRequest.of(1, 20, Sort.by("nome", "id"));
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        // When
+        capturar("findByCelular", 1, () -> contatoRepository.findByCelular("11900000010"));
+        capturar("findByCelularExcludingId", 2, () -> contatoRepository.findByCelularExcludingId("11900000010", 1L));
+        capturar("findByCelularIn", 1, () -> contatoRepository.findByCelularIn(List.of("11900000010", "11900000011")));
+        capturar("findAllAtivos", 0, () -> contatoRepository.findAllAtivos());
+        capturar("findAllFavoritos", 0, () -> contatoRepository.findAllFavoritos());
+        capturar("buscarPorTermo", 1, () -> contatoRepository.buscarPorTermo("contato 01"));
+        capturar("findPaginaAtivos", 2, () -> contatoRepository.findPaginaAtivos(true, pagina));
+        capturar("buscarPagina", 3, () -> contatoRepository.buscarPagina("contato", false, pagina));
+        capturar("findIdsInativosAntesDe", 3, () -> contatoRepository.findIdsInativosAntesDe(LocalDateTime.now(), 0, PageRequest.of(0, 50)));
+        capturar("travarInativos", 1, () -> contatoRepository.travarInativos(ids));
+        capturar("copiarParaArquivo", 2, () -> contatoRepository.copiarParaArquivo(ids, LocalDateTime.now()));
+        capturar("deleteInativosByIds", 1, () -> contatoRepository.deleteInativosByIds(ids));
+        capturar("findDadosDeduplicacaoAposId", 2, () -> contatoRepository.findDadosDeduplicacaoAposId(100L, PageRequest.of(0, 50)));
+        capturar("findDadosDeduplicacaoPorIds", 1, () -> contatoRepository.findDadosDeduplicacaoPorIds(ids));
+        capturar("findAllAtivos", 1, () -> contatoRepository.findAllAtivos(CAMPOS));
+        capturar("findAllFavoritos", 1, () -> contatoRepository.findAllFavoritos(CAMPOS));
+        capturar("buscarPorTermo", 2, () -> contatoRepository.buscarPorTermo("0101", CAMPOS));
+        capturar("findCamposById", 2, () -> contatoRepository.findCamposById(10L, CAMPOS));
+        capturar("findById", 1, () -> contatoRepository.findById(10L));
+        capturar("findSituacaoAposId", 2, () -> contatoRepository.findSituacaoAposId(100L, PageRequest.of(0, 50)));
+        capturar("findSituacaoPorIds", 1, () -> contatoRepository.findSituacaoPorIds(ids));
+        capturar("existsByNome", 1, () -> etiquetaRepository.existsByNome("Etiqueta 3"));
+        capturar("findByNomeIn", 1, () -> etiquetaRepository.findByNomeIn(List.of("Etiqueta 3", "Etiqueta 4")));
+        capturar("findByContatoId", 1, () -> etiquetaRepository.findByContatoId(10L));
+        capturar("findAssociacoesEntreIds", 2, () -> etiquetaRepository.findAssociacoesEntreIds(100L, 150L));
+        capturar("findAssociacoesPorContatos", 1, () -> etiquetaRepository.findAssociacoesPorContatos(ids));
+        capturar("removerAssociacoes", 1, () -> etiquetaRepository.removerAssociacoes(etiquetas.get(0).getId()));
+        gravarRelatorio();
+
+        // Then
+        Set<String> declaradas = Stream.of(ContatoRepository.class, ContatoProjecaoRepository.class, EtiquetaRepository.class)
+                .flatMap(tipo -> Stream.of(tipo.getDeclaredMethods()))
+                .filter(metodo -> !metodo.isSynthetic() && !metodo.isDefault())
+                .map(PlanoConsultasRepositoryTest::chave)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> semPlano = new TreeSet<>(declaradas);
+        semPlano.removeAll(planos.keySet());
+        assertTrue(semPlano.isEmpty(), "Consultas sem plano verificado neste teste: " + semPlano);
+
+        List<String> varreduras = new ArrayList<>();
+        planos.forEach((consulta, planosConsulta) -> {
+            boolean varre = planosConsulta.stream().anyMatch(plano -> plano.contains(".tableScan"));
+            if (varre && !VARREDURA_PERMITIDA.containsKey(consulta)) {
+                varreduras.add(consulta + ":\n" + String.join("\n", planosConsulta));
+            }
+        });
+        assertTrue(varreduras.isEmpty(), "Consultas com varredura completa da tabela:\n" + String.join("\n\n", varreduras));
+    }
+
+    private void capturar(String metodo, int parametros, Runnable consulta) {
+        // Sem entidades em memória, toda consulta precisa ir ao banco
+        entityManager.clear();
+        RegistroStatements.iniciar();
+        try {
+            consulta.run();
+            entityManager.flush();
+        } finally {
+            List<RegistroStatements.StatementExecutado> executados = RegistroStatements.parar();
+            assertFalse(executados.isEmpty(), "Nenhum comando executado por " + metodo);
+            List<String> planosConsulta = planos.computeIfAbsent(metodo + "/" + parametros, chave -> new ArrayList<>());
+            executados.forEach(executado -> planosConsulta.add(explicar(executado)));
+        }
+    }
+
+    private String explicar(RegistroStatements.StatementExecutado executado) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(conexao -> {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + executado.sql())) {
+                for (Map.Entry<Integer, Object> parametro : executado.parametros().entrySet()) {
+                    explain.setObject(parametro.getKey(), parametro.getValue());
+                }
+                StringBuilder plano = new StringBuilder();
+                try (ResultSet resultado = explain.executeQuery()) {
+                    while (resultado.next()) {
+                        plano.append(resultado.getString(1));
+                    }
+                }
+                return plano.toString();
+            }
+        });
+    }
+
+    private void gravarRelatorio() throws IOException {
+        StringBuilder relatorio = new StringBuilder();
+        planos.forEach((consulta, planosConsulta) -> {
+            relatorio.append("## ").append(consulta).append('\n');
+            planosConsulta.forEach(plano -> relatorio.append(plano).append("\n\n"));
+        });
+        Path arquivo = Path.of("build", "planos-consultas.txt");
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, relatorio);
+    }
+
+    private static String chave(Method metodo) {
+        return metodo.getName() + "/" + metodo.getParameterCount();
+    }
+}
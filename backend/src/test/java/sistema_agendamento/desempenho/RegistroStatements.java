@@ -0,0 +1,39 @@
+package sistema_agendamento.desempenho;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guarda os comandos JDBC executados pela thread atual entre {@link #iniciar()} e
+ * {@link #parar()}. Comandos de outras threads (agendamentos, outros contextos) são ignorados.
+ */
+public class RegistroStatements {
+
+    private static final ThreadLocal<List<StatementExecutado>> EXECUTADOS = new ThreadLocal<>();
+
+    /** Um comando executado, com os parâmetros na ordem em que foram informados (posição 1 em diante). */
+    public record StatementExecutado(String sql, Map<Integer, Object> parametros) {
+    }
+
+    public static void iniciar() {
+        EXECUTADOS.set(new ArrayList<>());
+    }
+
+    public static List<StatementExecutado> parar() {
+        List<StatementExecutado> executados = EXECUTADOS.get();
+        EXECUTADOS.remove();
+        return executados == null ? List.of() : executados;
+    }
+
+    static boolean ativo() {
+        return EXECUTADOS.get() != null;
+    }
+
+    static void registrar(String sql, Map<Integer, Object> parametros) {
+        List<StatementExecutado> executados = EXECUTADOS.get();
+        if (executados != null) {
+            executados.add(new StatementExecutado(sql, parametros));
+        }
+    }
+}
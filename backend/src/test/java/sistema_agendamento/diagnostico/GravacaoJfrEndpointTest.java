@@ -0,0 +1,145 @@
+package sistema_agendamento.diagnostico;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.EndpointId;
+import org.springframework.boot.actuate.endpoint.web.PathMappedEndpoints;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GravacaoJfrEndpointTest {
+
+    @Autowired
+    private GravacaoJfrEndpoint endpoint;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private PathMappedEndpoints endpointsMapeados;
+
+    @AfterEach
+    void tearDown() {
+        endpoint.parar();
+    }
+
+    @Test
+    void gravacao_DeveConterEventosDeControllerConsultaEConversao() throws Exception {
+        // Given
+        contatoRepository.deleteAll();
+        contatoRepository.save(criarContato("João Silva", "11999999999"));
+        contatoRepository.save(criarContato("Maria Santos", "11888888888"));
+
+        // When
+        WebEndpointResponse<Map<String, Object>> inicio = endpoint.iniciar(30, "default");
+        mockMvc.perform(get("/contatos")).andExpect(status().isOk());
+        endpoint.parar();
+        WebEndpointResponse<Resource> arquivo = endpoint.arquivo("arquivo");
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo.getBody().getFile().toPath());
+
+        // Then
+        assertEquals(200, inicio.getStatus());
+        RecordedEvent chamada = evento(eventos, "sistema_agendamento.ChamadaController");
+        assertEquals("GET", chamada.getString("metodo"));
+        assertEquals("/contatos", chamada.getString("rota"));
+        assertEquals("ContatoController.listarTodos", chamada.getString("handler"));
+        assertEquals(200, chamada.getInt("status"));
+
+        RecordedEvent consulta = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("sistema_agendamento.ConsultaRepositorio"))
+                .filter(e -> "findAllAtivos".equals(e.getString("consulta")))
+                .findFirst().orElseThrow();
+        assertEquals("ContatoRepository", consulta.getString("repositorio"));
+        assertEquals(2, consulta.getLong("linhas"));
+
+        RecordedEvent conversao = evento(eventos, "sistema_agendamento.ConversaoDto");
+        assertEquals("listarTodos", conversao.getString("operacao"));
+        assertEquals(2, conversao.getInt("quantidade"));
+    }
+
+    @Test
+    void gravacao_NaoDeveConterAmbientePropriedadesNemLinhaDeComando() throws Exception {
+        // When
+        endpoint.iniciar(30, "profile");
+        endpoint.parar();
+        WebEndpointResponse<Resource> arquivo = endpoint.arquivo("arquivo");
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo.getBody().getFile().toPath());
+
+        // Then
+        assertFalse(eventos.isEmpty());
+        assertTrue(eventos.stream().noneMatch(e -> GravacaoJfrEndpoint.EVENTOS_SENSIVEIS.contains(e.getEventType().getName())));
+    }
+
+    @Test
+    void endpoint_SemPerfilDiagnostico_NaoDeveSerExposto() {
+        // When & Then
+        assertNotNull(endpointsMapeados.getPath(EndpointId.of("health")));
+        assertNull(endpointsMapeados.getPath(EndpointId.of("jfr")));
+    }
+
+    @Test
+    void iniciar_QuandoJaGravandoOuDuracaoInvalida_DeveRecusar() {
+        // When
+        WebEndpointResponse<Map<String, Object>> invalida = endpoint.iniciar(100000, null);
+        WebEndpointResponse<Map<String, Object>> primeira = endpoint.iniciar(30, null);
+        WebEndpointResponse<Map<String, Object>> segunda = endpoint.iniciar(30, null);
+
+        // Then
+        assertEquals(400, invalida.getStatus());
+        assertEquals(200, primeira.getStatus());
+        assertEquals("RUNNING", primeira.getBody().get("estado"));
+        assertEquals(409, segunda.getStatus());
+        assertEquals("Já existe uma gravação em andamento", segunda.getBody().get("message"));
+    }
+
+    @Test
+    void contarLinhas_DeveConsiderarOTipoDoResultado() {
+        // When & Then
+        assertEquals(3, ConsultaRepositorioInterceptor.contarLinhas(List.of(1, 2, 3)));
+        assertEquals(2, ConsultaRepositorioInterceptor.contarLinhas(new PageImpl<>(List.of(1, 2))));
+        assertEquals(0, ConsultaRepositorioInterceptor.contarLinhas(Optional.empty()));
+        assertEquals(7, ConsultaRepositorioInterceptor.contarLinhas(7));
+        assertEquals(1, ConsultaRepositorioInterceptor.contarLinhas(new Contato()));
+        assertEquals(0, ConsultaRepositorioInterceptor.contarLinhas(null));
+    }
+
+    private RecordedEvent evento(List<RecordedEvent> eventos, String tipo) {
+        return eventos.stream()
+                .filter(e -> e.getEventType().getName().equals(tipo))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Evento não gravado: " + tipo));
+    }
+
+    private Contato criarContato(String nome, String celular) {
+        Contato contato = new Contato();
+        contato.setNome(nome);
+        contato.setCelular(celular);
+        contato.setDataCadastro(LocalDateTime.now());
+        return contato;
+    }
+}
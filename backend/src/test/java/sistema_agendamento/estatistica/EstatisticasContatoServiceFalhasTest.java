@@ -0,0 +1,63 @@
+package sistema_agendamento.estatistica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import sistema_agendamento.config.EstatisticaProperties;
+import sistema_agendamento.entity.EstatisticaContato;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.repository.EstatisticaContatoRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstatisticasContatoServiceFalhasTest {
+
+    @Mock
+    private EstatisticaContatoRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EstatisticasContatoService estatisticasService;
+
+    @BeforeEach
+    void setUp() {
+        estatisticasService = new EstatisticasContatoService(repository, new EstatisticaProperties(),
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void persistir_QuandoReleituraFalhaAposGravar_NaoDeveGravarAsMesmasDiferencasDeNovo() {
+        // Given
+        when(repository.findAll())
+                .thenReturn(List.of(new EstatisticaContato(EstatisticasContatoService.ATIVOS, 10L)))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(List.of(new EstatisticaContato(EstatisticasContatoService.ATIVOS, 11L)));
+        when(repository.somar(anyString(), anyLong())).thenReturn(1);
+        estatisticasService.persistir();
+        estatisticasService.aoTransicionarContato(new ContatoTransicaoEvent(null,
+                new ContatoTransicaoEvent.Estado(true, false, LocalDate.now())));
+
+        // When
+        estatisticasService.persistir();
+        long aposFalha = estatisticasService.valor(EstatisticasContatoService.ATIVOS);
+        estatisticasService.persistir();
+
+        // Then
+        assertEquals(11, aposFalha);
+        assertEquals(11, estatisticasService.valor(EstatisticasContatoService.ATIVOS));
+        verify(repository).somar(EstatisticasContatoService.ATIVOS, 1);
+    }
+}
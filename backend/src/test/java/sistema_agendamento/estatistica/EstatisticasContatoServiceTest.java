@@ -0,0 +1,138 @@
+package sistema_agendamento.estatistica;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.EstatisticasContatoDTO;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EstatisticaContatoRepository;
+import sistema_agendamento.service.ContatoService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EstatisticasContatoServiceTest {
+
+    @Autowired
+    private EstatisticasContatoService estatisticasService;
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Autowired
+    private EstatisticaContatoRepository estatisticaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        contatoRepository.deleteAll();
+        contatoArquivadoRepository.deleteAll();
+        // Duas verificações alinham o resumo com as tabelas recém-esvaziadas
+        estatisticasService.verificar();
+        estatisticasService.verificar();
+    }
+
+    @Test
+    void consultar_AposEscritas_DeveRefletirCadastrosFavoritosEInativacoes() {
+        // Given
+        ContatoDTO joao = contatoService.criar(dto("João Silva", "11999999999"));
+        ContatoDTO maria = contatoService.criar(dto("Maria Santos", "11888888888"));
+        contatoService.criar(dto("Pedro Oliveira", "11777777777"));
+        contatoService.alternarFavorito(joao.getId());
+        contatoService.alternarFavorito(maria.getId());
+        contatoService.inativar(maria.getId());
+
+        // When
+        EstatisticasContatoDTO estatisticas = estatisticasService.consultar(7, 2);
+
+        // Then
+        assertEquals(2, estatisticas.getAtivos());
+        assertEquals(1, estatisticas.getFavoritos());
+        assertEquals(1, estatisticas.getInativos());
+        assertEquals(7, estatisticas.getCadastrosPorDia().size());
+        assertEquals(3, estatisticas.getCadastrosPorDia().get(LocalDate.now()));
+        assertEquals(3, estatisticas.getCadastrosPorMes().get(YearMonth.now()));
+    }
+
+    @Test
+    void persistir_DeveSomarDiferencasNoResumoSemAlterarALeitura() {
+        // Given
+        contatoService.criar(dto("João Silva", "11999999999"));
+        long antes = estatisticaRepository.findById(EstatisticasContatoService.ATIVOS).orElseThrow().getValor();
+
+        // When
+        estatisticasService.persistir();
+
+        // Then
+        assertEquals(antes + 1, estatisticaRepository.findById(EstatisticasContatoService.ATIVOS).orElseThrow().getValor());
+        assertEquals(1, estatisticasService.valor(EstatisticasContatoService.ATIVOS));
+        assertEquals(1, estatisticaRepository.findById(EstatisticasContatoService.PREFIXO_CADASTROS + LocalDate.now())
+                .orElseThrow().getValor());
+    }
+
+    @Test
+    void verificar_QuandoResumoDivergeEmDuasVerificacoes_DeveCorrigir() {
+        // Given
+        contatoService.criar(dto("João Silva", "11999999999"));
+        transactionTemplate.executeWithoutResult(status -> estatisticaRepository.somar(EstatisticasContatoService.ATIVOS, 5));
+
+        // When
+        estatisticasService.verificar();
+        long aposPrimeira = estatisticasService.valor(EstatisticasContatoService.ATIVOS);
+        estatisticasService.verificar();
+
+        // Then
+        assertEquals(6, aposPrimeira);
+        assertEquals(1, estatisticasService.valor(EstatisticasContatoService.ATIVOS));
+        assertEquals(1, estatisticaRepository.findById(EstatisticasContatoService.ATIVOS).orElseThrow().getValor());
+    }
+
+    @Test
+    void corrigir_PorDuasReplicasComAMesmaLeitura_DeveAplicarUmaVez() {
+        // Given
+        contatoService.criar(dto("João Silva", "11999999999"));
+        estatisticasService.persistir();
+        transactionTemplate.executeWithoutResult(status -> estatisticaRepository.somar(EstatisticasContatoService.ATIVOS, 5));
+
+        // When
+        Integer primeira = transactionTemplate.execute(status -> estatisticaRepository.corrigir(EstatisticasContatoService.ATIVOS, 6, 1));
+        Integer segunda = transactionTemplate.execute(status -> estatisticaRepository.corrigir(EstatisticasContatoService.ATIVOS, 6, 1));
+
+        // Then
+        assertEquals(1, primeira);
+        assertEquals(0, segunda);
+        assertEquals(1, estatisticaRepository.findById(EstatisticasContatoService.ATIVOS).orElseThrow().getValor());
+    }
+
+    @Test
+    void consultar_QuandoDiasForaDoLimite_DeveLancarExcecao() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> estatisticasService.consultar(0, 12));
+        assertEquals("Dias deve estar entre 1 e 366 e meses entre 1 e 60", exception.getMessage());
+    }
+
+    private ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        dto.setAtivo(true);
+        return dto;
+    }
+}
@@ -0,0 +1,208 @@
+package sistema_agendamento.etiqueta;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.EtiquetaDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.repository.EtiquetaRepository;
+import sistema_agendamento.service.ContatoArquivoService;
+import sistema_agendamento.service.ContatoService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EtiquetaServiceTest {
+
+    @Autowired
+    private EtiquetaService etiquetaService;
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private ContatoArquivoService contatoArquivoService;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Autowired
+    private EtiquetaRepository etiquetaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private ContatoDTO joao;
+    private ContatoDTO maria;
+    private ContatoDTO pedro;
+    private EtiquetaDTO familia;
+    private EtiquetaDTO clientes;
+
+    @BeforeEach
+    void setUp() {
+        contatoRepository.deleteAll();
+        contatoArquivadoRepository.deleteAll();
+        etiquetaRepository.deleteAll();
+
+        joao = contatoService.criar(dto("João Silva", "11999999999"));
+        maria = contatoService.criar(dto("Maria Santos", "11888888888"));
+        pedro = contatoService.criar(dto("Pedro Oliveira", "11777777777"));
+        familia = etiquetaService.criarEtiqueta(new EtiquetaDTO(null, "Família", null));
+        clientes = etiquetaService.criarEtiqueta(new EtiquetaDTO(null, "Clientes", null));
+        etiquetaService.adicionarEtiqueta(joao.getId(), familia.getId());
+        etiquetaService.adicionarEtiqueta(joao.getId(), clientes.getId());
+        etiquetaService.adicionarEtiqueta(maria.getId(), clientes.getId());
+        contatoService.alternarFavorito(maria.getId());
+        // O deleteAll não publica eventos; a carga completa descarta o que sobrou dos outros testes
+        eventPublisher.publishEvent(new ContatosInvalidadosEvent("novo cenário de teste"));
+        etiquetaService.atualizarIndice();
+    }
+
+    @Test
+    void filtrar_ComCombinacaoDeEtiquetasEFavorito_DeveRetornarContatosEmOrdemDeId() {
+        // When
+        PaginaDTO<ContatoDTO> clientesFavoritos = etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of(), true, true, 0, 50);
+        PaginaDTO<ContatoDTO> clientesForaDaFamilia = etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of("Família"), true, null, 0, 50);
+        PaginaDTO<ContatoDTO> semClientes = etiquetaService.filtrar(List.of(), List.of(), List.of("Clientes"), true, null, 0, 50);
+
+        // Then
+        assertEquals(List.of("Maria Santos"), nomes(clientesFavoritos));
+        assertEquals(List.of("Maria Santos"), nomes(clientesForaDaFamilia));
+        assertEquals(List.of("Pedro Oliveira"), nomes(semClientes));
+        assertEquals(1, semClientes.getTotal());
+    }
+
+    @Test
+    void filtrar_DevePaginarPelaOrdemDeId() {
+        // When
+        PaginaDTO<ContatoDTO> segunda = etiquetaService.filtrar(List.of(), List.of(), List.of(), true, null, 1, 2);
+
+        // Then
+        assertEquals(List.of("Pedro Oliveira"), nomes(segunda));
+        assertEquals(3, segunda.getTotal());
+    }
+
+    @Test
+    void filtrar_AposAlteracoes_DeveRefletirNaProximaAtualizacaoDoIndice() {
+        // Given
+        etiquetaService.removerEtiqueta(maria.getId(), clientes.getId());
+        etiquetaService.adicionarEtiqueta(pedro.getId(), clientes.getId());
+        contatoService.inativar(joao.getId());
+
+        // When
+        PaginaDTO<ContatoDTO> antes = etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of(), true, null, 0, 50);
+        etiquetaService.atualizarIndice();
+        PaginaDTO<ContatoDTO> depois = etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of(), true, null, 0, 50);
+
+        // Then
+        assertEquals(List.of("João Silva", "Maria Santos"), nomes(antes));
+        assertEquals(List.of("Pedro Oliveira"), nomes(depois));
+    }
+
+    @Test
+    void filtrar_ComContatoJaArquivadoNoIndice_DeveCompletarAPaginaSemContarOArquivado() {
+        // Given
+        contatoService.inativar(joao.getId());
+        contatoService.inativar(maria.getId());
+        etiquetaService.atualizarIndice();
+        // Arquivado depois da última atualização: o índice ainda o tem
+        contatoArquivoService.arquivar(List.of(joao.getId()));
+
+        // When
+        PaginaDTO<ContatoDTO> primeira = etiquetaService.filtrar(List.of(), List.of(), List.of(), false, null, 0, 1);
+
+        // Then
+        assertEquals(List.of("Maria Santos"), nomes(primeira));
+        assertEquals(1, primeira.getTotal());
+    }
+
+    @Test
+    void filtrar_ComEtiquetaInexistente_DeveLancarExcecao() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> etiquetaService.filtrar(List.of("Clientes"), List.of("Fornecedores"), List.of(), true, null, 0, 50));
+        assertEquals("Etiqueta não encontrada: Fornecedores", exception.getMessage());
+    }
+
+    @Test
+    void listarEtiquetas_DeveContarContatosAtivosPeloIndice() {
+        // When
+        List<EtiquetaDTO> etiquetas = etiquetaService.listarEtiquetas();
+
+        // Then
+        assertEquals(List.of("Clientes", "Família"), etiquetas.stream().map(EtiquetaDTO::getNome).toList());
+        assertEquals(2, etiquetas.get(0).getContatos());
+        assertEquals(1, etiquetas.get(1).getContatos());
+    }
+
+    @Test
+    void criarEtiqueta_ComNomeRepetido_DeveLancarExcecao() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> etiquetaService.criarEtiqueta(new EtiquetaDTO(null, " Clientes ", null)));
+        assertEquals("Já existe uma etiqueta com este nome", exception.getMessage());
+    }
+
+    @Test
+    void excluirEtiqueta_DeveRetirarDosContatos() {
+        // When
+        etiquetaService.excluirEtiqueta(clientes.getId());
+
+        // Then
+        assertEquals(List.of("Família"), etiquetaService.listarEtiquetasDoContato(joao.getId()).stream().map(EtiquetaDTO::getNome).toList());
+        assertTrue(etiquetaService.listarEtiquetasDoContato(maria.getId()).isEmpty());
+    }
+
+    @Test
+    void mesclar_DeveLevarAsEtiquetasDoDuplicadoParaOPrincipal() {
+        // When
+        contatoService.mesclar(pedro.getId(), joao.getId());
+
+        // Then
+        assertEquals(List.of("Clientes", "Família"),
+                etiquetaService.listarEtiquetasDoContato(pedro.getId()).stream().map(EtiquetaDTO::getNome).toList());
+    }
+
+    @Test
+    void arquivar_ContatoComEtiquetas_DeveRemoverAsAssociacoes() {
+        // Given
+        contatoService.inativar(joao.getId());
+
+        // When
+        int arquivados = contatoArquivoService.arquivar(
+                contatoArquivoService.buscarIdsParaArquivar(LocalDateTime.now().plusDays(1), 0, 10));
+        etiquetaService.atualizarIndice();
+
+        // Then
+        assertEquals(1, arquivados);
+        assertEquals(List.of("Maria Santos"),
+                nomes(etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of(), true, null, 0, 50)));
+        assertTrue(etiquetaService.filtrar(List.of("Clientes"), List.of(), List.of(), false, null, 0, 50).getConteudo().isEmpty());
+    }
+
+    private static List<String> nomes(PaginaDTO<ContatoDTO> pagina) {
+        return pagina.getConteudo().stream().map(ContatoDTO::getNome).toList();
+    }
+
+    private ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        dto.setAtivo(true);
+        return dto;
+    }
+}
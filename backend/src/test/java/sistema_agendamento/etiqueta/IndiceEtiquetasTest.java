@@ -0,0 +1,107 @@
+package sistema_agendamento.etiqueta;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceEtiquetasTest {
+
+    private static final long FAMILIA = 1L;
+    private static final long CLIENTES = 2L;
+    private static final long FORNECEDORES = 3L;
+
+    private IndiceEtiquetas indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceEtiquetas();
+        indice.carregar(
+                List.of(new SituacaoContato(1L, true, true),
+                        new SituacaoContato(2L, true, false),
+                        new SituacaoContato(3L, true, true),
+                        new SituacaoContato(4L, false, true),
+                        new SituacaoContato(5L, true, false)),
+                List.of(new AssociacaoEtiqueta(1L, FAMILIA),
+                        new AssociacaoEtiqueta(1L, CLIENTES),
+                        new AssociacaoEtiqueta(2L, CLIENTES),
+                        new AssociacaoEtiqueta(3L, CLIENTES),
+                        new AssociacaoEtiqueta(3L, FORNECEDORES),
+                        new AssociacaoEtiqueta(4L, CLIENTES),
+                        new AssociacaoEtiqueta(5L, FORNECEDORES)));
+    }
+
+    @Test
+    void filtrar_ComTodasEFavorito_DeveCombinarComAnd() {
+        // When
+        RoaringBitmap resultado = indice.filtrar(new FiltroEtiquetas(List.of(CLIENTES), null, null, true, true));
+
+        // Then
+        assertArrayEquals(new int[]{1, 3}, resultado.toArray());
+    }
+
+    @Test
+    void filtrar_ComQualquerEExceto_DeveCombinarComOrEAndNot() {
+        // When
+        RoaringBitmap resultado = indice.filtrar(new FiltroEtiquetas(null, List.of(FAMILIA, FORNECEDORES), List.of(CLIENTES), true, null));
+
+        // Then
+        assertArrayEquals(new int[]{5}, resultado.toArray());
+    }
+
+    @Test
+    void filtrar_ComInativos_DeveTrazerSoOsInativos() {
+        // When
+        RoaringBitmap resultado = indice.filtrar(new FiltroEtiquetas(List.of(CLIENTES), null, null, false, null));
+
+        // Then
+        assertArrayEquals(new int[]{4}, resultado.toArray());
+    }
+
+    @Test
+    void filtrar_ComEtiquetaSemContatos_DeveRetornarVazio() {
+        // When
+        RoaringBitmap resultado = indice.filtrar(new FiltroEtiquetas(List.of(99L), null, null, true, null));
+
+        // Then
+        assertTrue(resultado.isEmpty());
+    }
+
+    @Test
+    void atualizar_DeveReindexarAlteradosERetirarRemovidos() {
+        // When
+        indice.atualizar(Set.of(2L, 3L),
+                List.of(new SituacaoContato(2L, true, true)),
+                List.of(new AssociacaoEtiqueta(2L, FAMILIA)));
+
+        // Then
+        assertArrayEquals(new int[]{1, 2}, indice.filtrar(new FiltroEtiquetas(List.of(FAMILIA), null, null, true, true)).toArray());
+        assertArrayEquals(new int[]{1}, indice.filtrar(new FiltroEtiquetas(List.of(CLIENTES), null, null, true, null)).toArray());
+        assertEquals(1, indice.contarAtivos(FORNECEDORES));
+    }
+
+    @Test
+    void filtrar_NaoDeveAlterarOIndice() {
+        // When
+        indice.filtrar(new FiltroEtiquetas(List.of(FAMILIA), null, null, true, null)).clear();
+
+        // Then
+        assertEquals(4, indice.filtrar(new FiltroEtiquetas(null, null, null, true, null)).getCardinality());
+    }
+
+    @Test
+    void fatia_DevePaginarPelaPosicaoEmOrdemDeId() {
+        // Given
+        RoaringBitmap resultado = RoaringBitmap.bitmapOf(3, 10, 11, 70000, 70001);
+
+        // When & Then
+        assertEquals(List.of(3L, 10L), IndiceEtiquetas.fatia(resultado, 0, 2));
+        assertEquals(List.of(11L, 70000L), IndiceEtiquetas.fatia(resultado, 2, 2));
+        assertEquals(List.of(70001L), IndiceEtiquetas.fatia(resultado, 4, 2));
+        assertEquals(List.of(), IndiceEtiquetas.fatia(resultado, 6, 2));
+    }
+}
@@ -0,0 +1,37 @@
+package sistema_agendamento.invalidacao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificacaoInvalidacaoTest {
+
+    @Test
+    void paraPayload_DeveSerLidoDeVoltaSemPerdas() {
+        // Given
+        NotificacaoInvalidacao notificacao = new NotificacaoInvalidacao(42L, "a1b2c3d4", 7L, 3L);
+
+        // When
+        NotificacaoInvalidacao lida = NotificacaoInvalidacao.dePayload(notificacao.paraPayload());
+
+        // Then
+        assertEquals("42:a1b2c3d4:7:3", notificacao.paraPayload());
+        assertEquals(notificacao, lida);
+    }
+
+    @Test
+    void dePayload_SemVersao_DeveRetornarVersaoNula() {
+        // When
+        NotificacaoInvalidacao lida = NotificacaoInvalidacao.dePayload("42:a1b2c3d4:7:");
+
+        // Then
+        assertNull(lida.versao());
+        assertEquals(7L, lida.contatoId());
+    }
+
+    @Test
+    void dePayload_FormatoInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> NotificacaoInvalidacao.dePayload("lixo"));
+        assertThrows(IllegalArgumentException.class, () -> NotificacaoInvalidacao.dePayload("42:a1b2c3d4:7"));
+    }
+}
@@ -0,0 +1,169 @@
+package sistema_agendamento.invalidacao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import sistema_agendamento.config.InvalidacaoProperties;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+import sistema_agendamento.event.ContatosInvalidadosEvent;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OuvinteInvalidacaoTest {
+
+    // Notificações enviadas pelo pg_notify do H2 (um alias para Canal.notificar)
+    private static final List<String> NOTIFICADAS = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final InvalidacaoProperties properties = new InvalidacaoProperties();
+    private final NoLocal noLocal = new NoLocal();
+    private SingleConnectionDataSource dataSource;
+    private Connection conexao;
+    private PublicadorInvalidacao publicadorLocal;
+    private PublicadorInvalidacao publicadorRemoto;
+    private OuvinteInvalidacao ouvinte;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:invalidacao;MODE=PostgreSQL", "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE contato (contato_id INTEGER PRIMARY KEY, contato_nr_versao BIGINT)");
+        jdbcTemplate.execute("INSERT INTO contato VALUES (7, 3)");
+        jdbcTemplate.execute("CREATE TABLE contato_alteracao (" +
+                "alteracao_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "contato_id INTEGER NOT NULL, " +
+                "contato_nr_versao BIGINT, " +
+                "alteracao_no_origem VARCHAR(16) NOT NULL, " +
+                "alteracao_dh TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE ALIAS pg_notify FOR \"" + Canal.class.getName() + ".notificar\"");
+        NOTIFICADAS.clear();
+
+        properties.setMargemRecuperacao(2);
+        conexao = dataSource.getConnection();
+        publicadorLocal = new PublicadorInvalidacao(jdbcTemplate, entityManager, properties, noLocal);
+        publicadorRemoto = new PublicadorInvalidacao(jdbcTemplate, entityManager, properties, new NoLocal());
+        ouvinte = new OuvinteInvalidacao(new DataSourceProperties(), properties, eventPublisher, noLocal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void aoAlterarContato_DeveRegistrarAlteracaoENotificarNoCanalComAVersao() {
+        // When
+        publicadorLocal.aoAlterarContato(new ContatoAlteradoEvent(7L));
+        // Arquivado: já não está em contato
+        publicadorLocal.aoAlterarContato(new ContatoAlteradoEvent(9L));
+
+        // Then
+        verify(entityManager, times(2)).flush();
+        assertEquals(List.of(
+                "contato_invalidacao=1:" + noLocal.getId() + ":7:3",
+                "contato_invalidacao=2:" + noLocal.getId() + ":9:"), NOTIFICADAS);
+    }
+
+    @Test
+    void aplicar_DeveRepublicarApenasAlteracoesDeOutrosNos() {
+        // When
+        ouvinte.aplicar(new NotificacaoInvalidacao(1L, noLocal.getId(), 7L, 3L));
+        ouvinte.aplicar(new NotificacaoInvalidacao(2L, "outro-no", 9L, null));
+
+        // Then
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(9L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void recuperar_NaPrimeiraConexao_DeveDescartarOsCaches() throws SQLException {
+        // Given
+        publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(7L));
+
+        // When
+        ouvinte.recuperar(conexao);
+
+        // Then
+        verify(eventPublisher).publishEvent(new ContatosInvalidadosEvent("ouvinte de invalidação conectado"));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void recuperar_AposReconexao_DeveReaplicarAlteracoesPerdidasDeOutrosNos() throws SQLException {
+        // Given
+        ouvinte.recuperar(conexao);
+        publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(7L));
+        ouvinte.aplicar(NotificacaoInvalidacao.dePayload(NOTIFICADAS.get(0).split("=")[1]));
+        clearInvocations(eventPublisher);
+
+        // Perdidas enquanto o ouvinte estava desconectado
+        publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(8L));
+        publicadorLocal.aoAlterarContato(new ContatoAlteradoEvent(9L));
+        publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(10L));
+
+        // When
+        ouvinte.recuperar(conexao);
+
+        // Then
+        // A margem reaplica também a alteração 1, já recebida antes da queda
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(7L));
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(8L));
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(10L));
+        verify(eventPublisher, never()).publishEvent(any(ContatosInvalidadosEvent.class));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void recuperar_QuandoAlteracoesNecessariasJaForamRemovidas_DeveDescartarOsCaches() throws SQLException {
+        // Given
+        ouvinte.recuperar(conexao);
+        for (long contatoId = 1; contatoId <= 5; contatoId++) {
+            publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(contatoId));
+        }
+        new JdbcTemplate(dataSource).update("DELETE FROM contato_alteracao WHERE alteracao_id <= 3");
+        clearInvocations(eventPublisher);
+
+        // When
+        ouvinte.recuperar(conexao);
+        publicadorRemoto.aoAlterarContato(new ContatoAlteradoEvent(6L));
+        ouvinte.recuperar(conexao);
+
+        // Then
+        verify(eventPublisher).publishEvent(new ContatosInvalidadosEvent("alterações perdidas durante a desconexão"));
+        // Depois da lacuna a recuperação continua da última alteração existente
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(4L));
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(5L));
+        verify(eventPublisher).publishEvent(new ContatoAlteradoEvent(6L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    // O H2 só chama métodos de classes públicas
+    public static class Canal {
+
+        public static String notificar(String canal, String payload) {
+            NOTIFICADAS.add(canal + "=" + payload);
+            return "";
+        }
+    }
+}
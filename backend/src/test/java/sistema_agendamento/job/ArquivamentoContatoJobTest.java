@@ -0,0 +1,80 @@
+package sistema_agendamento.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import sistema_agendamento.config.ArquivamentoProperties;
+import sistema_agendamento.service.ContatoArquivoService;
+import sistema_agendamento.shard.RoteadorShards;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArquivamentoContatoJobTest {
+
+    @Mock
+    private ContatoArquivoService contatoArquivoService;
+
+    @Mock
+    private ObjectProvider<RoteadorShards> roteadorShards;
+
+    @Mock
+    private RoteadorShards shards;
+
+    private final ArquivamentoProperties properties = new ArquivamentoProperties();
+    private ArquivamentoContatoJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTamanhoLote(2);
+        job = new ArquivamentoContatoJob(contatoArquivoService, properties, roteadorShards);
+    }
+
+    @Test
+    void executar_QuandoUmLoteFalha_DevePularSoEsseLote() {
+        // Given
+        when(contatoArquivoService.buscarIdsParaArquivar(any(), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(contatoArquivoService.buscarIdsParaArquivar(any(), eq(2L), eq(2))).thenReturn(List.of(3L, 4L));
+        when(contatoArquivoService.buscarIdsParaArquivar(any(), eq(4L), eq(2))).thenReturn(List.of(5L));
+        when(contatoArquivoService.arquivar(List.of(1L, 2L)))
+                .thenThrow(new IllegalStateException("Lote de arquivamento inconsistente: 2 copiados, 1 removidos"));
+
+        // When
+        job.executar();
+
+        // Then
+        verify(contatoArquivoService).arquivar(List.of(3L, 4L));
+        verify(contatoArquivoService).arquivar(List.of(5L));
+    }
+
+    @Test
+    void executar_QuandoUmShardFalha_DeveArquivarOsDemais() {
+        // Given
+        when(roteadorShards.getIfAvailable()).thenReturn(shards);
+        when(shards.getQuantidade()).thenReturn(2);
+        when(shards.executar(anyInt(), any())).thenAnswer(invocacao -> {
+            if (invocacao.<Integer>getArgument(0) == 0) {
+                throw new IllegalStateException("shard 0 fora do ar");
+            }
+            return invocacao.<Supplier<?>>getArgument(1).get();
+        });
+        when(contatoArquivoService.buscarIdsParaArquivar(any(), anyLong(), anyInt())).thenReturn(List.of(7L));
+
+        // When
+        job.executar();
+
+        // Then
+        verify(shards, times(2)).executar(eq(1), any());
+        verify(contatoArquivoService).arquivar(List.of(7L));
+    }
+}
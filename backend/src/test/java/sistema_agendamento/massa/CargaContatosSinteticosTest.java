@@ -0,0 +1,84 @@
+package sistema_agendamento.massa;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.repository.ContatoRepository;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+// A carga usa conexões próprias e confirma cada bloco; sem transação de teste os dados ficam visíveis
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CargaContatosSinteticosTest {
+
+    private static final LocalDateTime REFERENCIA = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @AfterEach
+    void tearDown() {
+        contatoRepository.deleteAll();
+    }
+
+    @Test
+    void carregar_EmParalelo_DeveGravarOsContatosDoGeradorNaTabela() throws Exception {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(42, REFERENCIA);
+
+        // When
+        carga(gerador).carregar(2_345, false);
+
+        // Then
+        assertEquals(2_345, contatoRepository.count());
+        for (long indice : new long[]{0, 999, 2_344}) {
+            ContatoSintetico esperado = gerador.gerar(indice);
+            Contato contato = contatoRepository.findById(esperado.id()).orElseThrow();
+            assertEquals(esperado.nome(), contato.getNome());
+            assertEquals(esperado.email(), contato.getEmail());
+            assertEquals(String.valueOf(esperado.celular()), contato.getCelular());
+            assertEquals(esperado.ativo(), contato.getAtivo());
+            assertEquals(esperado.dataCadastro(), contato.getDataCadastro());
+            assertEquals(0L, contato.getVersao());
+        }
+
+        // A sequência continua depois dos ids gravados
+        Contato novo = new Contato();
+        novo.setNome("Contato Novo");
+        novo.setCelular("11000000001");
+        assertEquals(2_346L, contatoRepository.save(novo).getId());
+    }
+
+    @Test
+    void carregar_ComContatosExistentes_DeveExigirSubstituir() throws Exception {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(42, REFERENCIA);
+        carga(gerador).carregar(10, false);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> carga(gerador).carregar(10, false));
+        carga(new GeradorContatosSinteticos(43, REFERENCIA)).carregar(20, true);
+        assertEquals(20, contatoRepository.count());
+        assertEquals(new GeradorContatosSinteticos(43, REFERENCIA).gerar(0).nome(),
+                contatoRepository.findById(1L).orElseThrow().getNome());
+    }
+
+    private CargaContatosSinteticos carga(GeradorContatosSinteticos gerador) {
+        return new CargaContatosSinteticos(dataSource, gerador, 4, 500, new PrintStream(new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,92 @@
+package sistema_agendamento.massa;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeradorContatosSinteticosTest {
+
+    private static final LocalDateTime REFERENCIA = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void gerar_ComMesmaSemente_DeveProduzirOsMesmosContatosEmQualquerOrdem() {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(42, REFERENCIA);
+        GeradorContatosSinteticos outro = new GeradorContatosSinteticos(42, REFERENCIA);
+
+        // When / Then
+        for (long indice = 999; indice >= 0; indice--) {
+            assertEquals(gerador.gerar(indice), outro.gerar(indice));
+        }
+        assertNotEquals(gerador.gerar(0), new GeradorContatosSinteticos(43, REFERENCIA).gerar(0));
+    }
+
+    @Test
+    void gerar_DeveProduzirCamposNoFormatoDaAplicacao() {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(7, REFERENCIA);
+
+        // When / Then
+        for (long indice = 0; indice < 10_000; indice++) {
+            ContatoSintetico contato = gerador.gerar(indice);
+            assertEquals(indice + 1, contato.id());
+            assertTrue(contato.nome().length() <= 100);
+            assertTrue(String.valueOf(contato.celular()).matches("[1-9][1-9]9[0-9]{8}"), contato::toString);
+            if (contato.telefone() != null) {
+                assertTrue(String.valueOf(contato.telefone()).matches("[1-9][1-9][2-5][0-9]{7}"), contato::toString);
+                assertEquals(contato.celular() / 1_000_000_000L, contato.telefone() / 100_000_000L, "mesmo DDD");
+            }
+            if (contato.email() != null) {
+                assertTrue(contato.email().matches("[a-z]+\\.[a-z]+[0-9]*@[a-z.]+"), contato::toString);
+            }
+            assertFalse(contato.dataCadastro().isAfter(REFERENCIA));
+            assertTrue(contato.dataCadastro().isAfter(REFERENCIA.minusYears(6).minusSeconds(1)));
+            if (contato.ativo()) {
+                assertNull(contato.dataInativacao());
+            } else {
+                assertFalse(contato.dataInativacao().isBefore(contato.dataCadastro()));
+                assertFalse(contato.dataInativacao().isAfter(REFERENCIA));
+            }
+        }
+    }
+
+    @Test
+    void gerar_DeveManterProporcoesRealistas() {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(1, REFERENCIA);
+        int quantidade = 100_000;
+
+        // When
+        long ativos = LongStream.range(0, quantidade).filter(i -> gerador.gerar(i).ativo()).count();
+        long favoritos = LongStream.range(0, quantidade).filter(i -> gerador.gerar(i).favorito()).count();
+        long saoPaulo = LongStream.range(0, quantidade).filter(i -> gerador.gerar(i).celular() / 1_000_000_000L == 11).count();
+        long recentes = LongStream.range(0, quantidade)
+                .filter(i -> gerador.gerar(i).dataCadastro().isAfter(REFERENCIA.minusYears(3))).count();
+
+        // Then
+        assertEquals(0.90, ativos / (double) quantidade, 0.01);
+        assertEquals(0.14, favoritos / (double) quantidade, 0.01);
+        // DDD 11 tem cerca de 12% do peso total
+        assertEquals(0.123, saoPaulo / (double) quantidade, 0.01);
+        // Metade mais recente do período concentra 3/4 dos cadastros
+        assertEquals(0.75, recentes / (double) quantidade, 0.01);
+    }
+
+    @Test
+    void gerar_NaoDeveRepetirCelulares() {
+        // Given
+        GeradorContatosSinteticos gerador = new GeradorContatosSinteticos(3, REFERENCIA);
+        Set<Long> celulares = new HashSet<>();
+
+        // When / Then
+        for (long indice = 0; indice < 200_000; indice++) {
+            assertTrue(celulares.add(gerador.gerar(indice).celular()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> gerador.gerar(GeradorContatosSinteticos.MAXIMO));
+    }
+}
@@ -0,0 +1,187 @@
+package sistema_agendamento.reativo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import sistema_agendamento.dto.ContatoDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A busca automática da configuração descarta a classe anotada com @Profile, por isso é explícita
+@SpringBootTest(classes = SistemaAgendamentoReativoApplication.class, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reativo;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:reativo/schema-h2.sql"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", SistemaAgendamentoReativoApplication.PERFIL})
+class ContatoReativoControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM contato").then().block();
+        databaseClient.sql("DELETE FROM contato_arquivo").then().block();
+    }
+
+    @Test
+    void listarTodos_DeveRetornarAtivosOrdenadosPorNome() {
+        // Given
+        criar("Maria Santos", "11888888888");
+        criar("João Silva", "11999999999");
+        ContatoDTO inativo = criar("Pedro Oliveira", "11777777777");
+        webTestClient.delete().uri("/contatos/{id}", inativo.getId()).exchange().expectStatus().isNoContent();
+
+        // When
+        List<ContatoDTO> contatos = webTestClient.get().uri("/contatos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ContatoDTO.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertEquals(List.of("João Silva", "Maria Santos"), contatos.stream().map(ContatoDTO::getNome).toList());
+        assertEquals("11999999999", contatos.get(0).getCelular());
+    }
+
+    @Test
+    void listarTodos_ComNdjson_DeveEnviarUmContatoPorLinha() {
+        // Given
+        criar("João Silva", "11999999999");
+        criar("Maria Santos", "01888888888");
+
+        // When
+        String corpo = webTestClient.get().uri("/contatos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        String[] linhas = corpo.trim().split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[1].contains("\"celular\":\"01888888888\""));
+    }
+
+    @Test
+    void criar_ComCelularDuplicado_DeveRetornarMesmoErroDaVarianteMvc() {
+        // Given
+        criar("João Silva", "11999999999");
+
+        // When & Then
+        webTestClient.post().uri("/contatos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto("Outro João", "11999999999"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Já existe um contato cadastrado com este celular");
+    }
+
+    @Test
+    void criar_ComCelularInvalido_DeveRetornarErroDeValidacao() {
+        // When & Then
+        webTestClient.post().uri("/contatos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto("João Silva", "123"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.celular").isEqualTo("Celular deve ter 11 dígitos");
+    }
+
+    @Test
+    void atualizarEAlternarFavorito_DevemGravarEIncrementarVersao() {
+        // Given
+        ContatoDTO contato = criar("João Silva", "11999999999");
+        ContatoDTO alteracao = dto("João Silva Junior", "11999999998");
+        alteracao.setEmail("joao@email.com");
+
+        // When
+        webTestClient.put().uri("/contatos/{id}", contato.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(alteracao)
+                .exchange()
+                .expectStatus().isOk();
+        ContatoDTO favorito = webTestClient.patch().uri("/contatos/{id}/favorito", contato.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ContatoDTO.class)
+                .returnResult().getResponseBody();
+        Long versao = databaseClient.sql("SELECT contato_nr_versao FROM contato WHERE contato_id = :id")
+                .bind("id", contato.getId())
+                .map(linha -> linha.get("contato_nr_versao", Long.class))
+                .one().block();
+
+        // Then
+        assertEquals("João Silva Junior", favorito.getNome());
+        assertEquals("11999999998", favorito.getCelular());
+        assertEquals("joao@email.com", favorito.getEmail());
+        assertTrue(favorito.getFavorito());
+        assertEquals(2, versao);
+    }
+
+    @Test
+    void listarPagina_DeveRetornarConteudoETotal() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            criar("Contato " + i, "1190000000" + i);
+        }
+
+        // When & Then
+        webTestClient.get().uri("/contatos/pagina?pagina=1&tamanho=2&termo=contato")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(5)
+                .jsonPath("$.conteudo.length()").isEqualTo(2)
+                .jsonPath("$.conteudo[0].nome").isEqualTo("Contato 2");
+    }
+
+    @Test
+    void buscarPorId_QuandoNaoExiste_DeveRetornarBadRequest() {
+        // When & Then
+        webTestClient.get().uri("/contatos/{id}", 999)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Contato não encontrado");
+    }
+
+    private ContatoDTO criar(String nome, String celular) {
+        return webTestClient.post().uri("/contatos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto(nome, celular))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ContatoDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        dto.setAtivo(true);
+        return dto;
+    }
+}
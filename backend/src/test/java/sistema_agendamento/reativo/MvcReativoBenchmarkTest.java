@@ -0,0 +1,151 @@
+package sistema_agendamento.reativo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sistema_agendamento.SistemaAgendamentoApplication;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.service.ContatoService;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Compara a listagem de contatos da variante MVC + JPA com a WebFlux + R2DBC: requisições por
+ * segundo, latência p99, pico de conexões do pool em uso, pico de threads e pico de heap. Cada
+ * variante sobe sozinha, com a mesma base semeada e o mesmo teto de 10 conexões. Não roda no
+ * build normal:
+ *
+ * <pre>./gradlew test --tests '*MvcReativoBenchmarkTest' -Pbenchmark -Pbenchmark.threads=64</pre>
+ *
+ * A variante MVC mantém a coalescência de leituras, como em produção. Com o H2 em memória não há
+ * rede entre aplicação e banco; para números representativos aponte as duas para um PostgreSQL.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MvcReativoBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int OPERACOES_POR_THREAD = Integer.getInteger("benchmark.operacoes", 200);
+    private static final int CONTATOS = 1000;
+
+    @Test
+    void compararListagemMvcComReativa() throws Exception {
+        String mvc;
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(SistemaAgendamentoApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-mvc;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--agendamento.admissao.habilitada=false",
+                        "--logging.level.root=WARN")) {
+            ContatoService service = contexto.getBean(ContatoService.class);
+            for (int i = 0; i < CONTATOS; i++) {
+                service.criar(dto(i));
+            }
+            HikariDataSource pool = contexto.getBean(DataSource.class).unwrap(HikariDataSource.class);
+            mvc = medir("MVC + JPA", contexto, () -> pool.getHikariPoolMXBean().getActiveConnections());
+        }
+
+        String reativo;
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(SistemaAgendamentoReativoApplication.class)
+                .profiles("test", SistemaAgendamentoReativoApplication.PERFIL)
+                .run("--spring.r2dbc.url=r2dbc:h2:mem:///benchmark-reativo;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:reativo/schema-h2.sql",
+                        "--logging.level.root=WARN")) {
+            ContatoReativoService service = contexto.getBean(ContatoReativoService.class);
+            for (int i = 0; i < CONTATOS; i++) {
+                service.criar(dto(i)).block();
+            }
+            ConnectionPool pool = (ConnectionPool) contexto.getBean(ConnectionFactory.class);
+            reativo = medir("WebFlux + R2DBC", contexto,
+                    () -> pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0));
+        }
+
+        System.out.printf("%n| Variante | Clientes | Req/s | p99 | Conexões (pico) | Threads (pico) | Heap (pico) |%n"
+                + "|---|---|---|---|---|---|---|%n%s%n%s%n", mvc, reativo);
+    }
+
+    private String medir(String variante, ConfigurableApplicationContext contexto, IntSupplier conexoesEmUso) throws Exception {
+        String porta = contexto.getEnvironment().getProperty("local.server.port");
+        URI uri = URI.create("http://localhost:" + porta + "/api/contatos");
+        HttpClient cliente = HttpClient.newHttpClient();
+
+        // Aquecimento
+        for (int i = 0; i < 50; i++) {
+            cliente.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        AtomicInteger picoConexoes = new AtomicInteger();
+        AtomicInteger picoThreads = new AtomicInteger();
+        AtomicLong picoHeap = new AtomicLong();
+        Thread amostragem = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                picoConexoes.accumulateAndGet(conexoesEmUso.getAsInt(), Math::max);
+                picoThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+                picoHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long[] latencias = new long[THREADS * OPERACOES_POR_THREAD];
+        AtomicInteger proxima = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                        long inicio = System.nanoTime();
+                        cliente.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                        latencias[proxima.getAndIncrement()] = System.nanoTime() - inicio;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        amostragem.interrupt();
+
+        Arrays.sort(latencias);
+        return String.format("| %s | %d | %.0f | %.2f ms | %d | %d | %d MB |", variante, THREADS, latencias.length / segundos,
+                latencias[(int) (latencias.length * 0.99)] / 1e6, picoConexoes.get(), picoThreads.get(), picoHeap.get() >> 20);
+    }
+
+    private ContatoDTO dto(int i) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(String.format("Contato %04d", i));
+        dto.setEmail("contato" + i + "@email.com");
+        dto.setCelular(String.format("119%08d", i));
+        dto.setFavorito(i % 10 == 0);
+        dto.setAtivo(true);
+        return dto;
+    }
+}
@@ -0,0 +1,100 @@
+package sistema_agendamento.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.entity.ContatoArquivado;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ContatoArquivadoRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Test
+    void findIdsInativosAntesDe_DeveIgnorarAtivosERecentes() {
+        // Given
+        Contato antigo = persistir("João Silva", "11999999999", false, LocalDateTime.now().minusDays(120));
+        persistir("Maria Santos", "11888888888", false, LocalDateTime.now().minusDays(10));
+        persistir("Pedro Oliveira", "11777777777", true, null);
+
+        // When
+        List<Long> ids = contatoRepository.findIdsInativosAntesDe(LocalDateTime.now().minusDays(90), 0, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(antigo.getId()), ids);
+    }
+
+    @Test
+    void copiarParaArquivo_DeveMoverContatoERestaurarComMesmoId() {
+        // Given
+        Contato contato = persistir("João Silva", "11999999999", false, LocalDateTime.now().minusDays(120));
+        List<Long> ids = List.of(contato.getId());
+
+        // When
+        int copiados = contatoRepository.copiarParaArquivo(ids, LocalDateTime.now());
+        int removidos = contatoRepository.deleteInativosByIds(ids);
+        entityManager.clear();
+
+        // Then
+        assertEquals(1, copiados);
+        assertEquals(1, removidos);
+        assertFalse(contatoRepository.findById(contato.getId()).isPresent());
+        ContatoArquivado arquivado = contatoArquivadoRepository.findById(contato.getId()).orElseThrow();
+        assertEquals("11999999999", arquivado.getCelular());
+        assertTrue(contatoArquivadoRepository.existsByCelular("11999999999"));
+
+        // When
+        contatoArquivadoRepository.restaurarParaTabelaPrincipal(contato.getId());
+        contatoArquivadoRepository.deleteById(contato.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Contato restaurado = contatoRepository.findById(contato.getId()).orElseThrow();
+        assertTrue(restaurado.getAtivo());
+        assertNull(restaurado.getDataInativacao());
+        assertFalse(contatoArquivadoRepository.existsByCelular("11999999999"));
+    }
+
+    @Test
+    void deleteInativosByIds_NaoDeveRemoverContatoReativado() {
+        // Given
+        Contato contato = persistir("João Silva", "11999999999", true, null);
+
+        // When
+        int removidos = contatoRepository.deleteInativosByIds(List.of(contato.getId()));
+
+        // Then
+        assertEquals(0, removidos);
+    }
+
+    private Contato persistir(String nome, String celular, boolean ativo, LocalDateTime dataInativacao) {
+        Contato contato = new Contato();
+        contato.setNome(nome);
+        contato.setCelular(celular);
+        contato.setAtivo(ativo);
+        contato.setFavorito(false);
+        contato.setDataCadastro(LocalDateTime.now().minusDays(365));
+        contato.setDataInativacao(dataInativacao);
+        entityManager.persist(contato);
+        entityManager.flush();
+        return contato;
+    }
+}
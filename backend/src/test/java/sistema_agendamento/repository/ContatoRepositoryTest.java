@@ -4,11 +4,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import sistema_agendamento.entity.Contato;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,8 +30,8 @@ class ContatoRepositoryTest {
     @Test
     void findAllAtivos_DeveRetornarApenasContatosAtivos() {
         // Given
-        Contato contatoAtivo = criarContato("João Silva", "11999999999", 'S');
-        Contato contatoInativo = criarContato("Maria Santos", "11888888888", 'N');
+        Contato contatoAtivo = criarContato("João Silva", "11999999999", true);
+        Contato contatoInativo = criarContato("Maria Santos", "11888888888", false);
         
         entityManager.persist(contatoAtivo);
         entityManager.persist(contatoInativo);
@@ -39,17 +43,17 @@ class ContatoRepositoryTest {
         // Then
         assertEquals(1, contatosAtivos.size());
         assertEquals("João Silva", contatosAtivos.get(0).getNome());
-        assertEquals('S', contatosAtivos.get(0).getAtivo());
+        assertTrue(contatosAtivos.get(0).getAtivo());
     }
 
     @Test
     void findAllFavoritos_DeveRetornarApenasContatosFavoritos() {
         // Given
-        Contato contatoFavorito = criarContato("João Silva", "11999999999", 'S');
-        contatoFavorito.setFavorito('S');
+        Contato contatoFavorito = criarContato("João Silva", "11999999999", true);
+        contatoFavorito.setFavorito(true);
         
-        Contato contatoNaoFavorito = criarContato("Maria Santos", "11888888888", 'S');
-        contatoNaoFavorito.setFavorito('N');
+        Contato contatoNaoFavorito = criarContato("Maria Santos", "11888888888", true);
+        contatoNaoFavorito.setFavorito(false);
         
         entityManager.persist(contatoFavorito);
         entityManager.persist(contatoNaoFavorito);
@@ -61,13 +65,13 @@ class ContatoRepositoryTest {
         // Then
         assertEquals(1, contatosFavoritos.size());
         assertEquals("João Silva", contatosFavoritos.get(0).getNome());
-        assertEquals('S', contatosFavoritos.get(0).getFavorito());
+        assertTrue(contatosFavoritos.get(0).getFavorito());
     }
 
     @Test
     void findByCelular_QuandoCelularExiste_DeveRetornarContato() {
         // Given
-        Contato contato = criarContato("João Silva", "11999999999", 'S');
+        Contato contato = criarContato("João Silva", "11999999999", true);
         entityManager.persist(contato);
         entityManager.flush();
 
@@ -83,7 +87,7 @@ class ContatoRepositoryTest {
     @Test
     void findByCelular_QuandoCelularNaoExiste_DeveRetornarVazio() {
         // Given
-        Contato contato = criarContato("João Silva", "11999999999", 'S');
+        Contato contato = criarContato("João Silva", "11999999999", true);
         entityManager.persist(contato);
         entityManager.flush();
 
@@ -94,12 +98,28 @@ class ContatoRepositoryTest {
         assertFalse(resultado.isPresent());
     }
 
+    @Test
+    void travarInativos_DeveRetornarApenasOsQueContinuamInativos() {
+        // Given
+        Contato ativo = criarContato("João Silva", "11999999999", true);
+        Contato inativo = criarContato("Maria Santos", "11888888888", false);
+        entityManager.persist(ativo);
+        entityManager.persist(inativo);
+        entityManager.flush();
+
+        // When
+        List<Contato> travados = contatoRepository.travarInativos(List.of(ativo.getId(), inativo.getId()));
+
+        // Then
+        assertEquals(List.of(inativo.getId()), travados.stream().map(Contato::getId).toList());
+    }
+
     @Test
     void buscarPorTermo_DeveRetornarContatosComTermoSimilar() {
         // Given
-        Contato contato1 = criarContato("João Silva", "11999999999", 'S');
-        Contato contato2 = criarContato("João Santos", "11888888888", 'S');
-        Contato contato3 = criarContato("Maria Silva", "11777777777", 'S');
+        Contato contato1 = criarContato("João Silva", "11999999999", true);
+        Contato contato2 = criarContato("João Santos", "11888888888", true);
+        Contato contato3 = criarContato("Maria Silva", "11777777777", true);
         
         entityManager.persist(contato1);
         entityManager.persist(contato2);
@@ -117,8 +137,8 @@ class ContatoRepositoryTest {
     @Test
     void buscarPorTermo_DeveRetornarContatosPorCelular() {
         // Given
-        Contato contato1 = criarContato("João Silva", "11999999999", 'S');
-        Contato contato2 = criarContato("Maria Santos", "11888888888", 'S');
+        Contato contato1 = criarContato("João Silva", "11999999999", true);
+        Contato contato2 = criarContato("Maria Santos", "11888888888", true);
         
         entityManager.persist(contato1);
         entityManager.persist(contato2);
@@ -132,10 +152,130 @@ class ContatoRepositoryTest {
         assertEquals("11999999999", resultado.get(0).getCelular());
     }
 
+    @Test
+    void buscarPorTermo_QuandoParteDoCelular_DeveRetornarContato() {
+        // Given
+        entityManager.persist(criarContato("João Silva", "11999999999", true));
+        entityManager.persist(criarContato("Maria Santos", "21888888888", true));
+        entityManager.flush();
+
+        // When
+        List<Contato> resultado = contatoRepository.buscarPorTermo("2188");
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals("Maria Santos", resultado.get(0).getNome());
+    }
+
+    @Test
+    void buscarPagina_DeveFiltrarPorEmailETelefoneEPaginar() {
+        // Given
+        Contato joao = criarContato("João Silva", "11999999999", true);
+        joao.setEmail("joao@empresa.com");
+        Contato maria = criarContato("Maria Santos", "11888888888", true);
+        maria.setTelefone("1144440000");
+        maria.setEmail("maria@empresa.com");
+        entityManager.persist(joao);
+        entityManager.persist(maria);
+        entityManager.persist(criarContato("Pedro Oliveira", "11777777777", true));
+        entityManager.flush();
+
+        // When
+        Page<Contato> porEmail = contatoRepository.buscarPagina("empresa", false,
+                PageRequest.of(0, 1, Sort.by("nome", "id")));
+        Page<Contato> porTelefone = contatoRepository.buscarPagina("4444", false,
+                PageRequest.of(0, 10, Sort.by("nome", "id")));
+
+        // Then
+        assertEquals(2, porEmail.getTotalElements());
+        assertEquals("João Silva", porEmail.getContent().get(0).getNome());
+        assertEquals(List.of("Maria Santos"), porTelefone.map(Contato::getNome).getContent());
+    }
+
+    @Test
+    void findPaginaAtivos_QuandoFavoritos_DeveRetornarApenasFavoritosAtivos() {
+        // Given
+        Contato favorito = criarContato("João Silva", "11999999999", true);
+        favorito.setFavorito(true);
+        Contato favoritoInativo = criarContato("Maria Santos", "11888888888", false);
+        favoritoInativo.setFavorito(true);
+        entityManager.persist(favorito);
+        entityManager.persist(favoritoInativo);
+        entityManager.persist(criarContato("Pedro Oliveira", "11777777777", true));
+        entityManager.flush();
+
+        // When
+        Page<Contato> favoritos = contatoRepository.findPaginaAtivos(true, PageRequest.of(0, 10, Sort.by("nome")));
+        Page<Contato> todos = contatoRepository.findPaginaAtivos(false, PageRequest.of(0, 10, Sort.by("nome")));
+
+        // Then
+        assertEquals(List.of("João Silva"), favoritos.map(Contato::getNome).getContent());
+        assertEquals(2, todos.getTotalElements());
+    }
+
+    @Test
+    void findAllAtivos_ComCampos_DeveRetornarApenasCamposPedidosNaOrdem() {
+        // Given
+        Contato contato = criarContato("João Silva", "11999999999", true);
+        contato.setEmail("joao@email.com");
+        entityManager.persist(contato);
+        entityManager.persist(criarContato("Maria Santos", "11888888888", false));
+        entityManager.flush();
+
+        // When
+        List<Map<String, Object>> resultado = contatoRepository.findAllAtivos(List.of("nome", "celular", "favorito"));
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals(List.of("nome", "celular", "favorito"), List.copyOf(resultado.get(0).keySet()));
+        assertEquals("João Silva", resultado.get(0).get("nome"));
+        assertEquals("11999999999", resultado.get(0).get("celular"));
+        assertEquals(false, resultado.get(0).get("favorito"));
+    }
+
+    @Test
+    void buscarPorTermo_ComCampos_DeveFiltrarPorParteDoCelular() {
+        // Given
+        entityManager.persist(criarContato("João Silva", "11999999999", true));
+        entityManager.persist(criarContato("Maria Santos", "21888888888", true));
+        entityManager.flush();
+
+        // When
+        List<Map<String, Object>> resultado = contatoRepository.buscarPorTermo("2188", List.of("id", "nome"));
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals("Maria Santos", resultado.get(0).get("nome"));
+    }
+
+    @Test
+    void save_DeveGravarTelefonesComoNumeroEPreservarZerosAEsquerda() {
+        // Given
+        Contato contato = criarContato("João Silva", "01999999999", true);
+        contato.setTelefone("0133333333");
+        entityManager.persist(contato);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Object celularGravado = entityManager.getEntityManager()
+                .createNativeQuery("SELECT contato_celular FROM contato WHERE contato_id = :id")
+                .setParameter("id", contato.getId())
+                .getSingleResult();
+        Contato recarregado = contatoRepository.findByCelular("01999999999").orElseThrow();
+
+        // Then
+        assertEquals(1999999999L, ((Number) celularGravado).longValue());
+        assertEquals("01999999999", recarregado.getCelular());
+        assertEquals("0133333333", recarregado.getTelefone());
+        assertTrue(recarregado.getAtivo());
+        assertFalse(recarregado.getFavorito());
+    }
+
     @Test
     void save_DeveSalvarContatoComSucesso() {
         // Given
-        Contato contato = criarContato("João Silva", "11999999999", 'S');
+        Contato contato = criarContato("João Silva", "11999999999", true);
 
         // When
         Contato contatoSalvo = contatoRepository.save(contato);
@@ -150,7 +290,7 @@ class ContatoRepositoryTest {
     @Test
     void findById_QuandoIdExiste_DeveRetornarContato() {
         // Given
-        Contato contato = criarContato("João Silva", "11999999999", 'S');
+        Contato contato = criarContato("João Silva", "11999999999", true);
         entityManager.persist(contato);
         entityManager.flush();
 
@@ -174,7 +314,7 @@ class ContatoRepositoryTest {
     @Test
     void delete_DeveRemoverContato() {
         // Given
-        Contato contato = criarContato("João Silva", "11999999999", 'S');
+        Contato contato = criarContato("João Silva", "11999999999", true);
         entityManager.persist(contato);
         entityManager.flush();
 
@@ -187,12 +327,12 @@ class ContatoRepositoryTest {
         assertFalse(resultado.isPresent());
     }
 
-    private Contato criarContato(String nome, String celular, char ativo) {
+    private Contato criarContato(String nome, String celular, boolean ativo) {
         Contato contato = new Contato();
         contato.setNome(nome);
         contato.setCelular(celular);
         contato.setAtivo(ativo);
-        contato.setFavorito('N');
+        contato.setFavorito(false);
         contato.setDataCadastro(LocalDateTime.now());
         return contato;
     }
@@ -0,0 +1,122 @@
+package sistema_agendamento.serializacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import sistema_agendamento.config.FragmentosJsonProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContatosJsonHttpMessageConverterTest {
+
+    private static final Type LISTA_CONTATOS = new ParameterizedTypeReference<List<ContatoDTO>>() { }.getType();
+    private static final Type PAGINA_CONTATOS = new ParameterizedTypeReference<PaginaDTO<ContatoDTO>>() { }.getType();
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private CacheFragmentosJson cache;
+    private ContatosJsonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        cache = new CacheFragmentosJson(objectMapper, new FragmentosJsonProperties());
+        converter = new ContatosJsonHttpMessageConverter(cache);
+    }
+
+    @Test
+    void write_ComListaEPagina_DeveGerarOMesmoJsonQueOJackson() throws IOException {
+        // Given
+        List<ContatoDTO> contatos = List.of(contato(1L, "João Silva", 0L), contato(2L, "Maria \"Mia\" Santos", 3L));
+        PaginaDTO<ContatoDTO> pagina = new PaginaDTO<>(contatos, 1, 2, 7L);
+
+        // When & Then
+        assertEquals(escreverComJackson(contatos, LISTA_CONTATOS), escrever(contatos, LISTA_CONTATOS));
+        assertEquals(escreverComJackson(pagina, PAGINA_CONTATOS), escrever(pagina, PAGINA_CONTATOS));
+        assertEquals(escreverComJackson(List.of(), LISTA_CONTATOS), escrever(List.of(), LISTA_CONTATOS));
+        assertFalse(escrever(contatos, LISTA_CONTATOS).contains("versao"));
+    }
+
+    @Test
+    void write_ComMesmaVersao_DeveReaproveitarOFragmento() throws IOException {
+        // Given
+        ContatoDTO contato = contato(1L, "João Silva", 0L);
+        escrever(contato, ContatoDTO.class);
+
+        // When
+        contato.setNome("Nome que só uma nova versão traria");
+        String reaproveitado = escrever(contato, ContatoDTO.class);
+        contato.setVersao(1L);
+        String novaVersao = escrever(contato, ContatoDTO.class);
+
+        // Then
+        assertTrue(reaproveitado.contains("João Silva"));
+        assertTrue(novaVersao.contains("Nome que só uma nova versão traria"));
+        assertEquals(1, cache.getAcertos());
+        assertEquals(2, cache.getSerializacoes());
+    }
+
+    @Test
+    void aoAlterarContato_DeveDescartarOFragmento() throws IOException {
+        // Given
+        ContatoDTO contato = contato(1L, "João Silva", 0L);
+        escrever(contato, ContatoDTO.class);
+
+        // When
+        cache.aoAlterarContato(new ContatoAlteradoEvent(1L));
+        escrever(contato, ContatoDTO.class);
+
+        // Then
+        assertEquals(0, cache.getAcertos());
+        assertEquals(2, cache.getSerializacoes());
+    }
+
+    @Test
+    void canWrite_DeveAceitarSoTiposQueGarantemContatos() {
+        // When & Then
+        assertTrue(converter.canWrite(ContatoDTO.class, ContatoDTO.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(LISTA_CONTATOS, List.class, null));
+        assertTrue(converter.canWrite(PAGINA_CONTATOS, PaginaDTO.class, MediaType.ALL));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<Map<String, Object>>>() { }.getType(), List.class, null));
+        assertFalse(converter.canWrite(LISTA_CONTATOS, List.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(ContatoDTO.class, MediaType.APPLICATION_JSON));
+    }
+
+    private String escrever(Object valor, Type tipo) throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        converter.write(valor, tipo, MediaType.APPLICATION_JSON, saida);
+        return saida.getBodyAsString();
+    }
+
+    private String escreverComJackson(Object valor, Type tipo) throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        jackson.write(valor, tipo, MediaType.APPLICATION_JSON, saida);
+        return saida.getBodyAsString();
+    }
+
+    private static ContatoDTO contato(Long id, String nome, Long versao) {
+        ContatoDTO contato = new ContatoDTO();
+        contato.setId(id);
+        contato.setNome(nome);
+        contato.setCelular("1199999999" + id);
+        contato.setFavorito(id % 2 == 0);
+        contato.setAtivo(true);
+        contato.setDataCadastro(LocalDateTime.of(2026, 1, 15, 10, 30));
+        contato.setVersao(versao);
+        return contato;
+    }
+}
@@ -0,0 +1,106 @@
+package sistema_agendamento.serializacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import sistema_agendamento.config.FragmentosJsonProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara CPU e bytes alocados por requisição ao escrever uma página de contatos com o conversor
+ * Jackson e com os fragmentos já serializados. Não roda no build normal:
+ *
+ * <pre>./gradlew test --tests '*FragmentosJsonBenchmarkTest' -Pbenchmark -Pbenchmark.contatos=200</pre>
+ *
+ * Mede só a escrita do corpo, que é o que os fragmentos evitam; consulta ao banco e conversão
+ * entidade → DTO são iguais nos dois caminhos. O corpo é descartado para que o buffer da resposta
+ * não entre na conta de alocação.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FragmentosJsonBenchmarkTest {
+
+    private static final int CONTATOS = Integer.getInteger("benchmark.contatos", 200);
+    private static final int REQUISICOES = Integer.getInteger("benchmark.requisicoes", 20_000);
+    private static final Type PAGINA_CONTATOS = new ParameterizedTypeReference<PaginaDTO<ContatoDTO>>() { }.getType();
+
+    @Test
+    void compararJacksonComFragmentos() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        ContatosJsonHttpMessageConverter fragmentos = new ContatosJsonHttpMessageConverter(
+                new CacheFragmentosJson(objectMapper, new FragmentosJsonProperties()));
+        PaginaDTO<ContatoDTO> pagina = new PaginaDTO<>(contatos(), 0, CONTATOS, (long) CONTATOS);
+
+        medir(jackson, pagina);
+        medir(fragmentos, pagina);
+
+        System.out.printf("%n| Conversor | Contatos | CPU/requisição (µs) | Alocado/requisição (KB) |%n|---|---|---|---|%n%s%n%s%n",
+                medir(jackson, pagina).formatar("Jackson"), medir(fragmentos, pagina).formatar("Fragmentos"));
+    }
+
+    private static Medida medir(GenericHttpMessageConverter<Object> converter, PaginaDTO<ContatoDTO> pagina) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long cpuInicial = threads.getCurrentThreadCpuTime();
+        long alocadoInicial = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < REQUISICOES; i++) {
+            converter.write(pagina, PAGINA_CONTATOS, MediaType.APPLICATION_JSON, new SaidaDescartada());
+        }
+        return new Medida((threads.getCurrentThreadCpuTime() - cpuInicial) / REQUISICOES,
+                (threads.getCurrentThreadAllocatedBytes() - alocadoInicial) / REQUISICOES);
+    }
+
+    private static List<ContatoDTO> contatos() {
+        List<ContatoDTO> contatos = new ArrayList<>(CONTATOS);
+        for (long id = 1; id <= CONTATOS; id++) {
+            ContatoDTO contato = new ContatoDTO();
+            contato.setId(id);
+            contato.setNome("Contato de Benchmark " + id);
+            contato.setEmail("contato" + id + "@exemplo.com.br");
+            contato.setCelular(String.format("119%08d", id));
+            contato.setTelefone(String.format("11%08d", id));
+            contato.setFavorito(id % 5 == 0);
+            contato.setAtivo(true);
+            contato.setDataCadastro(LocalDateTime.of(2026, 1, 1, 8, 0).plusMinutes(id));
+            contato.setVersao(0L);
+            contatos.add(contato);
+        }
+        return contatos;
+    }
+
+    private record Medida(long cpuNanos, long bytesAlocados) {
+
+        String formatar(String conversor) {
+            return String.format("| %s | %d | %.1f | %.1f |", conversor, CONTATOS, cpuNanos / 1000.0, bytesAlocados / 1024.0);
+        }
+    }
+
+    private static class SaidaDescartada implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package sistema_agendamento.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import sistema_agendamento.event.ContatoAlteradoEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescedorLeiturasTest {
+
+    private static final int CHAMADAS_CONCORRENTES = 50;
+
+    @Test
+    void executar_ChamadasConcorrentesIdenticas_DevemCompartilharUmaConsulta() throws Exception {
+        // Given
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(5000);
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS_CONCORRENTES);
+
+        // When
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS_CONCORRENTES; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return coalescedor.executar("listarTodos", () -> {
+                    consultas.incrementAndGet();
+                    dormir(200);
+                    return "contatos";
+                });
+            }));
+        }
+        largada.countDown();
+        for (Future<String> resultado : resultados) {
+            assertEquals("contatos", resultado.get());
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(consultas.get() < CHAMADAS_CONCORRENTES / 5,
+                "Esperava poucas consultas ao banco, mas foram " + consultas.get());
+        assertEquals(consultas.get(), coalescedor.getConsultasExecutadas());
+        assertEquals(CHAMADAS_CONCORRENTES - consultas.get(), coalescedor.getChamadasCompartilhadas());
+    }
+
+    @Test
+    void executar_ArgumentosDiferentes_NaoDevemCompartilharConsulta() {
+        // Given
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(2000);
+
+        // When
+        String primeiro = coalescedor.executar("buscarPorId", () -> "contato 1", 1L);
+        String segundo = coalescedor.executar("buscarPorId", () -> "contato 2", 2L);
+
+        // Then
+        assertEquals("contato 1", primeiro);
+        assertEquals("contato 2", segundo);
+        assertEquals(2, coalescedor.getConsultasExecutadas());
+    }
+
+    @Test
+    void executar_AposEscritaConfirmada_NaoDeveReaproveitarConsultaAnterior() throws Exception {
+        // Given
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(5000);
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> antiga = executor.submit(() -> coalescedor.executar("listarTodos", () -> {
+            consultaIniciada.countDown();
+            aguardar(liberarConsulta);
+            return "antes da escrita";
+        }));
+        consultaIniciada.await();
+
+        // When
+        coalescedor.aoAlterarContato(new ContatoAlteradoEvent(1L));
+        String nova = coalescedor.executar("listarTodos", () -> "depois da escrita");
+        liberarConsulta.countDown();
+
+        // Then
+        assertEquals("depois da escrita", nova);
+        assertEquals("antes da escrita", antiga.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void executar_DuranteOCommitDeUmaEscrita_NaoDeveReaproveitarConsultaAnterior() throws Exception {
+        // Given
+        AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext(
+                CoalescedorLeituras.class, TransactionalEventListenerFactory.class);
+        CoalescedorLeituras coalescedor = contexto.getBean(CoalescedorLeituras.class);
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> antiga = executor.submit(() -> coalescedor.executar("listarTodos", () -> {
+            consultaIniciada.countDown();
+            aguardar(liberarConsulta);
+            return "antes da escrita";
+        }));
+        consultaIniciada.await();
+
+        // When
+        // Commit em andamento: a escrita já foi para o banco, mas o AFTER_COMMIT ainda não rodou
+        TransactionSynchronizationManager.initSynchronization();
+        String nova;
+        try {
+            contexto.publishEvent(new ContatoAlteradoEvent(1L));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            nova = coalescedor.executar("listarTodos", () -> "depois da escrita");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        liberarConsulta.countDown();
+
+        // Then
+        assertEquals("depois da escrita", nova);
+        assertEquals(0, coalescedor.getChamadasCompartilhadas());
+        assertEquals("antes da escrita", antiga.get());
+        executor.shutdown();
+        contexto.close();
+    }
+
+    @Test
+    void executar_QuandoConsultaFalha_DevePropagarExcecaoParaQuemAguarda() throws Exception {
+        // Given
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(5000);
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Object> lider = executor.submit(() -> coalescedor.executar("buscarPorId", () -> {
+            consultaIniciada.countDown();
+            aguardar(liberarConsulta);
+            throw new RuntimeException("Contato não encontrado");
+        }, 999L));
+        consultaIniciada.await();
+
+        // When
+        Future<Object> seguidor = executor.submit(() -> coalescedor.executar("buscarPorId", () -> "não deveria executar", 999L));
+        while (coalescedor.getChamadasCompartilhadas() == 0) {
+            Thread.onSpinWait();
+        }
+        liberarConsulta.countDown();
+
+        // Then
+        Exception erroLider = assertThrows(Exception.class, lider::get);
+        Exception erroSeguidor = assertThrows(Exception.class, seguidor::get);
+        assertEquals("Contato não encontrado", erroLider.getCause().getMessage());
+        assertEquals("Contato não encontrado", erroSeguidor.getCause().getMessage());
+        executor.shutdown();
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,18 +5,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import sistema_agendamento.config.SnapshotProperties;
 import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
 import sistema_agendamento.entity.Contato;
+import sistema_agendamento.event.ContatoTransicaoEvent;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
 import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.snapshot.LeituraDegradada;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +38,19 @@ class ContatoServiceTest {
     @Mock
     private ContatoRepository contatoRepository;
 
+    @Mock
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CoalescedorLeituras coalescedorLeituras = new CoalescedorLeituras(2000);
+
+    // Sem snapshot publicado: toda leitura vai ao repositório
+    @Spy
+    private LeituraDegradada leituraDegradada = new LeituraDegradada(new SnapshotProperties());
+
     @InjectMocks
     private ContatoService contatoService;
 
@@ -40,8 +66,8 @@ class ContatoServiceTest {
         contato1.setEmail("joao@email.com");
         contato1.setCelular("11999999999");
         contato1.setTelefone("1133333333");
-        contato1.setFavorito('S');
-        contato1.setAtivo('S');
+        contato1.setFavorito(true);
+        contato1.setAtivo(true);
         contato1.setDataCadastro(LocalDateTime.now());
 
         contato2 = new Contato();
@@ -50,8 +76,8 @@ class ContatoServiceTest {
         contato2.setEmail("maria@email.com");
         contato2.setCelular("11888888888");
         contato2.setTelefone("1144444444");
-        contato2.setFavorito('N');
-        contato2.setAtivo('S');
+        contato2.setFavorito(false);
+        contato2.setAtivo(true);
         contato2.setDataCadastro(LocalDateTime.now());
 
         contatoDTO = new ContatoDTO();
@@ -120,6 +146,53 @@ class ContatoServiceTest {
         verify(contatoRepository).findById(999L);
     }
 
+    @Test
+    void listarPagina_ComTermo_DeveBuscarPaginaOrdenadaPorNomeEId() {
+        // Given
+        PageRequest pedido = PageRequest.of(2, 20, Sort.by("nome", "id"));
+        when(contatoRepository.buscarPagina("joão", true, pedido))
+                .thenReturn(new PageImpl<>(List.of(contato1), pedido, 41));
+
+        // When
+        PaginaDTO<ContatoDTO> resultado = contatoService.listarPagina(2, 20, " joão ", true);
+
+        // Then
+        assertEquals(1, resultado.getConteudo().size());
+        assertEquals("João Silva", resultado.getConteudo().get(0).getNome());
+        assertEquals(41L, resultado.getTotal());
+        verify(contatoRepository, never()).findPaginaAtivos(anyBoolean(), any());
+    }
+
+    @Test
+    void listarPagina_QuandoTamanhoAcimaDoLimite_DeveLancarExcecao() {
+        // When & Then
+        assertThrows(RuntimeException.class, () -> contatoService.listarPagina(0, 1000, null, false));
+        verifyNoInteractions(contatoRepository);
+    }
+
+    @Test
+    void listarTodos_ComFields_DeveConsultarApenasCamposPedidosSemRepetir() {
+        // Given
+        when(contatoRepository.findAllAtivos(List.of("id", "nome")))
+                .thenReturn(List.of(Map.of("id", 1L, "nome", "João Silva")));
+
+        // When
+        List<Map<String, Object>> resultado = contatoService.listarTodos(" id, nome,id ");
+
+        // Then
+        assertEquals("João Silva", resultado.get(0).get("nome"));
+        verify(contatoRepository).findAllAtivos(List.of("id", "nome"));
+        verify(contatoRepository, never()).findAllAtivos();
+    }
+
+    @Test
+    void listarTodos_ComFieldsDesconhecido_DeveLancarExcecao() {
+        // When & Then
+        RuntimeException erro = assertThrows(RuntimeException.class, () -> contatoService.listarTodos("nome,versao"));
+        assertEquals("Campo desconhecido: versao", erro.getMessage());
+        verifyNoInteractions(contatoRepository);
+    }
+
     @Test
     void criar_QuandoCelularNaoExiste_DeveCriarContato() {
         // Given
@@ -146,6 +219,17 @@ class ContatoServiceTest {
         verify(contatoRepository, never()).save(any(Contato.class));
     }
 
+    @Test
+    void criar_QuandoCelularEstaArquivado_DeveLancarExcecao() {
+        // Given
+        when(contatoRepository.findByCelular("11777777777")).thenReturn(Optional.empty());
+        when(contatoArquivadoRepository.existsByCelular("11777777777")).thenReturn(true);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> contatoService.criar(contatoDTO));
+        verify(contatoRepository, never()).save(any(Contato.class));
+    }
+
     @Test
     void alternarFavorito_DeveAlternarStatusFavorito() {
         // Given
@@ -161,6 +245,52 @@ class ContatoServiceTest {
         verify(contatoRepository).save(any(Contato.class));
     }
 
+    @Test
+    void alternarFavorito_DeveResponderComAVersaoIncrementadaNoFlush() {
+        // Given
+        contato1.setVersao(3L);
+        when(contatoRepository.findById(1L)).thenReturn(Optional.of(contato1));
+        when(contatoRepository.save(any(Contato.class))).thenReturn(contato1);
+        // Como o Hibernate, a versão só muda quando as alterações chegam ao banco
+        doAnswer(invocation -> {
+            contato1.setVersao(4L);
+            return null;
+        }).when(contatoRepository).flush();
+
+        // When
+        ContatoDTO resultado = contatoService.alternarFavorito(1L);
+
+        // Then
+        assertFalse(resultado.getFavorito());
+        assertEquals(4L, resultado.getVersao());
+    }
+
+    @Test
+    void mesclar_DeveCompletarPrincipalEInativarDuplicado() {
+        // Given
+        contato2.setFavorito(true);
+        contato1.setEmail(null);
+        when(contatoRepository.findById(1L)).thenReturn(Optional.of(contato1));
+        when(contatoRepository.findById(2L)).thenReturn(Optional.of(contato2));
+        when(contatoRepository.save(any(Contato.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ContatoDTO resultado = contatoService.mesclar(1L, 2L);
+
+        // Then
+        assertEquals("maria@email.com", resultado.getEmail());
+        assertEquals("1133333333", resultado.getTelefone());
+        assertTrue(resultado.getFavorito());
+        assertFalse(contato2.getAtivo());
+        verify(contatoRepository, times(2)).save(any(Contato.class));
+    }
+
+    @Test
+    void mesclar_ComOMesmoContato_DeveLancarExcecao() {
+        assertThrows(RuntimeException.class, () -> contatoService.mesclar(1L, 1L));
+        verify(contatoRepository, never()).save(any(Contato.class));
+    }
+
     @Test
     void inativar_DeveInativarContato() {
         // Given
@@ -174,4 +304,19 @@ class ContatoServiceTest {
         verify(contatoRepository).findById(1L);
         verify(contatoRepository).save(any(Contato.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void inativar_DevePublicarTransicaoDeAtivoParaInativo() {
+        // Given
+        when(contatoRepository.findById(1L)).thenReturn(Optional.of(contato1));
+        when(contatoRepository.save(any(Contato.class))).thenReturn(contato1);
+
+        // When
+        contatoService.inativar(1L);
+
+        // Then
+        LocalDate dia = contato1.getDataCadastro().toLocalDate();
+        verify(eventPublisher).publishEvent(new ContatoTransicaoEvent(
+                new ContatoTransicaoEvent.Estado(true, true, dia), new ContatoTransicaoEvent.Estado(false, true, dia)));
+    }
+} 
@@ -0,0 +1,90 @@
+package sistema_agendamento.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Compara gravações por segundo e latência p99 de criações concorrentes com uma transação por
+ * requisição e com o escritor em lote. Não roda no build normal:
+ *
+ * <pre>./gradlew test --tests '*EscritaEmLoteBenchmarkTest' -Pbenchmark -Pbenchmark.threads=32</pre>
+ *
+ * Com o H2 em memória dos testes não há fsync no commit; para números representativos aponte
+ * {@code spring.datasource.*} para um PostgreSQL.
+ */
+@SpringBootTest(properties = "agendamento.escrita-lote.habilitada=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EscritaEmLoteBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int OPERACOES_POR_THREAD = Integer.getInteger("benchmark.operacoes", 200);
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private EscritorContatosEmLote escritor;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Test
+    void compararTransacaoPorRequisicaoComCommitEmGrupo() throws Exception {
+        medir("aquecimento", 0, contatoService::criar);
+        medir("aquecimento", 1, escritor::criar);
+
+        String porRequisicao = medir("Transação por requisição", 2, contatoService::criar);
+        String emLote = medir("Escritor em lote", 3, escritor::criar);
+
+        System.out.printf("%n| Modo | Threads | Gravações/s | p50 | p99 |%n|---|---|---|---|---|%n%s%n%s%n",
+                porRequisicao, emLote);
+    }
+
+    private String medir(String modo, int rodada, Function<ContatoDTO, ContatoDTO> criar) throws Exception {
+        contatoRepository.deleteAllInBatch();
+        long[] latencias = new long[THREADS * OPERACOES_POR_THREAD];
+        AtomicInteger proxima = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    ContatoDTO dto = new ContatoDTO();
+                    dto.setNome("Benchmark " + thread + "-" + i);
+                    dto.setCelular(String.format("%d%02d%08d", 1 + rodada, thread, i));
+                    long inicio = System.nanoTime();
+                    criar.apply(dto);
+                    latencias[proxima.getAndIncrement()] = System.nanoTime() - inicio;
+                }
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Arrays.sort(latencias);
+        return String.format("| %s | %d | %.0f | %.2f ms | %.2f ms |", modo, THREADS, latencias.length / segundos,
+                latencias[latencias.length / 2] / 1e6, latencias[(int) (latencias.length * 0.99)] / 1e6);
+    }
+}
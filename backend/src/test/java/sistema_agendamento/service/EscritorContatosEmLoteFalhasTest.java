@@ -0,0 +1,109 @@
+package sistema_agendamento.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import sistema_agendamento.config.EscritaEmLoteProperties;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.entity.Contato;
+import sistema_agendamento.exception.RequisicaoRejeitadaException;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EscritorContatosEmLoteFalhasTest {
+
+    @Mock
+    private ContatoRepository contatoRepository;
+
+    @Mock
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final EscritaEmLoteProperties properties = new EscritaEmLoteProperties();
+    private EscritorContatosEmLote escritor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setHabilitada(true);
+        properties.setJanelaMicros(0);
+        escritor = new EscritorContatosEmLote(properties, contatoRepository, contatoArquivadoRepository,
+                eventPublisher, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        escritor.stop();
+    }
+
+    @Test
+    void criar_QuandoLoteLancaError_DeveFalharOLoteEContinuarGravando() {
+        // Given
+        doThrow(new StackOverflowError())
+                .doAnswer(invocacao -> comId(invocacao.getArgument(0), 1L))
+                .when(contatoRepository).save(any(Contato.class));
+        escritor.start();
+
+        // When
+        IllegalStateException falha = assertThrows(IllegalStateException.class,
+                () -> escritor.criar(dto("João Silva", "11999999999")));
+        ContatoDTO criado = escritor.criar(dto("Maria Santos", "11888888888"));
+
+        // Then
+        assertInstanceOf(StackOverflowError.class, falha.getCause());
+        assertEquals(1L, criado.getId());
+        assertTrue(escritor.isRunning());
+    }
+
+    @Test
+    void criar_QuandoEscritorNaoConfirmaATempo_DeveResponder503() throws InterruptedException {
+        // Given
+        properties.setTempoMaximoEsperaMs(100);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(contatoRepository.save(any(Contato.class))).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return comId(invocacao.getArgument(0), 1L);
+        });
+        escritor.start();
+
+        // When
+        RequisicaoRejeitadaException rejeitada = assertThrows(RequisicaoRejeitadaException.class,
+                () -> escritor.criar(dto("João Silva", "11999999999")));
+        liberar.countDown();
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejeitada.getStatus());
+    }
+
+    private static Contato comId(Contato contato, Long id) {
+        contato.setId(id);
+        contato.setVersao(0L);
+        return contato;
+    }
+
+    private static ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        return dto;
+    }
+}
@@ -0,0 +1,124 @@
+package sistema_agendamento.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.repository.ContatoRepository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "agendamento.escrita-lote.habilitada=true",
+        "agendamento.escrita-lote.janela-micros=20000"
+})
+@ActiveProfiles("test")
+class EscritorContatosEmLoteTest {
+
+    @Autowired
+    private EscritorContatosEmLote escritor;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @BeforeEach
+    void setUp() {
+        contatoRepository.deleteAll();
+    }
+
+    @Test
+    void criar_QuandoConcorrente_DeveGravarTodosECadaUmRecebeSeuResultado() {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<CompletableFuture<ContatoDTO>> futuros = IntStream.range(0, 40)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> escritor.criar(dto("Contato " + i, String.format("119%08d", i))), executor))
+                .toList();
+        List<ContatoDTO> criados = futuros.stream().map(CompletableFuture::join).toList();
+        executor.shutdown();
+
+        // Then
+        assertEquals(40, contatoRepository.count());
+        for (int i = 0; i < 40; i++) {
+            assertEquals("Contato " + i, criados.get(i).getNome());
+            assertNotNull(criados.get(i).getId());
+        }
+    }
+
+    @Test
+    void criar_QuandoCelularRepetidoNoMesmoLote_DeveFalharApenasAOperacaoRepetida() {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // When
+        List<CompletableFuture<ContatoDTO>> futuros = List.of(
+                CompletableFuture.supplyAsync(() -> escritor.criar(dto("João Silva", "11999999999")), executor),
+                CompletableFuture.supplyAsync(() -> escritor.criar(dto("João S.", "11999999999")), executor),
+                CompletableFuture.supplyAsync(() -> escritor.criar(dto("Maria Santos", "11888888888")), executor));
+        long falhas = futuros.stream().filter(futuro -> {
+            try {
+                futuro.join();
+                return false;
+            } catch (CompletionException e) {
+                assertEquals("Já existe um contato cadastrado com este celular", e.getCause().getMessage());
+                return true;
+            }
+        }).count();
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, falhas);
+        assertEquals(2, contatoRepository.count());
+    }
+
+    @Test
+    void atualizar_DeveAplicarRegrasDoServico() {
+        // Given
+        ContatoDTO joao = escritor.criar(dto("João Silva", "11999999999"));
+        escritor.criar(dto("Maria Santos", "11888888888"));
+
+        // When & Then
+        RuntimeException naoEncontrado = assertThrows(RuntimeException.class,
+                () -> escritor.atualizar(999L, dto("Ninguém", "11777777777")));
+        assertEquals("Contato não encontrado", naoEncontrado.getMessage());
+
+        RuntimeException celularEmUso = assertThrows(RuntimeException.class,
+                () -> escritor.atualizar(joao.getId(), dto("João Silva", "11888888888")));
+        assertEquals("Já existe outro contato cadastrado com este celular", celularEmUso.getMessage());
+
+        ContatoDTO atualizado = escritor.atualizar(joao.getId(), dto("João Silva Atualizado", "11777777777"));
+        assertEquals("João Silva Atualizado", atualizado.getNome());
+        assertEquals("11777777777", contatoRepository.findById(joao.getId()).orElseThrow().getCelular());
+    }
+
+    @Test
+    void atualizar_DeveResponderComAVersaoGravada() {
+        // Given
+        ContatoDTO joao = escritor.criar(dto("João Silva", "11999999999"));
+
+        // When
+        ContatoDTO atualizado = escritor.atualizar(joao.getId(), dto("João Silva Atualizado", "11999999999"));
+
+        // Then
+        assertEquals(joao.getVersao() + 1, atualizado.getVersao());
+        assertEquals(contatoRepository.findById(joao.getId()).orElseThrow().getVersao(), atualizado.getVersao());
+    }
+
+    private ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        return dto;
+    }
+}
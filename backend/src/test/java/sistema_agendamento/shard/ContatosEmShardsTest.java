@@ -0,0 +1,200 @@
+package sistema_agendamento.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import sistema_agendamento.dto.ContatoDTO;
+import sistema_agendamento.dto.PaginaDTO;
+import sistema_agendamento.job.ArquivamentoContatoJob;
+import sistema_agendamento.repository.ContatoArquivadoRepository;
+import sistema_agendamento.repository.ContatoRepository;
+import sistema_agendamento.service.ContatoArquivoService;
+import sistema_agendamento.service.ContatoService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "agendamento.shard.habilitado=true",
+        "agendamento.shard.instancias[0].url=" + ContatosEmShardsTest.URL + "0;" + ContatosEmShardsTest.OPCOES,
+        "agendamento.shard.instancias[0].usuario=sa",
+        "agendamento.shard.instancias[1].url=" + ContatosEmShardsTest.URL + "1;" + ContatosEmShardsTest.OPCOES,
+        "agendamento.shard.instancias[1].usuario=sa",
+        "agendamento.shard.instancias[2].url=" + ContatosEmShardsTest.URL + "2;" + ContatosEmShardsTest.OPCOES,
+        "agendamento.shard.instancias[2].usuario=sa",
+        "agendamento.arquivamento.idade-minima-dias=0",
+        "agendamento.snapshot.arquivo=${user.dir}/build/snapshot-teste/contatos-shards.snapshot",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@ActiveProfiles("test")
+class ContatosEmShardsTest {
+
+    static final String URL = "jdbc:h2:mem:contatos-shard";
+    static final String OPCOES = "DB_CLOSE_DELAY=-1;MODE=PostgreSQL;INIT=RUNSCRIPT FROM 'classpath:shards-h2.sql'";
+
+    @Autowired
+    private ContatoService contatoService;
+
+    @Autowired
+    private ContatoArquivoService contatoArquivoService;
+
+    @Autowired
+    private ArquivamentoContatoJob arquivamentoContatoJob;
+
+    @Autowired
+    private ContatoRepository contatoRepository;
+
+    @Autowired
+    private ContatoArquivadoRepository contatoArquivadoRepository;
+
+    @Autowired
+    private RoteadorShards roteadorShards;
+
+    @BeforeEach
+    void setUp() {
+        contatoArquivadoRepository.deleteAll();
+        contatoRepository.deleteAll();
+    }
+
+    @Test
+    void criar_DeveGravarCadaContatoNoShardDoCelularComIdUnico() {
+        // Given / When
+        List<ContatoDTO> criados = criar(30);
+
+        // Then
+        assertEquals(30, new HashSet<>(criados.stream().map(ContatoDTO::getId).toList()).size());
+        int[] porShard = new int[3];
+        for (ContatoDTO criado : criados) {
+            int shard = roteadorShards.shardDe(criado.getCelular());
+            assertEquals(1, contarNoShard(shard, "contato", criado.getId()));
+            porShard[shard]++;
+        }
+        assertEquals(30, contatoRepository.count());
+        assertTrue(IntStream.of(porShard).allMatch(quantidade -> quantidade > 0), "contatos em todos os shards");
+    }
+
+    @Test
+    void criar_QuandoCelularJaExisteEmOutroShard_DeveRecusarPeloShardDoCelular() {
+        // Given
+        ContatoDTO existente = criar(1).get(0);
+
+        // When
+        RuntimeException erro = assertThrows(RuntimeException.class,
+                () -> contatoService.criar(dto("Outro Nome", existente.getCelular())));
+
+        // Then
+        assertEquals("Já existe um contato cadastrado com este celular", erro.getMessage());
+    }
+
+    @Test
+    void listarTodos_DeveIntercalarOsShardsPorNome() {
+        // Given
+        List<ContatoDTO> criados = criar(25);
+
+        // When
+        List<ContatoDTO> todos = contatoService.listarTodos();
+
+        // Then
+        List<String> esperados = criados.stream().map(ContatoDTO::getNome).sorted().toList();
+        assertEquals(esperados, todos.stream().map(ContatoDTO::getNome).toList());
+    }
+
+    @Test
+    void listarPagina_DeveDevolverAFatiaDoResultadoGlobalETotalSomado() {
+        // Given
+        List<ContatoDTO> criados = new ArrayList<>(criar(25));
+        criados.sort(Comparator.comparing(ContatoDTO::getNome));
+
+        // When
+        PaginaDTO<ContatoDTO> pagina = contatoService.listarPagina(2, 7, null, false);
+
+        // Then
+        assertEquals(25, pagina.getTotal());
+        assertEquals(criados.subList(14, 21).stream().map(ContatoDTO::getId).toList(),
+                pagina.getConteudo().stream().map(ContatoDTO::getId).toList());
+    }
+
+    @Test
+    void buscarPorId_DeveEncontrarOContatoEmQualquerShard() {
+        // Given
+        List<ContatoDTO> criados = criar(10);
+
+        // When / Then
+        for (ContatoDTO criado : criados) {
+            assertEquals(criado.getNome(), contatoService.buscarPorId(criado.getId()).getNome());
+        }
+    }
+
+    @Test
+    void atualizar_QuandoCelularMudaDeShard_DeveMoverOContatoMantendoIdEVersao() {
+        // Given
+        ContatoDTO original = criar(1).get(0);
+        int origem = roteadorShards.shardDe(original.getCelular());
+        String novoCelular = IntStream.range(100, 1000)
+                .mapToObj(i -> String.format("21988887%03d", i))
+                .filter(celular -> roteadorShards.shardDe(celular) != origem)
+                .findFirst()
+                .orElseThrow();
+
+        // When
+        ContatoDTO alterado = contatoService.atualizar(original.getId(), dto("Nome Alterado", novoCelular));
+
+        // Then
+        int destino = roteadorShards.shardDe(novoCelular);
+        assertEquals(original.getId(), alterado.getId());
+        assertEquals(original.getVersao() + 1, alterado.getVersao());
+        assertEquals(0, contarNoShard(origem, "contato", original.getId()));
+        assertEquals(1, contarNoShard(destino, "contato", original.getId()));
+        assertEquals("Nome Alterado", contatoService.buscarPorId(original.getId()).getNome());
+        assertThrows(RuntimeException.class, () -> contatoService.criar(dto("Outro Nome", novoCelular)));
+    }
+
+    @Test
+    void arquivamento_DeveArquivarNoProprioShardERestaurar() {
+        // Given
+        List<ContatoDTO> criados = criar(12);
+        criados.forEach(criado -> contatoService.inativar(criado.getId()));
+
+        // When
+        arquivamentoContatoJob.executar();
+
+        // Then
+        assertEquals(0, contatoRepository.count());
+        assertEquals(12, contatoArquivoService.listar(null).size());
+        for (ContatoDTO criado : criados) {
+            assertEquals(1, contarNoShard(roteadorShards.shardDe(criado.getCelular()), "contato_arquivo", criado.getId()));
+        }
+
+        ContatoDTO restaurado = contatoArquivoService.restaurar(criados.get(0).getId());
+        assertTrue(restaurado.getAtivo());
+        assertEquals(criados.get(0).getNome(), contatoService.buscarPorId(criados.get(0).getId()).getNome());
+        assertEquals(11, contatoArquivoService.listar(null).size());
+    }
+
+    private List<ContatoDTO> criar(int quantidade) {
+        return IntStream.range(0, quantidade)
+                .mapToObj(i -> contatoService.criar(dto(String.format("Contato %02d", (i * 7) % quantidade), String.format("119%08d", i * 7919))))
+                .toList();
+    }
+
+    private static int contarNoShard(int shard, String tabela, Long id) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL + shard + ";" + OPCOES, "sa", ""));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE contato_id = ?", Integer.class, id);
+    }
+
+    private static ContatoDTO dto(String nome, String celular) {
+        ContatoDTO dto = new ContatoDTO();
+        dto.setNome(nome);
+        dto.setCelular(celular);
+        return dto;
+    }
+}
@@ -0,0 +1,79 @@
+package sistema_agendamento.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import sistema_agendamento.entity.Contato;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntercalacaoTest {
+
+    @Test
+    void intercalar_DeveJuntarListasOrdenadasMantendoAOrdem() {
+        // Given
+        List<List<Integer>> shards = List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10, 11), List.of(5));
+
+        // When
+        List<Integer> resultado = Intercalacao.intercalar(shards, Comparator.naturalOrder());
+
+        // Then
+        assertEquals(List.of(1, 2, 3, 4, 5, 9, 10, 11), resultado);
+    }
+
+    @Test
+    void intercalar_ComLimite_DevePararNoLimiteEDesempatarPelaOrdemDosShards() {
+        // Given
+        List<List<String>> shards = List.of(List.of("b0", "c0"), List.of("a1", "b1"));
+        Comparator<String> porLetra = Comparator.comparing(texto -> texto.charAt(0));
+
+        // When
+        List<String> resultado = Intercalacao.intercalar(shards, porLetra, 3);
+
+        // Then
+        assertEquals(List.of("a1", "b0", "b1"), resultado);
+    }
+
+    @Test
+    void porNome_DeveOrdenarComoACollationC() {
+        // Given
+        List<String> nomes = List.of("Érica", "ana", "Bruno", "Álvaro", "Ana", "An", "\uD835\uDC00", "\uFFFD");
+
+        // When
+        List<String> ordenados = nomes.stream().sorted(Intercalacao.porNome()).toList();
+
+        // Then
+        // Code points, como os bytes em UTF-8: maiúsculas, minúsculas, acentuadas e fora do BMP por último
+        assertEquals(List.of("An", "Ana", "Bruno", "ana", "Álvaro", "Érica", "\uFFFD", "\uD835\uDC00"), ordenados);
+    }
+
+    @Test
+    void porSort_DeveSeguirAsPropriedadesDoSortComNulosPorUltimo() {
+        // Given
+        Contato semEmail = contato(3L, "Ana", null);
+        Contato ana = contato(1L, "Ana", "a@x.com");
+        Contato bruno = contato(2L, "Bruno", "b@x.com");
+
+        // When
+        List<Contato> ordenados = List.of(bruno, semEmail, ana).stream()
+                .sorted(Intercalacao.porSort(Sort.by("nome", "email")))
+                .toList();
+        List<Contato> decrescentes = List.of(ana, bruno, semEmail).stream()
+                .sorted(Intercalacao.porSort(Sort.by(Sort.Direction.DESC, "id")))
+                .toList();
+
+        // Then
+        assertEquals(List.of(ana, semEmail, bruno), ordenados);
+        assertEquals(List.of(semEmail, bruno, ana), decrescentes);
+    }
+
+    private static Contato contato(Long id, String nome, String email) {
+        Contato contato = new Contato();
+        contato.setId(id);
+        contato.setNome(nome);
+        contato.setEmail(email);
+        return contato;
+    }
+}
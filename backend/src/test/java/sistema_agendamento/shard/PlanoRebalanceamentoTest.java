@@ -0,0 +1,71 @@
+package sistema_agendamento.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanoRebalanceamentoTest {
+
+    @Test
+    void calcular_AoAcrescentarShard_DeveMoverSoAsFatiasDoNovoShard() {
+        // Given
+        int[] tresShards = MapaShards.distribuicaoInicial(3);
+
+        // When
+        PlanoRebalanceamento plano = PlanoRebalanceamento.calcular(tresShards, 4);
+
+        // Then
+        assertEquals(256, plano.getMovimentos().size());
+        assertTrue(plano.getMovimentos().stream().allMatch(movimento -> movimento.destino() == 3));
+        assertArrayEquals(new int[]{256, 256, 256, 256}, ocupacao(plano.getNovo(), 4));
+    }
+
+    @Test
+    void calcular_QuandoJaEquilibrado_NaoDeveMoverNada() {
+        // Given
+        int[] mapa = MapaShards.distribuicaoInicial(3);
+
+        // When
+        PlanoRebalanceamento plano = PlanoRebalanceamento.calcular(mapa, 3);
+
+        // Then
+        assertTrue(plano.getMovimentos().isEmpty());
+        assertArrayEquals(mapa, plano.getNovo());
+    }
+
+    @Test
+    void calcular_AoRemoverShard_DeveRedistribuirSoAsFatiasDoRemovido() {
+        // Given
+        int[] quatroShards = MapaShards.distribuicaoInicial(4);
+
+        // When
+        PlanoRebalanceamento plano = PlanoRebalanceamento.calcular(quatroShards, 3);
+
+        // Then
+        assertEquals(256, plano.getMovimentos().size());
+        assertTrue(plano.getMovimentos().stream().allMatch(movimento -> movimento.origem() == 3));
+        int[] ocupacao = ocupacao(plano.getNovo(), 3);
+        assertTrue(IntStream.of(ocupacao).allMatch(fatias -> fatias == 341 || fatias == 342));
+    }
+
+    @Test
+    void calcular_ComBancoUnico_DeveDividirAsFatiasIgualmente() {
+        // Given
+        int[] bancoUnico = new int[MapaShards.FATIAS];
+
+        // When
+        PlanoRebalanceamento plano = PlanoRebalanceamento.calcular(bancoUnico, 2);
+
+        // Then
+        assertEquals(512, plano.getMovimentos().size());
+        assertArrayEquals(new int[]{512, 512}, ocupacao(plano.getNovo(), 2));
+    }
+
+    private static int[] ocupacao(int[] mapa, int quantidadeShards) {
+        int[] ocupacao = new int[quantidadeShards];
+        IntStream.of(mapa).forEach(shard -> ocupacao[shard]++);
+        return ocupacao;
+    }
+}
@@ -0,0 +1,128 @@
+package sistema_agendamento.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebalanceadorShardsTest {
+
+    private static final String OPCOES = ";MODE=PostgreSQL;INIT=RUNSCRIPT FROM 'classpath:shards-h2.sql'";
+
+    private final List<Connection> shards = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (int shard = 0; shard < 3; shard++) {
+            // Sem DB_CLOSE_DELAY: o banco some quando a última conexão fecha, no fim de cada teste
+            Connection conexao = DriverManager.getConnection("jdbc:h2:mem:rebalanceamento" + shard + OPCOES, "sa", "");
+            conexao.setAutoCommit(false);
+            shards.add(conexao);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection conexao : shards) {
+            conexao.close();
+        }
+    }
+
+    @Test
+    void executar_ComBancoUnicoSemMapa_DeveLevarCadaContatoAoShardDaSuaFatia() throws SQLException {
+        // Given
+        for (int i = 0; i < 60; i++) {
+            inserirContato(shards.get(0), i + 1, String.format("119%08d", i * 7919));
+        }
+
+        // When
+        int movidos = rebalanceador().executar(true);
+
+        // Then
+        MapaShards mapa = new MapaShards(lerMapa());
+        assertEquals(60, contar(0) + contar(1) + contar(2));
+        assertEquals(60 - contar(0), movidos);
+        for (int shard = 0; shard < 3; shard++) {
+            for (String celular : celulares(shard)) {
+                assertEquals(shard, mapa.shardDe(celular));
+            }
+        }
+        assertEquals(0, rebalanceador().executar(true), "repetir não move mais nada");
+    }
+
+    @Test
+    void executar_SemAplicar_NaoDeveAlterarNada() throws SQLException {
+        // Given
+        inserirContato(shards.get(0), 1, "11999999999");
+        inserirContato(shards.get(0), 2, "11888888888");
+
+        // When
+        int movidos = rebalanceador().executar(false);
+
+        // Then
+        assertEquals(0, movidos);
+        assertEquals(2, contar(0));
+        try (Statement consulta = shards.get(0).createStatement();
+             ResultSet linhas = consulta.executeQuery("SELECT COUNT(*) FROM shard_fatia")) {
+            linhas.next();
+            assertEquals(0, linhas.getInt(1));
+        }
+    }
+
+    private RebalanceadorShards rebalanceador() {
+        return new RebalanceadorShards(shards, new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    private static void inserirContato(Connection conexao, long id, String celular) throws SQLException {
+        try (PreparedStatement insercao = conexao.prepareStatement(
+                "INSERT INTO contato (contato_id, contato_nome, contato_celular, contato_dh_cad) VALUES (?, ?, ?, ?)")) {
+            insercao.setLong(1, id);
+            insercao.setString(2, "Contato " + id);
+            insercao.setLong(3, Long.parseLong(celular));
+            insercao.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            insercao.executeUpdate();
+        }
+        conexao.commit();
+    }
+
+    private int[] lerMapa() throws SQLException {
+        int[] mapa = new int[MapaShards.FATIAS];
+        try (Statement consulta = shards.get(0).createStatement();
+             ResultSet linhas = consulta.executeQuery(MapaShards.SQL_CARREGAR)) {
+            while (linhas.next()) {
+                mapa[linhas.getInt(1)] = linhas.getInt(2);
+            }
+        }
+        return mapa;
+    }
+
+    private int contar(int shard) throws SQLException {
+        return celulares(shard).size();
+    }
+
+    private List<String> celulares(int shard) throws SQLException {
+        List<String> celulares = new ArrayList<>();
+        try (Statement consulta = shards.get(shard).createStatement();
+             ResultSet linhas = consulta.executeQuery("SELECT contato_celular FROM contato")) {
+            while (linhas.next()) {
+                celulares.add(String.format("%011d", linhas.getLong(1)));
+            }
+        }
+        shards.get(shard).commit();
+        return celulares;
+    }
+}
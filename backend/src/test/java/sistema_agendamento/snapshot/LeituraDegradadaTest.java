@@ -0,0 +1,141 @@
+package sistema_agendamento.snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import sistema_agendamento.config.SnapshotProperties;
+import sistema_agendamento.dto.ContatoDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeituraDegradadaTest {
+
+    private static final Instant GERADO_EM = Instant.parse("2026-10-19T08:00:00Z");
+
+    @TempDir
+    private Path diretorio;
+
+    private SnapshotProperties properties;
+    private LeituraDegradada leituraDegradada;
+    private MockHttpServletResponse resposta;
+    private AtomicInteger consultasAoBanco;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SnapshotProperties();
+        properties.setPausaAposFalhaMs(60000);
+        leituraDegradada = new LeituraDegradada(properties);
+        resposta = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), resposta));
+        consultasAoBanco = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void ler_SemSnapshot_DeveIrAoBancoEPropagarAFalha() {
+        // Given
+        leituraDegradada.bancoRespondeu();
+
+        // When & Then
+        assertEquals("banco", leituraDegradada.ler(() -> "banco", snapshot -> "snapshot"));
+        assertThrows(DataAccessResourceFailureException.class, () -> leituraDegradada.ler(bancoForaDoAr(), snapshot -> "snapshot"));
+        assertNull(resposta.getHeader(LeituraDegradada.CABECALHO_DESATUALIZADO));
+    }
+
+    @Test
+    void ler_DuranteOAquecimento_DeveServirDoSnapshotSemConsultarOBanco() throws IOException {
+        // Given
+        leituraDegradada.publicar(snapshot(contato(1L)));
+
+        // When
+        List<ContatoDTO> contatos = leituraDegradada.ler(this::consultarBanco, SnapshotContatos::listarTodos);
+
+        // Then
+        assertEquals(List.of(1L), contatos.stream().map(ContatoDTO::getId).toList());
+        assertEquals(0, consultasAoBanco.get());
+        assertEquals(GERADO_EM.toString(), resposta.getHeader(LeituraDegradada.CABECALHO_DESATUALIZADO));
+        assertEquals(1, leituraDegradada.getLeiturasDoSnapshot());
+    }
+
+    @Test
+    void ler_ComBancoDisponivel_DeveIrAoBanco() throws IOException {
+        // Given
+        leituraDegradada.publicar(snapshot(contato(1L)));
+        leituraDegradada.bancoRespondeu();
+
+        // When
+        List<ContatoDTO> contatos = leituraDegradada.ler(this::consultarBanco, SnapshotContatos::listarTodos);
+
+        // Then
+        assertEquals(List.of(), contatos);
+        assertEquals(1, consultasAoBanco.get());
+        assertNull(resposta.getHeader(LeituraDegradada.CABECALHO_DESATUALIZADO));
+    }
+
+    @Test
+    void ler_ComFalhaDoBanco_DeveServirDoSnapshotEPouparOBancoDuranteAPausa() throws IOException {
+        // Given
+        leituraDegradada.publicar(snapshot(contato(1L), contato(2L)));
+        leituraDegradada.bancoRespondeu();
+        Supplier<List<ContatoDTO>> banco = () -> {
+            consultasAoBanco.incrementAndGet();
+            return LeituraDegradadaTest.<List<ContatoDTO>>bancoForaDoAr().get();
+        };
+
+        // When
+        List<ContatoDTO> primeira = leituraDegradada.ler(banco, SnapshotContatos::listarTodos);
+        List<ContatoDTO> segunda = leituraDegradada.ler(banco, SnapshotContatos::listarTodos);
+        leituraDegradada.bancoRespondeu();
+        List<ContatoDTO> depoisDaVolta = leituraDegradada.ler(this::consultarBanco, SnapshotContatos::listarTodos);
+
+        // Then
+        assertEquals(2, primeira.size());
+        assertEquals(2, segunda.size());
+        assertEquals(List.of(), depoisDaVolta);
+        assertEquals(2, consultasAoBanco.get());
+        assertEquals(2, leituraDegradada.getLeiturasDoSnapshot());
+    }
+
+    private List<ContatoDTO> consultarBanco() {
+        consultasAoBanco.incrementAndGet();
+        return List.of();
+    }
+
+    private static <T> Supplier<T> bancoForaDoAr() {
+        return () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        };
+    }
+
+    private SnapshotContatos snapshot(ContatoDTO... contatos) throws IOException {
+        Path arquivo = diretorio.resolve("contatos.snapshot");
+        SnapshotContatos.gravar(arquivo, List.of(contatos), GERADO_EM);
+        return SnapshotContatos.abrir(arquivo);
+    }
+
+    private static ContatoDTO contato(Long id) {
+        ContatoDTO contato = new ContatoDTO();
+        contato.setId(id);
+        contato.setNome("Contato " + id);
+        contato.setCelular("1190000000" + id);
+        contato.setVersao(0L);
+        return contato;
+    }
+}
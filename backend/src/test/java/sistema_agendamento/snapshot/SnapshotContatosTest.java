@@ -0,0 +1,122 @@
+package sistema_agendamento.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sistema_agendamento.dto.ContatoDTO;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotContatosTest {
+
+    private static final Instant GERADO_EM = Instant.parse("2026-10-19T08:00:00Z");
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void abrir_DeveDevolverOsContatosGravadosNaOrdemDaListagem() throws IOException {
+        // Given
+        ContatoDTO ana = contato(30L, "Ana Souza", "11900000030");
+        ContatoDTO bruno = contato(7L, "Bruno Lima", "11900000007");
+        bruno.setEmail(null);
+        bruno.setTelefone(null);
+        bruno.setFavorito(true);
+        ContatoDTO conceicao = contato(12L, "Conceição Araújo", "11900000012");
+        Path arquivo = diretorio.resolve("contatos.snapshot");
+
+        // When
+        SnapshotContatos.gravar(arquivo, List.of(ana, bruno, conceicao), GERADO_EM);
+        SnapshotContatos snapshot = SnapshotContatos.abrir(arquivo);
+
+        // Then
+        assertEquals(GERADO_EM, snapshot.getGeradoEm());
+        assertEquals(3, snapshot.getQuantidade());
+        assertEquals(List.of(ana, bruno, conceicao), snapshot.listarTodos());
+    }
+
+    @Test
+    void buscarPorId_DeveAcharSoOsIdsGravados() throws IOException {
+        // Given
+        List<ContatoDTO> contatos = List.of(contato(5L, "Eva", "11900000005"), contato(2L, "Davi", "11900000002"),
+                contato(9L, "Caio", "11900000009"), contato(1L, "Bia", "11900000001"));
+        SnapshotContatos snapshot = gravarEAbrir(contatos);
+
+        // When & Then
+        for (ContatoDTO contato : contatos) {
+            assertEquals(contato, snapshot.buscarPorId(contato.getId()).orElseThrow());
+        }
+        assertTrue(snapshot.buscarPorId(3L).isEmpty());
+        assertTrue(snapshot.buscarPorId(10L).isEmpty());
+    }
+
+    @Test
+    void buscarPorTermo_DeveUsarNomeSemDiferenciarMaiusculasECelular() throws IOException {
+        // Given
+        SnapshotContatos snapshot = gravarEAbrir(List.of(contato(1L, "João Silva", "11911112222"),
+                contato(2L, "Maria Santos", "11933334444"), contato(3L, "Silvana Costa", "11955556666")));
+
+        // When & Then
+        assertEquals(List.of(1L, 3L), ids(snapshot.buscarPorTermo("SILV")));
+        assertEquals(List.of(2L), ids(snapshot.buscarPorTermo("3333")));
+        assertEquals(List.of(), snapshot.buscarPorTermo("Pedro"));
+    }
+
+    @Test
+    void abrir_ComArquivoIncompletoOuDeOutroFormato_DeveRecusar() throws IOException {
+        // Given
+        Path arquivo = diretorio.resolve("contatos.snapshot");
+        SnapshotContatos.gravar(arquivo, List.of(contato(1L, "João Silva", "11911112222")), GERADO_EM);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 1);
+        }
+        Path outro = Files.write(diretorio.resolve("outro.snapshot"), new byte[64]);
+
+        // When & Then
+        assertThrows(IOException.class, () -> SnapshotContatos.abrir(arquivo));
+        assertThrows(IOException.class, () -> SnapshotContatos.abrir(outro));
+    }
+
+    @Test
+    void gravar_SemContatos_DeveGerarSnapshotVazio() throws IOException {
+        // When
+        SnapshotContatos snapshot = gravarEAbrir(List.of());
+
+        // Then
+        assertEquals(0, snapshot.getQuantidade());
+        assertEquals(List.of(), snapshot.listarTodos());
+        assertTrue(snapshot.buscarPorId(1L).isEmpty());
+    }
+
+    private SnapshotContatos gravarEAbrir(List<ContatoDTO> contatos) throws IOException {
+        Path arquivo = diretorio.resolve("contatos.snapshot");
+        SnapshotContatos.gravar(arquivo, contatos, GERADO_EM);
+        return SnapshotContatos.abrir(arquivo);
+    }
+
+    private static List<Long> ids(List<ContatoDTO> contatos) {
+        return contatos.stream().map(ContatoDTO::getId).toList();
+    }
+
+    private static ContatoDTO contato(Long id, String nome, String celular) {
+        ContatoDTO contato = new ContatoDTO();
+        contato.setId(id);
+        contato.setNome(nome);
+        contato.setEmail("contato" + id + "@email.com");
+        contato.setCelular(celular);
+        contato.setTelefone("11333333" + String.format("%02d", id));
+        contato.setFavorito(false);
+        contato.setAtivo(true);
+        contato.setDataCadastro(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000));
+        contato.setVersao(id * 2);
+        return contato;
+    }
+}
@@ -0,0 +1,26 @@
+-- Tabelas da variante reativa nos testes (sem JPA não há ddl-auto)
+CREATE TABLE IF NOT EXISTS contato (
+    contato_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contato_nome VARCHAR(100) NOT NULL,
+    contato_email VARCHAR(255),
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_sn_ativo BOOLEAN DEFAULT TRUE,
+    contato_dh_cad TIMESTAMP NOT NULL,
+    contato_dh_inativacao TIMESTAMP,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS contato_arquivo (
+    contato_id BIGINT PRIMARY KEY,
+    contato_nome VARCHAR(100) NOT NULL,
+    contato_email VARCHAR(255),
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_dh_cad TIMESTAMP NOT NULL,
+    contato_dh_inativacao TIMESTAMP,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0,
+    contato_dh_arquivamento TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
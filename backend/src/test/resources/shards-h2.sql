@@ -0,0 +1,51 @@
+-- Tabelas de cada shard nos testes com contatos em shards (H2 em modo PostgreSQL). Roda a cada
+-- conexão aberta (INIT da URL), por isso tudo é IF NOT EXISTS.
+CREATE TABLE IF NOT EXISTS contato (
+    contato_id INTEGER PRIMARY KEY,
+    contato_nome VARCHAR(100) NOT NULL,
+    contato_email VARCHAR(255),
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_sn_ativo BOOLEAN DEFAULT TRUE,
+    contato_dh_cad TIMESTAMP NOT NULL,
+    contato_dh_inativacao TIMESTAMP,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS contato_arquivo (
+    contato_id INTEGER PRIMARY KEY,
+    contato_nome VARCHAR(100) NOT NULL,
+    contato_email VARCHAR(255),
+    contato_celular BIGINT NOT NULL UNIQUE,
+    contato_telefone BIGINT,
+    contato_sn_favorito BOOLEAN DEFAULT FALSE,
+    contato_dh_cad TIMESTAMP NOT NULL,
+    contato_dh_inativacao TIMESTAMP,
+    contato_nr_versao BIGINT NOT NULL DEFAULT 0,
+    contato_dh_arquivamento TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS contato_estatistica (
+    estatistica_chave VARCHAR(32) PRIMARY KEY,
+    estatistica_valor BIGINT NOT NULL
+);
+
+-- Etiquetas não são usadas com shards, mas a remoção de um contato limpa as associações
+CREATE TABLE IF NOT EXISTS etiqueta (
+    etiqueta_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    etiqueta_nome VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS contato_etiqueta (
+    contato_id INTEGER NOT NULL REFERENCES contato(contato_id) ON DELETE CASCADE,
+    etiqueta_id INTEGER NOT NULL REFERENCES etiqueta(etiqueta_id) ON DELETE CASCADE,
+    PRIMARY KEY (contato_id, etiqueta_id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS contato_id_global INCREMENT BY 100;
+
+CREATE TABLE IF NOT EXISTS shard_fatia (
+    fatia_nr SMALLINT PRIMARY KEY,
+    shard_nr SMALLINT NOT NULL
+);
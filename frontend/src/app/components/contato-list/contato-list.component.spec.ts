@@ -1,10 +1,11 @@
-import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { ActivatedRoute } from '@angular/router';
-import { of, throwError } from 'rxjs';
+import { Subject, of, throwError } from 'rxjs';
 import { ContatoListComponent } from './contato-list.component';
 import { ContatoService } from '../../services/contato.service';
 import { ToastService } from '../../services/toast.service';
 import { Contato } from '../../models/contato.model';
+import { Pagina } from '../../models/pagina.model';
 
 describe('ContatoListComponent', () => {
   let component: ContatoListComponent;
@@ -34,9 +35,12 @@ describe('ContatoListComponent', () => {
     }
   ];
 
+  const pagina = (conteudo: Contato[], numero = 0, total = conteudo.length): Pagina<Contato> =>
+    ({ conteudo, pagina: numero, tamanho: ContatoListComponent.TAMANHO_PAGINA, total });
+
   beforeEach(async () => {
     const contatoServiceSpy = jasmine.createSpyObj('ContatoService', [
-      'listarContatos', 'listarFavoritos', 'alternarFavorito', 'inativarContato'
+      'listarPagina', 'alternarFavorito', 'inativarContato'
     ]);
     const toastServiceSpy = jasmine.createSpyObj('ToastService', ['success', 'error']);
     const routeSpy = jasmine.createSpyObj('ActivatedRoute', [], {
@@ -63,19 +67,20 @@ describe('ContatoListComponent', () => {
     expect(component).toBeTruthy();
   });
 
-  it('should load contacts on init', () => {
-    contatoService.listarContatos.and.returnValue(of(mockContatos));
+  it('should load the first page on init', () => {
+    contatoService.listarPagina.and.returnValue(of(pagina(mockContatos)));
     
     component.ngOnInit();
     
-    expect(contatoService.listarContatos).toHaveBeenCalled();
-    expect(component.contatos).toEqual(mockContatos);
-    expect(component.contatosFiltrados).toEqual(mockContatos);
+    expect(contatoService.listarPagina).toHaveBeenCalledWith(0, ContatoListComponent.TAMANHO_PAGINA, { termo: '', favoritos: false });
+    expect(component.total).toBe(2);
+    expect(component.carregando).toBe(false);
+    expect(component.linhasVisiveis.flat()).toEqual(mockContatos);
   });
 
   it('should show error toast when loading contacts fails', () => {
     const error = { status: 500, error: 'Erro interno' };
-    contatoService.listarContatos.and.returnValue(throwError(() => error));
+    contatoService.listarPagina.and.returnValue(throwError(() => error));
     
     component.ngOnInit();
     
@@ -85,44 +90,80 @@ describe('ContatoListComponent', () => {
   it('should load favorite contacts when on favorites route', () => {
     // Set up route to simulate favorites path
     (route.url as any) = of([{ path: 'favoritos' }]);
-    contatoService.listarContatos.and.returnValue(of(mockContatos));
+    contatoService.listarPagina.and.returnValue(of(pagina([mockContatos[0]])));
     
     component.ngOnInit();
     
-    expect(contatoService.listarContatos).toHaveBeenCalled();
+    expect(contatoService.listarPagina).toHaveBeenCalledWith(0, ContatoListComponent.TAMANHO_PAGINA, { termo: '', favoritos: true });
     expect(component.mostrandoFavoritos).toBe(true);
   });
 
-  it('should toggle favorite filter correctly', () => {
-    component.contatos = mockContatos;
-    component.contatosFiltrados = mockContatos;
-    component.mostrandoFavoritos = false;
+  it('should request only the pages that are not cached yet', () => {
+    contatoService.listarPagina.and.callFake((numero: number) =>
+      of(pagina(numero === 0 ? mockContatos : [], numero, 500)));
     
-    component.alternarFiltroFavoritos();
+    component.ngOnInit();
     
+    const paginasPedidas = contatoService.listarPagina.calls.allArgs().map(args => args[0]);
+    expect(new Set(paginasPedidas).size).toBe(paginasPedidas.length);
+    expect(component.total).toBe(500);
+    expect(component.linhasVisiveis.flat()[0]).toEqual(mockContatos[0]);
+  });
+
+  it('should toggle favorite filter and reuse cached pages', () => {
+    contatoService.listarPagina.and.callFake((_: number, __: number, filtro) =>
+      of(pagina(filtro.favoritos ? [mockContatos[0]] : mockContatos)));
+    component.ngOnInit();
+    
+    component.alternarFiltroFavoritos();
     expect(component.mostrandoFavoritos).toBe(true);
-    expect(component.contatosFiltrados).toEqual([mockContatos[0]]);
+    expect(component.linhasVisiveis.flat()).toEqual([mockContatos[0]]);
+    
+    component.alternarFiltroFavoritos();
+    expect(component.linhasVisiveis.flat()).toEqual(mockContatos);
+    expect(contatoService.listarPagina).toHaveBeenCalledTimes(2);
   });
 
-  it('should search contacts correctly', () => {
-    component.contatos = mockContatos;
-    component.contatosFiltrados = mockContatos;
-    component.termoBusca = 'João';
+  it('should debounce typed search terms', fakeAsync(() => {
+    contatoService.listarPagina.and.returnValue(of(pagina(mockContatos)));
+    component.ngOnInit();
+    contatoService.listarPagina.calls.reset();
+    
+    component.aoDigitarBusca('J');
+    component.aoDigitarBusca('Jo');
+    component.aoDigitarBusca('João ');
+    tick(299);
+    expect(contatoService.listarPagina).not.toHaveBeenCalled();
+    
+    tick(1);
+    expect(contatoService.listarPagina).toHaveBeenCalledOnceWith(0, ContatoListComponent.TAMANHO_PAGINA, { termo: 'João', favoritos: false });
+  }));
+
+  it('should cancel pending requests of a previous search', () => {
+    const pendente = new Subject<Pagina<Contato>>();
+    contatoService.listarPagina.and.callFake((_: number, __: number, filtro) =>
+      filtro.termo === 'Jo' ? pendente : of(pagina([mockContatos[1]])));
+    component.ngOnInit();
     
+    component.termoBusca = 'Jo';
+    component.buscarContatos();
+    component.termoBusca = 'Maria';
     component.buscarContatos();
     
-    expect(component.contatosFiltrados).toEqual([mockContatos[0]]);
+    expect(pendente.observed).toBe(false);
+    expect(component.linhasVisiveis.flat()).toEqual([mockContatos[1]]);
   });
 
   it('should clear search correctly', () => {
-    component.contatos = mockContatos;
-    component.contatosFiltrados = [mockContatos[0]];
+    contatoService.listarPagina.and.returnValue(of(pagina(mockContatos)));
+    component.ngOnInit();
     component.termoBusca = 'João';
+    component.buscarContatos();
     
     component.limparBusca();
     
     expect(component.termoBusca).toBe('');
-    expect(component.contatosFiltrados).toEqual(mockContatos);
+    expect(contatoService.listarPagina.calls.mostRecent().args[2]).toEqual({ termo: '', favoritos: false });
   });
 
   it('should toggle favorite status successfully', () => {
@@ -175,16 +216,6 @@ describe('ContatoListComponent', () => {
     expect(result).toBe('11 8765 4321');
   });
 
-  it('should apply filters correctly', () => {
-    component.contatos = mockContatos;
-    component.termoBusca = 'João';
-    component.mostrandoFavoritos = true;
-    
-    component.aplicarFiltros();
-    
-    expect(component.contatosFiltrados).toEqual([mockContatos[0]]);
-  });
-
   it('should return user-friendly error message from API', () => {
     const error = { 
       status: 400, 
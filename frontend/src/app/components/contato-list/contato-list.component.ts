@@ -1,11 +1,20 @@
-import { Component, OnInit } from '@angular/core';
-import { CommonModule } from '@angular/common';
+import { Component, ElementRef, HostListener, Inject, OnDestroy, OnInit, PLATFORM_ID, ViewChild } from '@angular/core';
+import { CommonModule, isPlatformBrowser } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { RouterModule, ActivatedRoute } from '@angular/router';
+import { EMPTY, Observable, Subject, Subscription } from 'rxjs';
+import { catchError, debounceTime, distinctUntilChanged, finalize, map, mergeMap, startWith, switchMap, tap } from 'rxjs/operators';
 import { Contato } from '../../models/contato.model';
+import { FiltroContatos, Pagina } from '../../models/pagina.model';
 import { ContatoService } from '../../services/contato.service';
 import { ToastService } from '../../services/toast.service';
 
+// Páginas já recebidas de um filtro (termo + favoritos)
+interface ResultadoFiltro {
+  total: number;
+  paginas: Map<number, Contato[]>;
+}
+
 @Component({
   selector: 'app-contato-list',
   standalone: true,
@@ -13,72 +22,152 @@ import { ToastService } from '../../services/toast.service';
   templateUrl: './contato-list.component.html',
   styleUrls: ['./contato-list.component.css']
 })
-export class ContatoListComponent implements OnInit {
-  contatos: Contato[] = [];
-  contatosFiltrados: Contato[] = [];
+export class ContatoListComponent implements OnInit, OnDestroy {
+  static readonly TAMANHO_PAGINA = 60;
+  // Altura fixa de cada linha de cards (card + margem); precisa bater com .card-contato no CSS
+  static readonly ALTURA_LINHA = 216;
+  // Linhas renderizadas acima e abaixo da área visível
+  private static readonly LINHAS_EXTRAS = 3;
+  private static readonly FILTROS_EM_CACHE = 20;
+  private static readonly ESPERA_BUSCA_MS = 300;
+
+  @ViewChild('viewport') viewport?: ElementRef<HTMLElement>;
+
   termoBusca: string = '';
   carregando: boolean = false;
-  erro: string = '';
   mostrandoFavoritos: boolean = false;
+  total: number = 0;
+  colunas: number = 1;
+  primeiraLinha: number = 0;
+  linhasVisiveis: (Contato | undefined)[][] = [];
+
+  private filtro: FiltroContatos = { termo: '', favoritos: false };
+  private ultimaLinha: number = 0;
+  private cache = new Map<string, ResultadoFiltro>();
+  private pendentes = new Set<string>();
+  private filtro$ = new Subject<FiltroContatos>();
+  private paginasPedidas$ = new Subject<number>();
+  private termo$ = new Subject<string>();
+  private inscricoes = new Subscription();
 
   constructor(
     private contatoService: ContatoService,
     private toastService: ToastService,
-    private route: ActivatedRoute
+    private route: ActivatedRoute,
+    @Inject(PLATFORM_ID) private platformId: object
   ) { }
 
+  get alturaLinha(): number {
+    return ContatoListComponent.ALTURA_LINHA;
+  }
+
+  get alturaTotal(): number {
+    return Math.ceil(this.total / this.colunas) * ContatoListComponent.ALTURA_LINHA;
+  }
+
   ngOnInit(): void {
+    this.atualizarColunas();
+
+    // Ao trocar de filtro, o switchMap cancela as requisições de páginas do filtro anterior
+    this.inscricoes.add(this.filtro$.pipe(
+      switchMap(filtro => this.paginasPedidas$.pipe(
+        startWith(0),
+        mergeMap(pagina => this.carregarPagina(filtro, pagina))
+      ))
+    ).subscribe());
+
+    this.inscricoes.add(this.termo$.pipe(
+      debounceTime(ContatoListComponent.ESPERA_BUSCA_MS),
+      map(termo => termo.trim()),
+      distinctUntilChanged()
+    ).subscribe(termo => this.mudarFiltro({ ...this.filtro, termo })));
+
     this.verificarRota();
-    this.carregarContatos();
+  }
+
+  ngOnDestroy(): void {
+    this.inscricoes.unsubscribe();
   }
 
   verificarRota(): void {
-    this.route.url.subscribe(segments => {
+    this.inscricoes.add(this.route.url.subscribe(segments => {
       this.mostrandoFavoritos = segments.some(segment => segment.path === 'favoritos');
-    });
+      this.mudarFiltro({ ...this.filtro, favoritos: this.mostrandoFavoritos }, true);
+    }));
   }
 
-  carregarContatos(): void {
-    this.carregando = true;
-    this.erro = '';
-    
-    this.contatoService.listarContatos().subscribe({
-      next: (contatos) => {
-        this.contatos = contatos;
-        this.aplicarFiltros();
-        this.carregando = false;
-      },
-      error: (error) => {
-        this.toastService.error('Erro ao carregar contatos: ' + this.getMensagemErroAPI(error));
-        this.carregando = false;
-      }
-    });
+  aoDigitarBusca(termo: string): void {
+    this.termo$.next(termo);
   }
 
-  aplicarFiltros(): void {
-    let contatosFiltrados = this.contatos;
+  // Enter ou botão de busca: não espera o debounce
+  buscarContatos(): void {
+    this.mudarFiltro({ ...this.filtro, termo: this.termoBusca.trim() });
+  }
+
+  limparBusca(): void {
+    this.termoBusca = '';
+    this.termo$.next('');
+    this.mudarFiltro({ ...this.filtro, termo: '' });
+  }
 
-    // Aplicar filtro de favoritos se necessário
-    if (this.mostrandoFavoritos) {
-      contatosFiltrados = contatosFiltrados.filter(contato => contato.favorito);
+  alternarFiltroFavoritos(): void {
+    this.mostrandoFavoritos = !this.mostrandoFavoritos;
+    this.mudarFiltro({ ...this.filtro, favoritos: this.mostrandoFavoritos });
+  }
+
+  @HostListener('window:resize')
+  aoRedimensionar(): void {
+    if (this.atualizarColunas()) {
+      this.atualizarJanela(true);
     }
+  }
+
+  // Recalcula as linhas renderizadas a partir da rolagem e pede as páginas que faltam
+  atualizarJanela(forcar: boolean = false): void {
+    const elemento = this.viewport?.nativeElement;
+    const topo = elemento?.scrollTop ?? 0;
+    const alturaVisivel = elemento?.clientHeight || 800;
+    const alturaLinha = ContatoListComponent.ALTURA_LINHA;
+    const totalLinhas = Math.ceil(this.total / this.colunas);
 
-    // Aplicar filtro de busca se houver termo
-    if (this.termoBusca.trim()) {
-      const termo = this.termoBusca.toLowerCase();
-      contatosFiltrados = contatosFiltrados.filter(contato => 
-        contato.nome.toLowerCase().includes(termo) ||
-        contato.celular.includes(termo) ||
-        (contato.telefone && contato.telefone.includes(termo)) ||
-        (contato.email && contato.email.toLowerCase().includes(termo))
-      );
+    const primeira = Math.max(0, Math.floor(topo / alturaLinha) - ContatoListComponent.LINHAS_EXTRAS);
+    const ultima = Math.min(totalLinhas, Math.ceil((topo + alturaVisivel) / alturaLinha) + ContatoListComponent.LINHAS_EXTRAS);
+    if (!forcar && primeira === this.primeiraLinha && ultima === this.ultimaLinha) {
+      return;
     }
 
-    this.contatosFiltrados = contatosFiltrados;
+    const resultado = this.cache.get(this.chave(this.filtro));
+    const linhas: (Contato | undefined)[][] = [];
+    for (let linha = primeira; linha < ultima; linha++) {
+      const inicio = linha * this.colunas;
+      const fim = Math.min(inicio + this.colunas, this.total);
+      const itens: (Contato | undefined)[] = [];
+      for (let indice = inicio; indice < fim; indice++) {
+        itens.push(this.contatoNoIndice(resultado, indice));
+      }
+      linhas.push(itens);
+    }
+    this.primeiraLinha = primeira;
+    this.ultimaLinha = ultima;
+    this.linhasVisiveis = linhas;
+
+    const tamanhoPagina = ContatoListComponent.TAMANHO_PAGINA;
+    const primeiraPagina = Math.floor((primeira * this.colunas) / tamanhoPagina);
+    const ultimaPagina = Math.floor((Math.max(ultima * this.colunas, 1) - 1) / tamanhoPagina);
+    for (let pagina = primeiraPagina; pagina <= ultimaPagina; pagina++) {
+      if (!resultado?.paginas.has(pagina)) {
+        this.paginasPedidas$.next(pagina);
+      }
+    }
   }
 
-  buscarContatos(): void {
-    this.aplicarFiltros();
+  rastrearLinha(indice: number): number {
+    return indice;
+  }
+
+  rastrearContato(indice: number, contato: Contato | undefined): number | string {
+    return contato?.id ?? `carregando-${indice}`;
   }
 
   alternarFavorito(contato: Contato): void {
@@ -86,17 +175,17 @@ export class ContatoListComponent implements OnInit {
 
     this.contatoService.alternarFavorito(contato.id).subscribe({
       next: (contatoAtualizado) => {
-        const index = this.contatos.findIndex(c => c.id === contato.id);
-        if (index !== -1) {
-          this.contatos[index] = contatoAtualizado;
-          this.aplicarFiltros();
-          
-          const mensagem = contatoAtualizado.favorito 
-            ? `"${contatoAtualizado.nome}" adicionado aos favoritos` 
-            : `"${contatoAtualizado.nome}" removido dos favoritos`;
-          
-          this.toastService.success(mensagem);
+        if (this.mostrandoFavoritos && !contatoAtualizado.favorito) {
+          this.recarregar();
+        } else {
+          this.substituirNoCache(contatoAtualizado);
         }
+
+        const mensagem = contatoAtualizado.favorito
+          ? `"${contatoAtualizado.nome}" adicionado aos favoritos`
+          : `"${contatoAtualizado.nome}" removido dos favoritos`;
+
+        this.toastService.success(mensagem);
       },
       error: (error) => {
         this.toastService.error('Erro ao alternar favorito: ' + this.getMensagemErroAPI(error));
@@ -110,8 +199,7 @@ export class ContatoListComponent implements OnInit {
     if (confirm(`Deseja realmente inativar o contato "${contato.nome}"?`)) {
       this.contatoService.inativarContato(contato.id).subscribe({
         next: () => {
-          this.contatos = this.contatos.filter(c => c.id !== contato.id);
-          this.aplicarFiltros();
+          this.recarregar();
           this.toastService.success(`Contato "${contato.nome}" inativado com sucesso`);
         },
         error: (error) => {
@@ -121,14 +209,100 @@ export class ContatoListComponent implements OnInit {
     }
   }
 
-  limparBusca(): void {
-    this.termoBusca = '';
-    this.aplicarFiltros();
+  private mudarFiltro(filtro: FiltroContatos, forcar: boolean = false): void {
+    if (!forcar && this.chave(filtro) === this.chave(this.filtro)) {
+      return;
+    }
+    this.filtro = filtro;
+    const emCache = this.cache.get(this.chave(filtro));
+    this.total = emCache?.total ?? 0;
+    this.carregando = !emCache;
+    if (this.viewport) {
+      this.viewport.nativeElement.scrollTop = 0;
+    }
+    this.filtro$.next(filtro);
+    this.atualizarJanela(true);
   }
 
-  alternarFiltroFavoritos(): void {
-    this.mostrandoFavoritos = !this.mostrandoFavoritos;
-    this.aplicarFiltros();
+  // Depois de uma alteração as páginas em cache deixam de valer, inclusive as de outros filtros
+  private recarregar(): void {
+    this.cache.clear();
+    this.filtro$.next(this.filtro);
+    this.atualizarJanela(true);
+  }
+
+  private carregarPagina(filtro: FiltroContatos, pagina: number): Observable<Pagina<Contato>> {
+    const chave = this.chave(filtro);
+    const pedido = `${chave}#${pagina}`;
+    if (this.cache.get(chave)?.paginas.has(pagina) || this.pendentes.has(pedido)) {
+      return EMPTY;
+    }
+
+    this.pendentes.add(pedido);
+    return this.contatoService.listarPagina(pagina, ContatoListComponent.TAMANHO_PAGINA, filtro).pipe(
+      tap(resposta => {
+        this.guardarPagina(chave, resposta);
+        if (chave === this.chave(this.filtro)) {
+          this.total = resposta.total;
+          this.carregando = false;
+          this.atualizarJanela(true);
+        }
+      }),
+      catchError(error => {
+        this.carregando = false;
+        this.toastService.error('Erro ao carregar contatos: ' + this.getMensagemErroAPI(error));
+        return EMPTY;
+      }),
+      finalize(() => this.pendentes.delete(pedido))
+    );
+  }
+
+  private guardarPagina(chave: string, resposta: Pagina<Contato>): void {
+    const resultado = this.cache.get(chave) ?? { total: resposta.total, paginas: new Map<number, Contato[]>() };
+    resultado.total = resposta.total;
+    resultado.paginas.set(resposta.pagina, resposta.conteudo);
+
+    // Reinsere para manter a ordem de uso e descarta os filtros usados há mais tempo
+    this.cache.delete(chave);
+    this.cache.set(chave, resultado);
+    while (this.cache.size > ContatoListComponent.FILTROS_EM_CACHE) {
+      this.cache.delete(this.cache.keys().next().value!);
+    }
+  }
+
+  private substituirNoCache(contato: Contato): void {
+    const chaveAtual = this.chave(this.filtro);
+    this.cache.forEach((resultado, chave) => {
+      if (chave !== chaveAtual) {
+        this.cache.delete(chave);
+        return;
+      }
+      resultado.paginas.forEach(itens => {
+        const indice = itens.findIndex(c => c.id === contato.id);
+        if (indice !== -1) {
+          itens[indice] = contato;
+        }
+      });
+    });
+    this.atualizarJanela(true);
+  }
+
+  private contatoNoIndice(resultado: ResultadoFiltro | undefined, indice: number): Contato | undefined {
+    const tamanhoPagina = ContatoListComponent.TAMANHO_PAGINA;
+    return resultado?.paginas.get(Math.floor(indice / tamanhoPagina))?.[indice % tamanhoPagina];
+  }
+
+  // Mesmos pontos de quebra do grid do Bootstrap (md e lg)
+  private atualizarColunas(): boolean {
+    const largura = isPlatformBrowser(this.platformId) ? window.innerWidth : 0;
+    const colunas = largura >= 992 ? 3 : largura >= 768 ? 2 : 1;
+    const mudou = colunas !== this.colunas;
+    this.colunas = colunas;
+    return mudou;
+  }
+
+  private chave(filtro: FiltroContatos): string {
+    return `${filtro.favoritos ? 'F' : 'T'}:${filtro.termo.toLowerCase()}`;
   }
 
   // Funções para formatar a exibição dos telefones
@@ -156,32 +330,32 @@ export class ContatoListComponent implements OnInit {
     if (error.error && error.error.message) {
       return error.error.message;
     }
-    
+
     // Se a API retornou uma string simples
     if (error.error && typeof error.error === 'string') {
       return error.error;
     }
-    
+
     // Se há erros de validação específicos
     if (error.error && error.error.errors) {
       const errors = error.error.errors;
       const mensagens = Object.values(errors).join('; ');
       return mensagens;
     }
-    
+
     // Tratamento por status HTTP
     if (error.status === 400) {
       return 'Dados inválidos. Verifique os campos preenchidos.';
     }
-    
+
     if (error.status === 404) {
       return 'Contato não encontrado.';
     }
-    
+
     if (error.status === 500) {
       return 'Erro interno do servidor. Tente novamente mais tarde.';
     }
-    
+
     return 'Erro inesperado. Tente novamente.';
   }
-} 
\ No newline at end of file
+}
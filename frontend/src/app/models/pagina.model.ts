@@ -0,0 +1,11 @@
+export interface Pagina<T> {
+  conteudo: T[];
+  pagina: number;
+  tamanho: number;
+  total: number;
+}
+
+export interface FiltroContatos {
+  termo: string;
+  favoritos: boolean;
+}
@@ -75,11 +75,23 @@ describe('ContatoService', () => {
       expect(contatos).toEqual(mockContatos);
     });
 
-    const req = httpMock.expectOne('http://localhost:8080/api/contatos/buscar?termo=João');
+    const req = httpMock.expectOne('http://localhost:8080/api/contatos/buscar?termo=Jo%C3%A3o');
     expect(req.request.method).toBe('GET');
     req.flush(mockContatos);
   });
 
+  it('should get a page of contacts with filter', () => {
+    const mockPagina = { conteudo: [mockContato], pagina: 1, tamanho: 60, total: 61 };
+
+    service.listarPagina(1, 60, { termo: 'João', favoritos: true }).subscribe(pagina => {
+      expect(pagina).toEqual(mockPagina);
+    });
+
+    const req = httpMock.expectOne('http://localhost:8080/api/contatos/pagina?pagina=1&tamanho=60&favoritos=true&termo=Jo%C3%A3o');
+    expect(req.request.method).toBe('GET');
+    req.flush(mockPagina);
+  });
+
   it('should create new contact', () => {
     const newContato = { ...mockContato, id: undefined };
 
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { Contato } from '../models/contato.model';
+import { FiltroContatos, Pagina } from '../models/pagina.model';
 
 @Injectable({
   providedIn: 'root'
@@ -11,24 +12,37 @@ export class ContatoService {
 
   constructor(private http: HttpClient) { }
 
-  // Listar todos os contatos ativos
-  listarContatos(): Observable<Contato[]> {
-    return this.http.get<Contato[]>(this.apiUrl);
+  // Listar todos os contatos ativos (campos: só as propriedades informadas)
+  listarContatos(campos?: (keyof Contato)[]): Observable<Contato[]> {
+    return this.http.get<Contato[]>(this.apiUrl, { params: this.parametrosCampos(campos) });
+  }
+
+  // Listar uma página de contatos ativos, ordenados por nome
+  listarPagina(pagina: number, tamanho: number, filtro: FiltroContatos): Observable<Pagina<Contato>> {
+    let params = new HttpParams()
+      .set('pagina', pagina)
+      .set('tamanho', tamanho)
+      .set('favoritos', filtro.favoritos);
+    if (filtro.termo) {
+      params = params.set('termo', filtro.termo);
+    }
+    return this.http.get<Pagina<Contato>>(`${this.apiUrl}/pagina`, { params });
   }
 
   // Listar contatos favoritos
-  listarFavoritos(): Observable<Contato[]> {
-    return this.http.get<Contato[]>(`${this.apiUrl}/favoritos`);
+  listarFavoritos(campos?: (keyof Contato)[]): Observable<Contato[]> {
+    return this.http.get<Contato[]>(`${this.apiUrl}/favoritos`, { params: this.parametrosCampos(campos) });
   }
 
   // Buscar contato por ID
-  buscarPorId(id: number): Observable<Contato> {
-    return this.http.get<Contato>(`${this.apiUrl}/${id}`);
+  buscarPorId(id: number, campos?: (keyof Contato)[]): Observable<Contato> {
+    return this.http.get<Contato>(`${this.apiUrl}/${id}`, { params: this.parametrosCampos(campos) });
   }
 
   // Buscar contatos por termo
-  buscarPorTermo(termo: string): Observable<Contato[]> {
-    return this.http.get<Contato[]>(`${this.apiUrl}/buscar?termo=${termo}`);
+  buscarPorTermo(termo: string, campos?: (keyof Contato)[]): Observable<Contato[]> {
+    const params = this.parametrosCampos(campos).set('termo', termo);
+    return this.http.get<Contato[]>(`${this.apiUrl}/buscar`, { params });
   }
 
   // Criar novo contato
@@ -50,4 +64,10 @@ export class ContatoService {
   alternarFavorito(id: number): Observable<Contato> {
     return this.http.patch<Contato>(`${this.apiUrl}/${id}/favorito`, {});
   }
-} 
\ No newline at end of file
+
+  // A API devolve só os campos pedidos em ?fields= e seleciona só essas colunas
+  private parametrosCampos(campos?: (keyof Contato)[]): HttpParams {
+    const params = new HttpParams();
+    return campos?.length ? params.set('fields', campos.join(',')) : params;
+  }
+}